@@ -23,6 +23,7 @@ package org.dbunit;
 
 import java.sql.SQLException;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.dbunit.assertion.DbUnitAssert;
 import org.dbunit.assertion.DbUnitValueComparerAssert;
@@ -96,6 +97,15 @@ public class Assertion {
         EQUALS_INSTANCE.assertEqualsByQuery(expectedTable, connection, tableName, sqlQuery, ignoreCols, failureHandler);
     }
 
+    /**
+     * @see DbUnitAssert#assertEqualsInDatabase(ITable, IDatabaseConnection, String, FailureHandler)
+     * @since 2.8.6
+     */
+    public static void assertEqualsInDatabase(final ITable expectedTable, final IDatabaseConnection connection, final String tableName,
+                                              final FailureHandler failureHandler) throws DatabaseUnitException, SQLException {
+        EQUALS_INSTANCE.assertEqualsInDatabase(expectedTable, connection, tableName, failureHandler);
+    }
+
     /**
      * @see DbUnitAssert#assertEquals(IDataSet, IDataSet)
      */
@@ -112,6 +122,15 @@ public class Assertion {
         EQUALS_INSTANCE.assertEquals(expectedDataSet, actualDataSet, failureHandler);
     }
 
+    /**
+     * @see DbUnitAssert#assertEquals(IDataSet, IDataSet, FailureHandler, ForkJoinPool)
+     * @since 2.8.6
+     */
+    public static void assertEquals(final IDataSet expectedDataSet, final IDataSet actualDataSet,
+                                    final FailureHandler failureHandler, final ForkJoinPool pool) throws DatabaseUnitException {
+        EQUALS_INSTANCE.assertEquals(expectedDataSet, actualDataSet, failureHandler, pool);
+    }
+
     /**
      * @see DbUnitAssert#assertEquals(ITable, ITable)
      */
@@ -134,6 +153,22 @@ public class Assertion {
         EQUALS_INSTANCE.assertEquals(expectedTable, actualTable, failureHandler);
     }
 
+    /**
+     * @see DbUnitAssert#assertEqualsUnordered(ITable, ITable)
+     * @since 2.8.6
+     */
+    public static void assertEqualsUnordered(final ITable expectedTable, final ITable actualTable) throws DatabaseUnitException {
+        EQUALS_INSTANCE.assertEqualsUnordered(expectedTable, actualTable);
+    }
+
+    /**
+     * @see DbUnitAssert#assertEqualsUnordered(ITable, ITable, FailureHandler)
+     * @since 2.8.6
+     */
+    public static void assertEqualsUnordered(final ITable expectedTable, final ITable actualTable, final FailureHandler failureHandler) throws DatabaseUnitException {
+        EQUALS_INSTANCE.assertEqualsUnordered(expectedTable, actualTable, failureHandler);
+    }
+
     /**
      * @see DbUnitValueComparerAssert#assertWithValueComparer(IDataSet,
      * IDataSet, ValueComparator, Map)
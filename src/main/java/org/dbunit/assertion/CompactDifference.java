@@ -0,0 +1,67 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.assertion;
+
+/**
+ * {@link Difference} which does not reference the compared tables. It keeps the
+ * name of the expected table and the failure message rendered when the difference
+ * was found, so that collected differences do not keep the tables in memory.
+ * {@link #getExpectedTable()} and {@link #getActualTable()} return <code>null</code>.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @see DiffCollectingFailureHandler#setCompact(boolean)
+ * @since 2.8.6
+ */
+public class CompactDifference extends Difference {
+    private final String tableName;
+    private final String message;
+
+    /**
+     * @param diff      The difference to be copied without its tables
+     * @param tableName The name of the expected table
+     * @param message   The failure message describing the difference
+     */
+    public CompactDifference(final Difference diff, final String tableName, final String message) {
+        super(null, null, diff.getRowIndex(), diff.getColumnName(), diff.getExpectedValue(), diff.getActualValue(), diff.getFailMessage());
+        this.tableName = tableName;
+        this.message = message;
+    }
+
+    /**
+     * @return The name of the expected table
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return The failure message describing the difference
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[" + "tableName=" + tableName + ", rowIndex=" + getRowIndex() + ", columnName=" + getColumnName() + ", expectedValue=" + getExpectedValue() + ", actualValue=" + getActualValue() + ", failMessage=" + getFailMessage() + "]";
+    }
+}
@@ -20,18 +20,35 @@
  */
 package org.dbunit.assertion;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 import lombok.extern.slf4j.Slf4j;
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.assertion.comparer.value.ValueComparers;
+import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.statement.IDifferenceStatementBuilder;
 import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTable;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.datatype.UnknownDataType;
 import org.dbunit.dataset.filter.DefaultColumnFilter;
+import org.dbunit.util.QualifiedTableName;
 
 /**
  * Default implementation of DbUnit assertions, based on the original methods
@@ -47,6 +64,15 @@ import org.dbunit.dataset.filter.DefaultColumnFilter;
 @Slf4j
 public class DbUnitAssert extends DbUnitAssertBase {
 
+    /**
+     * Prefix of the tables holding the expected rows during
+     * {@link #assertEqualsInDatabase(ITable, IDatabaseConnection, String, FailureHandler)}.
+     * Each assertion appends a random suffix, see {@link #createScratchTableName()}.
+     *
+     * @since 2.8.6
+     */
+    public static final String DEFAULT_SCRATCH_TABLE_PREFIX = "DBUNIT_EXP_";
+
     /**
      * Compare one table present in two datasets ignoring specified columns.
      *
@@ -114,6 +140,207 @@ public class DbUnitAssert extends DbUnitAssertBase {
         assertEquals(expected, actual, failureHandler);
     }
 
+    /**
+     * Compares a database table with the expected rows inside the database, using
+     * a scratch table named by {@link #createScratchTableName()}, so that concurrent
+     * assertions against the same schema do not share it.
+     *
+     * @see #assertEqualsInDatabase(ITable, IDatabaseConnection, String, String, FailureHandler)
+     * @since 2.8.6
+     */
+    public void assertEqualsInDatabase(final ITable expectedTable, final IDatabaseConnection connection, final String tableName, final FailureHandler failureHandler) throws DatabaseUnitException, SQLException {
+        assertEqualsInDatabase(expectedTable, connection, tableName, createScratchTableName(), failureHandler);
+    }
+
+    /**
+     * Creates a scratch table name not used by other assertions, made of
+     * {@link #DEFAULT_SCRATCH_TABLE_PREFIX} and a random suffix. The name is upper case
+     * and no longer than 24 characters to fit the identifier limits of the databases.
+     *
+     * @return A new scratch table name.
+     * @since 2.8.6
+     */
+    public static String createScratchTableName() {
+        final long suffix = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+        return DEFAULT_SCRATCH_TABLE_PREFIX + Long.toString(suffix, Character.MAX_RADIX).toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Compares a database table with the expected rows inside the database, so that
+     * the table is not read into memory. The expected rows are inserted into a scratch
+     * table created with the columns of the table, then the database computes the rows
+     * occurring more often in one table than in the other with set difference queries.
+     * Only these rows are fetched and reported, rows missing from the table as
+     * <code>"missing row"</code> and rows not expected as <code>"unexpected row"</code>.
+     * <p>
+     * Only the columns of the expected table are compared, the row order is ignored
+     * and the values are compared by the database, so e.g. the padding of
+     * <code>CHAR</code> columns follows its rules. Columns of types the database
+     * cannot group by (e.g. LOBs) cannot be compared this way. The SQL is built by the
+     * {@link DatabaseConfig#PROPERTY_DIFFERENCE_STATEMENT_BUILDER}. The scratch table
+     * is dropped again; it must not exist before and concurrent assertions need
+     * distinct scratch table names.
+     * <p>
+     * The scratch table is a regular table created and dropped with DDL statements
+     * on the given connection, so the assertion should not run inside a transaction
+     * the test still relies on. Databases like Oracle and MySQL implicitly commit an
+     * open transaction on DDL. On PostgreSQL a failing statement aborts the
+     * transaction, so that dropping the scratch table fails as well. Use a
+     * connection in auto-commit mode or commit before the assertion.
+     *
+     * @param expectedTable    Table containing all expected results.
+     * @param connection       Connection to the database containing the table.
+     * @param tableName        The name of the database table to compare.
+     * @param scratchTableName The name of the table temporarily holding the expected rows.
+     * @param failureHandler   The failure handler used if the assert fails because of a data
+     *                         mismatch. Can be <code>null</code>.
+     * @throws DatabaseUnitException If an error occurs while performing the comparison.
+     * @throws java.sql.SQLException If an SQL error occurs.
+     * @since 2.8.6
+     */
+    public void assertEqualsInDatabase(final ITable expectedTable, final IDatabaseConnection connection, final String tableName, final String scratchTableName, final FailureHandler failureHandler) throws DatabaseUnitException, SQLException {
+        log.debug("assertEqualsInDatabase(expectedTable={}, connection={}, tableName={}, scratchTableName={}, failureHandler={}) - start", expectedTable, connection, tableName, scratchTableName, failureHandler);
+
+        final FailureHandler validFailureHandler = determineFailureHandler(failureHandler);
+        final DatabaseConfig config = connection.getConfig();
+        final IDifferenceStatementBuilder builder = (IDifferenceStatementBuilder) config.getProperty(DatabaseConfig.PROPERTY_DIFFERENCE_STATEMENT_BUILDER);
+        final String escapePattern = (String) config.getProperty(DatabaseConfig.PROPERTY_ESCAPE_PATTERN);
+
+        // compare the expected columns, typed like the database columns
+        final ITableMetaData databaseMetaData = connection.createDataSet().getTableMetaData(tableName);
+        final Column[] expectedColumns = expectedTable.getTableMetaData().getColumns();
+        final Column[] columns = new Column[expectedColumns.length];
+        final String[] columnNames = new String[expectedColumns.length];
+        for (int i = 0; i < expectedColumns.length; i++) {
+            columns[i] = databaseMetaData.getColumns()[databaseMetaData.getColumnIndex(expectedColumns[i].getColumnName())];
+            columnNames[i] = escapeColumnName(columns[i].getColumnName(), escapePattern);
+        }
+        final String qualifiedTableName = new QualifiedTableName(databaseMetaData.getTableName(), connection.getSchema(), escapePattern).getQualifiedName();
+        final String qualifiedScratchTableName = new QualifiedTableName(scratchTableName, connection.getSchema(), escapePattern).getQualifiedName();
+
+        final Connection jdbcConnection = connection.getConnection();
+        final DefaultTable missingRows = new DefaultTable(databaseMetaData.getTableName(), columns);
+        final DefaultTable unexpectedRows = new DefaultTable(databaseMetaData.getTableName(), columns);
+        final List<Integer> missingCounts = new ArrayList<>();
+        final List<Integer> unexpectedCounts = new ArrayList<>();
+
+        // fetch no more differing rows than the failure handler collects
+        final int maxRows = validFailureHandler instanceof DiffCollectingFailureHandler ? ((DiffCollectingFailureHandler) validFailureHandler).getDifferenceLimit() : 0;
+
+        executeSql(jdbcConnection, builder.buildCreateScratchTableSql(qualifiedScratchTableName, qualifiedTableName));
+        boolean success = false;
+        try {
+            insertRows(jdbcConnection, qualifiedScratchTableName, columnNames, columns, expectedTable, config);
+            readRows(jdbcConnection, builder.buildDifferenceSql(qualifiedScratchTableName, qualifiedTableName, columnNames), columns, maxRows, missingRows, missingCounts);
+            readRows(jdbcConnection, builder.buildDifferenceSql(qualifiedTableName, qualifiedScratchTableName, columnNames), columns, maxRows, unexpectedRows, unexpectedCounts);
+            success = true;
+        } finally {
+            try {
+                executeSql(jdbcConnection, builder.buildDropScratchTableSql(qualifiedScratchTableName));
+            } catch (final SQLException e) {
+                if (success) {
+                    throw e;
+                }
+                log.warn("assertEqualsInDatabase: unable to drop scratch table '{}'", scratchTableName, e);
+            }
+        }
+        log.debug("assertEqualsInDatabase: {} missing and {} unexpected distinct rows in table '{}'", missingCounts.size(), unexpectedCounts.size(), tableName);
+
+        final String columnList = String.join(",", Columns.getColumnNames(columns));
+        for (int row = 0; row < missingCounts.size(); row++) {
+            validFailureHandler.handle(new Difference(missingRows, unexpectedRows, row, columnList, formatRow(missingRows, row, missingCounts.get(row)), null, "missing row"));
+        }
+        for (int row = 0; row < unexpectedCounts.size(); row++) {
+            validFailureHandler.handle(new Difference(missingRows, unexpectedRows, row, columnList, null, formatRow(unexpectedRows, row, unexpectedCounts.get(row)), "unexpected row"));
+        }
+        handleCollectedDifferences(validFailureHandler);
+    }
+
+    /**
+     * Applies the {@link DatabaseConfig#PROPERTY_ESCAPE_PATTERN} to a single column
+     * name, which unlike a table name is never split at dots.
+     */
+    private static String escapeColumnName(final String columnName, final String escapePattern) {
+        if (escapePattern == null) {
+            return columnName;
+        }
+        final int index = escapePattern.indexOf('?');
+        if (index >= 0) {
+            return escapePattern.substring(0, index) + columnName + escapePattern.substring(index + 1);
+        }
+        if (escapePattern.length() == 1) {
+            return escapePattern + columnName + escapePattern;
+        }
+        log.warn("Invalid escape pattern '{}'. Will not escape column name '{}'.", escapePattern, columnName);
+        return columnName;
+    }
+
+    private static void executeSql(final Connection connection, final String sql) throws SQLException {
+        log.debug("executeSql: {}", sql);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void insertRows(final Connection connection, final String tableName, final String[] columnNames, final Column[] columns, final ITable table, final DatabaseConfig config) throws DatabaseUnitException, SQLException {
+        final StringBuilder sqlBuffer = new StringBuilder(128);
+        sqlBuffer.append("insert into ").append(tableName).append(" (").append(String.join(", ", columnNames)).append(") values (");
+        for (int i = 0; i < columnNames.length; i++) {
+            sqlBuffer.append(i > 0 ? ", ?" : "?");
+        }
+        sqlBuffer.append(')');
+
+        final int[] columnIndexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            columnIndexes[i] = table.getTableMetaData().getColumnIndex(columns[i].getColumnName());
+        }
+        final int batchSize = (Integer) config.getProperty(DatabaseConfig.PROPERTY_BATCH_SIZE);
+        try (PreparedStatement statement = connection.prepareStatement(sqlBuffer.toString())) {
+            int pending = 0;
+            for (int row = 0; row < table.getRowCount(); row++) {
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i].getDataType().setSqlValue(table.getValue(row, columnIndexes[i]), i + 1, statement);
+                }
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private static void readRows(final Connection connection, final String sql, final Column[] columns, final int maxRows, final DefaultTable rows, final List<Integer> counts) throws DataSetException, SQLException {
+        log.debug("readRows: {}", sql);
+        try (Statement statement = connection.createStatement()) {
+            if (maxRows > 0 && maxRows < Integer.MAX_VALUE) {
+                statement.setMaxRows(maxRows);
+            }
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                while (resultSet.next()) {
+                    final Object[] values = new Object[columns.length];
+                    for (int i = 0; i < columns.length; i++) {
+                        values[i] = columns[i].getDataType().getSqlValue(i + 1, resultSet);
+                    }
+                    rows.addRow(values);
+                    counts.add(resultSet.getInt(columns.length + 1));
+                }
+            }
+        }
+    }
+
+    private static String formatRow(final ITable table, final int row, final int count) throws DataSetException {
+        final Object[] values = new Object[table.getTableMetaData().getColumns().length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = table.getValue(row, i);
+        }
+        final String result = Arrays.deepToString(values);
+        return count == 1 ? result : result + " x" + count;
+    }
+
     /**
      * Asserts that the two specified dataset are equals. This method ignore the
      * tables order.
@@ -133,6 +360,19 @@ public class DbUnitAssert extends DbUnitAssertBase {
         assertWithValueComparer(expectedDataSet, actualDataSet, failureHandler, ValueComparers.isActualEqualToExpectedWithEmptyFailMessage, null);
     }
 
+    /**
+     * Asserts that the two specified dataset are equals, comparing the tables on
+     * the given pool. This method ignore the tables order.
+     *
+     * @param pool The pool running the comparisons. Can be <code>null</code> to use
+     *             the common pool.
+     * @see #assertWithValueComparer(IDataSet, IDataSet, FailureHandler, org.dbunit.assertion.comparer.value.ValueComparator, java.util.Map, ForkJoinPool)
+     * @since 2.8.6
+     */
+    public void assertEquals(final IDataSet expectedDataSet, final IDataSet actualDataSet, final FailureHandler failureHandler, final ForkJoinPool pool) throws DatabaseUnitException {
+        assertWithValueComparer(expectedDataSet, actualDataSet, failureHandler, ValueComparers.isActualEqualToExpectedWithEmptyFailMessage, null, pool);
+    }
+
     protected void compareTables(final IDataSet expectedDataSet, final IDataSet actualDataSet, final String[] expectedNames, final FailureHandler failureHandler) throws DatabaseUnitException {
         compareTables(expectedDataSet, actualDataSet, expectedNames, failureHandler, null, null);
     }
@@ -207,6 +447,39 @@ public class DbUnitAssert extends DbUnitAssertBase {
         assertWithValueComparer(expectedTable, actualTable, failureHandler, ValueComparers.isActualEqualToExpectedWithEmptyFailMessage, null);
     }
 
+    /**
+     * Asserts that the two specified tables contain the same rows, in any order.
+     * Rows are matched by primary key, or by all their values if no primary key is
+     * known, instead of by position. This method ignores the table names, the
+     * columns order and the columns data type.
+     *
+     * @param expectedTable Table containing all expected results.
+     * @param actualTable   Table containing all actual results.
+     * @throws DatabaseUnitException
+     * @see #assertUnorderedWithValueComparer(ITable, ITable, FailureHandler, org.dbunit.assertion.comparer.value.ValueComparator, java.util.Map)
+     * @since 2.8.6
+     */
+    public void assertEqualsUnordered(final ITable expectedTable, final ITable actualTable) throws DatabaseUnitException {
+        assertEqualsUnordered(expectedTable, actualTable, null);
+    }
+
+    /**
+     * Asserts that the two specified tables contain the same rows, in any order.
+     * Missing, unexpected and changed rows are reported to the given failure handler.
+     *
+     * @param expectedTable  Table containing all expected results.
+     * @param actualTable    Table containing all actual results.
+     * @param failureHandler The failure handler used if the assert fails because of a data
+     *                       mismatch. Can be <code>null</code>.
+     * @throws DatabaseUnitException
+     * @see #assertUnorderedWithValueComparer(ITable, ITable, FailureHandler, org.dbunit.assertion.comparer.value.ValueComparator, java.util.Map)
+     * @since 2.8.6
+     */
+    public void assertEqualsUnordered(final ITable expectedTable, final ITable actualTable, final FailureHandler failureHandler) throws DatabaseUnitException {
+        log.debug("assertEqualsUnordered(expectedTable={}, actualTable={}, failureHandler={}) - start", expectedTable, actualTable, failureHandler);
+        assertUnorderedWithValueComparer(expectedTable, actualTable, failureHandler, ValueComparers.isActualEqualToExpectedWithEmptyFailMessage, null);
+    }
+
     /**
      * Represents a single column to be used for the comparison of table data.
      * It contains the {@link DataType} to be used for comparing the given
@@ -1,12 +1,23 @@
 package org.dbunit.assertion;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import lombok.extern.slf4j.Slf4j;
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.assertion.DbUnitAssert.ComparisonColumn;
 import org.dbunit.assertion.comparer.value.DefaultValueComparerDefaults;
+import org.dbunit.assertion.comparer.value.IsActualEqualToExpectedValueComparer;
+import org.dbunit.assertion.comparer.value.IsActualEqualToExpectedWithEmptyFailMessageValueComparer;
 import org.dbunit.assertion.comparer.value.ValueComparator;
 import org.dbunit.assertion.comparer.value.ValueComparerDefaults;
 import org.dbunit.dataset.Column;
@@ -16,6 +27,7 @@ import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
 
 import static java.util.stream.Collectors.joining;
 
@@ -27,10 +39,27 @@ import static java.util.stream.Collectors.joining;
  */
 @Slf4j
 public class DbUnitAssertBase {
+    /**
+     * Default number of rows of a table compared by a single task of a parallel
+     * assertion.
+     *
+     * @since 2.8.6
+     */
+    public static final int DEFAULT_ROWS_PER_TASK = 10000;
+
     private final FailureFactory junitFailureFactory = getJUnitFailureFactory();
 
     protected ValueComparerDefaults valueComparerDefaults = new DefaultValueComparerDefaults();
 
+    protected int rowsPerTask = DEFAULT_ROWS_PER_TASK;
+
+    /**
+     * Whether a subclass overrides the per-cell
+     * {@link #compareData(ITable, ITable, ComparisonColumn[], FailureHandler, ValueComparator, Map, int, int)},
+     * which ordered comparisons then call for every cell instead of using the comparison plan.
+     */
+    private final boolean cellComparisonOverridden = isCellComparisonOverridden(getClass());
+
     /**
      * @return The default failure handler
      * @since 2.4
@@ -84,6 +113,20 @@ public class DbUnitAssertBase {
         return result;
     }
 
+    /**
+     * @param comparisonCols The columns to be compared
+     * @param metaData       The metadata in which the columns are searched
+     * @return The positions of the compared columns within the given metadata
+     * @since 2.8.6
+     */
+    protected int[] getColumnIndexes(final ComparisonColumn[] comparisonCols, final ITableMetaData metaData) throws DataSetException {
+        final int[] result = new int[comparisonCols.length];
+        for (int j = 0; j < comparisonCols.length; j++) {
+            result[j] = metaData.getColumnIndex(comparisonCols[j].getColumnName());
+        }
+        return result;
+    }
+
     /**
      * Method to last-minute intercept the comparison of a single expected and
      * actual value. Designed to be overridden in order to skip cell comparison
@@ -232,6 +275,185 @@ public class DbUnitAssertBase {
         compareTables(expectedDataSet, actualDataSet, expectedNames, validFailureHandler, defaultValueComparator, tableColumnValueComparers);
     }
 
+    /**
+     * Asserts the two specified {@link IDataSet}s like
+     * {@link #assertWithValueComparer(IDataSet, IDataSet, FailureHandler, ValueComparator, Map)}
+     * but compares the tables, and the rows of large tables in ranges of
+     * {@link #setRowsPerTask(int) rowsPerTask} rows, on the given {@link ForkJoinPool}.
+     * <p>
+     * The tables are read from the datasets on the calling thread, so they must
+     * allow concurrent reads once returned, which holds for the cached tables of the
+     * DbUnit datasets. {@link #skipCompare(String, Object, Object)} and the
+     * {@link ValueComparator}s are invoked concurrently.
+     * <p>
+     * The differences found by the tasks are passed to the failure handler on the
+     * calling thread in table name and row order, so the outcome does not depend on
+     * the scheduling: the default failure handler fails on the same difference as the
+     * serial assertion and a {@link DiffCollectingFailureHandler} collects the
+     * differences of all tables before failing.
+     *
+     * @param expectedDataSet           {@link IDataSet} containing all expected results.
+     * @param actualDataSet             {@link IDataSet} containing all actual results.
+     * @param failureHandler            The failure handler used if the assert fails because of a data
+     *                                  mismatch. Can be <code>null</code>.
+     * @param defaultValueComparator    {@link ValueComparator} to use with column value comparisons
+     *                                  when the column name for the table is not in the
+     *                                  tableColumnValueComparers {@link Map}. Can be
+     *                                  <code>null</code>.
+     * @param tableColumnValueComparers {@link Map} of {@link ValueComparator}s to use for specific
+     *                                  tables and columns. Can be <code>null</code>.
+     * @param pool                      The pool running the comparisons. Can be <code>null</code>
+     *                                  and will default to {@link ForkJoinPool#commonPool()}.
+     * @since 2.8.6
+     */
+    public void assertWithValueComparer(final IDataSet expectedDataSet, final IDataSet actualDataSet, final FailureHandler failureHandler, final ValueComparator defaultValueComparator, final Map<String, Map<String, ValueComparator>> tableColumnValueComparers, final ForkJoinPool pool) throws DatabaseUnitException {
+        log.debug("assertWithValueComparer(expectedDataSet={}, actualDataSet={}, failureHandler={}, defaultValueComparer={}, tableColumnValueComparers={}, pool={}) - start", expectedDataSet, actualDataSet, failureHandler, defaultValueComparator, tableColumnValueComparers, pool);
+
+        // do not continue if same instance
+        if (expectedDataSet == actualDataSet) {
+            log.debug("The given datasets reference the same object." + " Skipping comparisons.");
+            return;
+        }
+
+        final FailureHandler validFailureHandler = determineFailureHandler(failureHandler);
+
+        final String[] expectedNames = getSortedTableNames(expectedDataSet);
+        final String[] actualNames = getSortedTableNames(actualDataSet);
+
+        compareTableCounts(expectedNames, actualNames, validFailureHandler);
+
+        // table names in no specific order
+        compareTableNames(expectedNames, actualNames, validFailureHandler);
+
+        final Map<String, Map<String, ValueComparator>> validTableColumnValueComparers = determineValidTableColumnValueComparers(tableColumnValueComparers);
+        final ValueComparator validDefaultValueComparator = determineValidDefaultValueComparer(defaultValueComparator);
+
+        final List<Callable<CollectingFailureHandler>> tasks = new ArrayList<>();
+        for (final String tableName : expectedNames) {
+            // read the tables on the calling thread since datasets are not thread safe
+            final ITable expectedTable = expectedDataSet.getTable(tableName);
+            final ITable actualTable = actualDataSet.getTable(tableName);
+            final Map<String, ValueComparator> columnValueComparers = validTableColumnValueComparers.get(tableName);
+
+            addComparisonTasks(tasks, expectedTable, actualTable, validFailureHandler, validDefaultValueComparator, columnValueComparers);
+        }
+        log.debug("assertWithValueComparer: comparing {} tables in {} tasks", expectedNames.length, tasks.size());
+
+        final ForkJoinPool validPool = pool == null ? ForkJoinPool.commonPool() : pool;
+        final List<Future<CollectingFailureHandler>> futures = new ArrayList<>(tasks.size());
+        boolean success = false;
+        try {
+            for (final Callable<CollectingFailureHandler> task : tasks) {
+                futures.add(validPool.submit(task));
+            }
+            for (final Future<CollectingFailureHandler> future : futures) {
+                final CollectingFailureHandler result = getResult(future);
+                for (final Difference diff : result.differences) {
+                    validFailureHandler.handle(diff);
+                }
+                if (result.failure != null) {
+                    throw result.failure;
+                }
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                // the assertion failed, the remaining comparisons are not needed
+                for (final Future<CollectingFailureHandler> future : futures) {
+                    future.cancel(false);
+                }
+            }
+        }
+        handleCollectedDifferences(validFailureHandler);
+    }
+
+    private void addComparisonTasks(final List<Callable<CollectingFailureHandler>> tasks, final ITable expectedTable, final ITable actualTable, final FailureHandler failureHandler, final ValueComparator defaultValueComparator, final Map<String, ValueComparator> columnValueComparers) throws DatabaseUnitException {
+        if (expectedTable == actualTable) {
+            log.debug("The given tables reference the same object. Skipping comparisons.");
+            return;
+        }
+        final ITableMetaData expectedMetaData = expectedTable.getTableMetaData();
+        final ITableMetaData actualMetaData = actualTable.getTableMetaData();
+        final String expectedTableName = expectedMetaData.getTableName();
+
+        // a structural failure is kept in place so that it is raised in table order
+        final ComparisonColumn[] comparisonCols;
+        try {
+            if (compareRowCounts(expectedTable, actualTable, failureHandler, expectedTableName)) {
+                return;
+            }
+            final Column[] expectedColumns = Columns.getSortedColumns(expectedMetaData);
+            final Column[] actualColumns = Columns.getSortedColumns(actualMetaData);
+            compareColumns(expectedColumns, actualColumns, expectedMetaData, actualMetaData, failureHandler);
+            comparisonCols = getComparisonColumns(expectedTableName, expectedColumns, actualColumns, failureHandler);
+        } catch (final Error e) {
+            final CollectingFailureHandler result = new CollectingFailureHandler(failureHandler);
+            result.failure = e;
+            tasks.add(() -> result);
+            return;
+        }
+
+        final Map<String, ValueComparator> validColumnValueComparers = determineValidColumnValueComparers(columnValueComparers, expectedTableName);
+        final int[] expectedColumnIndexes = getColumnIndexes(comparisonCols, expectedMetaData);
+        final int[] actualColumnIndexes = getColumnIndexes(comparisonCols, actualMetaData);
+
+        // a range finding more differences than the failure handler collects may stop early
+        final DiffCollectingFailureHandler collector = getDiffCollector(failureHandler);
+        final int differenceLimit = collector == null ? Integer.MAX_VALUE : collector.getDifferenceLimit();
+
+        final int rowCount = expectedTable.getRowCount();
+        final int validRowsPerTask = Math.max(1, rowsPerTask);
+        for (int from = 0; from < rowCount; from += validRowsPerTask) {
+            final int start = from;
+            final int end = Math.min(rowCount, from + validRowsPerTask);
+            tasks.add(() -> {
+                final CollectingFailureHandler result = new CollectingFailureHandler(failureHandler);
+                try {
+                    // each task has its own plan as the cached expected values are not shared
+                    final ComparisonPlan plan = createComparisonPlan(expectedTable, actualTable, comparisonCols, defaultValueComparator, validColumnValueComparers, expectedColumnIndexes, actualColumnIndexes);
+                    for (int rowNum = start; rowNum < end && result.differences.size() < differenceLimit; rowNum++) {
+                        compareOrderedRow(plan, result, rowNum);
+                    }
+                } catch (final Error e) {
+                    result.failure = e;
+                }
+                return result;
+            });
+        }
+    }
+
+    private static CollectingFailureHandler getResult(final Future<CollectingFailureHandler> future) throws DatabaseUnitException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseUnitException("Interrupted while waiting for the table comparisons", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof DatabaseUnitException) {
+                throw (DatabaseUnitException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DatabaseUnitException(cause);
+        }
+    }
+
+    /**
+     * Sets the number of rows of a table compared by a single task of
+     * {@link #assertWithValueComparer(IDataSet, IDataSet, FailureHandler, ValueComparator, Map, ForkJoinPool)}.
+     * Defaults to {@link #DEFAULT_ROWS_PER_TASK}.
+     *
+     * @since 2.8.6
+     */
+    public void setRowsPerTask(final int rowsPerTask) {
+        this.rowsPerTask = rowsPerTask;
+    }
+
     protected void compareTables(final IDataSet expectedDataSet, final IDataSet actualDataSet, final String[] expectedNames, final FailureHandler failureHandler, final ValueComparator defaultValueComparator, final Map<String, Map<String, ValueComparator>> tableColumnValueComparers) throws DatabaseUnitException {
         final Map<String, Map<String, ValueComparator>> validTableColumnValueComparers = determineValidTableColumnValueComparers(tableColumnValueComparers);
 
@@ -376,14 +598,35 @@ public class DbUnitAssertBase {
         final String expectedTableName = expectedTable.getTableMetaData().getTableName();
         final Map<String, ValueComparator> validColumnValueComparers = determineValidColumnValueComparers(columnValueComparers, expectedTableName);
 
-        // iterate over all rows
+        // resolve the column positions once for all rows
+        final int[] expectedColumnIndexes = getColumnIndexes(comparisonCols, expectedTable.getTableMetaData());
+        final int[] actualColumnIndexes = getColumnIndexes(comparisonCols, actualTable.getTableMetaData());
+
+        final ComparisonPlan plan = createComparisonPlan(expectedTable, actualTable, comparisonCols, validDefaultValueComparator, validColumnValueComparers, expectedColumnIndexes, actualColumnIndexes);
+
+        // iterate over all rows, unless the failure handler collected enough differences
+        final DiffCollectingFailureHandler collector = getDiffCollector(failureHandler);
         for (int rowNum = 0; rowNum < expectedTable.getRowCount(); rowNum++) {
-            // iterate over all columns of the current row
-            final int columnCount = comparisonCols.length;
-            for (int columnNum = 0; columnNum < columnCount; columnNum++) {
-                compareData(expectedTable, actualTable, comparisonCols, failureHandler, validDefaultValueComparator, validColumnValueComparers, rowNum, columnNum);
+            if (collector != null && collector.isTableLimitReached(expectedTableName)) {
+                log.debug("compareData: difference limit reached for table '{}' at row {}", expectedTableName, rowNum);
+                break;
             }
+            compareOrderedRow(plan, failureHandler, rowNum);
         }
+        handleCollectedDifferences(failureHandler);
+    }
+
+    private static DiffCollectingFailureHandler getDiffCollector(final FailureHandler failureHandler) {
+        return failureHandler instanceof DiffCollectingFailureHandler ? (DiffCollectingFailureHandler) failureHandler : null;
+    }
+
+    /**
+     * Fails with all differences collected so far if the given handler is a
+     * {@link DiffCollectingFailureHandler}.
+     *
+     * @since 2.8.6
+     */
+    protected void handleCollectedDifferences(final FailureHandler failureHandler) {
         if (failureHandler instanceof DiffCollectingFailureHandler) {
             DiffCollectingFailureHandler handler = (DiffCollectingFailureHandler) failureHandler;
             if (handler.getDiffList().isEmpty()) {
@@ -393,6 +636,457 @@ public class DbUnitAssertBase {
         }
     }
 
+    /**
+     * Asserts the two specified {@link ITable}s without relying on the order of
+     * their rows. Expected rows are matched to actual rows through a hash index on
+     * the primary key columns of the expected table (or of the actual table if the
+     * expected one has none), so neither side needs to be wrapped in a
+     * {@link org.dbunit.dataset.SortedTable}.
+     * <p>
+     * Key values are converted to the comparison {@link DataType} before hashing, so
+     * that a string from a flat XML file matches the typed value read from the
+     * database. The other columns of matched rows are compared using the
+     * {@link ValueComparator}s. When no primary key is known the whole row is used as
+     * the key; rows then only match when all their values are equal and duplicate
+     * rows are matched one to one.
+     * <p>
+     * Expected rows without a match are reported as a {@link Difference} with a
+     * <code>null</code> actual value, unmatched actual rows as a {@link Difference}
+     * with a <code>null</code> expected value. In both cases the column name holds
+     * the key column names and the value the key values of the row. The row index of
+     * a difference is the expected row, except for unmatched actual rows.
+     *
+     * @param expectedTable          {@link ITable} containing all expected results.
+     * @param actualTable            {@link ITable} containing all actual results.
+     * @param failureHandler         The failure handler used if the assert fails because of a data
+     *                               mismatch. Can be <code>null</code>.
+     * @param defaultValueComparator {@link ValueComparator} to use with column value comparisons
+     *                               when the column name for the table is not in the
+     *                               columnValueComparers {@link Map}. Can be <code>null</code> and
+     *                               will default to {@link ValueComparerDefaults#getDefaultValueComparer()}.
+     * @param columnValueComparers   {@link Map} of {@link ValueComparator}s to use for specific
+     *                               columns. Can be <code>null</code>.
+     * @since 2.8.6
+     */
+    public void assertUnorderedWithValueComparer(final ITable expectedTable, final ITable actualTable, final FailureHandler failureHandler, final ValueComparator defaultValueComparator, final Map<String, ValueComparator> columnValueComparers) throws DatabaseUnitException {
+        log.debug("assertUnorderedWithValueComparer(expectedTable={}, actualTable={}, failureHandler={}, defaultValueComparer={}, columnValueComparers={}) - start", expectedTable, actualTable, failureHandler, defaultValueComparator, columnValueComparers);
+
+        // Do not continue if same instance
+        if (expectedTable == actualTable) {
+            log.debug("The given tables reference the same object. Skipping comparisons.");
+            return;
+        }
+        final FailureHandler validFailureHandler = determineFailureHandler(failureHandler);
+        final ITableMetaData expectedMetaData = expectedTable.getTableMetaData();
+        final ITableMetaData actualMetaData = actualTable.getTableMetaData();
+        final String expectedTableName = expectedMetaData.getTableName();
+
+        if (expectedTable.getRowCount() == 0 && actualTable.getRowCount() == 0) {
+            log.debug("Tables are empty, hence equals.");
+            return;
+        }
+
+        final Column[] expectedColumns = Columns.getSortedColumns(expectedMetaData);
+        final Column[] actualColumns = Columns.getSortedColumns(actualMetaData);
+        compareColumns(expectedColumns, actualColumns, expectedMetaData, actualMetaData, validFailureHandler);
+
+        final ComparisonColumn[] comparisonCols = getComparisonColumns(expectedTableName, expectedColumns, actualColumns, validFailureHandler);
+
+        compareDataUnordered(expectedTable, actualTable, comparisonCols, validFailureHandler, defaultValueComparator, columnValueComparers);
+    }
+
+    /**
+     * Matches the rows of both tables by key and compares the matched rows.
+     *
+     * @see #assertUnorderedWithValueComparer(ITable, ITable, FailureHandler, ValueComparator, Map)
+     * @since 2.8.6
+     */
+    protected void compareDataUnordered(final ITable expectedTable, final ITable actualTable, final ComparisonColumn[] comparisonCols, final FailureHandler failureHandler, final ValueComparator defaultValueComparator, final Map<String, ValueComparator> columnValueComparers) throws DatabaseUnitException {
+        final ValueComparator validDefaultValueComparator = determineValidDefaultValueComparer(defaultValueComparator);
+        final String expectedTableName = expectedTable.getTableMetaData().getTableName();
+        final Map<String, ValueComparator> validColumnValueComparers = determineValidColumnValueComparers(columnValueComparers, expectedTableName);
+
+        final int[] expectedColumnIndexes = getColumnIndexes(comparisonCols, expectedTable.getTableMetaData());
+        final int[] actualColumnIndexes = getColumnIndexes(comparisonCols, actualTable.getTableMetaData());
+        final int[] keyColumns = getKeyColumns(comparisonCols, expectedTable.getTableMetaData(), actualTable.getTableMetaData());
+        final String keyColumnNames = getKeyColumnNames(comparisonCols, keyColumns);
+        final boolean[] isKeyColumn = new boolean[comparisonCols.length];
+        for (final int keyColumn : keyColumns) {
+            isKeyColumn[keyColumn] = true;
+        }
+        log.debug("compareDataUnordered: matching rows of table '{}' on {}", expectedTableName, keyColumnNames);
+
+        // index the actual rows by key; duplicate keys are chained in row order
+        final int actualRowCount = actualTable.getRowCount();
+        final Map<RowKey, RowKey> index = new HashMap<>(Math.max(16, (int) (actualRowCount / 0.75f) + 1));
+        for (int row = 0; row < actualRowCount; row++) {
+            final RowKey key = createRowKey(actualTable, row, comparisonCols, keyColumns, actualColumnIndexes);
+            final RowKey first = index.putIfAbsent(key, key);
+            if (first != null) {
+                first.append(key);
+            }
+        }
+
+        final ComparisonPlan plan = createComparisonPlan(expectedTable, actualTable, comparisonCols, validDefaultValueComparator, validColumnValueComparers, expectedColumnIndexes, actualColumnIndexes);
+        final DiffCollectingFailureHandler collector = getDiffCollector(failureHandler);
+        final BitSet matched = new BitSet(actualRowCount);
+        final int expectedRowCount = expectedTable.getRowCount();
+        for (int row = 0; row < expectedRowCount; row++) {
+            if (collector != null && collector.isTableLimitReached(expectedTableName)) {
+                log.debug("compareDataUnordered: difference limit reached for table '{}' at row {}", expectedTableName, row);
+                break;
+            }
+            final RowKey key = createRowKey(expectedTable, row, comparisonCols, keyColumns, expectedColumnIndexes);
+            final RowKey match = index.remove(key);
+            if (match == null) {
+                failureHandler.handle(new Difference(expectedTable, actualTable, row, keyColumnNames, key.toString(), null, "missing row"));
+                continue;
+            }
+            final RowKey nextMatch = match.removeHead();
+            if (nextMatch != null) {
+                index.put(nextMatch, nextMatch);
+            }
+            matched.set(match.row);
+            compareRow(plan, failureHandler, row, match.row, isKeyColumn);
+        }
+
+        for (int row = matched.nextClearBit(0); row < actualRowCount; row = matched.nextClearBit(row + 1)) {
+            if (collector != null && collector.isTableLimitReached(expectedTableName)) {
+                break;
+            }
+            final RowKey key = createRowKey(actualTable, row, comparisonCols, keyColumns, actualColumnIndexes);
+            failureHandler.handle(new Difference(expectedTable, actualTable, row, keyColumnNames, null, key.toString(), "unexpected row"));
+        }
+
+        handleCollectedDifferences(failureHandler);
+    }
+
+    private ComparisonPlan createComparisonPlan(final ITable expectedTable, final ITable actualTable, final ComparisonColumn[] comparisonCols, final ValueComparator defaultValueComparator, final Map<String, ValueComparator> columnValueComparers, final int[] expectedColumnIndexes, final int[] actualColumnIndexes) {
+        final ValueComparator[] valueComparators = new ValueComparator[comparisonCols.length];
+        for (int columnNum = 0; columnNum < comparisonCols.length; columnNum++) {
+            valueComparators[columnNum] = determineValueComparer(comparisonCols[columnNum].getColumnName(), defaultValueComparator, columnValueComparers);
+        }
+        return new ComparisonPlan(expectedTable, actualTable, comparisonCols, defaultValueComparator, columnValueComparers, expectedColumnIndexes, actualColumnIndexes, valueComparators);
+    }
+
+    /**
+     * Compares the row at the same position of both tables, through the per-cell
+     * {@link #compareData(ITable, ITable, ComparisonColumn[], FailureHandler, ValueComparator, Map, int, int)}
+     * if a subclass overrides it.
+     */
+    private void compareOrderedRow(final ComparisonPlan plan, final FailureHandler failureHandler, final int rowNum) throws DatabaseUnitException {
+        if (!cellComparisonOverridden) {
+            compareRow(plan, failureHandler, rowNum, rowNum, null);
+            return;
+        }
+        for (int columnNum = 0; columnNum < plan.comparisonCols.length; columnNum++) {
+            compareData(plan.expectedTable, plan.actualTable, plan.comparisonCols, failureHandler, plan.defaultValueComparator, plan.columnValueComparers, rowNum, columnNum);
+        }
+    }
+
+    private static boolean isCellComparisonOverridden(final Class<?> assertClass) {
+        for (Class<?> type = assertClass; type != DbUnitAssertBase.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("compareData", ITable.class, ITable.class, ComparisonColumn[].class, FailureHandler.class, ValueComparator.class, Map.class, int.class, int.class);
+                return true;
+            } catch (final NoSuchMethodException e) {
+                // not declared by this class, check its superclass
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares the expected row to the actual row using the column positions and
+     * value comparers resolved by the plan.
+     *
+     * @param skippedColumns The comparison columns not to compare, <code>null</code> to compare all
+     */
+    private void compareRow(final ComparisonPlan plan, final FailureHandler failureHandler, final int expectedRow, final int actualRow, final boolean[] skippedColumns) throws DatabaseUnitException {
+        final ComparisonColumn[] comparisonCols = plan.comparisonCols;
+        for (int columnNum = 0; columnNum < comparisonCols.length; columnNum++) {
+            if (skippedColumns != null && skippedColumns[columnNum]) {
+                continue;
+            }
+            final String columnName = comparisonCols[columnNum].getColumnName();
+            final Object expectedValue = plan.expectedTable.getValue(expectedRow, plan.expectedColumnIndexes[columnNum]);
+            final Object actualValue = plan.actualTable.getValue(actualRow, plan.actualColumnIndexes[columnNum]);
+
+            if (skipCompare(columnName, expectedValue, actualValue)) {
+                log.trace("skipCompare: ignoring comparison" + " {}={} on column={}", expectedValue, actualValue, columnName);
+                continue;
+            }
+            if (plan.isEqual(columnNum, expectedValue, actualValue)) {
+                continue;
+            }
+
+            // a mismatch is reported by the value comparer using the values as read
+            final ValueComparator valueComparator = plan.valueComparators[columnNum];
+            if (log.isDebugEnabled()) {
+                log.debug("compareData: comparing actualValue={} to expectedValue={} with valueComparer={}", actualValue, expectedValue, valueComparator);
+            }
+            final String failMessage = valueComparator.compare(plan.expectedTable, plan.actualTable, expectedRow, columnName, comparisonCols[columnNum].getDataType(), expectedValue, actualValue);
+            failIfNecessary(plan.expectedTable, plan.actualTable, failureHandler, expectedRow, columnName, expectedValue, actualValue, failMessage);
+        }
+    }
+
+    /**
+     * @return The positions within the comparison columns of the primary key columns
+     * of the expected table, of the actual table if the expected one has none, or of
+     * all comparison columns if no primary key is compared
+     * @since 2.8.6
+     */
+    protected int[] getKeyColumns(final ComparisonColumn[] comparisonCols, final ITableMetaData expectedMetaData, final ITableMetaData actualMetaData) throws DataSetException {
+        Column[] primaryKeys = expectedMetaData.getPrimaryKeys();
+        if (primaryKeys.length == 0) {
+            primaryKeys = actualMetaData.getPrimaryKeys();
+        }
+
+        final int[] result = new int[primaryKeys.length];
+        for (int i = 0; i < primaryKeys.length; i++) {
+            result[i] = -1;
+            for (int j = 0; j < comparisonCols.length; j++) {
+                if (comparisonCols[j].getColumnName().equalsIgnoreCase(primaryKeys[i].getColumnName())) {
+                    result[i] = j;
+                    break;
+                }
+            }
+            if (result[i] < 0) {
+                log.debug("getKeyColumns: primary key column '{}' is not compared, matching on all columns", primaryKeys[i].getColumnName());
+                return allColumns(comparisonCols.length);
+            }
+        }
+        return result.length == 0 ? allColumns(comparisonCols.length) : result;
+    }
+
+    private static int[] allColumns(final int count) {
+        final int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    private static String getKeyColumnNames(final ComparisonColumn[] comparisonCols, final int[] keyColumns) {
+        return Arrays.stream(keyColumns).mapToObj(i -> comparisonCols[i].getColumnName()).collect(joining(","));
+    }
+
+    private static RowKey createRowKey(final ITable table, final int row, final ComparisonColumn[] comparisonCols, final int[] keyColumns, final int[] columnIndexes) throws DataSetException {
+        final Object[] values = new Object[keyColumns.length];
+        for (int i = 0; i < keyColumns.length; i++) {
+            final int column = keyColumns[i];
+            final Object value = table.getValue(row, columnIndexes[column]);
+            try {
+                values[i] = normalizeKeyValue(comparisonCols[column].getDataType().typeCast(value));
+            } catch (final TypeCastException e) {
+                // not convertible, so it can only match the very same value
+                values[i] = value;
+            }
+        }
+        return new RowKey(values, row);
+    }
+
+    private static Object normalizeKeyValue(final Object value) {
+        if (value instanceof BigDecimal) {
+            // 1.0 and 1.00 are equal for the comparison but not for BigDecimal.equals()
+            return ((BigDecimal) value).stripTrailingZeros();
+        }
+        return value;
+    }
+
+    /**
+     * Collects the differences found by one task of a parallel assertion, creating
+     * failures with the failure handler of the assertion.
+     */
+    private static final class CollectingFailureHandler implements FailureHandler {
+        private final FailureHandler target;
+        private final List<Difference> differences = new ArrayList<>();
+        private Error failure;
+
+        CollectingFailureHandler(final FailureHandler target) {
+            this.target = target;
+        }
+
+        public void handle(final Difference diff) {
+            differences.add(diff);
+        }
+
+        public String getAdditionalInfo(final ITable expectedTable, final ITable actualTable, final int row, final String columnName) {
+            return target.getAdditionalInfo(expectedTable, actualTable, row, columnName);
+        }
+
+        public Error createFailure(final String message, final String expected, final String actual) {
+            return target.createFailure(message, expected, actual);
+        }
+
+        public Error createFailure(final String message) {
+            return target.createFailure(message);
+        }
+    }
+
+    /**
+     * Key values of a single row, hashed and compared element-wise so that
+     * binary columns are matched by content.
+     */
+    private static final class RowKey {
+        private final Object[] values;
+        private final int row;
+        private final int hash;
+        private RowKey next;
+        private RowKey last = this;
+
+        RowKey(final Object[] values, final int row) {
+            this.values = values;
+            this.row = row;
+            this.hash = Arrays.deepHashCode(values);
+        }
+
+        /**
+         * Appends a row with the same key, only called on the head of the chain.
+         */
+        void append(final RowKey key) {
+            last.next = key;
+            last = key;
+        }
+
+        /**
+         * @return The next row with the same key, which becomes the head of the chain
+         */
+        RowKey removeHead() {
+            if (next != null) {
+                next.last = last;
+            }
+            return next;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof RowKey && hash == ((RowKey) other).hash && Arrays.deepEquals(values, ((RowKey) other).values);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.deepToString(values);
+        }
+    }
+
+    /**
+     * The comparison of two tables resolved once for all rows: the column positions,
+     * the value comparer of each column and, for the equality comparers, the
+     * expected values cast to the column data type.
+     * <p>
+     * The cast values are only used to detect equal cells: an actual value not equal
+     * to the cached expected value is cast once and compared to it with
+     * {@link Object#equals(Object)}, or {@link BigDecimal#compareTo(BigDecimal)} for
+     * decimals, instead of {@link DataType#compare(Object, Object)} which casts both
+     * values again. The value comparer is still called with the values as read for all
+     * other cells. Not thread-safe.
+     */
+    private static final class ComparisonPlan {
+        /**
+         * Maximum number of distinct expected {@link String} values of a column
+         * whose cast value is cached.
+         */
+        private static final int MAX_CACHED_VALUES = 1024;
+
+        private static final Object NOT_CASTABLE = new Object();
+
+        private final ITable expectedTable;
+        private final ITable actualTable;
+        private final ComparisonColumn[] comparisonCols;
+        private final ValueComparator defaultValueComparator;
+        private final Map<String, ValueComparator> columnValueComparers;
+        private final int[] expectedColumnIndexes;
+        private final int[] actualColumnIndexes;
+        private final ValueComparator[] valueComparators;
+        private final List<Map<String, Object>> castValues;
+
+        private ComparisonPlan(final ITable expectedTable, final ITable actualTable, final ComparisonColumn[] comparisonCols, final ValueComparator defaultValueComparator, final Map<String, ValueComparator> columnValueComparers, final int[] expectedColumnIndexes, final int[] actualColumnIndexes, final ValueComparator[] valueComparators) {
+            this.expectedTable = expectedTable;
+            this.actualTable = actualTable;
+            this.comparisonCols = comparisonCols;
+            this.defaultValueComparator = defaultValueComparator;
+            this.columnValueComparers = columnValueComparers;
+            this.expectedColumnIndexes = expectedColumnIndexes;
+            this.actualColumnIndexes = actualColumnIndexes;
+            this.valueComparators = valueComparators;
+            this.castValues = new ArrayList<>(comparisonCols.length);
+            for (final ValueComparator valueComparator : valueComparators) {
+                castValues.add(isEqualityComparer(valueComparator) ? new HashMap<>() : null);
+            }
+        }
+
+        /**
+         * Only the exact equality comparer classes are known to compare the values
+         * cast by the data type; subclasses may compare differently.
+         */
+        private static boolean isEqualityComparer(final ValueComparator valueComparator) {
+            final Class<?> comparerClass = valueComparator.getClass();
+            return comparerClass == IsActualEqualToExpectedValueComparer.class || comparerClass == IsActualEqualToExpectedWithEmptyFailMessageValueComparer.class;
+        }
+
+        /**
+         * @return <code>true</code> if the column is compared for equality and the values
+         * are equal, <code>false</code> if the value comparer has to decide
+         */
+        private boolean isEqual(final int columnNum, final Object expectedValue, final Object actualValue) {
+            final Map<String, Object> cache = castValues.get(columnNum);
+            if (cache == null) {
+                return false;
+            }
+            final DataType dataType = comparisonCols[columnNum].getDataType();
+            final Object castValue = cast(cache, dataType, expectedValue);
+            if (castValue == NOT_CASTABLE) {
+                return false;
+            }
+            if (castValue == null ? actualValue == null : castValue.equals(actualValue)) {
+                return true;
+            }
+            final Object castActualValue = castOrMark(dataType, actualValue);
+            if (castValue == null || castActualValue == null) {
+                return castValue == castActualValue;
+            }
+            if (castValue instanceof BigDecimal && castActualValue instanceof BigDecimal) {
+                return ((BigDecimal) castValue).compareTo((BigDecimal) castActualValue) == 0;
+            }
+            // a data type may consider unequal objects equal, its value comparer decides then
+            return castValue.equals(castActualValue);
+        }
+
+        private static Object cast(final Map<String, Object> cache, final DataType dataType, final Object value) {
+            if (!(value instanceof String)) {
+                return castOrMark(dataType, value);
+            }
+            Object castValue = cache.get(value);
+            if (castValue == null) {
+                castValue = castOrMark(dataType, value);
+                if (castValue != null && cache.size() < MAX_CACHED_VALUES) {
+                    cache.put((String) value, castValue);
+                }
+            }
+            return castValue;
+        }
+
+        private static Object castOrMark(final DataType dataType, final Object value) {
+            try {
+                return dataType.typeCast(value);
+            } catch (final TypeCastException e) {
+                return NOT_CASTABLE;
+            }
+        }
+    }
+
+    /**
+     * Compares a single cell of the rows at the same position. Ordered comparisons
+     * call it for every cell only if a subclass overrides it, otherwise they compare
+     * the rows with a comparison plan resolved once per table. Unordered comparisons
+     * never call it, as the matched rows are at different positions.
+     */
     protected void compareData(final ITable expectedTable, final ITable actualTable, final ComparisonColumn[] comparisonCols, final FailureHandler failureHandler, final ValueComparator defaultValueComparator, final Map<String, ValueComparator> columnValueComparers, final int rowNum, final int columnNum) throws DatabaseUnitException {
         final ComparisonColumn compareColumn = comparisonCols[columnNum];
 
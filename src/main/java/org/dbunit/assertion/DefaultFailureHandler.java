@@ -174,16 +174,22 @@ public class DefaultFailureHandler implements FailureHandler {
     }
 
     public void handle(final List<Difference> diffList) {
+        // Throw the assertion error
+        throw this.createFailure(buildMessage(diffList));
+    }
+
+    /**
+     * @param diffList The differences to be reported together
+     * @return The message of the failure reporting all given differences
+     * @since 2.8.6
+     */
+    protected String buildMessage(final List<Difference> diffList) {
         StringBuilder sb = new StringBuilder(String.format("%s different places was collected as below:\n", diffList.size()));
         for (Difference each : diffList) {
             String expectedAndActual = "(expected=<%s>, actual=<%s>)";
             sb.append(buildMessage(each) + " " + String.format(expectedAndActual, each.getExpectedValue(), each.getActualValue())).append("\n");
-            //addFailMessage(each, sb);
         }
-        //final String msg = buildMessage(sb.toString());
-        // Throw the assertion error
-        throw this.createFailure(sb.toString());
-        //throw this.createFailure(sb.toString(), String.valueOf(diff.getExpectedValue()), String.valueOf(diff.getActualValue()));
+        return sb.toString();
     }
 
     protected String buildMessage(final Difference diff) {
@@ -20,10 +20,14 @@
  */
 package org.dbunit.assertion;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A {@link FailureHandler} that collects the {@link Difference}s that
@@ -42,19 +46,140 @@ import java.util.List;
  * Difference diff = (Difference)diffList.get(0);
  * ...
  * </pre></code>
+ * <p>
+ * The number of collected differences can be limited. Once a table reached
+ * {@link #setMaxDifferencesPerTable(int) maxDifferencesPerTable} the assertions
+ * stop comparing its rows, differences found until then are only counted. Once
+ * {@link #setMaxDifferences(int) maxDifferences} differences are collected the
+ * handler fails immediately with all collected differences.
  *
  * @author gommma (gommma AT users.sourceforge.net)
  * @author Last changed by: $Author$
  * @version $Revision$ $Date$
  * @since 2.4.0
  */
+@Slf4j
 @Getter
 public class DiffCollectingFailureHandler extends DefaultFailureHandler {
     private final List<Difference> diffList = new ArrayList<>();
 
+    /**
+     * Maximum number of collected differences. @since 2.8.6
+     */
+    private int maxDifferences = Integer.MAX_VALUE;
+
+    /**
+     * Maximum number of collected differences of a single table. @since 2.8.6
+     */
+    private int maxDifferencesPerTable = Integer.MAX_VALUE;
+
+    /**
+     * Whether differences are collected as {@link CompactDifference}s. @since 2.8.6
+     */
+    private boolean compact;
+
+    /**
+     * Number of differences that were not collected because their table
+     * reached the limit. As the comparison of such a table stops, it is a lower
+     * bound of the omitted differences. @since 2.8.6
+     */
+    private int omittedDifferenceCount;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Integer> tableDifferenceCounts = new HashMap<>();
+
     public void handle(Difference diff) {
+        final String tableName = getTableName(diff);
+        final int tableDifferenceCount = tableDifferenceCounts.merge(tableName, 1, Integer::sum);
+        if (tableDifferenceCount > maxDifferencesPerTable) {
+            omittedDifferenceCount++;
+            return;
+        }
+
         // Simply collect the difference without throwing an exception
-        diffList.add(diff);
+        diffList.add(compact ? new CompactDifference(diff, tableName, buildMessage(diff)) : diff);
+        if (diffList.size() >= maxDifferences) {
+            log.debug("handle: {} differences collected, failing", diffList.size());
+            handle(diffList);
+        }
+    }
+
+    /**
+     * @param tableName The name of the expected table
+     * @return <code>true</code> if no more differences of the given table are collected,
+     * so that its comparison can stop
+     * @since 2.8.6
+     */
+    public boolean isTableLimitReached(String tableName) {
+        if (maxDifferencesPerTable == Integer.MAX_VALUE) {
+            return false;
+        }
+        final Integer count = tableDifferenceCounts.get(tableName);
+        return count != null && count >= maxDifferencesPerTable;
+    }
+
+    /**
+     * @return The maximum number of differences of one table that are worth finding,
+     * with respect to both limits
+     * @since 2.8.6
+     */
+    public int getDifferenceLimit() {
+        return Math.min(maxDifferences, maxDifferencesPerTable);
+    }
+
+    /**
+     * @param maxDifferences The number of collected differences after which the handler fails
+     * @since 2.8.6
+     */
+    public void setMaxDifferences(int maxDifferences) {
+        if (maxDifferences <= 0) {
+            throw new IllegalArgumentException("maxDifferences must be positive but was " + maxDifferences);
+        }
+        this.maxDifferences = maxDifferences;
+    }
+
+    /**
+     * @param maxDifferencesPerTable The number of differences collected per table
+     * @since 2.8.6
+     */
+    public void setMaxDifferencesPerTable(int maxDifferencesPerTable) {
+        if (maxDifferencesPerTable <= 0) {
+            throw new IllegalArgumentException("maxDifferencesPerTable must be positive but was " + maxDifferencesPerTable);
+        }
+        this.maxDifferencesPerTable = maxDifferencesPerTable;
+    }
+
+    /**
+     * @param compact <code>true</code> to collect {@link CompactDifference}s, which render
+     *                their message immediately instead of referencing the compared tables
+     * @since 2.8.6
+     */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    @Override
+    protected String buildMessage(final Difference diff) {
+        if (diff instanceof CompactDifference) {
+            return ((CompactDifference) diff).getMessage();
+        }
+        return super.buildMessage(diff);
+    }
+
+    @Override
+    protected String buildMessage(final List<Difference> diffList) {
+        final String message = super.buildMessage(diffList);
+        if (omittedDifferenceCount == 0) {
+            return message;
+        }
+        return message + "at least " + omittedDifferenceCount + " more differences were omitted\n";
+    }
+
+    private static String getTableName(Difference diff) {
+        if (diff instanceof CompactDifference) {
+            return ((CompactDifference) diff).getTableName();
+        }
+        return diff.getExpectedTable().getTableMetaData().getTableName();
     }
 
     public String toString() {
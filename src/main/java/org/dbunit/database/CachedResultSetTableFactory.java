@@ -34,17 +34,30 @@ import org.dbunit.dataset.ITableMetaData;
  */
 public class CachedResultSetTableFactory implements IResultSetTableFactory {
     public IResultSetTable createTable(String tableName, String selectStatement, IDatabaseConnection connection) throws SQLException, DataSetException {
-        return new CachedResultSetTable(new ForwardOnlyResultSetTable(tableName, selectStatement, connection));
+        return createCachedTable(new ForwardOnlyResultSetTable(tableName, selectStatement, connection), connection);
     }
 
     public IResultSetTable createTable(ITableMetaData metaData, IDatabaseConnection connection) throws SQLException, DataSetException {
         ForwardOnlyResultSetTable resultSetTable = new ForwardOnlyResultSetTable(metaData, connection);
-        return new CachedResultSetTable(resultSetTable);
+        return createCachedTable(resultSetTable, connection);
     }
 
     public IResultSetTable createTable(String tableName, PreparedStatement preparedStatement, IDatabaseConnection connection) throws SQLException, DataSetException {
         // Reuse method from ForwardOnly factory
         ForwardOnlyResultSetTable table = new ForwardOnlyResultSetTableFactory().createForwardOnlyResultSetTable(tableName, preparedStatement, connection);
+        return createCachedTable(table, connection);
+    }
+
+    /**
+     * Caches all rows of the given table, either in a {@link CachedResultSetTable} or, if the
+     * {@link DatabaseConfig#FEATURE_COLUMNAR_TABLES} feature is enabled, in a {@link ColumnarResultSetTable}.
+     *
+     * @since 2.8.6
+     */
+    protected IResultSetTable createCachedTable(IResultSetTable table, IDatabaseConnection connection) throws DataSetException {
+        if (connection.getConfig().getFeature(DatabaseConfig.FEATURE_COLUMNAR_TABLES)) {
+            return new ColumnarResultSetTable(table);
+        }
         return new CachedResultSetTable(table);
     }
 }
\ No newline at end of file
@@ -27,7 +27,10 @@ import java.util.Map;
 import java.util.Properties;
 
 import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.statement.DefaultDifferenceStatementBuilder;
+import org.dbunit.database.statement.IDifferenceStatementBuilder;
 import org.dbunit.database.statement.IStatementFactory;
+import org.dbunit.database.statement.IUpsertStatementBuilder;
 import org.dbunit.database.statement.PreparedStatementFactory;
 import org.dbunit.dataset.datatype.DefaultDataTypeFactory;
 import org.dbunit.dataset.datatype.IDataTypeFactory;
@@ -67,10 +70,22 @@ public class DatabaseConfig {
             "http://www.dbunit.org/properties/primaryKeyFilter";
     public static final String PROPERTY_BATCH_SIZE =
             "http://www.dbunit.org/properties/batchSize";
+    public static final String PROPERTY_INSERT_ROWS_PER_STATEMENT =
+            "http://www.dbunit.org/properties/insertRowsPerStatement";
+    public static final String PROPERTY_DELETE_KEYS_PER_STATEMENT =
+            "http://www.dbunit.org/properties/deleteKeysPerStatement";
+    public static final String PROPERTY_UPSERT_STATEMENT_BUILDER =
+            "http://www.dbunit.org/properties/upsertStatementBuilder";
+    public static final String PROPERTY_DIFFERENCE_STATEMENT_BUILDER =
+            "http://www.dbunit.org/properties/differenceStatementBuilder";
     public static final String PROPERTY_FETCH_SIZE =
             "http://www.dbunit.org/properties/fetchSize";
+    public static final String PROPERTY_STREAMING_RESULTSET_CONFIGURER =
+            "http://www.dbunit.org/properties/streamingResultSetConfigurer";
     public static final String PROPERTY_METADATA_HANDLER =
             "http://www.dbunit.org/properties/metadataHandler";
+    public static final String PROPERTY_METADATA_CACHE =
+            "http://www.dbunit.org/properties/metadataCache";
     public static final String PROPERTY_ALLOW_VERIFYTABLEDEFINITION_EXPECTEDTABLE_COUNT_MISMATCH =
             "http://www.dbunit.org/properties/allowVerifytabledefinitionExpectedtableCountMismatch";
     public static final String PROPERTY_IDENTITY_COLUMN_FILTER =
@@ -88,6 +103,10 @@ public class DatabaseConfig {
             "http://www.dbunit.org/features/skipOracleRecycleBinTables";
     public static final String FEATURE_ALLOW_EMPTY_FIELDS =
             "http://www.dbunit.org/features/allowEmptyFields";
+    public static final String FEATURE_COLUMNAR_TABLES =
+            "http://www.dbunit.org/features/columnarTables";
+    public static final String FEATURE_ROW_VALUE_CONSTRUCTORS =
+            "http://www.dbunit.org/features/rowValueConstructors";
 
     /**
      * A list of all properties as {@link ConfigProperty} objects.
@@ -102,8 +121,14 @@ public class DatabaseConfig {
             new ConfigProperty(PROPERTY_TABLE_TYPE, String[].class, false),
             new ConfigProperty(PROPERTY_PRIMARY_KEY_FILTER, IColumnFilter.class, true),
             new ConfigProperty(PROPERTY_BATCH_SIZE, Integer.class, false),
+            new ConfigProperty(PROPERTY_INSERT_ROWS_PER_STATEMENT, Integer.class, false),
+            new ConfigProperty(PROPERTY_DELETE_KEYS_PER_STATEMENT, Integer.class, false),
+            new ConfigProperty(PROPERTY_UPSERT_STATEMENT_BUILDER, IUpsertStatementBuilder.class, true),
+            new ConfigProperty(PROPERTY_DIFFERENCE_STATEMENT_BUILDER, IDifferenceStatementBuilder.class, false),
             new ConfigProperty(PROPERTY_FETCH_SIZE, Integer.class, false),
+            new ConfigProperty(PROPERTY_STREAMING_RESULTSET_CONFIGURER, IStreamingResultSetConfigurer.class, false),
             new ConfigProperty(PROPERTY_METADATA_HANDLER, IMetadataHandler.class, false),
+            new ConfigProperty(PROPERTY_METADATA_CACHE, MetadataCache.class, true),
             new ConfigProperty(PROPERTY_IDENTITY_COLUMN_FILTER, IColumnFilter.class, true),
             new ConfigProperty(FEATURE_CASE_SENSITIVE_TABLE_NAMES, Boolean.class, false),
             new ConfigProperty(FEATURE_QUALIFIED_TABLE_NAMES, Boolean.class, false),
@@ -111,6 +136,8 @@ public class DatabaseConfig {
             new ConfigProperty(FEATURE_DATATYPE_WARNING, Boolean.class, false),
             new ConfigProperty(FEATURE_SKIP_ORACLE_RECYCLEBIN_TABLES, Boolean.class, false),
             new ConfigProperty(FEATURE_ALLOW_EMPTY_FIELDS, Boolean.class, false),
+            new ConfigProperty(FEATURE_COLUMNAR_TABLES, Boolean.class, false),
+            new ConfigProperty(FEATURE_ROW_VALUE_CONSTRUCTORS, Boolean.class, false),
             new ConfigProperty(PROPERTY_ALLOW_VERIFYTABLEDEFINITION_EXPECTEDTABLE_COUNT_MISMATCH, Boolean.class, false),
     };
 
@@ -125,7 +152,9 @@ public class DatabaseConfig {
             FEATURE_BATCHED_STATEMENTS,
             FEATURE_DATATYPE_WARNING,
             FEATURE_SKIP_ORACLE_RECYCLEBIN_TABLES,
-            FEATURE_ALLOW_EMPTY_FIELDS
+            FEATURE_ALLOW_EMPTY_FIELDS,
+            FEATURE_COLUMNAR_TABLES,
+            FEATURE_ROW_VALUE_CONSTRUCTORS
     };
 
     private static final DefaultDataTypeFactory DEFAULT_DATA_TYPE_FACTORY =
@@ -138,6 +167,8 @@ public class DatabaseConfig {
     private static final String DEFAULT_DATABASE_TYPE = null;
     private static final String[] DEFAULT_TABLE_TYPE = {"TABLE"};
     private static final Integer DEFAULT_BATCH_SIZE = 100;
+    private static final Integer DEFAULT_INSERT_ROWS_PER_STATEMENT = 1;
+    private static final Integer DEFAULT_DELETE_KEYS_PER_STATEMENT = 1;
     private static final Integer DEFAULT_FETCH_SIZE = 100;
 
     private final Map<String, Object> _propertyMap = new HashMap<>();
@@ -150,6 +181,8 @@ public class DatabaseConfig {
         setFeature(FEATURE_CASE_SENSITIVE_TABLE_NAMES, false);
         setFeature(FEATURE_DATATYPE_WARNING, true);
         setFeature(FEATURE_ALLOW_EMPTY_FIELDS, false);
+        setFeature(FEATURE_COLUMNAR_TABLES, false);
+        setFeature(FEATURE_ROW_VALUE_CONSTRUCTORS, false);
 
         setProperty(PROPERTY_STATEMENT_FACTORY, PREPARED_STATEMENT_FACTORY);
         setProperty(PROPERTY_RESULTSET_TABLE_FACTORY, RESULT_SET_TABLE_FACTORY);
@@ -158,7 +191,11 @@ public class DatabaseConfig {
         setProperty(PROPERTY_DATABASE_TYPE, DEFAULT_DATABASE_TYPE);
         setProperty(PROPERTY_TABLE_TYPE, DEFAULT_TABLE_TYPE);
         setProperty(PROPERTY_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        setProperty(PROPERTY_INSERT_ROWS_PER_STATEMENT, DEFAULT_INSERT_ROWS_PER_STATEMENT);
+        setProperty(PROPERTY_DELETE_KEYS_PER_STATEMENT, DEFAULT_DELETE_KEYS_PER_STATEMENT);
+        setProperty(PROPERTY_DIFFERENCE_STATEMENT_BUILDER, new DefaultDifferenceStatementBuilder());
         setProperty(PROPERTY_FETCH_SIZE, DEFAULT_FETCH_SIZE);
+        setProperty(PROPERTY_STREAMING_RESULTSET_CONFIGURER, new DefaultStreamingResultSetConfigurer());
         setProperty(PROPERTY_METADATA_HANDLER, new DefaultMetadataHandler());
         setProperty(
                 PROPERTY_ALLOW_VERIFYTABLEDEFINITION_EXPECTEDTABLE_COUNT_MISMATCH,
@@ -318,6 +355,24 @@ public class DatabaseConfig {
         }
     }
 
+    /**
+     * Copies all properties and features of this configuration to the given one, e.g. to
+     * configure the additional connections of a worker thread like the current connection.
+     *
+     * @param target The configuration receiving the values
+     * @since 2.8.6
+     */
+    public void copyTo(DatabaseConfig target) {
+        for (ConfigProperty property : ALL_PROPERTIES) {
+            String name = property.getProperty();
+            Object value = getProperty(name);
+            // features which were never set have no value
+            if (value != null || property.isNullable()) {
+                target.setProperty(name, value);
+            }
+        }
+    }
+
     private Object createObjectFromString(ConfigProperty dbunitProp, String propValue)
             throws DatabaseUnitException {
         if (dbunitProp == null) {
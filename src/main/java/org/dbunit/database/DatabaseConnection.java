@@ -21,6 +21,7 @@
 
 package org.dbunit.database;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 
@@ -129,6 +130,14 @@ public class DatabaseConnection extends AbstractDatabaseConnection implements ID
 
     public void close() throws SQLException {
         logger.debug("close() - start");
+        MetadataCache metadataCache = (MetadataCache) getConfig().getProperty(DatabaseConfig.PROPERTY_METADATA_CACHE);
+        if (metadataCache != null) {
+            try {
+                metadataCache.flush();
+            } catch (IOException e) {
+                logger.warn("Could not write the metadata cache " + metadataCache, e);
+            }
+        }
         _connection.close();
     }
 
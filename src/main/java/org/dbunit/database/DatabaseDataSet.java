@@ -25,8 +25,16 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.dbunit.DatabaseUnitRuntimeException;
 import org.dbunit.dataset.AbstractDataSet;
@@ -191,48 +199,76 @@ public class DatabaseDataSet extends AbstractDataSet {
             String[] tableType = (String[]) config.getProperty(DatabaseConfig.PROPERTY_TABLE_TYPE);
             IMetadataHandler metadataHandler = (IMetadataHandler) config.getProperty(DatabaseConfig.PROPERTY_METADATA_HANDLER);
 
-            ResultSet resultSet = metadataHandler.getTables(databaseMetaData, schema, tableType);
-
-            if (logger.isDebugEnabled()) {
-                logger.debug(SQLHelper.getDatabaseInfo(jdbcConnection.getMetaData()));
-                logger.debug("metadata resultset={}", resultSet);
+            MetadataCache metadataCache = (MetadataCache) config.getProperty(DatabaseConfig.PROPERTY_METADATA_CACHE);
+            List<String[]> tables = null;
+            if (metadataCache != null) {
+                tables = metadataCache.getTables(databaseMetaData.getURL(), schema, isCaseSensitiveTableNames(), tableType);
             }
-
-            try {
-                if (_tableMap == null) {
-                    _tableMap = super.createTableNameMap();
+            if (tables == null) {
+                tables = getTables(metadataHandler, databaseMetaData, schema, tableType);
+                if (metadataCache != null) {
+                    metadataCache.putTables(databaseMetaData.getURL(), schema, isCaseSensitiveTableNames(), tableType, tables);
                 }
-                _schemaSet.add(schema);
-                while (resultSet.next()) {
-                    String schemaName = metadataHandler.getSchema(resultSet);
-                    String tableName = resultSet.getString(3);
+            } else {
+                logger.debug("Using {} cached table names from {}", tables.size(), metadataCache);
+            }
 
-                    if (_tableFilter != null && !_tableFilter.accept(tableName)) {
-                        logger.debug("Skipping table '{}'", tableName);
-                        continue;
-                    }
-                    if (!_oracleRecycleBinTableFilter.accept(tableName)) {
-                        logger.debug("Skipping oracle recycle bin table '{}'", tableName);
-                        continue;
-                    }
-                    if (schema == null && !_schemaSet.contains(schemaName)) {
-                        _schemaSet.add(schemaName);
-                    }
+            if (_tableMap == null) {
+                _tableMap = super.createTableNameMap();
+            }
+            _schemaSet.add(schema);
+            for (String[] table : tables) {
+                String schemaName = table[0];
+                String tableName = table[1];
+
+                if (_tableFilter != null && !_tableFilter.accept(tableName)) {
+                    logger.debug("Skipping table '{}'", tableName);
+                    continue;
+                }
+                if (!_oracleRecycleBinTableFilter.accept(tableName)) {
+                    logger.debug("Skipping oracle recycle bin table '{}'", tableName);
+                    continue;
+                }
+                if (schema == null && !_schemaSet.contains(schemaName)) {
+                    _schemaSet.add(schemaName);
+                }
 
-                    QualifiedTableName qualifiedTableName = new QualifiedTableName(tableName, schemaName);
-                    tableName = qualifiedTableName.getQualifiedNameIfEnabled(config);
+                QualifiedTableName qualifiedTableName = new QualifiedTableName(tableName, schemaName);
+                tableName = qualifiedTableName.getQualifiedNameIfEnabled(config);
 
-                    // Put the table into the table map
-                    _tableMap.add(tableName, null);
-                }
-            } finally {
-                resultSet.close();
+                // Put the table into the table map
+                _tableMap.add(tableName, null);
             }
         } catch (SQLException e) {
             throw new DataSetException(e);
         }
     }
 
+    /**
+     * @return The schema and table names of all tables of the given schema
+     */
+    private List<String[]> getTables(IMetadataHandler metadataHandler, DatabaseMetaData databaseMetaData,
+                                     String schema, String[] tableType) throws SQLException {
+        ResultSet resultSet = metadataHandler.getTables(databaseMetaData, schema, tableType);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(SQLHelper.getDatabaseInfo(databaseMetaData));
+            logger.debug("metadata resultset={}", resultSet);
+        }
+
+        List<String[]> tables = new ArrayList<>();
+        try {
+            while (resultSet.next()) {
+                String schemaName = metadataHandler.getSchema(resultSet);
+                String tableName = resultSet.getString(3);
+                tables.add(new String[]{schemaName, tableName});
+            }
+        } finally {
+            resultSet.close();
+        }
+        return tables;
+    }
+
     private String getDefaultSchema() {
         return _connection.getSchema();
     }
@@ -310,6 +346,171 @@ public class DatabaseDataSet extends AbstractDataSet {
         }
     }
 
+    /**
+     * Looks up the columns and primary keys of all tables of this data set with one
+     * schema-wide {@link DatabaseMetaData#getColumns(String, String, String, String)} and
+     * {@link DatabaseMetaData#getPrimaryKeys(String, String, String)} call per schema, instead
+     * of two calls per table when the metadata of each table is accessed. This makes the number
+     * of metadata round trips independent of the number of tables.
+     * <p>
+     * If the JDBC driver does not support the schema-wide primary key lookup or returns no keys
+     * at all, the primary keys are still looked up per table on first access, as are the primary keys
+     * of tables the schema-wide lookup returned none for. Tables whose name is not unique because
+     * no schema is set are looked up per table as well.
+     *
+     * @throws DataSetException
+     * @see IMetadataHandler#getAllColumns(DatabaseMetaData, String)
+     * @see IMetadataHandler#getAllPrimaryKeys(DatabaseMetaData, String)
+     * @since 2.8.6
+     */
+    public void prefetchMetadata() throws DataSetException {
+        logger.debug("prefetchMetadata() - start");
+
+        // group the tables without metadata by schema
+        Map<String, List<String>> tablesBySchema = new LinkedHashMap<>();
+        for (String tableName : getTableNames()) {
+            if (_tableMap.get(tableName) == null) {
+                QualifiedTableName qualifiedTableName = new QualifiedTableName(tableName, getDefaultSchema());
+                tablesBySchema.computeIfAbsent(qualifiedTableName.getSchema(), k -> new ArrayList<>()).add(tableName);
+            }
+        }
+
+        try {
+            DatabaseMetaData databaseMetaData = _connection.getConnection().getMetaData();
+            IMetadataHandler metadataHandler = (IMetadataHandler) _connection.getConfig().getProperty(
+                    DatabaseConfig.PROPERTY_METADATA_HANDLER);
+            MetadataCache metadataCache = (MetadataCache) _connection.getConfig().getProperty(
+                    DatabaseConfig.PROPERTY_METADATA_CACHE);
+            String url = metadataCache != null ? databaseMetaData.getURL() : null;
+
+            for (Map.Entry<String, List<String>> entry : tablesBySchema.entrySet()) {
+                String schema = entry.getKey();
+                List<String> tableNames = entry.getValue();
+                if (metadataCache != null && isCached(metadataCache, url, schema, tableNames)) {
+                    logger.debug("Metadata of schema '{}' is cached in {}", schema, metadataCache);
+                    continue;
+                }
+
+                Map<String, List<MetadataCache.ColumnData>> columns = prefetchColumns(metadataHandler, databaseMetaData, schema);
+                Map<String, String[]> primaryKeys = prefetchPrimaryKeys(metadataHandler, databaseMetaData, schema);
+
+                for (String tableName : tableNames) {
+                    String plainTableName = new QualifiedTableName(tableName, schema).getTable();
+                    List<MetadataCache.ColumnData> columnData = columns.get(plainTableName);
+                    if (columnData == null) {
+                        // not unique or not found, look it up when accessed
+                        continue;
+                    }
+                    MetadataCache.ColumnData[] columnArray = columnData.toArray(new MetadataCache.ColumnData[0]);
+                    // a table without prefetched keys looks them up itself when accessed
+                    String[] primaryKeyNames = primaryKeys == null ? null : primaryKeys.get(plainTableName);
+
+                    DatabaseTableMetaData metaData = new DatabaseTableMetaData(tableName, _connection, false,
+                            super.isCaseSensitiveTableNames());
+                    metaData.setPrefetchedMetadata(columnArray, primaryKeyNames);
+                    _tableMap.update(tableName, metaData);
+
+                    if (metadataCache != null) {
+                        metadataCache.putColumns(url, schema, isCaseSensitiveTableNames(), plainTableName, columnArray);
+                        if (primaryKeyNames != null) {
+                            metadataCache.putPrimaryKeys(url, schema, isCaseSensitiveTableNames(), plainTableName, primaryKeyNames);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataSetException(e);
+        }
+    }
+
+    private boolean isCached(MetadataCache metadataCache, String url, String schema, List<String> tableNames) {
+        for (String tableName : tableNames) {
+            String plainTableName = new QualifiedTableName(tableName, schema).getTable();
+            if (metadataCache.getColumns(url, schema, isCaseSensitiveTableNames(), plainTableName) == null
+                    || metadataCache.getPrimaryKeys(url, schema, isCaseSensitiveTableNames(), plainTableName) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The columns of all tables of the given schema by table name. Tables whose
+     * name exists in several schemas are omitted.
+     */
+    private Map<String, List<MetadataCache.ColumnData>> prefetchColumns(IMetadataHandler metadataHandler,
+                                                                       DatabaseMetaData databaseMetaData, String schema) throws SQLException {
+        Map<String, List<MetadataCache.ColumnData>> columns = new HashMap<>();
+        Map<String, String> schemaByTable = new HashMap<>();
+        Set<String> ambiguousTables = new HashSet<>();
+
+        ResultSet resultSet = metadataHandler.getAllColumns(databaseMetaData, schema);
+        try {
+            while (resultSet.next()) {
+                String tableName = resultSet.getString(3);
+                // skip rows of other schemas matched by the schema pattern, like the per-table lookup
+                if (!metadataHandler.matches(resultSet, schema, tableName, isCaseSensitiveTableNames())) {
+                    continue;
+                }
+                String tableSchema = resultSet.getString(1) + "." + resultSet.getString(2);
+                String previousSchema = schemaByTable.putIfAbsent(tableName, tableSchema);
+                if (previousSchema != null && !previousSchema.equals(tableSchema)) {
+                    ambiguousTables.add(tableName);
+                }
+                columns.computeIfAbsent(tableName, k -> new ArrayList<>()).add(MetadataCache.ColumnData.read(resultSet));
+            }
+        } finally {
+            resultSet.close();
+        }
+
+        columns.keySet().removeAll(ambiguousTables);
+        logger.debug("Prefetched columns of {} tables in schema '{}'", columns.size(), schema);
+        return columns;
+    }
+
+    /**
+     * @return The primary key column names of all tables of the given schema by table name,
+     * or <code>null</code> if the driver does not support a schema-wide lookup. Tables whose
+     * name exists in several schemas are omitted.
+     */
+    private Map<String, String[]> prefetchPrimaryKeys(IMetadataHandler metadataHandler,
+                                                      DatabaseMetaData databaseMetaData, String schema) {
+        Map<String, SortedMap<Integer, String>> keys = new HashMap<>();
+        Map<String, String> schemaByTable = new HashMap<>();
+        Set<String> ambiguousTables = new HashSet<>();
+        try {
+            ResultSet resultSet = metadataHandler.getAllPrimaryKeys(databaseMetaData, schema);
+            try {
+                while (resultSet.next()) {
+                    String tableName = resultSet.getString(3);
+                    String tableSchema = resultSet.getString(1) + "." + resultSet.getString(2);
+                    String previousSchema = schemaByTable.putIfAbsent(tableName, tableSchema);
+                    if (previousSchema != null && !previousSchema.equals(tableSchema)) {
+                        ambiguousTables.add(tableName);
+                    }
+                    keys.computeIfAbsent(tableName, k -> new TreeMap<>()).put(resultSet.getInt(5), resultSet.getString(4));
+                }
+            } finally {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            logger.debug("Schema-wide primary key lookup not supported, looking up the primary keys per table", e);
+            return null;
+        }
+        if (keys.isEmpty()) {
+            // some drivers silently return nothing for a null table name
+            logger.debug("Schema-wide primary key lookup returned no keys, looking up the primary keys per table");
+            return null;
+        }
+
+        keys.keySet().removeAll(ambiguousTables);
+        Map<String, String[]> primaryKeys = new HashMap<>();
+        for (Map.Entry<String, SortedMap<Integer, String>> entry : keys.entrySet()) {
+            primaryKeys.put(entry.getKey(), entry.getValue().values().toArray(new String[0]));
+        }
+        return primaryKeys;
+    }
+
     private static class SchemaSet extends HashSet<String> {
         private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,192 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.IDataTypeFactory;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Producer reading tables or queries from the database with forward-only result sets and
+ * passing each row to the consumer as soon as it has been fetched.
+ * <p>
+ * Other than exporting a {@link DatabaseDataSet} or {@link QueryDataSet} no
+ * {@link IResultSetTableFactory} is involved and no row is kept, so writers implementing
+ * {@link IDataSetConsumer} (e.g. {@link org.dbunit.dataset.xml.FlatXmlWriter},
+ * {@link org.dbunit.dataset.xml.XmlDataSetWriter} or
+ * {@link org.dbunit.dataset.csv.CsvDataSetWriter}) export with constant memory.
+ * The statements are set up by the configured
+ * {@link DatabaseConfig#PROPERTY_STREAMING_RESULTSET_CONFIGURER} so that the driver
+ * streams the rows from the server as well.
+ * <pre>
+ * DatabaseExportProducer producer = new DatabaseExportProducer(connection);
+ * producer.addTable("AUDIT_LOG");
+ * producer.setConsumer(new FlatXmlWriter(out, false, false, new String[0]));
+ * producer.produce();
+ * </pre>
+ * If no table has been added all tables of the connection are exported.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DatabaseExportProducer implements IDataSetProducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseExportProducer.class);
+
+    private final IDatabaseConnection _connection;
+    private final List<QueryDataSet.TableEntry> _tables = new ArrayList<>();
+    private IDataSetConsumer _consumer = new DefaultConsumer();
+
+    public DatabaseExportProducer(IDatabaseConnection connection) {
+        if (connection == null) {
+            throw new NullPointerException("The parameter 'connection' must not be null");
+        }
+        _connection = connection;
+    }
+
+    /**
+     * Adds a table with the specified name and its rows selected by the specified query.
+     *
+     * @param tableName The name of the table as passed to the consumer
+     * @param query     The query returning the rows of the table
+     */
+    public void addTable(String tableName, String query) {
+        logger.debug("addTable(tableName={}, query={}) - start", tableName, query);
+        _tables.add(new QueryDataSet.TableEntry(tableName, query));
+    }
+
+    /**
+     * Adds a database table, exporting all its rows.
+     *
+     * @param tableName The name of the database table
+     */
+    public void addTable(String tableName) {
+        addTable(tableName, null);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // IDataSetProducer interface
+
+    public void setConsumer(IDataSetConsumer consumer) throws DataSetException {
+        logger.debug("setConsumer(consumer) - start");
+        _consumer = consumer;
+    }
+
+    public void produce() throws DataSetException {
+        logger.debug("produce() - start");
+
+        DatabaseConfig config = _connection.getConfig();
+        IStreamingResultSetConfigurer configurer = (IStreamingResultSetConfigurer) config.getProperty(
+                DatabaseConfig.PROPERTY_STREAMING_RESULTSET_CONFIGURER);
+
+        try {
+            List<QueryDataSet.TableEntry> tables = _tables;
+            if (tables.isEmpty()) {
+                tables = new ArrayList<>();
+                String[] tableNames = _connection.createDataSet().getTableNames();
+                for (int i = 0; i < tableNames.length; i++) {
+                    tables.add(new QueryDataSet.TableEntry(tableNames[i], null));
+                }
+            }
+
+            Connection jdbcConnection = _connection.getConnection();
+            boolean restoreAutoCommit = configurer.requiresTransaction() && jdbcConnection.getAutoCommit();
+            if (restoreAutoCommit) {
+                jdbcConnection.setAutoCommit(false);
+            }
+            try {
+                _consumer.startDataSet();
+                for (QueryDataSet.TableEntry entry : tables) {
+                    produceTable(entry, jdbcConnection, configurer, config);
+                }
+                _consumer.endDataSet();
+            } finally {
+                if (restoreAutoCommit) {
+                    // nothing has been modified, end the read-only transaction
+                    jdbcConnection.rollback();
+                    jdbcConnection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataSetException(e);
+        }
+    }
+
+    private void produceTable(QueryDataSet.TableEntry entry, Connection jdbcConnection,
+                              IStreamingResultSetConfigurer configurer, DatabaseConfig config)
+            throws DataSetException, SQLException {
+        String tableName = entry.getTableName();
+        logger.debug("produceTable(tableName={}) - start", tableName);
+
+        Statement statement = jdbcConnection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ResultSet resultSet = null;
+        try {
+            configurer.configureStatement(statement, config);
+
+            ITableMetaData metaData;
+            if (entry.getQuery() == null) {
+                metaData = _connection.createDataSet().getTableMetaData(tableName);
+                String escapePattern = (String) config.getProperty(DatabaseConfig.PROPERTY_ESCAPE_PATTERN);
+                String query = DatabaseDataSet.getSelectStatement(_connection.getSchema(), metaData, escapePattern);
+                resultSet = statement.executeQuery(query);
+            } else {
+                // no other statement may be executed while the result set is streamed, so the
+                // columns are created from the result set metadata without a DatabaseMetaData lookup
+                IDataTypeFactory dataTypeFactory = (IDataTypeFactory) config.getProperty(
+                        DatabaseConfig.PROPERTY_DATATYPE_FACTORY);
+                boolean caseSensitiveTableNames = config.getFeature(DatabaseConfig.FEATURE_CASE_SENSITIVE_TABLE_NAMES);
+                resultSet = statement.executeQuery(entry.getQuery());
+                metaData = new ResultSetTableMetaData(tableName, resultSet.getMetaData(), dataTypeFactory,
+                        caseSensitiveTableNames);
+            }
+
+            Column[] columns = metaData.getColumns();
+            _consumer.startTable(metaData);
+            while (resultSet.next()) {
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = columns[i].getDataType().getSqlValue(i + 1, resultSet);
+                }
+                _consumer.row(values);
+            }
+            _consumer.endTable();
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            statement.close();
+        }
+    }
+}
@@ -20,28 +20,44 @@
  */
 package org.dbunit.database;
 
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.TreeSet;
 
-import org.dbunit.database.search.TablesDependencyHelper;
 import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.OrderedTableNameMap;
 import org.dbunit.dataset.filter.SequenceTableFilter;
-import org.dbunit.util.search.SearchException;
+import org.dbunit.util.QualifiedTableName;
+import org.dbunit.util.SQLHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This filter orders tables using dependency information provided by
- * {@link java.sql.DatabaseMetaData#getExportedKeys}. Note that this class
+ * {@link java.sql.DatabaseMetaData#getImportedKeys}. Note that this class
  * name is a bit misleading since it is not at all related to database
  * sequences. It just brings database tables in a specific order.
+ * <p>
+ * The foreign keys of all tables are read once to build the dependency graph, with a
+ * single lookup per schema where the driver supports it and per table otherwise. The
+ * graph is then sorted topologically, keeping the original order of tables that
+ * do not depend on each other. Tables that depend on each other in a cycle cause a
+ * {@link CyclicTablesDependencyException} unless cyclic tables should be grouped, in
+ * which case the tables of a cycle are returned next to each other and the caller is
+ * responsible for deferring or disabling the constraints between them.
  *
  * @author Manuel Laflamme
  * @author Erik Price
@@ -62,7 +78,22 @@ public class DatabaseSequenceFilter extends SequenceTableFilter {
      */
     public DatabaseSequenceFilter(IDatabaseConnection connection,
                                   String[] tableNames) throws DataSetException, SQLException {
-        super(sortTableNames(connection, tableNames));
+        this(connection, tableNames, false);
+    }
+
+    /**
+     * Create a DatabaseSequenceFilter that only exposes specified table names.
+     *
+     * @param connection         The database connection
+     * @param tableNames         The names of the tables to be ordered
+     * @param groupCyclicTables  If <code>true</code>, tables that depend on each other in a cycle
+     *                           are returned next to each other instead of throwing a
+     *                           {@link CyclicTablesDependencyException}
+     * @since 2.8.6
+     */
+    public DatabaseSequenceFilter(IDatabaseConnection connection,
+                                  String[] tableNames, boolean groupCyclicTables) throws DataSetException, SQLException {
+        super(sortTableNames(connection, tableNames, groupCyclicTables));
     }
 
     /**
@@ -85,220 +116,235 @@ public class DatabaseSequenceFilter extends SequenceTableFilter {
     static String[] sortTableNames(
             IDatabaseConnection connection,
             String[] tableNames)
-            throws DataSetException, SQLException
-    // not sure why this throws DataSetException ? - ENP
-    {
-        logger.debug("sortTableNames(connection={}, tableNames={}) - start", connection, tableNames);
+            throws DataSetException, SQLException {
+        return sortTableNames(connection, tableNames, false);
+    }
 
-        // Get dependencies for each table
-        Map dependencies = new HashMap();
-        try {
-            for (int i = 0; i < tableNames.length; i++) {
-                String tableName = tableNames[i];
-                DependencyInfo info = getDependencyInfo(connection, tableName);
-                dependencies.put(tableName, info);
+    static String[] sortTableNames(
+            IDatabaseConnection connection,
+            String[] tableNames,
+            boolean groupCyclicTables)
+            throws DataSetException, SQLException {
+        logger.debug("sortTableNames(connection={}, tableNames={}, groupCyclicTables={}) - start",
+                connection, tableNames, groupCyclicTables);
+
+        List<BitSet> parents = getParents(connection, tableNames);
+        List<int[]> components = getCyclicComponents(parents);
+
+        // components with more than one table are cycles
+        for (int[] component : components) {
+            if (component.length > 1) {
+                Set<String> cyclicTableNames = new LinkedHashSet<>();
+                for (int index : component) {
+                    cyclicTableNames.add(tableNames[index]);
+                }
+                if (!groupCyclicTables) {
+                    throw new CyclicTablesDependencyException(tableNames[component[0]], cyclicTableNames);
+                }
+                logger.warn("Tables {} depend on each other. Their constraints must be deferred or disabled.",
+                        cyclicTableNames);
             }
-        } catch (SearchException e) {
-            throw new DataSetException("Exception while searching the dependent tables.", e);
-        }
-
-
-        // Check whether the table dependency info contains cycles
-        for (Iterator iterator = dependencies.values().iterator(); iterator.hasNext(); ) {
-            DependencyInfo info = (DependencyInfo) iterator.next();
-            info.checkCycles();
         }
 
-        return sort(tableNames, dependencies);
+        return sort(tableNames, parents, components);
     }
 
+    /**
+     * Sorts the components of the dependency graph with Kahn's algorithm, always picking
+     * the ready component containing the table which comes first in the original order.
+     */
+    private static String[] sort(String[] tableNames, List<BitSet> parents, List<int[]> components) {
+        int[] componentOf = new int[tableNames.length];
+        for (int c = 0; c < components.size(); c++) {
+            for (int index : components.get(c)) {
+                componentOf[index] = c;
+            }
+        }
 
-    private static String[] sort(String[] tableNames, Map dependencies) {
-        logger.debug("sort(tableNames={}, dependencies={}) - start", tableNames, dependencies);
-
-        boolean reprocess = true;
-        List tmpTableNames = Arrays.asList(tableNames);
-        List sortedTableNames = null;
-
-        while (reprocess) {
-            sortedTableNames = new LinkedList();
-
-            // re-order 'tmpTableNames' into 'sortedTableNames'
-            for (Iterator i = tmpTableNames.iterator(); i.hasNext(); ) {
-                boolean foundDependentInSortedTableNames = false;
-                String tmpTable = (String) i.next();
-                DependencyInfo tmpTableDependents = (DependencyInfo) dependencies.get(tmpTable);
-
-
-                int sortedTableIndex = -1;
-                for (Iterator k = sortedTableNames.iterator(); k.hasNext(); ) {
-                    String sortedTable = (String) k.next();
-                    if (tmpTableDependents.containsDirectDependsOn(sortedTable)) {
-                        sortedTableIndex = sortedTableNames.indexOf(sortedTable);
-                        foundDependentInSortedTableNames = true;
-                        break; // end for loop; we know the index
-                    }
-                }
-
-
-                // add 'tmpTable' to 'sortedTableNames'.
-                // Insert it before its first dependent if there are any,
-                // otherwise append it to the end of 'sortedTableNames'
-                if (foundDependentInSortedTableNames) {
-                    if (sortedTableIndex < 0) {
-                        throw new IllegalStateException(
-                                "sortedTableIndex should be 0 or greater, but is "
-                                        + sortedTableIndex);
-                    }
-                    sortedTableNames.add(sortedTableIndex, tmpTable);
-                } else {
-                    sortedTableNames.add(tmpTable);
+        // edges between components, from parent to child
+        List<BitSet> children = new ArrayList<>(components.size());
+        int[] inDegree = new int[components.size()];
+        for (int c = 0; c < components.size(); c++) {
+            children.add(new BitSet());
+        }
+        for (int child = 0; child < tableNames.length; child++) {
+            BitSet tableParents = parents.get(child);
+            for (int parent = tableParents.nextSetBit(0); parent >= 0; parent = tableParents.nextSetBit(parent + 1)) {
+                int from = componentOf[parent];
+                int to = componentOf[child];
+                if (from != to && !children.get(from).get(to)) {
+                    children.get(from).set(to);
+                    inDegree[to]++;
                 }
             }
+        }
 
-
-            // don't stop processing until we have a perfect run (no re-ordering)
-            if (tmpTableNames.equals(sortedTableNames)) {
-                reprocess = false;
-            } else {
-
-                tmpTableNames = null;
-                tmpTableNames = (List) ((LinkedList) sortedTableNames).clone();
+        // the tables of a component are sorted, so its first table has the lowest index
+        PriorityQueue<Integer> ready = new PriorityQueue<>(
+                (c1, c2) -> Integer.compare(components.get(c1)[0], components.get(c2)[0]));
+        for (int c = 0; c < components.size(); c++) {
+            if (inDegree[c] == 0) {
+                ready.add(c);
             }
-        }// end 'while (reprocess)'
+        }
 
-        return (String[]) sortedTableNames.toArray(new String[0]);
+        List<String> sortedTableNames = new ArrayList<>(tableNames.length);
+        while (!ready.isEmpty()) {
+            int c = ready.poll();
+            for (int index : components.get(c)) {
+                sortedTableNames.add(tableNames[index]);
+            }
+            BitSet componentChildren = children.get(c);
+            for (int child = componentChildren.nextSetBit(0); child >= 0; child = componentChildren.nextSetBit(child + 1)) {
+                if (--inDegree[child] == 0) {
+                    ready.add(child);
+                }
+            }
+        }
+        return sortedTableNames.toArray(new String[0]);
     }
 
     /**
-     * Creates the dependency information for the given table
+     * Determines the strongly connected components of the dependency graph with Tarjan's
+     * algorithm. Every component is either a single table or a group of tables that depend
+     * on each other in a cycle.
      *
-     * @param connection
-     * @param tableName
-     * @return The dependency information for the given table
-     * @throws SearchException
+     * @return The components, each one holding the sorted indexes of its tables
      */
-    private static DependencyInfo getDependencyInfo(
-            IDatabaseConnection connection, String tableName)
-            throws SearchException {
-        logger.debug("getDependencyInfo(connection={}, tableName={}) - start", connection, tableName);
-
-        // The tables dependency helpers makes a depth search for dependencies and returns the whole
-        // tree of dependent objects, not only the direct FK-PK related tables.
-        String[] allDependentTables = TablesDependencyHelper.getDependentTables(connection, tableName);
-        String[] allDependsOnTables = TablesDependencyHelper.getDependsOnTables(connection, tableName);
-        Set allDependentTablesSet = new HashSet(Arrays.asList(allDependentTables));
-        Set allDependsOnTablesSet = new HashSet(Arrays.asList(allDependsOnTables));
-        // Remove the table itself which is automatically included by the TablesDependencyHelper
-        allDependentTablesSet.remove(tableName);
-        allDependsOnTablesSet.remove(tableName);
-
-        Set directDependsOnTablesSet = TablesDependencyHelper.getDirectDependsOnTables(connection, tableName);
-        Set directDependentTablesSet = TablesDependencyHelper.getDirectDependentTables(connection, tableName);
-        directDependsOnTablesSet.remove(tableName);
-        directDependentTablesSet.remove(tableName);
+    private static List<int[]> getCyclicComponents(List<BitSet> parents) {
+        int count = parents.size();
+        int[] order = new int[count];
+        int[] lowLink = new int[count];
+        Arrays.fill(order, -1);
+        BitSet onStack = new BitSet(count);
+        Deque<Integer> stack = new ArrayDeque<>();
+        List<int[]> components = new ArrayList<>();
+        int counter = 0;
+
+        // iterative depth first search, each frame holding the table and the next parent to visit
+        Deque<int[]> frames = new ArrayDeque<>();
+        for (int root = 0; root < count; root++) {
+            if (order[root] >= 0) {
+                continue;
+            }
+            frames.push(new int[]{root, 0});
+            order[root] = lowLink[root] = counter++;
+            stack.push(root);
+            onStack.set(root);
+
+            while (!frames.isEmpty()) {
+                int[] frame = frames.peek();
+                int table = frame[0];
+                int parent = parents.get(table).nextSetBit(frame[1]);
+                if (parent >= 0) {
+                    frame[1] = parent + 1;
+                    if (order[parent] < 0) {
+                        order[parent] = lowLink[parent] = counter++;
+                        stack.push(parent);
+                        onStack.set(parent);
+                        frames.push(new int[]{parent, 0});
+                    } else if (onStack.get(parent)) {
+                        lowLink[table] = Math.min(lowLink[table], order[parent]);
+                    }
+                    continue;
+                }
 
-        DependencyInfo info = new DependencyInfo(tableName,
-                directDependsOnTablesSet, directDependentTablesSet,
-                allDependsOnTablesSet, allDependentTablesSet);
-        return info;
+                frames.pop();
+                if (!frames.isEmpty()) {
+                    int caller = frames.peek()[0];
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[table]);
+                }
+                if (lowLink[table] == order[table]) {
+                    BitSet component = new BitSet();
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack.clear(member);
+                        component.set(member);
+                    } while (member != table);
+                    components.add(component.stream().toArray());
+                }
+            }
+        }
+        return components;
     }
 
-
     /**
-     * Container of dependency information for one single table.
+     * Reads the foreign keys of the given tables.
      *
-     * @author gommma (gommma AT users.sourceforge.net)
-     * @author Last changed by: $Author$
-     * @version $Revision$ $Date$
-     * @since 2.4.0
+     * @return For every table the indexes of the tables it references, not including itself
      */
-    static class DependencyInfo {
-        /**
-         * Logger for this class
-         */
-        private static final Logger logger = LoggerFactory.getLogger(DatabaseSequenceFilter.class);
-
-        private String tableName;
-
-        private Set allTableDependsOn;
-        private Set allTableDependent;
-
-        private Set directDependsOnTablesSet;
-        private Set directDependentTablesSet;
-
-        /**
-         * @param tableName
-         * @param allTableDependsOn Tables that are required as prerequisite so that this one can exist
-         * @param allTableDependent Tables that need this one in order to be able to exist
-         */
-        public DependencyInfo(String tableName,
-                              Set directDependsOnTablesSet, Set directDependentTablesSet,
-                              Set allTableDependsOn, Set allTableDependent) {
-            super();
-            this.directDependsOnTablesSet = directDependsOnTablesSet;
-            this.directDependentTablesSet = directDependentTablesSet;
-            this.allTableDependsOn = allTableDependsOn;
-            this.allTableDependent = allTableDependent;
-            this.tableName = tableName;
-        }
-
-        public boolean containsDirectDependent(String tableName) {
-            return this.directDependentTablesSet.contains(tableName);
-        }
-
-        public boolean containsDirectDependsOn(String tableName) {
-            return this.directDependsOnTablesSet.contains(tableName);
-        }
-
-        public String getTableName() {
-            return tableName;
-        }
-
-        public Set getAllTableDependsOn() {
-            return allTableDependsOn;
-        }
-
-        public Set getAllTableDependent() {
-            return allTableDependent;
-        }
-
-        public Set getDirectDependsOnTablesSet() {
-            return directDependsOnTablesSet;
+    private static List<BitSet> getParents(IDatabaseConnection connection, String[] tableNames)
+            throws DataSetException, SQLException {
+        DatabaseConfig config = connection.getConfig();
+        boolean caseSensitive = config.getFeature(DatabaseConfig.FEATURE_CASE_SENSITIVE_TABLE_NAMES);
+        OrderedTableNameMap indexes = new OrderedTableNameMap(caseSensitive);
+        List<BitSet> parents = new ArrayList<>(tableNames.length);
+        Map<String, List<String>> tablesBySchema = new LinkedHashMap<>();
+        for (int i = 0; i < tableNames.length; i++) {
+            indexes.add(tableNames[i], i);
+            parents.add(new BitSet());
+            QualifiedTableName qualifiedTableName = new QualifiedTableName(tableNames[i], connection.getSchema());
+            tablesBySchema.computeIfAbsent(qualifiedTableName.getSchema(), k -> new ArrayList<>())
+                    .add(qualifiedTableName.getTable());
         }
 
-        public Set getDirectDependentTablesSet() {
-            return directDependentTablesSet;
+        DatabaseMetaData metaData = connection.getConnection().getMetaData();
+        for (Map.Entry<String, List<String>> entry : tablesBySchema.entrySet()) {
+            String schema = entry.getKey();
+            // try to read the keys of the whole schema at once. A null table name is not
+            // guaranteed to work by JDBC, so every table without keys in the result is
+            // looked up again on its own.
+            Set<String> children = caseSensitive ? new HashSet<>() : new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            addImportedKeys(metaData, schema, null, indexes, parents, config, children);
+            for (String tableName : entry.getValue()) {
+                if (!children.contains(tableName)) {
+                    addImportedKeys(metaData, schema, tableName, indexes, parents, config, children);
+                }
+            }
         }
+        return parents;
+    }
 
-        /**
-         * Checks this table's information for cycles by intersecting the two sets.
-         * When the result set has at least one element we do have cycles.
-         *
-         * @throws CyclicTablesDependencyException
-         */
-        public void checkCycles() throws CyclicTablesDependencyException {
-            logger.debug("checkCycles() - start");
-
-            // Intersect the "tableDependsOn" and "otherTablesDependOn" to check for cycles
-            Set intersect = new HashSet(this.allTableDependsOn);
-            intersect.retainAll(this.allTableDependent);
-            if (!intersect.isEmpty()) {
-                throw new CyclicTablesDependencyException(tableName, intersect);
+    /**
+     * Reads the foreign keys of the given table, or of all tables of the schema if
+     * <code>tableName</code> is <code>null</code>.
+     *
+     * @param children Receives the names of the tables having foreign keys
+     */
+    private static void addImportedKeys(DatabaseMetaData metaData, String schema, String tableName,
+                                        OrderedTableNameMap indexes, List<BitSet> parents, DatabaseConfig config,
+                                        Set<String> children)
+            throws DataSetException, SQLException {
+        ResultSet resultSet;
+        try {
+            resultSet = metaData.getImportedKeys(null, schema, tableName);
+        } catch (SQLException e) {
+            if (tableName != null) {
+                throw e;
             }
+            logger.debug("Schema-wide imported keys lookup not supported, reading the keys per table", e);
+            return;
         }
 
-        public String toString() {
-            StringBuffer sb = new StringBuffer();
-            sb.append("DependencyInfo[");
-            sb.append("table=").append(tableName);
-            sb.append(", directDependsOn=").append(directDependsOnTablesSet);
-            sb.append(", directDependent=").append(directDependentTablesSet);
-            sb.append(", allDependsOn=").append(allTableDependsOn);
-            sb.append(", allDependent=").append(allTableDependent);
-            sb.append("]");
-            return sb.toString();
+        try {
+            while (resultSet.next()) {
+                String parent = new QualifiedTableName(resultSet.getString(3), resultSet.getString(2))
+                        .getQualifiedNameIfEnabled(config);
+                String child = new QualifiedTableName(resultSet.getString(7), resultSet.getString(6))
+                        .getQualifiedNameIfEnabled(config);
+                Integer parentIndex = (Integer) indexes.get(parent);
+                Integer childIndex = (Integer) indexes.get(child);
+                if (childIndex != null) {
+                    children.add(resultSet.getString(7));
+                }
+                // ignore self references and tables which are not sorted
+                if (parentIndex != null && childIndex != null && !parentIndex.equals(childIndex)) {
+                    parents.get(childIndex).set(parentIndex);
+                }
+            }
+        } finally {
+            SQLHelper.close(resultSet);
         }
-
     }
 }
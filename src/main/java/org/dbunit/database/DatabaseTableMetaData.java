@@ -71,6 +71,8 @@ public class DatabaseTableMetaData extends AbstractTableMetaData {
     private boolean _caseSensitiveMetaData;
     //added by hzhan032
     private IColumnFilter lastKeyFilter;
+    private MetadataCache.ColumnData[] _prefetchedColumnData;
+    private String[] _prefetchedPrimaryKeyNames;
 
 
     DatabaseTableMetaData(String tableName, IDatabaseConnection connection) throws DataSetException {
@@ -134,7 +136,11 @@ public class DatabaseTableMetaData extends AbstractTableMetaData {
                     DatabaseConfig config = connection.getConfig();
                     IMetadataHandler metadataHandler = (IMetadataHandler) config.getProperty(DatabaseConfig.PROPERTY_METADATA_HANDLER);
                     DatabaseMetaData databaseMetaData = jdbcConnection.getMetaData();
-                    if (!metadataHandler.tableExists(databaseMetaData, schemaName, plainTableName)) {
+                    MetadataCache metadataCache = getMetadataCache();
+                    if (metadataCache != null
+                            && metadataCache.getColumns(databaseMetaData.getURL(), schemaName, _caseSensitiveMetaData, plainTableName) != null) {
+                        logger.debug("Table '{}' found in {}", plainTableName, metadataCache);
+                    } else if (!metadataHandler.tableExists(databaseMetaData, schemaName, plainTableName)) {
                         throw new NoSuchTableException("Did not find table '" + plainTableName + "' in schema '" + schemaName + "'");
                     }
                 } catch (SQLException e) {
@@ -195,9 +201,26 @@ public class DatabaseTableMetaData extends AbstractTableMetaData {
         String schemaName = _qualifiedTableNameSupport.getSchema();
         String tableName = _qualifiedTableNameSupport.getTable();
 
+        if (_prefetchedPrimaryKeyNames != null) {
+            return _prefetchedPrimaryKeyNames;
+        }
+
         Connection connection = _connection.getConnection();
         DatabaseMetaData databaseMetaData = connection.getMetaData();
 
+        MetadataCache metadataCache = getMetadataCache();
+        if (metadataCache != null) {
+            String[] keys = metadataCache.getPrimaryKeys(databaseMetaData.getURL(), schemaName, _caseSensitiveMetaData, tableName);
+            if (keys == null) {
+                keys = getPrimaryKeyNames(databaseMetaData, schemaName, tableName);
+                metadataCache.putPrimaryKeys(databaseMetaData.getURL(), schemaName, _caseSensitiveMetaData, tableName, keys);
+            }
+            return keys;
+        }
+        return getPrimaryKeyNames(databaseMetaData, schemaName, tableName);
+    }
+
+    private String[] getPrimaryKeyNames(DatabaseMetaData databaseMetaData, String schemaName, String tableName) throws SQLException {
         DatabaseConfig config = _connection.getConfig();
         IMetadataHandler metadataHandler = (IMetadataHandler) config.getProperty(DatabaseConfig.PROPERTY_METADATA_HANDLER);
 
@@ -279,39 +302,36 @@ public class DatabaseTableMetaData extends AbstractTableMetaData {
 
                 DatabaseConfig config = _connection.getConfig();
 
-                IMetadataHandler metadataHandler = (IMetadataHandler) config.getProperty(DatabaseConfig.PROPERTY_METADATA_HANDLER);
-                ResultSet resultSet = metadataHandler.getColumns(databaseMetaData, schemaName, tableName);
-
-                try {
-                    IDataTypeFactory dataTypeFactory = super.getDataTypeFactory(_connection);
-                    boolean datatypeWarning = config.getFeature(
-                            DatabaseConfig.FEATURE_DATATYPE_WARNING);
-
-                    List columnList = new ArrayList();
-                    while (resultSet.next()) {
-                        // Check for exact table/schema name match because
-                        // databaseMetaData.getColumns() uses patterns for the lookup
-                        boolean match = metadataHandler.matches(resultSet, schemaName, tableName, _caseSensitiveMetaData);
-                        if (match) {
-                            Column column = SQLHelper.createColumn(resultSet, dataTypeFactory, datatypeWarning);
-                            if (column != null) {
-                                columnList.add(column);
-                            }
-                        } else {
-                            logger.debug("Skipping <schema.table> '" + resultSet.getString(2) + "." +
-                                    resultSet.getString(3) + "' because names do not exactly match.");
-                        }
+                MetadataCache.ColumnData[] columnData = _prefetchedColumnData;
+                MetadataCache metadataCache = getMetadataCache();
+                if (columnData == null && metadataCache != null) {
+                    columnData = metadataCache.getColumns(databaseMetaData.getURL(), schemaName, _caseSensitiveMetaData, tableName);
+                }
+                if (columnData == null) {
+                    columnData = getColumnData(databaseMetaData, schemaName, tableName);
+                    if (metadataCache != null) {
+                        metadataCache.putColumns(databaseMetaData.getURL(), schemaName, _caseSensitiveMetaData, tableName, columnData);
                     }
+                }
 
-                    if (columnList.size() == 0) {
-                        logger.warn("No columns found for table '" + tableName + "' that are supported by dbunit. " +
-                                "Will return an empty column list");
+                IDataTypeFactory dataTypeFactory = super.getDataTypeFactory(_connection);
+                boolean datatypeWarning = config.getFeature(
+                        DatabaseConfig.FEATURE_DATATYPE_WARNING);
+
+                List columnList = new ArrayList();
+                for (int i = 0; i < columnData.length; i++) {
+                    Column column = SQLHelper.createColumn(columnData[i], dataTypeFactory, datatypeWarning);
+                    if (column != null) {
+                        columnList.add(column);
                     }
+                }
 
-                    _columns = (Column[]) columnList.toArray(new Column[0]);
-                } finally {
-                    resultSet.close();
+                if (columnList.size() == 0) {
+                    logger.warn("No columns found for table '" + tableName + "' that are supported by dbunit. " +
+                            "Will return an empty column list");
                 }
+
+                _columns = (Column[]) columnList.toArray(new Column[0]);
             } catch (SQLException e) {
                 throw new DataSetException(e);
             }
@@ -319,6 +339,50 @@ public class DatabaseTableMetaData extends AbstractTableMetaData {
         return _columns;
     }
 
+    /**
+     * @return The metadata of all columns of the given table
+     */
+    private MetadataCache.ColumnData[] getColumnData(DatabaseMetaData databaseMetaData, String schemaName, String tableName)
+            throws SQLException {
+        IMetadataHandler metadataHandler = (IMetadataHandler) _connection.getConfig().getProperty(
+                DatabaseConfig.PROPERTY_METADATA_HANDLER);
+        ResultSet resultSet = metadataHandler.getColumns(databaseMetaData, schemaName, tableName);
+        try {
+            List<MetadataCache.ColumnData> columnData = new ArrayList<>();
+            while (resultSet.next()) {
+                // Check for exact table/schema name match because
+                // databaseMetaData.getColumns() uses patterns for the lookup
+                boolean match = metadataHandler.matches(resultSet, schemaName, tableName, _caseSensitiveMetaData);
+                if (match) {
+                    columnData.add(MetadataCache.ColumnData.read(resultSet));
+                } else {
+                    logger.debug("Skipping <schema.table> '" + resultSet.getString(2) + "." +
+                            resultSet.getString(3) + "' because names do not exactly match.");
+                }
+            }
+            return columnData.toArray(new MetadataCache.ColumnData[0]);
+        } finally {
+            resultSet.close();
+        }
+    }
+
+    /**
+     * Sets the columns and primary keys of this table which were looked up together
+     * with the ones of other tables, so that they must not be looked up again.
+     *
+     * @param columnData      The columns of this table, <code>null</code> if not prefetched
+     * @param primaryKeyNames The primary key column names in key order, <code>null</code> if not prefetched
+     * @since 2.8.6
+     */
+    void setPrefetchedMetadata(MetadataCache.ColumnData[] columnData, String[] primaryKeyNames) {
+        _prefetchedColumnData = columnData;
+        _prefetchedPrimaryKeyNames = primaryKeyNames;
+    }
+
+    private MetadataCache getMetadataCache() {
+        return (MetadataCache) _connection.getConfig().getProperty(DatabaseConfig.PROPERTY_METADATA_CACHE);
+    }
+
     private boolean primaryKeyFilterChanged(IColumnFilter keyFilter) {
         return (keyFilter != lastKeyFilter);
     }
@@ -0,0 +1,45 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Streams result sets using the configured {@link DatabaseConfig#PROPERTY_FETCH_SIZE}.
+ * This is sufficient for drivers that fetch rows in chunks of the fetch size,
+ * e.g. Oracle, DB2, SQL Server, H2 and HSQLDB.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DefaultStreamingResultSetConfigurer implements IStreamingResultSetConfigurer {
+
+    public boolean requiresTransaction() {
+        return false;
+    }
+
+    public void configureStatement(Statement statement, DatabaseConfig config) throws SQLException {
+        Integer fetchSize = (Integer) config.getProperty(DatabaseConfig.PROPERTY_FETCH_SIZE);
+        statement.setFetchSize(fetchSize);
+    }
+}
@@ -54,6 +54,10 @@ public class ForwardOnlyResultSetTable extends AbstractResultSetTable {
     }
 
     public Object getValue(int row, String columnName) throws DataSetException {
+        return getValue(row, getColumnIndex(columnName));
+    }
+
+    public Object getValue(int row, int columnIndex) throws DataSetException {
         try {
             // Move cursor forward up to specified row
             while (!eot && row > lastRow) {
@@ -68,7 +72,6 @@ public class ForwardOnlyResultSetTable extends AbstractResultSetTable {
                 close();
                 throw new RowOutOfBoundsException(row + " > " + lastRow);
             }
-            int columnIndex = getColumnIndex(columnName);
             Column column = this.metaData.getColumns()[columnIndex];
             return column.getDataType().getSqlValue(columnIndex + 1, this.resultSet);
         } catch (SQLException e) {
@@ -124,4 +124,40 @@ public interface IMetadataHandler {
      * @since 2.4.5
      */
     ResultSet getPrimaryKeys(DatabaseMetaData databaseMetaData, String schemaName, String tableName) throws SQLException;
+
+    /**
+     * Returns the columns of all tables in the given schema with a single invocation of
+     * {@link DatabaseMetaData#getColumns(String, String, String, String)}. Used to prefetch the
+     * metadata of many tables at once.
+     * <p>
+     * The default implementation invokes {@link #getColumns(DatabaseMetaData, String, String)}
+     * with the table name pattern <code>%</code>.
+     *
+     * @param databaseMetaData The database metadata to be used for retrieving the columns
+     * @param schemaName       The schema name
+     * @return The result set containing the columns of all tables
+     * @throws SQLException
+     * @since 2.8.6
+     */
+    default ResultSet getAllColumns(DatabaseMetaData databaseMetaData, String schemaName) throws SQLException {
+        return getColumns(databaseMetaData, schemaName, "%");
+    }
+
+    /**
+     * Returns the primary key columns of all tables in the given schema with a single invocation of
+     * {@link DatabaseMetaData#getPrimaryKeys(String, String, String)}. Used to prefetch the
+     * metadata of many tables at once.
+     * <p>
+     * The default implementation invokes {@link #getPrimaryKeys(DatabaseMetaData, String, String)}
+     * with a <code>null</code> table name which is not supported by all JDBC drivers.
+     *
+     * @param databaseMetaData The database meta data
+     * @param schemaName       The schema name
+     * @return The result set containing the primary key columns of all tables
+     * @throws SQLException If the driver does not support the lookup for all tables
+     * @since 2.8.6
+     */
+    default ResultSet getAllPrimaryKeys(DatabaseMetaData databaseMetaData, String schemaName) throws SQLException {
+        return getPrimaryKeys(databaseMetaData, schemaName, null);
+    }
 }
\ No newline at end of file
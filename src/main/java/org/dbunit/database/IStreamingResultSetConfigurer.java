@@ -0,0 +1,52 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Prepares forward-only queries so that the JDBC driver streams the result set
+ * from the server instead of reading it into memory. Most drivers only need a
+ * fetch size, others need a special fetch size or an open transaction.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @see DatabaseConfig#PROPERTY_STREAMING_RESULTSET_CONFIGURER
+ * @since 2.8.6
+ */
+public interface IStreamingResultSetConfigurer {
+
+    /**
+     * @return <code>true</code> if the driver only streams result sets while
+     * auto-commit is disabled (e.g. PostgreSQL)
+     */
+    boolean requiresTransaction();
+
+    /**
+     * Configures a <code>TYPE_FORWARD_ONLY</code>, <code>CONCUR_READ_ONLY</code>
+     * statement before it is executed.
+     *
+     * @param statement The statement to be configured
+     * @param config    The configuration of the connection the statement belongs to
+     */
+    void configureStatement(Statement statement, DatabaseConfig config) throws SQLException;
+}
@@ -0,0 +1,597 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.dbunit.dataset.Column;
+
+/**
+ * Caches the table names, columns and primary keys read from the JDBC
+ * {@link java.sql.DatabaseMetaData} in a local file, so that they must not be
+ * looked up again by every new connection or test JVM. Set an instance as
+ * {@link DatabaseConfig#PROPERTY_METADATA_CACHE} property to use it. The same
+ * instance can be shared by several connections.
+ * <p>
+ * The entries are keyed by the JDBC URL, the schema, whether table names are case
+ * sensitive and the table name. The cache file additionally stores the schema
+ * fingerprint given on construction, for example the version of the last applied
+ * schema migration. When the fingerprint of the file does not match, its contents are
+ * discarded. The cache can also be invalidated explicitly using {@link #invalidate()}
+ * or {@link #invalidate(String)}.
+ * <p>
+ * The raw metadata is cached rather than the dbunit {@link Column}s, so that the
+ * configured {@link org.dbunit.dataset.datatype.IDataTypeFactory} is still applied
+ * when the columns are created. New entries are written to the file by {@link #flush()},
+ * which is called when a {@link DatabaseConnection} is closed.
+ * <p>
+ * The file is a UTF-8 text file with one entry per line and tab separated fields. Tabs,
+ * newlines and backslashes within values are escaped with a backslash and
+ * <code>null</code> is written as <code>\N</code>.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+@Slf4j
+public class MetadataCache {
+    private static final String FORMAT_HEADER = "dbunit-metadata-cache";
+    private static final int FORMAT_VERSION = 2;
+
+    private static final String TABLES = "tables";
+    private static final String COLUMNS = "columns";
+    private static final String PRIMARY_KEYS = "primaryKeys";
+
+    private static final String NULL = "\\N";
+    private static final int COLUMN_DATA_FIELDS = 8;
+
+    private final File file;
+    private final String fingerprint;
+
+    private Entries entries;
+    private boolean dirty;
+
+    /**
+     * @param file        The file the metadata is stored in
+     * @param fingerprint A value identifying the current state of the database schema.
+     *                    Can be <code>null</code> if the cache is invalidated explicitly.
+     */
+    public MetadataCache(File file, String fingerprint) {
+        if (file == null) {
+            throw new NullPointerException("The parameter 'file' must not be null");
+        }
+        this.file = file;
+        this.fingerprint = fingerprint;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @param url                     The JDBC URL of the database
+     * @param schema                  The schema, can be <code>null</code>
+     * @param caseSensitiveTableNames Whether the table names are looked up case sensitive
+     * @param tableTypes              The table types the tables were looked up for
+     * @return The schema and table names of the tables, or <code>null</code> if not cached
+     */
+    public synchronized List<String[]> getTables(String url, String schema, boolean caseSensitiveTableNames,
+                                                 String[] tableTypes) {
+        return getEntries().tables.get(new Key(url, schema, caseSensitiveTableNames, Arrays.toString(tableTypes)));
+    }
+
+    public synchronized void putTables(String url, String schema, boolean caseSensitiveTableNames, String[] tableTypes,
+                                       List<String[]> tables) {
+        getEntries().tables.put(new Key(url, schema, caseSensitiveTableNames, Arrays.toString(tableTypes)),
+                new ArrayList<>(tables));
+        dirty = true;
+    }
+
+    /**
+     * @param url                     The JDBC URL of the database
+     * @param schema                  The schema of the table, can be <code>null</code>
+     * @param caseSensitiveTableNames Whether the table names are looked up case sensitive
+     * @param table                   The name of the table
+     * @return The columns of the table, or <code>null</code> if not cached
+     */
+    public synchronized ColumnData[] getColumns(String url, String schema, boolean caseSensitiveTableNames,
+                                                String table) {
+        return getEntries().columns.get(new Key(url, schema, caseSensitiveTableNames, table));
+    }
+
+    public synchronized void putColumns(String url, String schema, boolean caseSensitiveTableNames, String table,
+                                        ColumnData[] columns) {
+        getEntries().columns.put(new Key(url, schema, caseSensitiveTableNames, table), columns.clone());
+        dirty = true;
+    }
+
+    /**
+     * @param url                     The JDBC URL of the database
+     * @param schema                  The schema of the table, can be <code>null</code>
+     * @param caseSensitiveTableNames Whether the table names are looked up case sensitive
+     * @param table                   The name of the table
+     * @return The primary key column names of the table in key order, or <code>null</code> if not cached
+     */
+    public synchronized String[] getPrimaryKeys(String url, String schema, boolean caseSensitiveTableNames,
+                                                String table) {
+        return getEntries().primaryKeys.get(new Key(url, schema, caseSensitiveTableNames, table));
+    }
+
+    public synchronized void putPrimaryKeys(String url, String schema, boolean caseSensitiveTableNames, String table,
+                                            String[] primaryKeys) {
+        getEntries().primaryKeys.put(new Key(url, schema, caseSensitiveTableNames, table), primaryKeys.clone());
+        dirty = true;
+    }
+
+    /**
+     * Removes all entries and deletes the cache file.
+     */
+    public synchronized void invalidate() {
+        log.debug("invalidate() - start");
+        entries = new Entries();
+        dirty = false;
+        if (file.exists() && !file.delete()) {
+            log.warn("Could not delete metadata cache file '{}'", file);
+        }
+    }
+
+    /**
+     * Removes the columns and primary keys of the given table in all schemas and
+     * databases, as well as all cached table lists.
+     *
+     * @param tableName The name of the table, compared case insensitive
+     */
+    public synchronized void invalidate(String tableName) {
+        log.debug("invalidate(tableName={}) - start", tableName);
+        Entries current = getEntries();
+        if (!current.tables.isEmpty()) {
+            current.tables.clear();
+            dirty = true;
+        }
+        if (current.columns.keySet().removeIf(key -> tableName.equalsIgnoreCase(key.name))) {
+            dirty = true;
+        }
+        if (current.primaryKeys.keySet().removeIf(key -> tableName.equalsIgnoreCase(key.name))) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Writes the cache file if entries have been added since it was read.
+     *
+     * @throws IOException If the file cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        log.debug("Writing {} metadata cache entries to '{}'", entries.size(), file);
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists()) {
+            directory.mkdirs();
+        }
+        // write to a temporary file first so that concurrent readers never see a partial file
+        File tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+                write(out);
+            }
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } finally {
+            if (tempFile.exists()) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    private void write(Writer out) throws IOException {
+        writeLine(out, FORMAT_HEADER, String.valueOf(FORMAT_VERSION), fingerprint);
+        for (Map.Entry<Key, List<String[]>> entry : entries.tables.entrySet()) {
+            List<String> fields = entry.getKey().toFields(TABLES);
+            for (String[] table : entry.getValue()) {
+                fields.add(table[0]);
+                fields.add(table[1]);
+            }
+            writeLine(out, fields.toArray(new String[0]));
+        }
+        for (Map.Entry<Key, ColumnData[]> entry : entries.columns.entrySet()) {
+            List<String> fields = entry.getKey().toFields(COLUMNS);
+            for (ColumnData column : entry.getValue()) {
+                column.toFields(fields);
+            }
+            writeLine(out, fields.toArray(new String[0]));
+        }
+        for (Map.Entry<Key, String[]> entry : entries.primaryKeys.entrySet()) {
+            List<String> fields = entry.getKey().toFields(PRIMARY_KEYS);
+            fields.addAll(Arrays.asList(entry.getValue()));
+            writeLine(out, fields.toArray(new String[0]));
+        }
+    }
+
+    private static void writeLine(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write('\t');
+            }
+            out.write(escape(fields[i]));
+        }
+        out.write('\n');
+    }
+
+    private Entries getEntries() {
+        if (entries == null) {
+            entries = load();
+        }
+        return entries;
+    }
+
+    private Entries load() {
+        if (!file.exists()) {
+            return new Entries();
+        }
+
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String[] header = readLine(in);
+            if (header == null || header.length != 3 || !FORMAT_HEADER.equals(header[0])) {
+                throw new IOException("The file is not a metadata cache");
+            }
+            if (!String.valueOf(FORMAT_VERSION).equals(header[1]) || !Objects.equals(fingerprint, header[2])) {
+                log.info("Discarding metadata cache '{}' because its fingerprint '{}' does not match '{}'",
+                        file, header[2], fingerprint);
+                // rewrite the file on the next flush
+                dirty = true;
+                return new Entries();
+            }
+
+            Entries result = new Entries();
+            String[] fields;
+            while ((fields = readLine(in)) != null) {
+                result.read(fields);
+            }
+            log.debug("Read {} metadata cache entries from '{}'", result.size(), file);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read metadata cache '{}', ignoring it", file, e);
+            dirty = true;
+            return new Entries();
+        }
+    }
+
+    private static String[] readLine(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            return null;
+        }
+        // escaped tabs do not contain a tab character
+        String[] fields = line.split("\t", -1);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = unescape(fields[i]);
+        }
+        return fields;
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        StringBuilder buffer = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                default:
+                    buffer.append(c);
+            }
+        }
+        return buffer.toString();
+    }
+
+    private static String unescape(String text) throws IOException {
+        if (NULL.equals(text)) {
+            return null;
+        }
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder buffer = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\\') {
+                buffer.append(c);
+                continue;
+            }
+            if (++i == text.length()) {
+                throw new IOException("Incomplete escape sequence in '" + text + "'");
+            }
+            switch (text.charAt(i)) {
+                case '\\':
+                    buffer.append('\\');
+                    break;
+                case 't':
+                    buffer.append('\t');
+                    break;
+                case 'n':
+                    buffer.append('\n');
+                    break;
+                case 'r':
+                    buffer.append('\r');
+                    break;
+                default:
+                    throw new IOException("Illegal escape sequence in '" + text + "'");
+            }
+        }
+        return buffer.toString();
+    }
+
+    public String toString() {
+        return getClass().getName() + "[file=" + file + ", fingerprint=" + fingerprint + "]";
+    }
+
+    /**
+     * The cached entries by kind of metadata.
+     */
+    private static final class Entries {
+        private final Map<Key, List<String[]>> tables = new HashMap<>();
+        private final Map<Key, ColumnData[]> columns = new HashMap<>();
+        private final Map<Key, String[]> primaryKeys = new HashMap<>();
+
+        private int size() {
+            return tables.size() + columns.size() + primaryKeys.size();
+        }
+
+        /**
+         * Adds the entry stored in the given fields of a line of the cache file.
+         */
+        private void read(String[] fields) throws IOException {
+            if (fields.length < Key.FIELDS + 1) {
+                throw new IOException("Incomplete entry " + Arrays.toString(fields));
+            }
+            Key key = Key.fromFields(fields);
+            int offset = Key.FIELDS + 1;
+            int count = fields.length - offset;
+            switch (fields[0]) {
+                case TABLES:
+                    if (count % 2 != 0) {
+                        throw new IOException("Incomplete table list " + Arrays.toString(fields));
+                    }
+                    List<String[]> tableNames = new ArrayList<>(count / 2);
+                    for (int i = offset; i < fields.length; i += 2) {
+                        tableNames.add(new String[]{fields[i], fields[i + 1]});
+                    }
+                    tables.put(key, tableNames);
+                    break;
+                case COLUMNS:
+                    if (count % COLUMN_DATA_FIELDS != 0) {
+                        throw new IOException("Incomplete column list " + Arrays.toString(fields));
+                    }
+                    ColumnData[] columnData = new ColumnData[count / COLUMN_DATA_FIELDS];
+                    for (int i = 0; i < columnData.length; i++) {
+                        columnData[i] = ColumnData.fromFields(fields, offset + i * COLUMN_DATA_FIELDS);
+                    }
+                    columns.put(key, columnData);
+                    break;
+                case PRIMARY_KEYS:
+                    primaryKeys.put(key, Arrays.copyOfRange(fields, offset, fields.length));
+                    break;
+                default:
+                    throw new IOException("Unknown entry " + Arrays.toString(fields));
+            }
+        }
+    }
+
+    private static final class Key {
+        private static final int FIELDS = 4;
+
+        private final String url;
+        private final String schema;
+        private final boolean caseSensitiveTableNames;
+        private final String name;
+
+        private Key(String url, String schema, boolean caseSensitiveTableNames, String name) {
+            this.url = url;
+            this.schema = schema;
+            this.caseSensitiveTableNames = caseSensitiveTableNames;
+            this.name = name;
+        }
+
+        private static Key fromFields(String[] fields) {
+            return new Key(fields[1], fields[2], Boolean.parseBoolean(fields[3]), fields[4]);
+        }
+
+        /**
+         * @return A new list starting with the given kind of entry and the fields of this key
+         */
+        private List<String> toFields(String kind) {
+            List<String> fields = new ArrayList<>();
+            fields.add(kind);
+            fields.add(url);
+            fields.add(schema);
+            fields.add(String.valueOf(caseSensitiveTableNames));
+            fields.add(name);
+            return fields;
+        }
+
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return caseSensitiveTableNames == other.caseSensitiveTableNames && Objects.equals(url, other.url)
+                    && Objects.equals(schema, other.schema) && Objects.equals(name, other.name);
+        }
+
+        public int hashCode() {
+            return Objects.hash(url, schema, caseSensitiveTableNames, name);
+        }
+    }
+
+    /**
+     * The raw metadata of a column as returned by
+     * {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)}.
+     */
+    public static final class ColumnData {
+        private final String tableName;
+        private final String columnName;
+        private final int sqlType;
+        private final String sqlTypeName;
+        private final int nullable;
+        private final String remarks;
+        private final String defaultValue;
+        private final String autoIncrement;
+
+        public ColumnData(String tableName, String columnName, int sqlType, String sqlTypeName, int nullable,
+                          String remarks, String defaultValue, String autoIncrement) {
+            this.tableName = tableName;
+            this.columnName = columnName;
+            this.sqlType = sqlType;
+            this.sqlTypeName = sqlTypeName;
+            this.nullable = nullable;
+            this.remarks = remarks;
+            this.defaultValue = defaultValue;
+            this.autoIncrement = autoIncrement;
+        }
+
+        /**
+         * Reads the column metadata from the current row of the given result set.
+         *
+         * @param resultSet A result set produced via {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)}
+         * @return The column metadata
+         * @throws SQLException
+         */
+        public static ColumnData read(ResultSet resultSet) throws SQLException {
+            String tableName = resultSet.getString(3);
+            String columnName = resultSet.getString(4);
+            int sqlType = resultSet.getInt(5);
+            //If Types.DISTINCT like SQL DOMAIN, then get Source Date Type of SQL-DOMAIN
+            if (sqlType == Types.DISTINCT) {
+                sqlType = resultSet.getInt("SOURCE_DATA_TYPE");
+            }
+            String sqlTypeName = resultSet.getString(6);
+            int nullable = resultSet.getInt(11);
+            String remarks = resultSet.getString(12);
+            String defaultValue = resultSet.getString(13);
+            // This is only available since Java 5 - so we can try it and if it does not work default it
+            String autoIncrement = Column.AutoIncrement.NO.getKey();
+            try {
+                autoIncrement = resultSet.getString(23);
+            } catch (Exception e) {
+                log.debug("Could not retrieve the 'isAutoIncrement' property - defaulting to NO. Table={}, Column={}",
+                        tableName, columnName, e);
+            }
+            return new ColumnData(tableName, columnName, sqlType, sqlTypeName, nullable, remarks, defaultValue, autoIncrement);
+        }
+
+        private static ColumnData fromFields(String[] fields, int offset) {
+            return new ColumnData(fields[offset], fields[offset + 1], Integer.parseInt(fields[offset + 2]),
+                    fields[offset + 3], Integer.parseInt(fields[offset + 4]), fields[offset + 5], fields[offset + 6],
+                    fields[offset + 7]);
+        }
+
+        private void toFields(List<String> fields) {
+            fields.add(tableName);
+            fields.add(columnName);
+            fields.add(String.valueOf(sqlType));
+            fields.add(sqlTypeName);
+            fields.add(String.valueOf(nullable));
+            fields.add(remarks);
+            fields.add(defaultValue);
+            fields.add(autoIncrement);
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getColumnName() {
+            return columnName;
+        }
+
+        public int getSqlType() {
+            return sqlType;
+        }
+
+        public String getSqlTypeName() {
+            return sqlTypeName;
+        }
+
+        public int getNullable() {
+            return nullable;
+        }
+
+        public String getRemarks() {
+            return remarks;
+        }
+
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+
+        public String getAutoIncrement() {
+            return autoIncrement;
+        }
+
+        public String toString() {
+            return tableName + "." + columnName + "(" + sqlType + ", " + sqlTypeName + ")";
+        }
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dbunit.IDatabaseTester;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Producer reading several tables at the same time, each on its own connection, and
+ * passing them to the consumer in the order they have been added.
+ * <p>
+ * Every table is read by a {@link DatabaseExportProducer} on a connection obtained from the
+ * given {@link IDatabaseTester} (for example a {@link org.dbunit.DataSourceDatabaseTester}
+ * backed by a connection pool) and spooled to a temporary file. The consumer receives the
+ * tables from the calling thread as soon as a table and all tables before it have been
+ * read, while the remaining tables are still being read. Spool files are deleted once they
+ * have been consumed. Row values must be serializable, which is the case for the values
+ * returned by the built-in data types.
+ * <p>
+ * The configuration of the connection passed to the constructor is copied to the worker
+ * connections. The tables are read in separate transactions, so the export is not a
+ * consistent snapshot if the tables are modified concurrently.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class ParallelDatabaseExportProducer implements IDataSetProducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelDatabaseExportProducer.class);
+
+    /**
+     * Number of rows after which the object stream of a spool file is reset, so that it
+     * does not keep references to all rows written so far.
+     */
+    private static final int RESET_INTERVAL = 1000;
+
+    private final IDatabaseConnection _connection;
+    private final IDatabaseTester _connectionSource;
+    private final int _threadCount;
+    private final List<QueryDataSet.TableEntry> _tables = new ArrayList<>();
+    private File _spoolDirectory;
+    private IDataSetConsumer _consumer = new DefaultConsumer();
+
+    /**
+     * @param connection       Connection providing the configuration and, if no table is
+     *                         added, the names of the tables to be exported
+     * @param connectionSource Supplies a new connection for each table
+     * @param threadCount      The maximum number of tables read at the same time
+     */
+    public ParallelDatabaseExportProducer(IDatabaseConnection connection, IDatabaseTester connectionSource, int threadCount) {
+        if (connection == null) {
+            throw new NullPointerException("The parameter 'connection' must not be null");
+        }
+        if (connectionSource == null) {
+            throw new NullPointerException("The parameter 'connectionSource' must not be null");
+        }
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("The parameter 'threadCount' must be greater than zero but was " + threadCount);
+        }
+        _connection = connection;
+        _connectionSource = connectionSource;
+        _threadCount = threadCount;
+    }
+
+    /**
+     * @see DatabaseExportProducer#addTable(String, String)
+     */
+    public void addTable(String tableName, String query) {
+        logger.debug("addTable(tableName={}, query={}) - start", tableName, query);
+        _tables.add(new QueryDataSet.TableEntry(tableName, query));
+    }
+
+    /**
+     * @see DatabaseExportProducer#addTable(String)
+     */
+    public void addTable(String tableName) {
+        addTable(tableName, null);
+    }
+
+    /**
+     * @param spoolDirectory Directory of the temporary spool files, or <code>null</code> for
+     *                       the default temporary-file directory
+     */
+    public void setSpoolDirectory(File spoolDirectory) {
+        _spoolDirectory = spoolDirectory;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // IDataSetProducer interface
+
+    public void setConsumer(IDataSetConsumer consumer) throws DataSetException {
+        logger.debug("setConsumer(consumer) - start");
+        _consumer = consumer;
+    }
+
+    public void produce() throws DataSetException {
+        logger.debug("produce() - start");
+
+        List<QueryDataSet.TableEntry> tables = _tables;
+        if (tables.isEmpty()) {
+            tables = new ArrayList<>();
+            try {
+                String[] tableNames = _connection.createDataSet().getTableNames();
+                for (int i = 0; i < tableNames.length; i++) {
+                    tables.add(new QueryDataSet.TableEntry(tableNames[i], null));
+                }
+            } catch (SQLException e) {
+                throw new DataSetException(e);
+            }
+        }
+
+        DatabaseConfig config = _connection.getConfig();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(_threadCount, tables.size())));
+        SpoolFiles spoolFiles = new SpoolFiles(_spoolDirectory);
+        List<Future<SpoolFile>> futures = new ArrayList<>(tables.size());
+        boolean success = false;
+        try {
+            for (QueryDataSet.TableEntry entry : tables) {
+                futures.add(executor.submit(() -> spoolTable(config, entry, spoolFiles)));
+            }
+            executor.shutdown();
+
+            _consumer.startDataSet();
+            for (Future<SpoolFile> future : futures) {
+                SpoolFile spoolFile = take(future);
+                try {
+                    spoolFile.replay(_consumer);
+                } finally {
+                    spoolFiles.delete(spoolFile.file);
+                }
+            }
+            _consumer.endDataSet();
+            success = true;
+        } finally {
+            if (!success) {
+                executor.shutdownNow();
+                spoolFiles.abort();
+            }
+        }
+    }
+
+    private SpoolFile spoolTable(DatabaseConfig config, QueryDataSet.TableEntry entry, SpoolFiles spoolFiles) throws Exception {
+        String tableName = entry.getTableName();
+        logger.debug("spoolTable(tableName={}) - start", tableName);
+
+        IDatabaseConnection workerConnection = _connectionSource.getConnection();
+        try {
+            config.copyTo(workerConnection.getConfig());
+            DatabaseExportProducer producer = new DatabaseExportProducer(workerConnection);
+            producer.addTable(tableName, entry.getQuery());
+
+            SpoolingConsumer spooler = new SpoolingConsumer(spoolFiles.create());
+            try {
+                producer.setConsumer(spooler);
+                producer.produce();
+            } finally {
+                spooler.close();
+                spoolFiles.written(spooler.file);
+            }
+            logger.debug("spoolTable: {} rows of table '{}' spooled", spooler.rowCount, tableName);
+            return new SpoolFile(spooler.metaData, spooler.file, spooler.rowCount);
+        } finally {
+            workerConnection.close();
+        }
+    }
+
+    private static SpoolFile take(Future<SpoolFile> future) throws DataSetException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataSetException("Interrupted while waiting for the table export", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DataSetException) {
+                throw (DataSetException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new DataSetException("Exception exporting the table", cause);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // SpoolingConsumer class
+
+    /**
+     * Writes the rows of a single table to a spool file.
+     */
+    private static class SpoolingConsumer extends DefaultConsumer {
+        private final File file;
+        private ObjectOutputStream out;
+        private ITableMetaData metaData;
+        private int rowCount;
+
+        SpoolingConsumer(File file) {
+            this.file = file;
+        }
+
+        public void startTable(ITableMetaData metaData) throws DataSetException {
+            // detach the metadata from the worker connection which is closed afterwards
+            this.metaData = new DefaultTableMetaData(metaData.getTableName(), metaData.getColumns(),
+                    metaData.getPrimaryKeys());
+            try {
+                out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            } catch (IOException e) {
+                throw new DataSetException(e);
+            }
+        }
+
+        public void row(Object[] values) throws DataSetException {
+            try {
+                out.writeObject(values);
+                if (++rowCount % RESET_INTERVAL == 0) {
+                    out.reset();
+                }
+            } catch (IOException e) {
+                throw new DataSetException("Cannot spool row of table '" + metaData.getTableName() + "'", e);
+            }
+        }
+
+        public void endTable() throws DataSetException {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new DataSetException(e);
+            }
+        }
+
+        void close() {
+            try {
+                if (out != null) {
+                    out.close();
+                }
+            } catch (IOException e) {
+                logger.debug("close: unable to close spool file", e);
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // SpoolFile class
+
+    private static class SpoolFile {
+        private final ITableMetaData metaData;
+        private final File file;
+        private final int rowCount;
+
+        SpoolFile(ITableMetaData metaData, File file, int rowCount) {
+            this.metaData = metaData;
+            this.file = file;
+            this.rowCount = rowCount;
+        }
+
+        void replay(IDataSetConsumer consumer) throws DataSetException {
+            consumer.startTable(metaData);
+            try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                for (int i = 0; i < rowCount; i++) {
+                    consumer.row((Object[]) in.readObject());
+                }
+            } catch (IOException | ClassNotFoundException e) {
+                throw new DataSetException("Cannot read spool file of table '" + metaData.getTableName() + "'", e);
+            }
+            consumer.endTable();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // SpoolFiles class
+
+    /**
+     * Keeps track of the spool files of one export so that they are all deleted if the
+     * export fails, including the files of tables which are still being read.
+     */
+    private static class SpoolFiles {
+        private final File directory;
+        private final Set<File> files = new HashSet<>();
+        private boolean aborted;
+
+        SpoolFiles(File directory) {
+            this.directory = directory;
+        }
+
+        synchronized File create() throws IOException {
+            if (aborted) {
+                throw new IOException("Export has been aborted");
+            }
+            File file = File.createTempFile("dbunit-export", ".spool", directory);
+            files.add(file);
+            return file;
+        }
+
+        /**
+         * Called by a worker when it no longer writes to the file.
+         */
+        synchronized void written(File file) {
+            if (aborted) {
+                delete(file);
+            }
+        }
+
+        synchronized void delete(File file) {
+            files.remove(file);
+            if (file.exists() && !file.delete()) {
+                logger.warn("Unable to delete spool file {}", file);
+            }
+        }
+
+        synchronized void abort() {
+            aborted = true;
+            for (File file : new ArrayList<>(files)) {
+                delete(file);
+            }
+        }
+    }
+}
@@ -51,8 +51,18 @@ import org.slf4j.LoggerFactory;
  */
 public class PrimaryKeyFilter extends AbstractTableFilter {
 
+    /**
+     * Default number of key values bound into the <code>IN</code> list of a
+     * single lookup query.
+     *
+     * @since 2.8.6
+     */
+    public static final int DEFAULT_KEYS_PER_STATEMENT = 100;
+
     private final IDatabaseConnection connection;
 
+    private final int keysPerStatement;
+
     private final PkTableMap allowedPKsPerTable;
     private final PkTableMap allowedPKsInput;
     private final PkTableMap pksToScanPerTable;
@@ -82,7 +92,29 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
      *                          also be allowed by the filter
      */
     public PrimaryKeyFilter(IDatabaseConnection connection, PkTableMap allowedPKs, boolean reverseDependency) {
+        this(connection, allowedPKs, reverseDependency, DEFAULT_KEYS_PER_STATEMENT);
+    }
+
+    /**
+     * Creates a filter that looks up at most <code>keysPerStatement</code> key
+     * values per query, using an <code>IN</code> list instead of one query per key.
+     *
+     * @param connection        database connection
+     * @param allowedPKs        map of allowed rows, based on the primary keys (key is the name
+     *                          of a table; value is a Set with allowed primary keys for that table)
+     * @param reverseDependency flag indicating if the rows that depend on a row should
+     *                          also be allowed by the filter
+     * @param keysPerStatement  maximum number of key values bound into a single query;
+     *                          <code>1</code> restores the one-query-per-key behaviour
+     * @since 2.8.6
+     */
+    public PrimaryKeyFilter(IDatabaseConnection connection, PkTableMap allowedPKs, boolean reverseDependency,
+                            int keysPerStatement) {
+        if (keysPerStatement < 1) {
+            throw new IllegalArgumentException("keysPerStatement must be positive but was " + keysPerStatement);
+        }
         this.connection = connection;
+        this.keysPerStatement = keysPerStatement;
         this.allowedPKsPerTable = new PkTableMap();
         this.allowedPKsInput = allowedPKs;
         this.reverseScan = reverseDependency;
@@ -235,7 +267,7 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
         }
         // NOTE: make sure the query below is compatible standard SQL
         String sql = "SELECT " + colsBuffer + " FROM " + table +
-                " WHERE " + pkColumn + " = ? ";
+                " WHERE " + pkColumn;
         if (this.logger.isDebugEnabled()) {
             this.logger.debug("SQL: " + sql);
         }
@@ -243,39 +275,27 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
         scanPKs(table, sql, allowedIds, fkTables);
     }
 
-    private void scanPKs(String table, String sql, Set allowedIds, List fkTables) throws SQLException {
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
+    private void scanPKs(final String table, String sql, Set allowedIds, final List fkTables) throws SQLException {
         try {
-            pstmt = this.connection.getConnection().prepareStatement(sql);
-            for (Iterator iterator = allowedIds.iterator(); iterator.hasNext(); ) {
-                Object pk = iterator.next(); // id being scanned
-                if (this.logger.isDebugEnabled()) {
-                    this.logger.debug("Executing sql for ? = " + pk);
-                }
-                pstmt.setObject(1, pk);
-                rs = pstmt.executeQuery();
-                while (rs.next()) {
+            executeQueries(sql, allowedIds, new RowHandler() {
+                public void handleRow(ResultSet rs) throws SQLException {
                     for (int i = 0; i < fkTables.size(); i++) {
                         String newTable = (String) fkTables.get(i);
                         Object fk = rs.getObject(i + 1);
                         if (fk != null) {
-                            if (this.logger.isDebugEnabled()) {
-                                this.logger.debug("New ID: " + newTable + "->" + fk);
+                            if (logger.isDebugEnabled()) {
+                                logger.debug("New ID: " + newTable + "->" + fk);
                             }
                             addPKToScan(newTable, fk);
                         } else {
-                            this.logger.warn("Found null FK for relationship  " +
+                            logger.warn("Found null FK for relationship  " +
                                     table + "=>" + newTable);
                         }
                     }
                 }
-            }
+            });
         } catch (SQLException e) {
             logger.error("scanPKs()", e);
-        } finally {
-            // new in the finally block. has been in the catch only before
-            SQLHelper.close(rs, pstmt);
         }
     }
 
@@ -299,33 +319,89 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
     private void addReverseEdge(ForeignKeyRelationshipEdge edge, Set idsToScan) throws SQLException {
         logger.debug("addReverseEdge(edge={}, idsToScan=) - start", edge, idsToScan);
 
-        String fkTable = (String) edge.getFrom();
+        final String fkTable = (String) edge.getFrom();
         String fkColumn = edge.getFkColumn();
         String pkColumn = getPKColumn(fkTable);
         // NOTE: make sure the query below is compatible standard SQL
-        String sql = "SELECT " + pkColumn + " FROM " + fkTable + " WHERE " + fkColumn + " = ? ";
+        String sql = "SELECT " + pkColumn + " FROM " + fkTable + " WHERE " + fkColumn;
 
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            if (this.logger.isDebugEnabled()) {
-                this.logger.debug("Preparing SQL query '" + sql + "'");
+        executeQueries(sql, idsToScan, new RowHandler() {
+            public void handleRow(ResultSet rs) throws SQLException {
+                Object fk = rs.getObject(1);
+                addPKToScan(fkTable, fk);
             }
-            pstmt = this.connection.getConnection().prepareStatement(sql);
-            for (Iterator iterator = idsToScan.iterator(); iterator.hasNext(); ) {
-                Object pk = iterator.next();
-                if (this.logger.isDebugEnabled()) {
-                    this.logger.debug("executing query '" + sql + "' for ? = " + pk);
+        });
+    }
+
+    /**
+     * Runs <code>sqlPrefix + " IN (?, ...)"</code> for the given key values, binding at
+     * most {@link #keysPerStatement} values per query. The statement for a full chunk is
+     * prepared once and reused; a shorter trailing chunk gets its own statement.
+     */
+    private void executeQueries(String sqlPrefix, Set ids, RowHandler handler) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Object[] values = ids.toArray();
+        int fullChunkSize = Math.min(this.keysPerStatement, values.length);
+        PreparedStatement fullChunkStatement = null;
+        try {
+            for (int offset = 0; offset < values.length; offset += fullChunkSize) {
+                int count = Math.min(fullChunkSize, values.length - offset);
+                if (count == fullChunkSize) {
+                    if (fullChunkStatement == null) {
+                        fullChunkStatement = prepareInStatement(sqlPrefix, count);
+                    }
+                    executeChunk(fullChunkStatement, values, offset, count, handler);
+                } else {
+                    PreparedStatement remainderStatement = prepareInStatement(sqlPrefix, count);
+                    try {
+                        executeChunk(remainderStatement, values, offset, count, handler);
+                    } finally {
+                        SQLHelper.close(remainderStatement);
+                    }
                 }
-                pstmt.setObject(1, pk);
-                rs = pstmt.executeQuery();
-                while (rs.next()) {
-                    Object fk = rs.getObject(1);
-                    addPKToScan(fkTable, fk);
+            }
+        } finally {
+            if (fullChunkStatement != null) {
+                SQLHelper.close(fullChunkStatement);
+            }
+        }
+    }
+
+    private PreparedStatement prepareInStatement(String sqlPrefix, int count) throws SQLException {
+        StringBuffer sql = new StringBuffer(sqlPrefix.length() + 6 + count * 3);
+        sql.append(sqlPrefix);
+        if (count == 1) {
+            sql.append(" = ?");
+        } else {
+            sql.append(" IN (");
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    sql.append(", ");
                 }
+                sql.append('?');
+            }
+            sql.append(')');
+        }
+        if (this.logger.isDebugEnabled()) {
+            this.logger.debug("Preparing SQL query '" + sql + "'");
+        }
+        return this.connection.getConnection().prepareStatement(sql.toString());
+    }
+
+    private void executeChunk(PreparedStatement pstmt, Object[] values, int offset, int count,
+                              RowHandler handler) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            pstmt.setObject(i + 1, values[offset + i]);
+        }
+        ResultSet rs = pstmt.executeQuery();
+        try {
+            while (rs.next()) {
+                handler.handleRow(rs);
             }
         } finally {
-            SQLHelper.close(rs, pstmt);
+            SQLHelper.close(rs);
         }
     }
 
@@ -396,6 +472,13 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
     }
 
 
+    /**
+     * Callback receiving each row returned by a key lookup query.
+     */
+    private interface RowHandler {
+        void handleRow(ResultSet rs) throws SQLException;
+    }
+
     private class FilterIterator implements ITableIterator {
 
         private final ITableIterator _iterator;
@@ -113,6 +113,31 @@ public class ResultSetTableMetaData extends AbstractTableMetaData {
         this.wrappedTableMetaData = createMetaData(tableName, resultSet, dataTypeFactory, new DefaultMetadataHandler());
     }
 
+    /**
+     * Creates the columns from the given {@link ResultSetMetaData} only, without looking
+     * them up via {@link DatabaseMetaData}. Used for streamed result sets, since some
+     * drivers do not allow any other statement on the connection while they are open.
+     *
+     * @param tableName             The name of the database table
+     * @param metaData              The metadata of the result set providing the columns
+     * @param dataTypeFactory       The factory creating the data types of the columns
+     * @param caseSensitiveMetaData Whether or not the metadata is case sensitive
+     * @throws DataSetException
+     * @throws SQLException
+     * @since 2.8.6
+     */
+    ResultSetTableMetaData(String tableName, ResultSetMetaData metaData, IDataTypeFactory dataTypeFactory,
+                           boolean caseSensitiveMetaData)
+            throws DataSetException, SQLException {
+        super();
+        _caseSensitiveMetaData = caseSensitiveMetaData;
+        Column[] columns = new Column[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = createColumnFromRsMetaData(metaData, i + 1, tableName, dataTypeFactory);
+        }
+        this.wrappedTableMetaData = new DefaultTableMetaData(tableName, columns);
+    }
+
 
     private DefaultTableMetaData createMetaData(String tableName,
                                                 ResultSet resultSet, IDatabaseConnection connection)
@@ -84,10 +84,13 @@ public class ScrollableResultSetTable extends AbstractResultSetTable {
     }
 
     public Object getValue(int row, String columnName) throws DataSetException {
+        return getValue(row, getColumnIndex(columnName));
+    }
+
+    public Object getValue(int row, int columnIndex) throws DataSetException {
         assertValidRowIndex(row);
         try {
             this.resultSet.absolute(row + 1);
-            int columnIndex = getColumnIndex(columnName);
             Column column = this.metaData.getColumns()[columnIndex];
             return column.getDataType().getSqlValue(columnIndex + 1, this.resultSet);
         } catch (SQLException e) {
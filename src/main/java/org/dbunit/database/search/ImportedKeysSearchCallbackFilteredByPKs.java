@@ -55,6 +55,21 @@ public class ImportedKeysSearchCallbackFilteredByPKs extends ImportedKeysSearchC
         pksFilter = new PrimaryKeyFilter(connection, allowedPKs, false);
     }
 
+    /**
+     * Creates a call back whose filter looks up at most <code>keysPerStatement</code>
+     * key values per query.
+     *
+     * @param connection       database connection
+     * @param allowedPKs       map of allowed rows, based on the primary keys (key is the name
+     *                         of a table; value is a Set with allowed primary keys for that table)
+     * @param keysPerStatement maximum number of key values bound into a single lookup query
+     * @since 2.8.6
+     */
+    public ImportedKeysSearchCallbackFilteredByPKs(IDatabaseConnection connection, PkTableMap allowedPKs, int keysPerStatement) {
+        super(connection);
+        pksFilter = new PrimaryKeyFilter(connection, allowedPKs, false, keysPerStatement);
+    }
+
     /**
      * Get the primary key filter associated with the call back
      *
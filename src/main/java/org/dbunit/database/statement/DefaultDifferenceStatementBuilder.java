@@ -0,0 +1,63 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.database.statement;
+
+/**
+ * Builds standard SQL statements, e.g.
+ * <code>create table S as select * from T where 1=0</code> and
+ * <code>select A, B, count(*) from T group by A, B except select A, B, count(*) from S group by A, B</code>.
+ * This works with H2, PostgreSQL and MySQL 8.0.31 or later.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DefaultDifferenceStatementBuilder implements IDifferenceStatementBuilder {
+
+    public String buildCreateScratchTableSql(String scratchTableName, String tableName) {
+        return "create table " + scratchTableName + " as select * from " + tableName + " where 1=0";
+    }
+
+    public String buildDropScratchTableSql(String scratchTableName) {
+        return "drop table " + scratchTableName;
+    }
+
+    public String buildDifferenceSql(String tableName, String otherTableName, String[] columnNames) {
+        StringBuilder sqlBuffer = new StringBuilder(128);
+        appendRowCountQuery(sqlBuffer, tableName, columnNames);
+        sqlBuffer.append(' ').append(getExceptOperator()).append(' ');
+        appendRowCountQuery(sqlBuffer, otherTableName, columnNames);
+        return sqlBuffer.toString();
+    }
+
+    /**
+     * @return The set difference operator of the database
+     */
+    protected String getExceptOperator() {
+        return "except";
+    }
+
+    private static void appendRowCountQuery(StringBuilder sqlBuffer, String tableName, String[] columnNames) {
+        String columns = String.join(", ", columnNames);
+        sqlBuffer.append("select ").append(columns).append(", count(*) from ").append(tableName);
+        sqlBuffer.append(" group by ").append(columns);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.database.statement;
+
+/**
+ * Builds the SQL with which {@link org.dbunit.assertion.DbUnitAssert#assertEqualsInDatabase}
+ * lets the database compare a table with the expected rows: a scratch table is created
+ * with the columns of the table, filled with the expected rows and compared with the
+ * table through set difference queries. Configured via
+ * {@link org.dbunit.database.DatabaseConfig#PROPERTY_DIFFERENCE_STATEMENT_BUILDER}.
+ * Implementations for specific databases live in the <code>org.dbunit.ext</code> packages.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public interface IDifferenceStatementBuilder {
+
+    /**
+     * Returns the statement creating an empty table with the columns of another table.
+     *
+     * @param scratchTableName The escaped and qualified name of the table to be created
+     * @param tableName        The escaped and qualified name of the table whose columns are copied
+     * @return The SQL of the create statement
+     */
+    String buildCreateScratchTableSql(String scratchTableName, String tableName);
+
+    /**
+     * Returns the statement dropping the scratch table again.
+     *
+     * @param scratchTableName The escaped and qualified name of the scratch table
+     * @return The SQL of the drop statement
+     */
+    String buildDropScratchTableSql(String scratchTableName);
+
+    /**
+     * Returns the query selecting the distinct rows of a table together with the
+     * number of times they occur, unless the other table contains the same row the
+     * same number of times. The query must return the given columns in their order,
+     * followed by the row count.
+     *
+     * @param tableName      The escaped and qualified name of the table whose rows are returned
+     * @param otherTableName The escaped and qualified name of the table whose rows are subtracted
+     * @param columnNames    The escaped names of the compared columns
+     * @return The SQL of the difference query
+     */
+    String buildDifferenceSql(String tableName, String otherTableName, String[] columnNames);
+}
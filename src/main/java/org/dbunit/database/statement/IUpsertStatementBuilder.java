@@ -0,0 +1,46 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.database.statement;
+
+/**
+ * Builds the SQL of a statement which inserts a row or updates it if a row with the same
+ * primary key already exists. Used by {@link org.dbunit.operation.RefreshOperation} to refresh tables with
+ * batched statements when configured via
+ * {@link org.dbunit.database.DatabaseConfig#PROPERTY_UPSERT_STATEMENT_BUILDER}.
+ * Implementations for specific databases live in the <code>org.dbunit.ext</code> packages.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public interface IUpsertStatementBuilder {
+
+    /**
+     * Returns the upsert statement of a table. The statement must have exactly one
+     * parameter for each of the given columns, in the order of <code>columnNames</code>.
+     *
+     * @param tableName       The escaped and qualified table name
+     * @param columnNames     The escaped names of the columns to be written
+     * @param primaryKeyNames The escaped names of the primary key columns, contained in <code>columnNames</code>
+     * @return The SQL of the upsert statement
+     */
+    String buildUpsertSql(String tableName, String[] columnNames, String[] primaryKeyNames);
+}
@@ -0,0 +1,114 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.database.statement;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Builds an upsert statement using the SQL standard <code>MERGE</code> statement with a
+ * <code>VALUES</code> row as source, e.g.
+ * <pre>
+ * merge into T dbunit_target using (values (?, ?)) as dbunit_source (ID, NAME)
+ * on (dbunit_target.ID = dbunit_source.ID)
+ * when matched then update set NAME = dbunit_source.NAME
+ * when not matched then insert (ID, NAME) values (dbunit_source.ID, dbunit_source.NAME)
+ * </pre>
+ * This syntax is supported by DB2 and HSQLDB 2. Subclasses adapt it to other databases.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class MergeStatementBuilder implements IUpsertStatementBuilder {
+
+    protected static final String TARGET_ALIAS = "dbunit_target";
+    protected static final String SOURCE_ALIAS = "dbunit_source";
+
+    public String buildUpsertSql(String tableName, String[] columnNames, String[] primaryKeyNames) {
+        Set<String> primaryKeys = new HashSet<>(Arrays.asList(primaryKeyNames));
+
+        StringBuilder sqlBuffer = new StringBuilder(256);
+        sqlBuffer.append("merge into ").append(tableName).append(' ').append(TARGET_ALIAS);
+        sqlBuffer.append(" using ");
+        appendSource(sqlBuffer, columnNames);
+
+        // on
+        sqlBuffer.append(" on (");
+        for (int i = 0; i < primaryKeyNames.length; i++) {
+            if (i > 0) {
+                sqlBuffer.append(" and ");
+            }
+            sqlBuffer.append(TARGET_ALIAS).append('.').append(primaryKeyNames[i]);
+            sqlBuffer.append(" = ");
+            sqlBuffer.append(SOURCE_ALIAS).append('.').append(primaryKeyNames[i]);
+        }
+        sqlBuffer.append(')');
+
+        // update, only if columns are not all primary keys
+        String separator = " when matched then update set ";
+        for (String columnName : columnNames) {
+            if (!primaryKeys.contains(columnName)) {
+                sqlBuffer.append(separator);
+                sqlBuffer.append(columnName).append(" = ").append(SOURCE_ALIAS).append('.').append(columnName);
+                separator = ", ";
+            }
+        }
+
+        // insert
+        sqlBuffer.append(" when not matched then insert (");
+        appendList(sqlBuffer, columnNames, null);
+        sqlBuffer.append(") values (");
+        appendList(sqlBuffer, columnNames, SOURCE_ALIAS + ".");
+        sqlBuffer.append(')');
+        return sqlBuffer.toString();
+    }
+
+    /**
+     * Appends the source of the merge providing one parameter per column and named
+     * {@link #SOURCE_ALIAS}.
+     */
+    protected void appendSource(StringBuilder sqlBuffer, String[] columnNames) {
+        sqlBuffer.append("(values (");
+        for (int i = 0; i < columnNames.length; i++) {
+            sqlBuffer.append(i > 0 ? ", ?" : "?");
+        }
+        sqlBuffer.append(")) as ").append(SOURCE_ALIAS).append(" (");
+        appendList(sqlBuffer, columnNames, null);
+        sqlBuffer.append(')');
+    }
+
+    /**
+     * Appends the comma separated names, each with the given prefix.
+     */
+    protected static void appendList(StringBuilder sqlBuffer, String[] names, String prefix) {
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                sqlBuffer.append(", ");
+            }
+            if (prefix != null) {
+                sqlBuffer.append(prefix);
+            }
+            sqlBuffer.append(names[i]);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.database.statement;
+
+import java.sql.Connection;
+
+/**
+ * Inserts several rows with a single execution of an
+ * <code>INSERT ... VALUES (...), (...), ...</code> statement. The rows added via
+ * {@link #addBatch()} are buffered until <code>rowsPerStatement</code> rows are
+ * available, which are then inserted at once. The statement for a full chunk of rows
+ * is prepared only once and reused, the remaining rows are inserted on
+ * {@link #executeBatch()}.
+ * <p>
+ * This reduces the number of server round trips on drivers which do not rewrite
+ * JDBC batches by themselves. Note that the database must support multi-row
+ * <code>VALUES</code> lists and that <code>rowsPerStatement</code> times the number of
+ * columns must not exceed the bind parameter limit of the driver.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class MultiRowInsertStatement extends MultiRowStatement {
+    /**
+     * @param sqlPrefix        The insert statement up to and including the <code>values</code> keyword,
+     *                         for example <code>insert into T (A, B) values </code>
+     * @param rowSql           The parameter placeholders of a single row, for example <code>(?, ?)</code>
+     * @param parameterCount   The number of parameters of a single row
+     * @param rowsPerStatement The maximum number of rows inserted by one statement execution
+     * @param connection       The connection used to prepare the statements
+     */
+    public MultiRowInsertStatement(String sqlPrefix, String rowSql, int parameterCount, int rowsPerStatement, Connection connection) {
+        super(sqlPrefix, rowSql, ", ", "", parameterCount, rowsPerStatement, connection);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.database.statement;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Processes several rows with a single execution of a statement which repeats the
+ * parameter placeholders of one row, for example
+ * <code>INSERT ... VALUES (?, ?), (?, ?)</code> or
+ * <code>DELETE ... WHERE A IN (?, ?, ?)</code>. The rows added via
+ * {@link #addBatch()} are buffered until <code>rowsPerStatement</code> rows are
+ * available, which are then processed at once. The statement for a full chunk of rows
+ * is prepared only once and reused, the remaining rows are processed on
+ * {@link #executeBatch()}.
+ * <p>
+ * This reduces the number of server round trips on drivers which do not rewrite
+ * JDBC batches by themselves. Note that <code>rowsPerStatement</code> times the number
+ * of parameters of a row must not exceed the bind parameter limit of the driver.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ * @see MultiRowInsertStatement
+ */
+@Slf4j
+public class MultiRowStatement implements IPreparedBatchStatement {
+    private final Connection connection;
+    private final String sqlPrefix;
+    private final String rowSql;
+    private final String rowSeparator;
+    private final String sqlSuffix;
+    private final int parameterCount;
+    private final int rowsPerStatement;
+
+    private final Object[] values;
+    private final DataType[] dataTypes;
+    private int index;
+    private int rowCount;
+    private int result;
+
+    /**
+     * The statement for a full chunk of rows, prepared on first use
+     */
+    private PreparedStatement chunkStatement;
+
+    /**
+     * @param sqlPrefix        The statement up to the first row, for example
+     *                         <code>delete from T where A in (</code>
+     * @param rowSql           The parameter placeholders of a single row, for example <code>?</code>
+     * @param rowSeparator     The separator between two rows, for example <code>, </code>
+     * @param sqlSuffix        The statement after the last row, for example <code>)</code>
+     * @param parameterCount   The number of parameters of a single row
+     * @param rowsPerStatement The maximum number of rows processed by one statement execution
+     * @param connection       The connection used to prepare the statements
+     */
+    public MultiRowStatement(String sqlPrefix, String rowSql, String rowSeparator, String sqlSuffix,
+                             int parameterCount, int rowsPerStatement, Connection connection) {
+        if (rowsPerStatement < 1) {
+            throw new IllegalArgumentException("The parameter 'rowsPerStatement' must be greater than zero but was " + rowsPerStatement);
+        }
+        this.connection = connection;
+        this.sqlPrefix = sqlPrefix;
+        this.rowSql = rowSql;
+        this.rowSeparator = rowSeparator;
+        this.sqlSuffix = sqlSuffix;
+        this.parameterCount = parameterCount;
+        this.rowsPerStatement = rowsPerStatement;
+        this.values = new Object[parameterCount * rowsPerStatement];
+        this.dataTypes = new DataType[parameterCount * rowsPerStatement];
+    }
+
+    /**
+     * @param rows The number of rows
+     * @return The statement for the given number of rows
+     */
+    String getSql(int rows) {
+        StringBuilder sqlBuffer = new StringBuilder(sqlPrefix.length() + sqlSuffix.length()
+                + rows * (rowSql.length() + rowSeparator.length()));
+        sqlBuffer.append(sqlPrefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sqlBuffer.append(rowSeparator);
+            }
+            sqlBuffer.append(rowSql);
+        }
+        sqlBuffer.append(sqlSuffix);
+        return sqlBuffer.toString();
+    }
+
+    public void addValue(Object value, DataType dataType) throws TypeCastException, SQLException {
+        log.debug("addValue(value={}, dataType={}) - start", value, dataType);
+
+        if (index - rowCount * parameterCount >= parameterCount) {
+            throw new SQLException("More than " + parameterCount + " values added to the current row");
+        }
+        values[index] = value;
+        dataTypes[index] = dataType;
+        index++;
+    }
+
+    public void addBatch() throws SQLException {
+        log.debug("addBatch() - start");
+        rowCount++;
+        index = rowCount * parameterCount;
+        if (rowCount == rowsPerStatement) {
+            flush();
+        }
+    }
+
+    public int executeBatch() throws SQLException {
+        log.debug("executeBatch() - start");
+        if (rowCount > 0) {
+            flush();
+        }
+        int result = this.result;
+        this.result = 0;
+        return result;
+    }
+
+    public void clearBatch() throws SQLException {
+        log.debug("clearBatch() - start");
+        clearValues();
+        result = 0;
+    }
+
+    public void close() throws SQLException {
+        log.debug("close() - start");
+        if (chunkStatement != null) {
+            chunkStatement.close();
+            chunkStatement = null;
+        }
+    }
+
+    /**
+     * Executes the statement for all buffered rows
+     */
+    private void flush() throws SQLException {
+        boolean fullChunk = rowCount == rowsPerStatement;
+        PreparedStatement statement;
+        if (fullChunk) {
+            if (chunkStatement == null) {
+                chunkStatement = connection.prepareStatement(getSql(rowsPerStatement));
+            }
+            statement = chunkStatement;
+        } else {
+            statement = connection.prepareStatement(getSql(rowCount));
+        }
+
+        try {
+            int count = rowCount * parameterCount;
+            for (int i = 0; i < count; i++) {
+                setValue(statement, i + 1, values[i], dataTypes[i]);
+            }
+            result += statement.executeUpdate();
+        } finally {
+            clearValues();
+            if (!fullChunk) {
+                statement.close();
+            }
+        }
+    }
+
+    private void setValue(PreparedStatement statement, int parameterIndex, Object value, DataType dataType) throws SQLException {
+        try {
+            PreparedBatchStatement.setParameter(statement, parameterIndex, value, dataType);
+        } catch (TypeCastException e) {
+            throw new SQLException("Error casting value '" + value + "' of parameter " + parameterIndex
+                    + " to " + dataType, e);
+        }
+    }
+
+    private void clearValues() {
+        Arrays.fill(values, 0, index, null);
+        Arrays.fill(dataTypes, 0, index, null);
+        index = 0;
+        rowCount = 0;
+    }
+}
@@ -28,6 +28,7 @@ import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.datatype.TypeCastException;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 /**
@@ -47,18 +48,29 @@ public class PreparedBatchStatement extends AbstractPreparedBatchStatement {
     public void addValue(Object value, DataType dataType) throws TypeCastException, SQLException {
         log.debug("addValue(value={}, dataType={}) - start", value, dataType);
 
+        setParameter(statement, ++index, value, dataType);
+    }
+
+    /**
+     * Binds the value to the given parameter of the statement, using
+     * {@link PreparedStatement#setNull} for <code>null</code> and {@link ITable#NO_VALUE}.
+     *
+     * @since 2.8.6
+     */
+    static void setParameter(PreparedStatement statement, int parameterIndex, Object value, DataType dataType)
+            throws TypeCastException, SQLException {
         // Special NULL handling
         if (value == null || value == ITable.NO_VALUE) {
             String sqlTypeName = dataType.getSqlTypeName();
             if (sqlTypeName == null) {
-                statement.setNull(++index, dataType.getSqlType());
+                statement.setNull(parameterIndex, dataType.getSqlType());
             } else {
-                statement.setNull(++index, dataType.getSqlType(), sqlTypeName);
+                statement.setNull(parameterIndex, dataType.getSqlType(), sqlTypeName);
             }
             return;
         }
 
-        dataType.setSqlValue(value, ++index, statement);
+        dataType.setSqlValue(value, parameterIndex, statement);
     }
 
     public void addBatch() throws SQLException {
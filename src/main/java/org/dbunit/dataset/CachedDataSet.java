@@ -37,6 +37,11 @@ import org.dbunit.dataset.stream.IDataSetProducer;
 public class CachedDataSet extends AbstractDataSet implements IDataSetConsumer {
     private DefaultTable activeTable;
 
+    /**
+     * Whether the tables are held in a {@link ColumnarTable} instead of a {@link DefaultTable}
+     */
+    private boolean columnar = false;
+
     /**
      * Default constructor.
      */
@@ -59,6 +64,25 @@ public class CachedDataSet extends AbstractDataSet implements IDataSetConsumer {
         }
     }
 
+    /**
+     * Creates a copy of the specified dataset.
+     *
+     * @param columnar Whether the tables should be held in the memory efficient {@link ColumnarTable}
+     * @since 2.8.6
+     */
+    public CachedDataSet(IDataSet dataSet, boolean columnar) throws DataSetException {
+        super(dataSet.isCaseSensitiveTableNames());
+        initialize();
+        this.columnar = columnar;
+
+        final ITableIterator iterator = dataSet.iterator();
+        while (iterator.next()) {
+            final ITable table = iterator.getTable();
+            orderedTableNameMap.add(table.getTableMetaData().getTableName(),
+                    columnar ? new ColumnarTable(table) : new CachedTable(table));
+        }
+    }
+
     /**
      * Creates a CachedDataSet that synchronously consume the specified producer.
      */
@@ -79,6 +103,40 @@ public class CachedDataSet extends AbstractDataSet implements IDataSetConsumer {
         producer.produce();
     }
 
+    /**
+     * Creates a CachedDataSet that synchronously consume the specified producer.
+     *
+     * @param caseSensitiveTableNames Whether case-sensitive table names should be used
+     * @param columnar                Whether the tables should be held in the memory efficient {@link ColumnarTable}
+     * @since 2.8.6
+     */
+    public CachedDataSet(IDataSetProducer producer, boolean caseSensitiveTableNames, boolean columnar) throws DataSetException {
+        super(caseSensitiveTableNames);
+        initialize();
+        this.columnar = columnar;
+
+        producer.setConsumer(this);
+        producer.produce();
+    }
+
+    /**
+     * @return Whether the tables are held in a {@link ColumnarTable}
+     * @since 2.8.6
+     */
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    /**
+     * Sets whether the tables of subsequently consumed producers are held in a {@link ColumnarTable}.
+     *
+     * @param columnar Whether the memory efficient {@link ColumnarTable} should be used
+     * @since 2.8.6
+     */
+    public void setColumnar(boolean columnar) {
+        this.columnar = columnar;
+    }
+
     protected ITableIterator createIterator(boolean reversed) throws DataSetException {
         log.debug("createIterator(reversed={}) - start", reversed);
         ITable[] tables = orderedTableNameMap.orderedValues().toArray(new ITable[0]);
@@ -97,7 +155,7 @@ public class CachedDataSet extends AbstractDataSet implements IDataSetConsumer {
 
     public void startTable(ITableMetaData metaData) throws DataSetException {
         log.debug("startTable(metaData={}) - start", metaData);
-        activeTable = new DefaultTable(metaData);
+        activeTable = columnar ? new ColumnarTable(metaData) : new DefaultTable(metaData);
     }
 
     public void endTable() throws DataSetException {
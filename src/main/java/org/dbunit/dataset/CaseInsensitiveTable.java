@@ -76,6 +76,10 @@ public class CaseInsensitiveTable implements ITable {
 
         return _table.getValue(row, getInternalColumnName(column));
     }
+
+    public Object getValue(int row, int column) throws DataSetException {
+        return _table.getValue(row, column);
+    }
 }
 
 
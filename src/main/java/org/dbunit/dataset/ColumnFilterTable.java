@@ -48,6 +48,11 @@ public class ColumnFilterTable implements ITable {
      */
     private final ITableMetaData tableMetaData;
 
+    /**
+     * Maps the column indexes of the filtered metadata to the ones of the original table
+     */
+    private int[] originalColumnIndexes;
+
 
     /**
      * @param table        The table from which some columns should be filtered
@@ -88,6 +93,14 @@ public class ColumnFilterTable implements ITable {
         return this.originalTable.getValue(row, column);
     }
 
+    public Object getValue(int row, int column) throws DataSetException {
+        if (this.originalColumnIndexes == null) {
+            this.originalColumnIndexes = Columns.getColumnIndexes(
+                    this.tableMetaData.getColumns(), this.originalTable.getTableMetaData());
+        }
+        return this.originalTable.getValue(row, this.originalColumnIndexes[column]);
+    }
+
     public ITableMetaData getOriginalMetaData() {
         logger.debug("getOriginalMetaData() - start");
         return this.originalTable.getTableMetaData();
@@ -0,0 +1,642 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.dataset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory table implementation storing its values column by column instead
+ * of one <code>Object[]</code> per row.
+ * <p>
+ * The storage of every column is chosen by the type of the first non-null value
+ * added to it: {@link Integer}, {@link Long}, {@link Double} and {@link Boolean}
+ * values are kept in primitive arrays, {@link BigDecimal} values as unscaled
+ * <code>long</code> plus scale, {@link String} values are dictionary encoded and
+ * <code>byte[]</code> values are appended to a shared byte pool. <code>null</code>
+ * and {@link ITable#NO_VALUE} are tracked in bitmaps. As soon as a column receives
+ * a value not fitting its storage it falls back to a plain <code>Object[]</code>,
+ * so any value can be stored and is returned unchanged (values are boxed again
+ * on access and binary values are returned as copies).
+ * <p>
+ * This is significantly more compact than {@link DefaultTable} for large tables
+ * with homogeneous columns, like the ones read from a database or from big seed
+ * and expected data files.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class ColumnarTable extends DefaultTable {
+
+    /**
+     * Logger for this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarTable.class);
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private ColumnVector[] _vectors;
+    private int _rowCount;
+
+    /**
+     * Creates a new empty table with specified metadata.
+     */
+    public ColumnarTable(ITableMetaData metaData) {
+        super(metaData);
+    }
+
+    /**
+     * Creates a new table holding a copy of all rows of the specified table.
+     */
+    public ColumnarTable(ITable table) throws DataSetException {
+        super(table.getTableMetaData());
+        addTableRows(table);
+    }
+
+    private ColumnVector[] getVectors() throws DataSetException {
+        if (_vectors == null) {
+            int columnCount = getTableMetaData().getColumns().length;
+            _vectors = new ColumnVector[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                _vectors[i] = new UntypedVector(INITIAL_CAPACITY);
+            }
+        }
+        return _vectors;
+    }
+
+    private void append(Object[] values) throws DataSetException {
+        ColumnVector[] vectors = getVectors();
+        if (values != null && values.length < vectors.length) {
+            throw new DataSetException("Row " + _rowCount + " of table '" + getTableMetaData().getTableName()
+                    + "' has " + values.length + " values but the table has " + vectors.length + " columns");
+        }
+        for (int j = 0; j < vectors.length; j++) {
+            vectors[j] = store(vectors[j], _rowCount, values == null ? null : values[j], _rowCount);
+        }
+        _rowCount++;
+    }
+
+    /**
+     * Stores the value in the given vector, replacing the vector by a more general one if needed.
+     *
+     * @param size The number of rows already held by the vector
+     * @return The vector which holds the value
+     */
+    private static ColumnVector store(ColumnVector vector, int row, Object value, int size) {
+        vector.ensureCapacity(row + 1);
+        if (!vector.accepts(value)) {
+            vector = vector.generalize(value, vector.capacity(), size);
+        }
+        vector.set(row, value);
+        return vector;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // DefaultTable class
+
+    public void addRow() throws DataSetException {
+        append(null);
+    }
+
+    public void addRow(Object[] values) throws DataSetException {
+        append(values);
+    }
+
+    public void addTableRows(ITable table) throws DataSetException {
+        logger.debug("addTableRows(table={}) - start", table);
+
+        Column[] columns = getTableMetaData().getColumns();
+        if (columns.length <= 0) {
+            logger.warn("The table '" + table + "' does not have any columns. Cannot add table rows. This should never happen...");
+            return;
+        }
+
+        int[] sourceIndexes = Columns.getColumnIndexes(columns, table.getTableMetaData());
+        Object[] rowValues = new Object[columns.length];
+        try {
+            for (int i = 0; ; i++) {
+                for (int j = 0; j < columns.length; j++) {
+                    rowValues[j] = table.getValue(i, sourceIndexes[j]);
+                }
+                append(rowValues);
+            }
+        } catch (RowOutOfBoundsException e) {
+            // end of table
+            // ignore error.
+        }
+    }
+
+    public Object setValue(int row, String column, Object value)
+            throws RowOutOfBoundsException, NoSuchColumnException, DataSetException {
+        assertValidRowIndex(row);
+
+        int columnIndex = getColumnIndex(column);
+        ColumnVector[] vectors = getVectors();
+        Object oldValue = vectors[columnIndex].get(row);
+        vectors[columnIndex] = store(vectors[columnIndex], row, value, _rowCount);
+        return oldValue;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // ITable interface
+
+    public int getRowCount() {
+        return _rowCount;
+    }
+
+    public Object getValue(int row, String column) throws DataSetException {
+        return getValue(row, getColumnIndex(column));
+    }
+
+    public Object getValue(int row, int column) throws DataSetException {
+        assertValidRowIndex(row, _rowCount);
+
+        return getVectors()[column].get(row);
+    }
+
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getName()).append("[");
+        sb.append("_metaData=").append(getTableMetaData());
+        sb.append(", _rowCount=").append(_rowCount);
+        sb.append(", _vectors=").append(_vectors == null ? "null" : Arrays.toString(_vectors));
+        sb.append("]");
+        return sb.toString();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Column storage
+
+    /**
+     * Storage of the values of a single column. <code>null</code> and
+     * {@link ITable#NO_VALUE} are tracked in bitmaps by this base class so that
+     * the subclasses only need to handle their specialized value type.
+     */
+    abstract static class ColumnVector {
+        private final BitSet _nulls = new BitSet();
+        private final BitSet _noValues = new BitSet();
+
+        /**
+         * @return <code>true</code> if the given value can be stored by this vector
+         */
+        boolean accepts(Object value) {
+            return value == null || value == ITable.NO_VALUE || acceptsValue(value);
+        }
+
+        void set(int row, Object value) {
+            _nulls.set(row, value == null);
+            _noValues.set(row, value == ITable.NO_VALUE);
+            if (value != null && value != ITable.NO_VALUE) {
+                setValue(row, value);
+            }
+        }
+
+        Object get(int row) {
+            if (_nulls.get(row)) {
+                return null;
+            }
+            if (_noValues.get(row)) {
+                return ITable.NO_VALUE;
+            }
+            return getValue(row);
+        }
+
+        /**
+         * Creates a vector able to store the given value in addition to the first
+         * <code>size</code> values of this vector.
+         */
+        ColumnVector generalize(Object value, int capacity, int size) {
+            ColumnVector result = isEmpty() ? createVector(value, capacity) : null;
+            if (result == null) {
+                result = new ObjectVector(capacity);
+            }
+            for (int i = 0; i < size; i++) {
+                result.set(i, get(i));
+            }
+            return result;
+        }
+
+        /**
+         * @return <code>true</code> if this vector only holds <code>null</code> or
+         * {@link ITable#NO_VALUE} markers
+         */
+        boolean isEmpty() {
+            return false;
+        }
+
+        public String toString() {
+            return getClass().getSimpleName();
+        }
+
+        abstract boolean acceptsValue(Object value);
+
+        abstract void setValue(int row, Object value);
+
+        abstract Object getValue(int row);
+
+        abstract int capacity();
+
+        abstract void ensureCapacity(int minCapacity);
+    }
+
+    /**
+     * Creates the specialized vector for the given first value.
+     *
+     * @return the vector or <code>null</code> if the value has no specialized storage
+     */
+    static ColumnVector createVector(Object value, int capacity) {
+        ColumnVector vector;
+        if (value instanceof Integer) {
+            vector = new IntVector(capacity);
+        } else if (value instanceof Long) {
+            vector = new LongVector(capacity);
+        } else if (value instanceof Double) {
+            vector = new DoubleVector(capacity);
+        } else if (value instanceof Boolean) {
+            vector = new BooleanVector(capacity);
+        } else if (value instanceof String) {
+            vector = new StringVector(capacity);
+        } else if (value instanceof byte[]) {
+            vector = new BytesVector(capacity);
+        } else if (value instanceof BigDecimal) {
+            vector = new DecimalVector(capacity);
+        } else {
+            return null;
+        }
+        return vector.acceptsValue(value) ? vector : null;
+    }
+
+    static int newCapacity(int capacity, int minCapacity) {
+        return Math.max(minCapacity, capacity + (capacity >> 1) + 1);
+    }
+
+    /**
+     * Vector of a column which did not receive any value other than markers yet.
+     */
+    static class UntypedVector extends ColumnVector {
+        private int _capacity;
+
+        UntypedVector(int capacity) {
+            _capacity = capacity;
+        }
+
+        boolean acceptsValue(Object value) {
+            return false;
+        }
+
+        void setValue(int row, Object value) {
+            throw new IllegalStateException("Cannot store values");
+        }
+
+        Object getValue(int row) {
+            // Never set rows are treated as null
+            return null;
+        }
+
+        boolean isEmpty() {
+            return true;
+        }
+
+        int capacity() {
+            return _capacity;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _capacity) {
+                _capacity = newCapacity(_capacity, minCapacity);
+            }
+        }
+    }
+
+    static class ObjectVector extends ColumnVector {
+        private Object[] _values;
+
+        ObjectVector(int capacity) {
+            _values = new Object[capacity];
+        }
+
+        boolean accepts(Object value) {
+            return true;
+        }
+
+        void set(int row, Object value) {
+            _values[row] = value;
+        }
+
+        Object get(int row) {
+            return _values[row];
+        }
+
+        boolean acceptsValue(Object value) {
+            return true;
+        }
+
+        void setValue(int row, Object value) {
+            _values[row] = value;
+        }
+
+        Object getValue(int row) {
+            return _values[row];
+        }
+
+        int capacity() {
+            return _values.length;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _values.length) {
+                _values = Arrays.copyOf(_values, newCapacity(_values.length, minCapacity));
+            }
+        }
+    }
+
+    static class IntVector extends ColumnVector {
+        private int[] _values;
+
+        IntVector(int capacity) {
+            _values = new int[capacity];
+        }
+
+        boolean acceptsValue(Object value) {
+            return value instanceof Integer;
+        }
+
+        void setValue(int row, Object value) {
+            _values[row] = ((Integer) value).intValue();
+        }
+
+        Object getValue(int row) {
+            return Integer.valueOf(_values[row]);
+        }
+
+        int capacity() {
+            return _values.length;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _values.length) {
+                _values = Arrays.copyOf(_values, newCapacity(_values.length, minCapacity));
+            }
+        }
+    }
+
+    static class LongVector extends ColumnVector {
+        private long[] _values;
+
+        LongVector(int capacity) {
+            _values = new long[capacity];
+        }
+
+        boolean acceptsValue(Object value) {
+            return value instanceof Long;
+        }
+
+        void setValue(int row, Object value) {
+            _values[row] = ((Long) value).longValue();
+        }
+
+        Object getValue(int row) {
+            return Long.valueOf(_values[row]);
+        }
+
+        int capacity() {
+            return _values.length;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _values.length) {
+                _values = Arrays.copyOf(_values, newCapacity(_values.length, minCapacity));
+            }
+        }
+    }
+
+    static class DoubleVector extends ColumnVector {
+        private double[] _values;
+
+        DoubleVector(int capacity) {
+            _values = new double[capacity];
+        }
+
+        boolean acceptsValue(Object value) {
+            return value instanceof Double;
+        }
+
+        void setValue(int row, Object value) {
+            _values[row] = ((Double) value).doubleValue();
+        }
+
+        Object getValue(int row) {
+            return Double.valueOf(_values[row]);
+        }
+
+        int capacity() {
+            return _values.length;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _values.length) {
+                _values = Arrays.copyOf(_values, newCapacity(_values.length, minCapacity));
+            }
+        }
+    }
+
+    static class BooleanVector extends ColumnVector {
+        private final BitSet _values = new BitSet();
+        private int _capacity;
+
+        BooleanVector(int capacity) {
+            _capacity = capacity;
+        }
+
+        boolean acceptsValue(Object value) {
+            return value instanceof Boolean;
+        }
+
+        void setValue(int row, Object value) {
+            _values.set(row, ((Boolean) value).booleanValue());
+        }
+
+        Object getValue(int row) {
+            return Boolean.valueOf(_values.get(row));
+        }
+
+        int capacity() {
+            return _capacity;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _capacity) {
+                _capacity = newCapacity(_capacity, minCapacity);
+            }
+        }
+    }
+
+    /**
+     * Stores {@link BigDecimal} values whose unscaled value fits into a <code>long</code>.
+     */
+    static class DecimalVector extends ColumnVector {
+        private long[] _unscaledValues;
+        private int[] _scales;
+
+        DecimalVector(int capacity) {
+            _unscaledValues = new long[capacity];
+            _scales = new int[capacity];
+        }
+
+        boolean acceptsValue(Object value) {
+            return value instanceof BigDecimal
+                    && ((BigDecimal) value).unscaledValue().bitLength() < Long.SIZE;
+        }
+
+        void setValue(int row, Object value) {
+            BigDecimal decimal = (BigDecimal) value;
+            _unscaledValues[row] = decimal.unscaledValue().longValue();
+            _scales[row] = decimal.scale();
+        }
+
+        Object getValue(int row) {
+            return BigDecimal.valueOf(_unscaledValues[row], _scales[row]);
+        }
+
+        int capacity() {
+            return _unscaledValues.length;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _unscaledValues.length) {
+                int capacity = newCapacity(_unscaledValues.length, minCapacity);
+                _unscaledValues = Arrays.copyOf(_unscaledValues, capacity);
+                _scales = Arrays.copyOf(_scales, capacity);
+            }
+        }
+    }
+
+    /**
+     * Stores {@link String} values as codes into a dictionary holding every distinct value once.
+     */
+    static class StringVector extends ColumnVector {
+        private final List<String> _dictionary = new ArrayList<>();
+        private final Map<String, Integer> _codes = new HashMap<>();
+        private int[] _values;
+
+        StringVector(int capacity) {
+            _values = new int[capacity];
+        }
+
+        boolean acceptsValue(Object value) {
+            return value instanceof String;
+        }
+
+        void setValue(int row, Object value) {
+            String string = (String) value;
+            Integer code = _codes.get(string);
+            if (code == null) {
+                code = Integer.valueOf(_dictionary.size());
+                _dictionary.add(string);
+                _codes.put(string, code);
+            }
+            _values[row] = code.intValue();
+        }
+
+        Object getValue(int row) {
+            return _dictionary.get(_values[row]);
+        }
+
+        int capacity() {
+            return _values.length;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _values.length) {
+                _values = Arrays.copyOf(_values, newCapacity(_values.length, minCapacity));
+            }
+        }
+    }
+
+    /**
+     * Stores binary values in a single byte pool addressed by offset and length.
+     * Overwriting a value reuses its slot in the pool when the new value fits.
+     */
+    static class BytesVector extends ColumnVector {
+        private byte[] _pool = new byte[INITIAL_CAPACITY * 16];
+        private int _poolSize;
+        private int[] _offsets;
+        private int[] _lengths;
+        private int[] _slotLengths;
+
+        BytesVector(int capacity) {
+            _offsets = new int[capacity];
+            _lengths = new int[capacity];
+            _slotLengths = new int[capacity];
+        }
+
+        boolean acceptsValue(Object value) {
+            return value instanceof byte[];
+        }
+
+        void setValue(int row, Object value) {
+            byte[] bytes = (byte[]) value;
+            if (bytes.length > _slotLengths[row]) {
+                if (_poolSize + bytes.length > _pool.length) {
+                    _pool = Arrays.copyOf(_pool, newCapacity(_pool.length, _poolSize + bytes.length));
+                }
+                _offsets[row] = _poolSize;
+                _slotLengths[row] = bytes.length;
+                _poolSize += bytes.length;
+            }
+            System.arraycopy(bytes, 0, _pool, _offsets[row], bytes.length);
+            _lengths[row] = bytes.length;
+        }
+
+        /**
+         * Returns a copy of the value. The pool is shared by all rows and a Java array
+         * cannot view a part of another one, so handing out the pool is not possible.
+         * The copy is short-lived garbage, the memory retained by the table stays the
+         * compact pool.
+         */
+        Object getValue(int row) {
+            int offset = _offsets[row];
+            return Arrays.copyOfRange(_pool, offset, offset + _lengths[row]);
+        }
+
+        int capacity() {
+            return _offsets.length;
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity > _offsets.length) {
+                int capacity = newCapacity(_offsets.length, minCapacity);
+                _offsets = Arrays.copyOf(_offsets, capacity);
+                _lengths = Arrays.copyOf(_lengths, capacity);
+                _slotLengths = Arrays.copyOf(_slotLengths, capacity);
+            }
+        }
+    }
+}
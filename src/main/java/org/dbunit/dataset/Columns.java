@@ -155,6 +155,27 @@ public class Columns {
         return null;
     }
 
+    /**
+     * Resolves the positions of the given columns within the given table metadata.
+     * The result can be used with {@link ITable#getValue(int, int)} to access the
+     * values of many rows without looking up the column name for every cell.
+     *
+     * @param columns  the columns to resolve, compared by name ignoring case
+     * @param metaData the metadata in which the columns are searched
+     * @return the column indexes in the same order as the given <code>columns</code>
+     * @throws NoSuchColumnException if one of the columns does not exist in the metadata
+     * @throws DataSetException      if the columns of the metadata cannot be retrieved
+     * @since 2.8.6
+     */
+    public static int[] getColumnIndexes(Column[] columns, ITableMetaData metaData)
+            throws DataSetException {
+        int[] indexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            indexes[i] = metaData.getColumnIndex(columns[i].getColumnName());
+        }
+        return indexes;
+    }
+
     /**
      * Search and return the specified column from the specified column array.
      *
@@ -123,11 +123,12 @@ public class DefaultTable extends AbstractTable {
                 return;
             }
 
+            // Resolve the source positions once instead of per cell
+            int[] sourceIndexes = Columns.getColumnIndexes(columns, table.getTableMetaData());
             for (int i = 0; ; i++) {
                 Object[] rowValues = new Object[columns.length];
                 for (int j = 0; j < columns.length; j++) {
-                    Column column = columns[j];
-                    rowValues[j] = table.getValue(i, column.getColumnName());
+                    rowValues[j] = table.getValue(i, sourceIndexes[j]);
                 }
                 _rowList.add(rowValues);
             }
@@ -183,6 +184,13 @@ public class DefaultTable extends AbstractTable {
         return rowValues[getColumnIndex(column)];
     }
 
+    public Object getValue(int row, int column) throws DataSetException {
+        assertValidRowIndex(row);
+
+        Object[] rowValues = (Object[]) _rowList.get(row);
+        return rowValues[column];
+    }
+
     public String toString() {
         StringBuffer sb = new StringBuffer();
         sb.append(getClass().getName()).append("[");
@@ -53,4 +53,12 @@ public class ForwardOnlyTable implements ITable {
         lastRow = row;
         return table.getValue(row, column);
     }
+
+    public Object getValue(int row, int column) throws DataSetException {
+        if (row < lastRow) {
+            throw new UnsupportedOperationException("Cannot go backward!");
+        }
+        lastRow = row;
+        return table.getValue(row, column);
+    }
 }
\ No newline at end of file
@@ -54,4 +54,28 @@ public interface ITable {
      *                                 equals or greater than <code>getRowCount</code>
      */
     Object getValue(int row, String column) throws DataSetException;
+
+    /**
+     * Returns this table value for the specified row and column index. The
+     * column index is the position of the column within
+     * {@link ITableMetaData#getColumns()} and is typically resolved once via
+     * {@link ITableMetaData#getColumnIndex(String)} or
+     * {@link Columns#getColumnIndexes(Column[], ITableMetaData)}, so that
+     * iterating over many rows does not pay a column name lookup per cell.
+     * <p>
+     * The default implementation falls back to {@link #getValue(int, String)}.
+     * Implementations are encouraged to override it with a direct positional
+     * access.
+     *
+     * @param row    The row index, starting with 0
+     * @param column The column index, starting with 0
+     * @return The value
+     * @throws RowOutOfBoundsException if specified row is less than zero or
+     *                                 equals or greater than <code>getRowCount</code>
+     * @since 2.8.6
+     */
+    default Object getValue(int row, int column) throws DataSetException {
+        Column[] columns = getTableMetaData().getColumns();
+        return getValue(row, columns[column].getColumnName());
+    }
 }
\ No newline at end of file
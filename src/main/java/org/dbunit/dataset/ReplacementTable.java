@@ -68,6 +68,11 @@ public class ReplacementTable implements ITable {
         return Replacements.getValue(value);
     }
 
+    public Object getValue(int row, int column) throws DataSetException {
+        Object value = _table.getValue(row, column);
+        return Replacements.getValue(value);
+    }
+
     public String toString() {
         return getClass().getName() + "[" +
                 "_table=" + _table +
@@ -131,11 +131,17 @@ public class RowFilterTable implements ITable, IRowValueProvider {
         if (logger.isDebugEnabled())
             logger.debug("getValue(row={}, columnName={}) - start", Integer.toString(row), column);
 
+        return this.originalTable.getValue(getOriginalRowIndex(row), column);
+    }
+
+    public Object getValue(int row, int column) throws DataSetException {
+        return this.originalTable.getValue(getOriginalRowIndex(row), column);
+    }
+
+    private int getOriginalRowIndex(int row) throws RowOutOfBoundsException {
         int max = this.filteredRowIndexes.size();
         if (row < max) {
-            int realRow = ((Integer) this.filteredRowIndexes.get(row)).intValue();
-            Object value = this.originalTable.getValue(realRow, column);
-            return value;
+            return ((Integer) this.filteredRowIndexes.get(row)).intValue();
         } else {
             throw new RowOutOfBoundsException("tried to access row " + row +
                     " but rowCount is " + max);
@@ -283,6 +283,14 @@ public class SortedTable extends AbstractTable {
         return _table.getValue(getOriginalRowIndex(row), columnName);
     }
 
+    @Override
+    public Object getValue(final int row, final int column)
+            throws DataSetException {
+        assertValidRowIndex(row);
+
+        return _table.getValue(getOriginalRowIndex(row), column);
+    }
+
     // //////////////////////////////////////////////////////////////////////////
     // Comparator interface
 
@@ -298,6 +306,7 @@ public class SortedTable extends AbstractTable {
                 LoggerFactory.getLogger(AbstractRowComparator.class);
         private final ITable _table;
         private final Column[] _sortColumns;
+        private int[] _sortColumnIndexes;
 
         /**
          * @param table       The wrapped table to be sorted
@@ -317,13 +326,18 @@ public class SortedTable extends AbstractTable {
             final Integer i2 = (Integer) o2;
 
             try {
+                if (_sortColumnIndexes == null) {
+                    _sortColumnIndexes = Columns.getColumnIndexes(_sortColumns,
+                            _table.getTableMetaData());
+                }
+
                 for (int i = 0; i < _sortColumns.length; i++) {
-                    final String columnName = _sortColumns[i].getColumnName();
+                    final int columnIndex = _sortColumnIndexes[i];
 
                     final Object value1 =
-                            _table.getValue(i1.intValue(), columnName);
+                            _table.getValue(i1.intValue(), columnIndex);
                     final Object value2 =
-                            _table.getValue(i2.intValue(), columnName);
+                            _table.getValue(i2.intValue(), columnIndex);
 
                     if (value1 == null && value2 == null) {
                         continue;
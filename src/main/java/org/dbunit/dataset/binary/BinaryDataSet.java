@@ -0,0 +1,123 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableIterator;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+
+/**
+ * Reads a dataset from the compact binary dataset format written by
+ * {@link BinaryDataSetWriter}. Converting a text based dataset to this format once
+ * avoids parsing it on every load.
+ * <p>
+ * The format is typed, columnar and length-prefixed:
+ * <pre>
+ * file      = magic version table* directory directoryOffset magic
+ * table     = name columnCount column* primaryKeyCount primaryKeyIndex* rowCount columnOffset* values*
+ * column    = name sqlType sqlTypeName nullable
+ * values    = value{rowCount}, one run per column
+ * value     = tag payload, e.g. a length-prefixed UTF-8 string, an int or a timestamp
+ * directory = tableCount (name tableOffset tableLength)*
+ * </pre>
+ * Only the directory is read on creation. The file region of a table is memory mapped
+ * when the table is first used and a column is only decoded when one of its values
+ * is first read.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+@Slf4j
+public class BinaryDataSet extends AbstractDataSet {
+    private final ITable[] tables;
+
+    /**
+     * Creates a dataset reading the given binary dataset file.
+     */
+    public BinaryDataSet(final File file) throws DataSetException {
+        this(file, false);
+    }
+
+    /**
+     * Creates a dataset reading the given binary dataset file.
+     *
+     * @param caseSensitiveTableNames Whether or not this dataset should use case sensitive table names
+     */
+    public BinaryDataSet(final File file, final boolean caseSensitiveTableNames) throws DataSetException {
+        super(caseSensitiveTableNames);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < BinaryDataSetFormat.HEADER_LENGTH + BinaryDataSetFormat.TRAILER_LENGTH + 4) {
+                throw new DataSetException("Not a binary dataset file: " + file);
+            }
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryDataSetFormat.HEADER_LENGTH);
+            final ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - BinaryDataSetFormat.TRAILER_LENGTH, BinaryDataSetFormat.TRAILER_LENGTH);
+            final long directoryOffset = trailer.getLong();
+            if (header.getInt() != BinaryDataSetFormat.MAGIC || trailer.getInt() != BinaryDataSetFormat.MAGIC
+                    || directoryOffset < BinaryDataSetFormat.HEADER_LENGTH || directoryOffset > size - BinaryDataSetFormat.TRAILER_LENGTH) {
+                throw new DataSetException("Not a binary dataset file: " + file);
+            }
+            final short version = header.getShort();
+            if (version != BinaryDataSetFormat.VERSION) {
+                throw new DataSetException("Unsupported binary dataset version " + version + " of file " + file);
+            }
+
+            final ByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset, size - BinaryDataSetFormat.TRAILER_LENGTH - directoryOffset);
+            tables = new ITable[directory.getInt()];
+            for (int i = 0; i < tables.length; i++) {
+                final String tableName = BinaryDataSetFormat.readString(directory);
+                tables[i] = new BinaryTable(file, tableName, directory.getLong(), directory.getLong());
+            }
+        } catch (final IOException e) {
+            throw new DataSetException("Cannot read binary dataset file " + file, e);
+        }
+
+        orderedTableNameMap = createTableNameMap();
+        for (final ITable table : tables) {
+            orderedTableNameMap.add(((BinaryTable) table).getTableName(), table);
+        }
+        log.debug("Read directory of {} tables from file={}", tables.length, file);
+    }
+
+    /**
+     * Writes the given dataset to the given stream in the binary dataset format.
+     */
+    public static void write(final IDataSet dataSet, final OutputStream out) throws DataSetException {
+        BinaryDataSetWriter.write(dataSet, out);
+    }
+
+    protected ITableIterator createIterator(final boolean reversed) throws DataSetException {
+        return new DefaultTableIterator(tables, reversed);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.stream.DataSetProducerAdapter;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+
+/**
+ * Writes the consumed dataset in the binary dataset format read by {@link BinaryDataSet}.
+ * <p>
+ * The values of the active table are encoded column by column into memory as the
+ * rows are consumed, and the table is written when it ends; so only the encoded
+ * values of one table are held in memory. A table of more than 2 GB is not supported.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+@Slf4j
+public class BinaryDataSetWriter implements IDataSetConsumer {
+    private final DataOutputStream out;
+
+    /**
+     * Offset of the next byte written to the output
+     */
+    private long position;
+
+    private final List<String> tableNames = new ArrayList<>();
+    private final List<long[]> tableRegions = new ArrayList<>();
+
+    private ITableMetaData activeMetaData;
+    private Column[] activeColumns;
+    private ByteArrayOutputStream[] columnBuffers;
+    private DataOutputStream[] columnOutputs;
+    private int rowCount;
+
+    /**
+     * @param out The stream to write to; it is flushed but not closed at the end of the dataset
+     */
+    public BinaryDataSetWriter(final OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    /**
+     * Writes the given dataset to the given stream.
+     */
+    public static void write(final IDataSet dataSet, final OutputStream out) throws DataSetException {
+        final DataSetProducerAdapter producer = new DataSetProducerAdapter(dataSet);
+        producer.setConsumer(new BinaryDataSetWriter(out));
+        producer.produce();
+    }
+
+    public void startDataSet() throws DataSetException {
+        try {
+            out.writeInt(BinaryDataSetFormat.MAGIC);
+            out.writeShort(BinaryDataSetFormat.VERSION);
+            position = BinaryDataSetFormat.HEADER_LENGTH;
+            tableNames.clear();
+            tableRegions.clear();
+        } catch (final IOException e) {
+            throw new DataSetException(e);
+        }
+    }
+
+    public void endDataSet() throws DataSetException {
+        try {
+            final long directoryOffset = position;
+            out.writeInt(tableNames.size());
+            for (int i = 0; i < tableNames.size(); i++) {
+                BinaryDataSetFormat.writeString(out, tableNames.get(i));
+                out.writeLong(tableRegions.get(i)[0]);
+                out.writeLong(tableRegions.get(i)[1]);
+            }
+            out.writeLong(directoryOffset);
+            out.writeInt(BinaryDataSetFormat.MAGIC);
+            out.flush();
+        } catch (final IOException e) {
+            throw new DataSetException(e);
+        }
+    }
+
+    public void startTable(final ITableMetaData metaData) throws DataSetException {
+        log.debug("startTable(metaData={}) - start", metaData);
+
+        activeMetaData = metaData;
+        activeColumns = metaData.getColumns();
+        columnBuffers = new ByteArrayOutputStream[activeColumns.length];
+        columnOutputs = new DataOutputStream[activeColumns.length];
+        for (int i = 0; i < activeColumns.length; i++) {
+            columnBuffers[i] = new ByteArrayOutputStream();
+            columnOutputs[i] = new DataOutputStream(columnBuffers[i]);
+        }
+        rowCount = 0;
+    }
+
+    public void row(final Object[] values) throws DataSetException {
+        try {
+            for (int i = 0; i < columnOutputs.length; i++) {
+                BinaryDataSetFormat.writeValue(columnOutputs[i], i < values.length ? values[i] : null);
+            }
+        } catch (final IOException e) {
+            throw new DataSetException(e);
+        }
+        rowCount++;
+    }
+
+    public void endTable() throws DataSetException {
+        try {
+            final ByteArrayOutputStream headerBuffer = new ByteArrayOutputStream();
+            final DataOutputStream header = new DataOutputStream(headerBuffer);
+            writeMetaData(header);
+            header.writeInt(rowCount);
+
+            // the column offsets are relative to the start of the table
+            long columnOffset = header.size() + 8L * activeColumns.length;
+            for (final ByteArrayOutputStream columnBuffer : columnBuffers) {
+                header.writeLong(columnOffset);
+                columnOffset += columnBuffer.size();
+            }
+            if (columnOffset > Integer.MAX_VALUE) {
+                throw new DataSetException("Table " + activeMetaData.getTableName() + " exceeds 2 GB");
+            }
+
+            headerBuffer.writeTo(out);
+            for (final ByteArrayOutputStream columnBuffer : columnBuffers) {
+                columnBuffer.writeTo(out);
+            }
+            tableNames.add(activeMetaData.getTableName());
+            tableRegions.add(new long[]{position, columnOffset});
+            position += columnOffset;
+        } catch (final IOException e) {
+            throw new DataSetException(e);
+        } finally {
+            columnBuffers = null;
+            columnOutputs = null;
+        }
+    }
+
+    private void writeMetaData(final DataOutputStream header) throws IOException, DataSetException {
+        BinaryDataSetFormat.writeString(header, activeMetaData.getTableName());
+        header.writeInt(activeColumns.length);
+        for (final Column column : activeColumns) {
+            BinaryDataSetFormat.writeString(header, column.getColumnName());
+            header.writeInt(column.getDataType().getSqlType());
+            BinaryDataSetFormat.writeString(header, column.getSqlTypeName());
+            header.writeByte(BinaryDataSetFormat.nullableToInt(column.getNullable()));
+        }
+        final Column[] primaryKeys = activeMetaData.getPrimaryKeys();
+        header.writeInt(primaryKeys.length);
+        for (final Column primaryKey : primaryKeys) {
+            header.writeInt(activeMetaData.getColumnIndex(primaryKey.getColumnName()));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.dbunit.dataset.AbstractTable;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+
+/**
+ * Table of a {@link BinaryDataSet}, mapping its file region on first use and
+ * decoding each column on first access to one of its values.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+class BinaryTable extends AbstractTable {
+    private final File file;
+    private final String tableName;
+    private final long offset;
+    private final long length;
+
+    private ByteBuffer buffer;
+    private ITableMetaData metaData;
+    private int rowCount;
+    private long[] columnOffsets;
+    private Object[][] columnValues;
+
+    BinaryTable(final File file, final String tableName, final long offset, final long length) {
+        this.file = file;
+        this.tableName = tableName;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    public synchronized ITableMetaData getTableMetaData() {
+        try {
+            load();
+        } catch (final DataSetException e) {
+            throw new IllegalStateException("Cannot read table " + tableName + " of binary dataset file " + file, e);
+        }
+        return metaData;
+    }
+
+    public synchronized int getRowCount() {
+        getTableMetaData();
+        return rowCount;
+    }
+
+    public Object getValue(final int row, final String column) throws DataSetException {
+        final int columnIndex = getColumnIndex(column);
+        assertValidRowIndex(row);
+        return getColumnValues(columnIndex)[row];
+    }
+
+    public Object getValue(final int row, final int column) throws DataSetException {
+        assertValidRowIndex(row);
+        return getColumnValues(column)[row];
+    }
+
+    private synchronized Object[] getColumnValues(final int columnIndex) throws DataSetException {
+        Object[] values = columnValues[columnIndex];
+        if (values == null) {
+            final ByteBuffer in = buffer.duplicate();
+            in.position((int) columnOffsets[columnIndex]);
+            values = new Object[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                values[row] = BinaryDataSetFormat.readValue(in);
+            }
+            columnValues[columnIndex] = values;
+        }
+        return values;
+    }
+
+    private void load() throws DataSetException {
+        if (metaData != null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        } catch (final IOException e) {
+            throw new DataSetException("Cannot map table " + tableName + " of binary dataset file " + file, e);
+        }
+
+        final ByteBuffer in = buffer.duplicate();
+        final String name = BinaryDataSetFormat.readString(in);
+        final Column[] columns = new Column[in.getInt()];
+        for (int i = 0; i < columns.length; i++) {
+            final String columnName = BinaryDataSetFormat.readString(in);
+            final DataType dataType = DataType.forSqlType(in.getInt());
+            final String sqlTypeName = BinaryDataSetFormat.readString(in);
+            final Column.Nullable nullable = Column.nullableValue((int) in.get());
+            columns[i] = new Column(columnName, dataType, sqlTypeName, nullable);
+        }
+        final Column[] primaryKeys = new Column[in.getInt()];
+        for (int i = 0; i < primaryKeys.length; i++) {
+            primaryKeys[i] = columns[in.getInt()];
+        }
+        rowCount = in.getInt();
+        columnOffsets = new long[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            columnOffsets[i] = in.getLong();
+        }
+        columnValues = new Object[columns.length][];
+        metaData = new DefaultTableMetaData(name, columns, primaryKeys);
+    }
+
+    public String toString() {
+        return getClass().getName() + "[tableName=" + tableName + ", offset=" + offset + ", length=" + length + "]";
+    }
+}
@@ -21,17 +21,16 @@
 
 package org.dbunit.dataset.csv;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.LineNumberReader;
 import java.io.Reader;
 import java.net.URL;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.dbunit.dataset.common.handlers.EscapeHandler;
@@ -94,7 +93,7 @@ public class CsvParserImpl implements CsvParser {
     public List parse(File file) throws IOException, CsvParserException {
         logger.debug("parse(file={}) - start", file);
 
-        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file)));
+        Reader reader = new InputStreamReader(new FileInputStream(file));
         try {
             return parse(reader, file.getAbsolutePath().toString());
         } finally {
@@ -105,7 +104,7 @@ public class CsvParserImpl implements CsvParser {
     public List parse(URL url) throws IOException, CsvParserException {
         logger.debug("parse(url={}) - start", url);
 
-        BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()));
+        Reader reader = new InputStreamReader(url.openStream());
         try {
             return parse(reader, url.toString());
         } finally {
@@ -113,87 +112,25 @@ public class CsvParserImpl implements CsvParser {
         }
     }
 
-    public List parse(Reader reader, String source) throws IOException, CsvParserException {
-        logger.debug("parse(reader={}, source={}) - start", reader, source);
-
-        LineNumberReader lineNumberReader = new LineNumberReader(reader);
-        List rows = new ArrayList();
-        List columnsInFirstLine = parseFirstLine(lineNumberReader, source, rows);
-        parseTheData(columnsInFirstLine, lineNumberReader, rows);
-        return rows;
-    }
-
-//    private List parseFirstLine(LineNumberReader lineNumberReader, File file, List rows) throws IOException, CsvParserException {
-//        if(logger.isDebugEnabled())
-//            logger.debug("parseFirstLine(lineNumberReader={}, file={}, rows={}) - start", 
-//                new Object[]{lineNumberReader, file, rows} );
-//
-//    	return parseFirstLine(lineNumberReader, file.getAbsolutePath().toString(), rows);
-//    }
-
     /**
-     * parse the first line of data from the given source
+     * Parses all records of the given source with a {@link CsvTokenizer}. Every record
+     * must have as many columns as the first one.
      */
-    private List parseFirstLine(LineNumberReader lineNumberReader, String source, List rows) throws IOException, CsvParserException {
-        if (logger.isDebugEnabled())
-            logger.debug("parseFirstLine(lineNumberReader={}, source={}, rows={}) - start",
-                    new Object[]{lineNumberReader, source, rows});
+    public List parse(Reader reader, String source) throws IOException, CsvParserException {
+        logger.debug("parse(reader={}, source={}) - start", reader, source);
 
-        String firstLine = lineNumberReader.readLine();
-        if (firstLine == null)
+        CsvTokenizer tokenizer = new CsvTokenizer(reader);
+        Object[] columnsInFirstLine = tokenizer.nextRecord();
+        if (columnsInFirstLine == null)
             throw new CsvParserException("The first line of " + source + " is null");
 
-        final List columnsInFirstLine = parse(firstLine);
-        rows.add(columnsInFirstLine);
-        return columnsInFirstLine;
-    }
-
-    private void parseTheData(final List columnsInFirstLine, LineNumberReader lineNumberReader, List rows) throws IOException, CsvParserException {
-        logger.debug("parseTheData(columnsInFirstLine={}, lineNumberReader={}, rows={}) - start",
-                new Object[]{columnsInFirstLine, lineNumberReader, rows});
-
-        int nColumns = columnsInFirstLine.size();
-        List columns;
-        while ((columns = collectExpectedNumberOfColumns(nColumns, lineNumberReader)) != null) {
-            rows.add(columns);
-        }
-    }
-
-    private List collectExpectedNumberOfColumns(int expectedNumberOfColumns, LineNumberReader lineNumberReader) throws IOException, CsvParserException {
-        if (logger.isDebugEnabled())
-            logger.debug("collectExpectedNumberOfColumns(expectedNumberOfColumns={}, lineNumberReader={}) - start",
-                    String.valueOf(expectedNumberOfColumns), lineNumberReader);
-
-        List columns = null;
-        int columnsCollectedSoFar = 0;
-        StringBuffer buffer = new StringBuffer();
-        String anotherLine = lineNumberReader.readLine();
-        if (anotherLine == null)
-            return null;
-        boolean shouldProceed = false;
-        while (columnsCollectedSoFar < expectedNumberOfColumns) {
-            try {
-                buffer.append(anotherLine);
-                columns = parse(buffer.toString());
-                columnsCollectedSoFar = columns.size();
-            } catch (IllegalStateException e) {
-                resetThePipeline();
-                anotherLine = lineNumberReader.readLine();
-                if (anotherLine == null)
-                    break;
-                buffer.append("\n");
-                shouldProceed = true;
-            }
-            if (!shouldProceed)
-                break;
-        }
-        if (columnsCollectedSoFar != expectedNumberOfColumns) {
-            String message = new StringBuffer("Expected ").append(expectedNumberOfColumns)
-                    .append(" columns on line ").append(lineNumberReader.getLineNumber())
-                    .append(", got ").append(columnsCollectedSoFar).append(". Offending line: ").append(buffer).toString();
-            throw new CsvParserException(message);
+        List rows = new ArrayList();
+        rows.add(new ArrayList(Arrays.asList(columnsInFirstLine)));
+        Object[] columns;
+        while ((columns = tokenizer.nextRecord(columnsInFirstLine.length)) != null) {
+            rows.add(new ArrayList(Arrays.asList(columns)));
         }
-        return columns;
+        return rows;
     }
 
     Pipeline getPipeline() {
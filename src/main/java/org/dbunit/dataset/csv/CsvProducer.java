@@ -23,6 +23,7 @@ package org.dbunit.dataset.csv;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -36,7 +37,6 @@ import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.DefaultTableMetaData;
 import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.common.handlers.IllegalInputCharacterException;
-import org.dbunit.dataset.common.handlers.PipelineException;
 import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.stream.DefaultConsumer;
 import org.dbunit.dataset.stream.IDataSetConsumer;
@@ -107,14 +107,17 @@ public class CsvProducer implements IDataSetProducer {
     private void produceFromFile(File theDataFile) throws DataSetException, CsvParserException {
         logger.debug("produceFromFile(theDataFile={}) - start", theDataFile);
 
+        CsvTokenizer tokenizer = null;
         try {
-            CsvParser parser = new CsvParserImpl();
-            List readData = parser.parse(theDataFile);
-            List readColumns = ((List) readData.get(0));
-            Column[] columns = new Column[readColumns.size()];
+            tokenizer = new CsvTokenizer(new InputStreamReader(new FileInputStream(theDataFile)));
+            Object[] readColumns = tokenizer.nextRecord();
+            if (readColumns == null) {
+                throw new CsvParserException("The first line of " + theDataFile.getAbsolutePath() + " is null");
+            }
+            Column[] columns = new Column[readColumns.length];
 
-            for (int i = 0; i < readColumns.size(); i++) {
-                String columnName = (String) readColumns.get(i);
+            for (int i = 0; i < readColumns.length; i++) {
+                String columnName = (String) readColumns[i];
                 columnName = columnName.trim();
                 columns[i] = new Column(columnName, DataType.UNKNOWN);
             }
@@ -122,21 +125,30 @@ public class CsvProducer implements IDataSetProducer {
             String tableName = theDataFile.getName().substring(0, theDataFile.getName().indexOf(".csv"));
             ITableMetaData metaData = new DefaultTableMetaData(tableName, columns);
             _consumer.startTable(metaData);
-            for (int i = 1; i < readData.size(); i++) {
-                List rowList = (List) readData.get(i);
-                Object[] row = rowList.toArray();
+            Object[] row;
+            while ((row = tokenizer.nextRecord(columns.length)) != null) {
                 for (int col = 0; col < row.length; col++) {
                     row[col] = row[col].equals(CsvDataSetWriter.NULL) ? null : row[col];
                 }
                 _consumer.row(row);
             }
             _consumer.endTable();
-        } catch (PipelineException e) {
-            throw new DataSetException(e);
         } catch (IllegalInputCharacterException e) {
             throw new DataSetException(e);
         } catch (IOException e) {
             throw new DataSetException(e);
+        } finally {
+            closeQuietly(tokenizer);
+        }
+    }
+
+    static void closeQuietly(CsvTokenizer tokenizer) {
+        if (tokenizer != null) {
+            try {
+                tokenizer.close();
+            } catch (IOException e) {
+                logger.warn("Cannot close CSV input", e);
+            }
         }
     }
 
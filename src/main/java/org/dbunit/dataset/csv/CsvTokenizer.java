@@ -0,0 +1,224 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dbunit.dataset.common.handlers.EscapeHandler;
+import org.dbunit.dataset.common.handlers.IllegalInputCharacterException;
+import org.dbunit.dataset.common.handlers.QuoteHandler;
+import org.dbunit.dataset.common.handlers.SeparatorHandler;
+
+/**
+ * Single pass CSV tokenizer returning one record at a time.
+ * <p>
+ * Accepts the same syntax as the handler {@link org.dbunit.dataset.common.handlers.Pipeline}
+ * used by {@link CsvParserImpl#parse(String)}: leading whitespace of a field is skipped,
+ * quoted text keeps separators, whitespace and line breaks, and the escape character
+ * must be followed by a quote or another escape character. Unlike the pipeline it works
+ * on a reused read buffer and field buffer with a small state machine instead of a
+ * handler chain per character, and a line break outside quotes ends the record.
+ * Line breaks inside quotes are returned as <code>\n</code>.
+ * <p>
+ * Instances are not thread safe.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class CsvTokenizer implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * At the start of a field or after a closing quote, whitespace is skipped.
+     */
+    private static final int START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+
+    private final Reader reader;
+    private final char separator;
+    private final char escape;
+    private final char quote = QuoteHandler.QUOTE_CHAR;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private char[] field = new char[64];
+    private int fieldLength;
+    private final List<String> fields = new ArrayList<>();
+
+    private int lineNumber;
+
+    /**
+     * Creates a tokenizer using the default separator and escape characters.
+     */
+    public CsvTokenizer(final Reader reader) {
+        this(reader, SeparatorHandler.DEFAULT_SEPARATOR_CHAR, EscapeHandler.DEFAULT_ESCAPE_CHAR);
+    }
+
+    public CsvTokenizer(final Reader reader, final char separator, final char escape) {
+        this.reader = reader;
+        this.separator = separator;
+        this.escape = escape;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record as {@link String}s, or <code>null</code> at the end of the input
+     * @throws CsvParserException              if the input ends inside quotes
+     * @throws IllegalInputCharacterException if the escape character is followed by a character that cannot be escaped
+     */
+    public Object[] nextRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        fields.clear();
+        fieldLength = 0;
+        int state = START;
+        while (true) {
+            if (state == QUOTED) {
+                if (c < 0) {
+                    throw new CsvParserException("End of input on line " + (lineNumber + 1)
+                            + " while waiting for a closing quote");
+                } else if (c == escape) {
+                    appendEscaped(read());
+                } else if (c == quote) {
+                    state = START;
+                } else if (c == '\r' || c == '\n') {
+                    endLine(c);
+                    append('\n');
+                } else {
+                    append(c);
+                }
+            } else if (c < 0 || c == '\r' || c == '\n') {
+                endLine(c);
+                endField();
+                return fields.toArray();
+            } else if (c == separator) {
+                endField();
+                state = START;
+            } else if (c == escape) {
+                final int next = read();
+                if (next < 0 || next == '\r' || next == '\n') {
+                    // a trailing escape character is dropped
+                    c = next;
+                    continue;
+                }
+                appendEscaped(next);
+            } else if (state == START) {
+                if (c == quote) {
+                    state = QUOTED;
+                } else if (!Character.isWhitespace(c)) {
+                    append(c);
+                    state = UNQUOTED;
+                }
+            } else {
+                append(c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Reads the next record and checks its number of fields.
+     *
+     * @return the fields of the record as {@link String}s, or <code>null</code> at the end of the input
+     * @throws CsvParserException if the record does not have the expected number of fields
+     */
+    public Object[] nextRecord(final int expectedColumns) throws IOException {
+        final Object[] record = nextRecord();
+        if (record != null && record.length != expectedColumns) {
+            throw new CsvParserException("Expected " + expectedColumns + " columns on line " + lineNumber
+                    + ", got " + record.length + ". Offending line: " + Arrays.asList(record));
+        }
+        return record;
+    }
+
+    /**
+     * @return the line on which the last record returned ended, starting at 1
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void appendEscaped(final int c) {
+        if (c != quote && c != escape) {
+            throw new IllegalInputCharacterException("(working on piece #" + fields.size() + ") on line "
+                    + (lineNumber + 1) + ": Character '" + (c < 0 ? "EOF" : String.valueOf((char) c))
+                    + "' cannot be escaped");
+        }
+        append(c);
+    }
+
+    private void append(final int c) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, fieldLength * 2);
+        }
+        field[fieldLength++] = (char) c;
+    }
+
+    private void endField() {
+        fields.add(new String(field, 0, fieldLength));
+        fieldLength = 0;
+    }
+
+    private void endLine(final int c) throws IOException {
+        lineNumber++;
+        if (c == '\r') {
+            if (position == limit) {
+                fill();
+            }
+            if (position < limit && buffer[position] == '\n') {
+                position++;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int count;
+        do {
+            count = reader.read(buffer, 0, buffer.length);
+        } while (count == 0);
+        position = 0;
+        limit = Math.max(count, 0);
+        return count > 0;
+    }
+}
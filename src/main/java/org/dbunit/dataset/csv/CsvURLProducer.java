@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.Iterator;
 import java.util.List;
@@ -32,6 +33,7 @@ import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.DefaultTableMetaData;
 import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.common.handlers.IllegalInputCharacterException;
 import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.stream.DefaultConsumer;
 import org.dbunit.dataset.stream.IDataSetConsumer;
@@ -131,23 +133,25 @@ public class CsvURLProducer implements IDataSetProducer {
     private void produceFromURL(URL url) throws DataSetException {
         logger.debug("produceFromURL(url=" + url + ") - start");
 
+        CsvTokenizer tokenizer = null;
         try {
-            CsvParser parser = new CsvParserImpl();
-            List readData = parser.parse(url);
-            List readColumns = (List) readData.get(0);
-            Column[] columns = new Column[readColumns.size()];
+            tokenizer = new CsvTokenizer(new InputStreamReader(url.openStream()));
+            Object[] readColumns = tokenizer.nextRecord();
+            if (readColumns == null) {
+                throw new CsvParserException("The first line of " + url + " is null");
+            }
+            Column[] columns = new Column[readColumns.length];
 
-            for (int i = 0; i < readColumns.size(); i++) {
-                columns[i] = new Column((String) readColumns.get(i), DataType.UNKNOWN);
+            for (int i = 0; i < readColumns.length; i++) {
+                columns[i] = new Column((String) readColumns[i], DataType.UNKNOWN);
             }
 
             String tableName = url.getFile();
             tableName = tableName.substring(tableName.lastIndexOf("/") + 1, tableName.indexOf(".csv"));
             ITableMetaData metaData = new DefaultTableMetaData(tableName, columns);
             _consumer.startTable(metaData);
-            for (int i = 1; i < readData.size(); i++) {
-                List rowList = (List) readData.get(i);
-                Object[] row = rowList.toArray();
+            Object[] row;
+            while ((row = tokenizer.nextRecord(columns.length)) != null) {
                 for (int col = 0; col < row.length; col++) {
                     if (CsvDataSetWriter.NULL.equals(row[col])) {
                         row[col] = null;
@@ -158,8 +162,12 @@ public class CsvURLProducer implements IDataSetProducer {
             _consumer.endTable();
         } catch (CsvParserException e) {
             throw new DataSetException("error parsing CSV for URL: '" + url + "'", e);
+        } catch (IllegalInputCharacterException e) {
+            throw new DataSetException("error parsing CSV for URL: '" + url + "'", e);
         } catch (IOException e) {
             throw new DataSetException("I/O error parsing CSV for URL: '" + url + "'", e);
+        } finally {
+            CsvProducer.closeQuietly(tokenizer);
         }
     }
 }
@@ -126,9 +126,12 @@ class XlsTable extends AbstractTable {
         if (logger.isDebugEnabled())
             logger.debug("getValue(row={}, columnName={}) - start", Integer.toString(row), column);
 
+        return getValue(row, getColumnIndex(column));
+    }
+
+    public Object getValue(int row, int columnIndex) throws DataSetException {
         assertValidRowIndex(row);
 
-        int columnIndex = getColumnIndex(column);
         Iterator<Row> rowIt = _sheet.iterator();
         List<Row> rows = Lists.newArrayList(rowIt);
         Cell cell = rows.get(row + 1).getCell(columnIndex);
@@ -154,7 +157,7 @@ class XlsTable extends AbstractTable {
 
             case FORMULA:
                 throw new DataTypeException("Formula not supported at row=" +
-                        row + ", column=" + column);
+                        row + ", column=" + _metaData.getColumns()[columnIndex].getColumnName());
 
             case BLANK:
                 return null;
@@ -164,11 +167,11 @@ class XlsTable extends AbstractTable {
 
             case ERROR:
                 throw new DataTypeException("Error at row=" + row +
-                        ", column=" + column);
+                        ", column=" + _metaData.getColumns()[columnIndex].getColumnName());
 
             default:
                 throw new DataTypeException("Unsupported type at row=" + row +
-                        ", column=" + column);
+                        ", column=" + _metaData.getColumns()[columnIndex].getColumnName());
         }
     }
 
@@ -28,36 +28,27 @@ import org.dbunit.dataset.IDataSet;
 import java.io.*;
 
 /**
- * Reads and writes flat YAML-based dataset documents. Contrary to the flat XML layout,
- * columns are calculated by parsing the entire data set, not just the first row.
+ * Reads and writes flat JSON dataset documents. Contrary to the flat XML layout,
+ * columns are calculated by parsing the entire table, not just the first row.
  * <br/><br/>
  * The format looks like this:
  * <br/>
  * <pre>
- * &lt;table_name&gt;:
- *   - &lt;column&gt;: &lt;value&gt;
- *     &lt;column&gt;: &lt;value&gt;
- *             ...
- *   - &lt;column&gt;: &lt;value&gt;
- *     &lt;column&gt;: &lt;value&gt;
- *             ...
- *        ...
- *    ...
+ * {
+ *   "TEST_TABLE": [
+ *     {"COL0": "row 0 col 0", "COL1": "row 0 col 1", "COL2": "row 0 col 2"},
+ *     {"COL1": "row 1 col 1"}
+ *   ],
+ *   "SECOND_TABLE": [
+ *     {"COL0": "row 0 col 0", "COL1": "row 0 col 1"}
+ *   ],
+ *   "EMPTY_TABLE": []
+ * }
  * </pre>
  * <br/>
- * I.e.:
- * <br/>
- * <pre>
- * TEST_TABLE:
- *   - COL0: "row 0 col 0"
- *     COL1: "row 0 col 1"
- *     COL2: "row 0 col 2"
- *   - COL1: "row 1 col 1"
- * SECOND_TABLE:
- *   - COL0: "row 0 col 0"
- *     COL1: "row 0 col 1"
- * EMPTY_TABLE: []
- * </pre>
+ * The document is read with a {@link JsonProducer} and cached. To stream a large
+ * document instead, use a {@link JsonProducer} with a
+ * {@link org.dbunit.dataset.stream.StreamingDataSet}.
  *
  * @author Björn Beskow
  * @version $Revision$ $Date$
@@ -65,21 +56,21 @@ import java.io.*;
 public class JsonDataSet extends CachedDataSet {
 
     /**
-     * Creates a YAML dataset based on a yaml file
+     * Creates a JSON dataset based on a JSON file
      */
     public JsonDataSet(File file) throws IOException, DataSetException {
         super(new JsonProducer(file), true);
     }
 
     /**
-     * Write the specified dataset to the specified output stream as YAML.
+     * Write the specified dataset to the specified output stream as JSON.
      */
     public static void write(IDataSet dataSet, OutputStream out, boolean sortColumn, String[] replacements) throws DataSetException {
         write(dataSet, new OutputStreamWriter(out), sortColumn, replacements);
     }
 
     /**
-     * Write the specified dataset to the specified writer as YAML.
+     * Write the specified dataset to the specified writer as JSON.
      */
     public static void write(IDataSet dataSet, Writer out, boolean sortColumn, String[] replacements) throws DataSetException {
         JsonWriter writer = new JsonWriter(out, sortColumn, replacements);
@@ -22,9 +22,10 @@ package org.dbunit.dataset.json;
  */
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import lombok.extern.slf4j.Slf4j;
 import org.dbunit.database.AmbiguousTableNameException;
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
@@ -34,37 +35,85 @@ import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.stream.DefaultConsumer;
 import org.dbunit.dataset.stream.IDataSetConsumer;
 import org.dbunit.dataset.stream.IDataSetProducer;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.DuplicateKeyException;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Produces a dataset from a JSON document by walking its token stream, see
+ * {@link JsonDataSet} for the layout. Values are read as Gson reads untyped JSON,
+ * i.e. numbers become {@link Double}s and nested objects and arrays become maps and lists.
+ * <p>
+ * With column sensing, which is the default, the columns of a table are all columns
+ * found in any of its rows, so the rows of one table are buffered until the end of its
+ * array. Without column sensing the columns are those of the first row, rows are passed
+ * to the consumer as soon as they are read and columns not present in the first row
+ * are ignored. Use the latter with a streaming consumer, e.g. a
+ * {@link org.dbunit.dataset.stream.StreamingDataSet}, for large documents.
+ *
+ * @author Björn Beskow
+ * @version $Revision$ $Date$
+ */
+@Slf4j
 public class JsonProducer implements IDataSetProducer {
 
     private static final IDataSetConsumer EMPTY_CONSUMER = new DefaultConsumer();
 
+    private static final TypeAdapter<Object> VALUE_ADAPTER = new Gson().getAdapter(Object.class);
+
     /**
      * The consumer which is responsible for creating the datasets and tables
      */
     private IDataSetConsumer _consumer = EMPTY_CONSUMER;
 
-    private String json;
+    private File _file;
+
+    private Reader _reader;
 
-    private Gson gson;
+    private final boolean _columnSensing;
 
     public JsonProducer(File file) throws IOException {
-        this(FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+        this(file, true);
+    }
+
+    /**
+     * @param columnSensing Whether the columns of a table are sensed from all of its rows
+     *                      or only from the first one
+     * @since 2.8.6
+     */
+    public JsonProducer(File file, boolean columnSensing) throws IOException {
+        if (!file.isFile()) {
+            throw new IOException("Cannot read JSON file " + file);
+        }
+        _file = file;
+        _columnSensing = columnSensing;
     }
 
     public JsonProducer(String json) {
-        this.json = json;
-        gson = new GsonBuilder().setPrettyPrinting().create();
+        this(new StringReader(json), true);
+    }
+
+    /**
+     * @param columnSensing Whether the columns of a table are sensed from all of its rows
+     *                      or only from the first one
+     * @since 2.8.6
+     */
+    public JsonProducer(Reader reader, boolean columnSensing) {
+        _reader = reader;
+        _columnSensing = columnSensing;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -76,55 +125,114 @@ public class JsonProducer implements IDataSetProducer {
 
     public void produce() throws DataSetException {
         _consumer.startDataSet();
-        LinkedHashMap<String, Object> dataset;
-        // get the base object tree from the stream
-        try {
-            dataset = (LinkedHashMap<String, Object>) gson.fromJson(json, Map.class);
-        } catch (DuplicateKeyException e) {
-            String problem = e.getProblem();
-            String duplicateTable = problem.replace("found duplicate key ", "");
-            throw new AmbiguousTableNameException(duplicateTable, e);
-        }
-        // iterate over the tables in the object tree
-        for (String tableName : dataset.keySet()) {
-            // get the rows for the table
-            List<Map<String, Object>> rows = (List<Map<String, Object>>) dataset.get(tableName);
-            ITableMetaData meta = getMetaData(tableName, rows);
-            _consumer.startTable(meta);
-            if (rows != null) {
-                for (Map<String, Object> row : rows) {
-                    _consumer.row(getRow(meta, row));
+        Set<String> tableNames = new HashSet<>();
+        try (JsonReader reader = new JsonReader(openReader())) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String tableName = reader.nextName();
+                if (!tableNames.add(tableName)) {
+                    throw new AmbiguousTableNameException(tableName);
                 }
+                produceTable(tableName, reader);
             }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            // JsonReader reports unexpected tokens with an IllegalStateException
+            throw new DataSetException("Cannot read JSON dataset: " + e.getMessage(), e);
+        }
+        _consumer.endDataSet();
+    }
+
+    private Reader openReader() throws IOException {
+        if (_file != null) {
+            return new BufferedReader(new InputStreamReader(new FileInputStream(_file), StandardCharsets.UTF_8));
+        }
+        return _reader;
+    }
+
+    private void produceTable(String tableName, JsonReader reader) throws IOException, DataSetException {
+        Map<String, Integer> columnIndexes = new LinkedHashMap<>();
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            startTable(tableName, columnIndexes);
             _consumer.endTable();
+            return;
+        }
+
+        List<Object[]> bufferedRows = _columnSensing ? new ArrayList<Object[]>() : null;
+        Set<String> ignoredColumns = null;
+        boolean started = false;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Object[] row = readRow(tableName, reader, columnIndexes, ignoredColumns);
+            if (_columnSensing) {
+                bufferedRows.add(row);
+            } else {
+                if (!started) {
+                    startTable(tableName, columnIndexes);
+                    ignoredColumns = new HashSet<>();
+                    started = true;
+                }
+                _consumer.row(row);
+            }
         }
+        reader.endArray();
+
+        if (!started) {
+            startTable(tableName, columnIndexes);
+        }
+        if (_columnSensing) {
+            int columnCount = columnIndexes.size();
+            for (Object[] row : bufferedRows) {
+                _consumer.row(row.length == columnCount ? row : Arrays.copyOf(row, columnCount));
+            }
+        }
+        _consumer.endTable();
     }
 
-    private ITableMetaData getMetaData(String tableName, List<Map<String, Object>> rows) {
-        Set<String> columns = new LinkedHashSet<String>();
-        if (rows != null) {
-            // iterate through the dataset and add the column names to a set
-            for (Map<String, Object> row : rows) {
-                for (Map.Entry<String, Object> column : row.entrySet()) {
-                    columns.add(column.getKey());
+    /**
+     * Reads the next row object of the table array. Unknown columns are added to the
+     * given column indexes, or skipped once the columns are fixed by passing the set
+     * of ignored columns.
+     */
+    private Object[] readRow(String tableName, JsonReader reader, Map<String, Integer> columnIndexes, Set<String> ignoredColumns)
+            throws IOException, DataSetException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new DataSetException("Expected a row object in table " + tableName + " but found "
+                    + reader.peek() + " at " + reader.getPath());
+        }
+        Object[] row = new Object[Math.max(columnIndexes.size(), 4)];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String columnName = reader.nextName();
+            Integer index = columnIndexes.get(columnName);
+            if (index == null) {
+                if (ignoredColumns != null) {
+                    if (ignoredColumns.add(columnName)) {
+                        log.warn("Ignoring column {} of table {} which is not in the first row", columnName, tableName);
+                    }
+                    reader.skipValue();
+                    continue;
                 }
+                index = columnIndexes.size();
+                columnIndexes.put(columnName, index);
             }
-            List<Column> list = new ArrayList<Column>(columns.size());
-            // create a list of DBUnit columns based on the column name set
-            for (String s : columns) {
-                list.add(new Column(s, DataType.UNKNOWN));
+            if (index >= row.length) {
+                row = Arrays.copyOf(row, Math.max(index + 1, row.length * 2));
             }
-            return new DefaultTableMetaData(tableName, list.toArray(new Column[list.size()]));
-        } else {
-            return new DefaultTableMetaData(tableName, new Column[0]);
+            row[index] = VALUE_ADAPTER.read(reader);
         }
+        reader.endObject();
+        return row.length == columnIndexes.size() ? row : Arrays.copyOf(row, columnIndexes.size());
     }
 
-    private Object[] getRow(ITableMetaData meta, Map<String, Object> row) throws DataSetException {
-        Object[] result = new Object[meta.getColumns().length];
-        for (int i = 0; i < meta.getColumns().length; i++) {
-            result[i] = row.get(meta.getColumns()[i].getColumnName());
+    private void startTable(String tableName, Map<String, Integer> columnIndexes) throws DataSetException {
+        Column[] columns = new Column[columnIndexes.size()];
+        int i = 0;
+        for (String columnName : columnIndexes.keySet()) {
+            columns[i++] = new Column(columnName, DataType.UNKNOWN);
         }
-        return result;
+        ITableMetaData meta = new DefaultTableMetaData(tableName, columns);
+        _consumer.startTable(meta);
     }
-}
\ No newline at end of file
+}
@@ -24,18 +24,21 @@ package org.dbunit.dataset.json;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.dbunit.dataset.*;
-import org.yaml.snakeyaml.DumperOptions;
 
 import java.io.IOException;
 import java.io.Writer;
 import java.util.*;
 
+/**
+ * Writes a dataset as JSON, table by table and row by row, without building an
+ * intermediate object tree. Null values are omitted.
+ */
 class JsonWriter {
 
-    private Gson gson;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private final Writer _out;
     private boolean _useFlowStyle;
-    private Map<String, String> replacementsMap;
+    private Map<String, String> replacementsMap = Collections.emptyMap();
     private boolean sortColumn;
 
     public JsonWriter(Writer out, boolean sortColumn, String[] replacements) {
@@ -55,55 +58,60 @@ class JsonWriter {
         this._useFlowStyle = useFlowStyle;
     }
 
+    /**
+     * @param useFlowStyle whether to write compact JSON without line breaks and indentation
+     */
     public void setUseFlowStyle(boolean useFlowStyle) {
         this._useFlowStyle = useFlowStyle;
     }
 
     public void write(IDataSet dataSet) throws DataSetException {
-        LinkedHashMap<String, List<LinkedHashMap<String, Object>>> dataSetAsMap = dataSetAsMap(dataSet);
-        DumperOptions options = new DumperOptions();
-        if (_useFlowStyle) {
-            options.setDefaultFlowStyle(DumperOptions.FlowStyle.FLOW);
-            options.setPrettyFlow(true);
-        } else {
-            options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-            options.setIndent(4);
-            options.setIndicatorIndent(2);
-        }
-        gson = new GsonBuilder().setPrettyPrinting().create();
-        gson.toJson(dataSetAsMap, _out);
         try {
-            _out.flush();
+            com.google.gson.stream.JsonWriter writer = gson.newJsonWriter(_out);
+            if (_useFlowStyle) {
+                writer.setIndent("");
+            }
+            writer.beginObject();
+            ITableIterator iterator = dataSet.iterator();
+            while (iterator.next()) {
+                ITableMetaData tableMetaData = iterator.getTableMetaData();
+                writer.name(tableMetaData.getTableName());
+                writeRows(writer, iterator.getTable(), tableMetaData);
+            }
+            writer.endObject();
+            writer.flush();
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new DataSetException(e);
         }
     }
 
-    private LinkedHashMap<String, List<LinkedHashMap<String, Object>>> dataSetAsMap(IDataSet dataSet) throws DataSetException {
-        LinkedHashMap<String, List<LinkedHashMap<String, Object>>> result = new LinkedHashMap<>();
-        ITableIterator iterator = dataSet.iterator();
-        while (iterator.next()) {
-            ITableMetaData tableMetaData = iterator.getTableMetaData();
-            List<LinkedHashMap<String, Object>> tableRows = new ArrayList<>();
-            ITable table = iterator.getTable();
-            for (int row = 0; row < table.getRowCount(); row++) {
-                LinkedHashMap<String, Object> rowMap = new LinkedHashMap<>();
-                Column[] columns = tableMetaData.getColumns();
-                if (sortColumn) {
-                    Arrays.sort(columns);
-                }
-                for (Column column : columns) {
-                    String columnName = column.getColumnName();
+    private void writeRows(com.google.gson.stream.JsonWriter writer, ITable table, ITableMetaData tableMetaData)
+            throws IOException, DataSetException {
+        Column[] columns = tableMetaData.getColumns();
+        if (sortColumn) {
+            columns = columns.clone();
+            Arrays.sort(columns);
+        }
+        writer.beginArray();
+        for (int row = 0; row < table.getRowCount(); row++) {
+            writer.beginObject();
+            for (Column column : columns) {
+                String columnName = column.getColumnName();
+                Object value = table.getValue(row, columnName);
+                if (value != null) {
+                    writer.name(columnName);
                     String entryValue = replacementsMap.get(columnName);
-                    Object value = table.getValue(row, columnName);
-                    if (value != null) {
-                        rowMap.put(columnName, entryValue != null ? entryValue : value);
+                    if (entryValue != null) {
+                        writer.value(entryValue);
+                    } else if (value instanceof String) {
+                        writer.value((String) value);
+                    } else {
+                        gson.toJson(value, value.getClass(), writer);
                     }
                 }
-                tableRows.add(rowMap);
             }
-            result.put(tableMetaData.getTableName(), tableRows);
+            writer.endObject();
         }
-        return result;
+        writer.endArray();
     }
-}
\ No newline at end of file
+}
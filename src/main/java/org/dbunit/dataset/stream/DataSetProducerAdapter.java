@@ -88,8 +88,7 @@ public class DataSetProducerAdapter implements IDataSetProducer {
                 for (int i = 0; ; i++) {
                     Object[] values = new Object[columns.length];
                     for (int j = 0; j < columns.length; j++) {
-                        Column column = columns[j];
-                        values[j] = table.getValue(i, column.getColumnName());
+                        values[j] = table.getValue(i, j);
                     }
                     _consumer.row(values);
                 }
@@ -28,6 +28,8 @@ import org.dbunit.dataset.ITableMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Executor;
+
 /**
  * Dataset that consumes producer asynchronously.
  *
@@ -45,9 +47,28 @@ public class StreamingDataSet extends AbstractDataSet {
 
     private IDataSetProducer _source;
     private int _iteratorCount;
+    private final int _bufferCapacity;
+    private final int _batchSize;
+    private final Executor _executor;
 
     public StreamingDataSet(IDataSetProducer source) {
+        this(source, StreamingIterator.DEFAULT_BUFFER_CAPACITY, StreamingIterator.DEFAULT_BATCH_SIZE, null);
+    }
+
+    /**
+     * @param source         The source of the data
+     * @param bufferCapacity Number of slots of the hand-off buffer
+     * @param batchSize      Maximum number of rows transferred per slot
+     * @param executor       Executor running the producer, or <code>null</code> to start a
+     *                       new daemon thread
+     * @see StreamingIterator#StreamingIterator(IDataSetProducer, int, int, Executor)
+     * @since 2.8.6
+     */
+    public StreamingDataSet(IDataSetProducer source, int bufferCapacity, int batchSize, Executor executor) {
         _source = source;
+        _bufferCapacity = bufferCapacity;
+        _batchSize = batchSize;
+        _executor = executor;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -68,7 +89,7 @@ public class StreamingDataSet extends AbstractDataSet {
         }
 
         _iteratorCount++;
-        return new StreamingIterator(_source);
+        return new StreamingIterator(_source, _bufferCapacity, _batchSize, _executor);
     }
 
     ////////////////////////////////////////////////////////////////////////////
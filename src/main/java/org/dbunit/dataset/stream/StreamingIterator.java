@@ -27,17 +27,27 @@ import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.ITableIterator;
 import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.RowOutOfBoundsException;
-import org.dbunit.util.concurrent.BoundedBuffer;
 import org.dbunit.util.concurrent.Channel;
 import org.dbunit.util.concurrent.Puttable;
+import org.dbunit.util.concurrent.SpscRingBuffer;
 import org.dbunit.util.concurrent.Takable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
- * Asynchronous table iterator that uses a new Thread for asynchronous processing.
+ * Asynchronous table iterator that runs the producer on a separate thread.
+ * <p>
+ * Rows are handed over to the iterating thread in batches through a lock-free
+ * single-producer/single-consumer ring buffer. By default the producer runs on a
+ * new daemon thread; an {@link Executor} can be supplied instead, e.g. one that
+ * starts virtual threads on Java 21 and later:
+ * <pre>
+ * new StreamingIterator(producer, 30, 100, r -&gt; Thread.ofVirtual().start(r));
+ * </pre>
  *
  * @author Manuel Laflamme
  * @author Last changed by: $Author$
@@ -48,6 +58,20 @@ import java.util.Arrays;
 public class StreamingIterator implements ITableIterator {
     private static final Object EOD = new Object(); // end of dataset marker
 
+    /**
+     * Default number of slots of the hand-off buffer.
+     *
+     * @since 2.8.6
+     */
+    public static final int DEFAULT_BUFFER_CAPACITY = 30;
+
+    /**
+     * Default maximum number of rows transferred per buffer slot.
+     *
+     * @since 2.8.6
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
     private final Takable _channel;
     private StreamingTable _activeTable;
     private Object _taken;
@@ -66,13 +90,43 @@ public class StreamingIterator implements ITableIterator {
      * @param source The source of the data
      */
     public StreamingIterator(IDataSetProducer source) throws DataSetException {
-        Channel channel = new BoundedBuffer(30);
+        this(source, DEFAULT_BUFFER_CAPACITY, DEFAULT_BATCH_SIZE, null);
+    }
+
+    /**
+     * Iterator that creates a table iterator by reading the input from
+     * the given source in an asynchronous way.
+     *
+     * @param source         The source of the data
+     * @param bufferCapacity Number of slots of the hand-off buffer; each slot holds a table
+     *                       start, the end of data marker or a batch of rows
+     * @param batchSize      Maximum number of rows transferred per slot. At most
+     *                       <code>bufferCapacity * batchSize</code> rows are held in memory.
+     * @param executor       Executor running the producer, or <code>null</code> to start a
+     *                       new daemon thread. The producer occupies the executor thread
+     *                       until the source is exhausted.
+     * @since 2.8.6
+     */
+    public StreamingIterator(IDataSetProducer source, int bufferCapacity, int batchSize, Executor executor)
+            throws DataSetException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive but was " + batchSize);
+        }
+        Channel channel = new SpscRingBuffer(bufferCapacity);
         _channel = channel;
 
-        AsynchronousConsumer consumer = new AsynchronousConsumer(source, channel, this);
-        Thread thread = new Thread(consumer, "StreamingIterator");
-        thread.setDaemon(true);
-        thread.start();
+        AsynchronousConsumer consumer = new AsynchronousConsumer(source, channel, batchSize, this);
+        if (executor == null) {
+            Thread thread = new Thread(consumer, "StreamingIterator");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            try {
+                executor.execute(consumer);
+            } catch (RejectedExecutionException e) {
+                throw new DataSetException("Executor rejected the streaming producer", e);
+            }
+        }
 
         // Take first element from asynchronous handler
         try {
@@ -145,6 +199,8 @@ public class StreamingIterator implements ITableIterator {
         private int _lastRow = -1;
         private boolean _eot = false;
         private Object[] _rowValues;
+        private RowBatch _batch;
+        private int _batchIndex;
 
         public StreamingTable(ITableMetaData metaData) {
             _metaData = metaData;
@@ -159,14 +215,19 @@ public class StreamingIterator implements ITableIterator {
             }
 
             try {
-                _taken = _channel.take();
-                if (!(_taken instanceof Object[])) {
-                    _eot = true;
-                    return false;
+                if (_batch == null || _batchIndex >= _batch._size) {
+                    _taken = _channel.take();
+                    if (!(_taken instanceof RowBatch)) {
+                        _batch = null;
+                        _eot = true;
+                        return false;
+                    }
+                    _batch = (RowBatch) _taken;
+                    _batchIndex = 0;
                 }
 
                 _lastRow++;
-                _rowValues = (Object[]) _taken;
+                _rowValues = _batch._rows[_batchIndex++];
                 return true;
             } catch (InterruptedException e) {
                 throw resolveException(e);
@@ -192,6 +253,10 @@ public class StreamingIterator implements ITableIterator {
             if (logger.isDebugEnabled())
                 logger.debug("getValue(row={}, columnName={}) - start", row, columnName);
 
+            return getValue(row, getColumnIndex(columnName));
+        }
+
+        public Object getValue(int row, int column) throws DataSetException {
             // Iterate up to specified row
             while (!_eot && row > _lastRow) {
                 next();
@@ -205,7 +270,7 @@ public class StreamingIterator implements ITableIterator {
                 throw new RowOutOfBoundsException(row + " > " + _lastRow);
             }
 
-            return _rowValues[getColumnIndex(columnName)];
+            return _rowValues[column];
         }
 
         public String toString() {
@@ -221,6 +286,26 @@ public class StreamingIterator implements ITableIterator {
         }
     }
 
+    ////////////////////////////////////////////////////////////////////////////
+    // RowBatch class
+
+    /**
+     * Rows of one table transferred through a single buffer slot.
+     */
+    private static final class RowBatch {
+        private final Object[][] _rows;
+        private int _size;
+
+        RowBatch(int capacity) {
+            _rows = new Object[capacity][];
+        }
+
+        boolean add(Object[] values) {
+            _rows[_size++] = values;
+            return _size == _rows.length;
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // AsynchronousConsumer class
 
@@ -233,12 +318,16 @@ public class StreamingIterator implements ITableIterator {
 
         private final IDataSetProducer _producer;
         private final Puttable _channel;
+        private final int _batchSize;
         private final StreamingIterator _exceptionHandler;
         private final Thread _invokerThread;
+        private RowBatch _batch;
 
-        public AsynchronousConsumer(IDataSetProducer source, Puttable channel, StreamingIterator exceptionHandler) {
+        public AsynchronousConsumer(IDataSetProducer source, Puttable channel, int batchSize,
+                                    StreamingIterator exceptionHandler) {
             _producer = source;
             _channel = channel;
+            _batchSize = batchSize;
             _exceptionHandler = exceptionHandler;
             _invokerThread = Thread.currentThread();
         }
@@ -271,6 +360,7 @@ public class StreamingIterator implements ITableIterator {
             logger.debug("endDataSet() - start");
 
             try {
+                flush();
                 _channel.put(EOD);
             } catch (InterruptedException e) {
                 throw new DataSetException("Operation was interrupted");
@@ -281,6 +371,7 @@ public class StreamingIterator implements ITableIterator {
             logger.debug("startTable(metaData={}) - start", metaData);
 
             try {
+                flush();
                 _channel.put(metaData);
             } catch (InterruptedException e) {
                 throw new DataSetException("Operation was interrupted");
@@ -288,15 +379,33 @@ public class StreamingIterator implements ITableIterator {
         }
 
         public void endTable() throws DataSetException {
+            try {
+                flush();
+            } catch (InterruptedException e) {
+                throw new DataSetException("Operation was interrupted");
+            }
         }
 
         public void row(Object[] values) throws DataSetException {
             logger.debug("row(values={}) - start", values);
 
-            try {
-                _channel.put(values);
-            } catch (InterruptedException e) {
-                throw new DataSetException("Operation was interrupted");
+            if (_batch == null) {
+                _batch = new RowBatch(_batchSize);
+            }
+            if (_batch.add(values)) {
+                try {
+                    flush();
+                } catch (InterruptedException e) {
+                    throw new DataSetException("Operation was interrupted");
+                }
+            }
+        }
+
+        private void flush() throws InterruptedException {
+            if (_batch != null) {
+                RowBatch batch = _batch;
+                _batch = null;
+                _channel.put(batch);
             }
         }
     }
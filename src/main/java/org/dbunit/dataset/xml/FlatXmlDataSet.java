@@ -109,6 +109,32 @@ public class FlatXmlDataSet extends CachedDataSet {
         super(flatXmlProducer, flatXmlProducer.isCaseSensitiveTableNames());
     }
 
+    /**
+     * Creates a new {@link FlatXmlDataSet} with the data of the given producer.
+     *
+     * @param flatXmlProducer The producer that provides the {@link FlatXmlDataSet} content
+     * @param columnar        Whether the tables should be held in the memory efficient
+     *                        {@link org.dbunit.dataset.ColumnarTable}
+     * @throws DataSetException
+     * @since 2.8.6
+     */
+    public FlatXmlDataSet(FlatXmlProducer flatXmlProducer, boolean columnar) throws DataSetException {
+        super(flatXmlProducer, flatXmlProducer.isCaseSensitiveTableNames(), columnar);
+    }
+
+    /**
+     * Creates a new {@link FlatXmlDataSet} with the data of the given StAX based producer.
+     *
+     * @param flatXmlProducer The producer that provides the {@link FlatXmlDataSet} content
+     * @param columnar        Whether the tables should be held in the memory efficient
+     *                        {@link org.dbunit.dataset.ColumnarTable}
+     * @throws DataSetException
+     * @since 2.8.6
+     */
+    public FlatXmlDataSet(FlatXmlStaxProducer flatXmlProducer, boolean columnar) throws DataSetException {
+        super(flatXmlProducer, flatXmlProducer.isCaseSensitiveTableNames(), columnar);
+    }
+
     /**
      * Creates an FlatXmlDataSet object with the specified InputSource.
      *
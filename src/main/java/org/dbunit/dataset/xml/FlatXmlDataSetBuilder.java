@@ -77,6 +77,16 @@ public final class FlatXmlDataSetBuilder {
      * Defaults to {@value}
      */
     private boolean caseSensitiveTableNames = false;
+    /**
+     * Whether or not the created dataset should hold its tables in the memory efficient
+     * {@link org.dbunit.dataset.ColumnarTable}. Defaults to {@value}
+     */
+    private boolean columnar = false;
+    /**
+     * Whether or not the document is parsed by the StAX based {@link FlatXmlStaxProducer}
+     * instead of the SAX based {@link FlatXmlProducer}. Defaults to {@value}
+     */
+    private boolean stax = false;
 
 
     /**
@@ -196,6 +206,15 @@ public final class FlatXmlDataSetBuilder {
         return this;
     }
 
+    /**
+     * @return The metadata information set by {@link #setMetaDataSet(IDataSet)} or read
+     * from a DTD, <code>null</code> if not set
+     * @since 2.8.6
+     */
+    public IDataSet getMetaDataSet() {
+        return metaDataSet;
+    }
+
     public boolean isDtdMetadata() {
         return dtdMetadata;
     }
@@ -243,6 +262,41 @@ public final class FlatXmlDataSetBuilder {
     }
 
 
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    /**
+     * Whether or not the created dataset should hold its tables in the memory efficient
+     * {@link org.dbunit.dataset.ColumnarTable} instead of one object array per row.
+     * Recommended for large datasets.
+     *
+     * @param columnar
+     * @return this
+     * @since 2.8.6
+     */
+    public FlatXmlDataSetBuilder setColumnar(boolean columnar) {
+        this.columnar = columnar;
+        return this;
+    }
+
+    public boolean isStax() {
+        return stax;
+    }
+
+    /**
+     * Whether or not the document should be parsed by the StAX based
+     * {@link FlatXmlStaxProducer}, which is faster for large documents.
+     *
+     * @param stax
+     * @return this
+     * @since 2.8.6
+     */
+    public FlatXmlDataSetBuilder setStax(boolean stax) {
+        this.stax = stax;
+        return this;
+    }
+
     /**
      * Builds the {@link FlatXmlDataSet} from the parameters that are currently set on this builder
      *
@@ -260,8 +314,23 @@ public final class FlatXmlDataSetBuilder {
 
         // Create the flat XML IDataSet
         logger.debug("Creating FlatXmlDataSet with builder parameters: {}", this);
+        if (this.stax) {
+            return new FlatXmlDataSet(createStaxProducer(inputSource, datasetId), this.columnar);
+        }
         FlatXmlProducer producer = createProducer(inputSource, datasetId);
-        return new FlatXmlDataSet(producer);
+        return new FlatXmlDataSet(producer, this.columnar);
+    }
+
+    /**
+     * @param inputSource The XML input to be built
+     * @return The StAX based producer which is used to create the {@link FlatXmlDataSet}
+     * @since 2.8.6
+     */
+    protected FlatXmlStaxProducer createStaxProducer(InputSource inputSource, String datasetId) {
+        if (this.metaDataSet != null) {
+            return new FlatXmlStaxProducer(inputSource, this.metaDataSet, datasetId);
+        }
+        return new FlatXmlStaxProducer(inputSource, this.dtdMetadata, this.columnSensing, this.caseSensitiveTableNames, datasetId);
     }
 
     /**
@@ -289,6 +358,8 @@ public final class FlatXmlDataSetBuilder {
         sb.append("dtdMetadata=").append(dtdMetadata);
         sb.append(", columnSensing=").append(columnSensing);
         sb.append(", caseSensitiveTableNames=").append(caseSensitiveTableNames);
+        sb.append(", columnar=").append(columnar);
+        sb.append(", stax=").append(stax);
         sb.append(", metaDataSet=").append(metaDataSet);
         sb.append("]");
         return sb.toString();
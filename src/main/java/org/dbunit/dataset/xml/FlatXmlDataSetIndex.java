@@ -0,0 +1,396 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.xml;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+import org.xml.sax.InputSource;
+
+/**
+ * Byte offset index of the <code>&lt;dataset id="..."&gt;</code> elements of a flat
+ * XML file holding several datasets. It allows parsing only the XML prolog and the
+ * element of a single dataset instead of the whole file, see
+ * {@link #createInputSource(String)}.
+ * <p>
+ * The index is built by a lightweight scan of the file which does not validate it.
+ * A dataset is only indexed if parsing its element alone yields the same result as
+ * parsing the whole file with {@link FlatXmlProducer}: its id is unique and does not
+ * need entity decoding, and the file is in an ASCII compatible encoding, holds no
+ * elements outside of the datasets and no dataset without attributes, which would
+ * match any dataset id.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+@Slf4j
+public final class FlatXmlDataSetIndex {
+    private static final String DATASET = "dataset";
+    private static final String ID = "id";
+
+    private static final Pattern ENCODING = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']+)[\"']");
+    private static final Pattern ASCII_COMPATIBLE = Pattern.compile("(?i)utf-?8|(us-)?ascii|iso-8859-\\d+|(windows|cp)-?125\\d");
+
+    private final File file;
+    private final long lastModified;
+    private final long length;
+
+    /**
+     * Length in bytes of the XML declaration, document type declaration and
+     * comments before the root element.
+     */
+    private long prologLength;
+
+    /**
+     * Start and end offset of the element of each indexed dataset.
+     */
+    private final Map<String, long[]> regions = new HashMap<>();
+
+    private FlatXmlDataSetIndex(final File file) {
+        this.file = file;
+        this.lastModified = file.lastModified();
+        this.length = file.length();
+    }
+
+    /**
+     * Scans the given file and builds its index.
+     *
+     * @param file The flat XML file
+     * @return The index of the file
+     * @throws IOException If the file cannot be read
+     */
+    public static FlatXmlDataSetIndex build(final File file) throws IOException {
+        final FlatXmlDataSetIndex index = new FlatXmlDataSetIndex(file);
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            final Scanner scanner = new Scanner(in);
+            if (!scanner.scan()) {
+                log.debug("build: datasets of file={} cannot be indexed", file);
+                scanner.regions.clear();
+            }
+            index.prologLength = scanner.prologLength;
+            index.regions.putAll(scanner.regions);
+            index.regions.keySet().removeAll(scanner.excludedIds);
+        }
+        log.debug("build: indexed datasets {} of file={}", index.regions.keySet(), file);
+        return index;
+    }
+
+    /**
+     * @return <code>true</code> if the file was not modified since it was indexed
+     */
+    public boolean isCurrent() {
+        return file.lastModified() == lastModified && file.length() == length;
+    }
+
+    /**
+     * @return The ids of the datasets which can be parsed alone
+     */
+    public Set<String> getDataSetIds() {
+        return Collections.unmodifiableSet(regions.keySet());
+    }
+
+    /**
+     * Creates an input source holding the XML prolog of the file and the element of
+     * the given dataset only. Its system id is the one of the file so that a relative
+     * DTD reference is still resolved.
+     *
+     * @param datasetId The id of the dataset
+     * @return The input source or <code>null</code> if the dataset is not indexed or the
+     * file was modified since it was indexed
+     * @throws IOException If the file cannot be read
+     */
+    public InputSource createInputSource(final String datasetId) throws IOException {
+        final long[] region = regions.get(datasetId);
+        if (region == null || !isCurrent()) {
+            return null;
+        }
+        final long regionLength = region[1] - region[0];
+        if (prologLength + regionLength > Integer.MAX_VALUE) {
+            return null;
+        }
+        final byte[] content = new byte[(int) (prologLength + regionLength)];
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            in.readFully(content, 0, (int) prologLength);
+            in.seek(region[0]);
+            in.readFully(content, (int) prologLength, (int) regionLength);
+        }
+        if (!isCurrent()) {
+            return null;
+        }
+        final InputSource inputSource = new InputSource(new ByteArrayInputStream(content));
+        inputSource.setSystemId(file.toURI().toString());
+        return inputSource;
+    }
+
+    /**
+     * Single pass over the markup of the file, keeping track of the byte offset.
+     */
+    private static final class Scanner {
+        private final InputStream in;
+        private long position;
+        private Charset charset = StandardCharsets.UTF_8;
+
+        private long prologLength = -1;
+        private final Map<String, long[]> regions = new HashMap<>();
+        private final Set<String> excludedIds = new HashSet<>();
+
+        private Scanner(final InputStream in) {
+            this.in = in;
+        }
+
+        private int read() throws IOException {
+            final int b = in.read();
+            if (b >= 0) {
+                position++;
+            }
+            return b;
+        }
+
+        /**
+         * @return <code>false</code> if no dataset can be parsed alone
+         */
+        private boolean scan() throws IOException {
+            int depth = 0;
+            boolean inDataSet = false;
+            String datasetId = null;
+            long datasetStart = 0;
+
+            int b = read();
+            if (b == 0xFE || b == 0xFF || b == 0) {
+                // UTF-16 or UTF-32 byte order mark or encoding
+                return false;
+            }
+            for (; b >= 0; b = read()) {
+                if (b != '<') {
+                    continue;
+                }
+                final long tagStart = position - 1;
+                b = read();
+                if (b == '?') {
+                    final String instruction = readPast("?>", tagStart == 0);
+                    if (instruction != null && !readEncoding(instruction)) {
+                        return false;
+                    }
+                } else if (b == '!') {
+                    if (!skipDeclaration()) {
+                        return false;
+                    }
+                } else if (b == '/') {
+                    final StringBuilder name = new StringBuilder();
+                    for (b = read(); b >= 0 && b != '>'; b = read()) {
+                        if (!isWhitespace(b)) {
+                            name.append((char) b);
+                        }
+                    }
+                    depth--;
+                    if (inDataSet && DATASET.equals(name.toString())) {
+                        addRegion(datasetId, datasetStart, position);
+                        inDataSet = false;
+                    }
+                } else if (b >= 0) {
+                    final StringBuilder name = new StringBuilder();
+                    for (; b >= 0 && !isWhitespace(b) && b != '>' && b != '/'; b = read()) {
+                        name.append((char) b);
+                    }
+                    final Map<String, String> attributes = new HashMap<>();
+                    final boolean empty = readAttributes(b, attributes);
+                    if (prologLength < 0) {
+                        prologLength = tagStart;
+                    }
+                    if (DATASET.equals(name.toString())) {
+                        if (inDataSet || attributes.isEmpty()) {
+                            return false;
+                        }
+                        datasetId = attributes.get(ID);
+                        datasetStart = tagStart;
+                        inDataSet = !empty;
+                        if (empty) {
+                            addRegion(datasetId, datasetStart, position);
+                        }
+                    } else if (!inDataSet && depth > 0) {
+                        // content outside of the datasets
+                        return false;
+                    }
+                    if (!empty) {
+                        depth++;
+                    }
+                }
+            }
+            return prologLength >= 0;
+        }
+
+        private void addRegion(final String datasetId, final long start, final long end) {
+            if (datasetId == null) {
+                return;
+            }
+            if (regions.put(datasetId, new long[]{start, end}) != null) {
+                excludedIds.add(datasetId);
+            }
+        }
+
+        private boolean readEncoding(final String declaration) {
+            final Matcher matcher = ENCODING.matcher(declaration);
+            if (!matcher.find()) {
+                return true;
+            }
+            final String encoding = matcher.group(1);
+            if (!ASCII_COMPATIBLE.matcher(encoding).matches() || !Charset.isSupported(encoding)) {
+                return false;
+            }
+            charset = Charset.forName(encoding);
+            return true;
+        }
+
+        /**
+         * Skips a comment, a CDATA section or a document type declaration whose
+         * <code>&lt;!</code> has been read.
+         */
+        private boolean skipDeclaration() throws IOException {
+            int b = read();
+            if (b == '-') {
+                return read() == '-' && readPast("-->", false) != null;
+            }
+            if (b == '[') {
+                return readPast("]]>", false) != null;
+            }
+            // document type declaration, possibly with an internal subset
+            int quote = 0;
+            int brackets = 0;
+            for (; b >= 0; b = read()) {
+                if (quote != 0) {
+                    if (b == quote) {
+                        quote = 0;
+                    }
+                } else if (b == '"' || b == '\'') {
+                    quote = b;
+                } else if (b == '[') {
+                    brackets++;
+                } else if (b == ']') {
+                    brackets--;
+                } else if (b == '<' && brackets > 0) {
+                    final int next = read();
+                    if (next == '!' && !skipDeclaration()) {
+                        return false;
+                    } else if (next == '?' && readPast("?>", false) == null) {
+                        return false;
+                    }
+                } else if (b == '>' && brackets == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Reads up to and including the given terminator.
+         *
+         * @param keep Whether to return the content read
+         * @return The content read, an empty string if not kept or <code>null</code> at the end of the file
+         */
+        private String readPast(final String terminator, final boolean keep) throws IOException {
+            final StringBuilder content = keep ? new StringBuilder() : null;
+            int matched = 0;
+            for (int b = read(); b >= 0; b = read()) {
+                if (keep) {
+                    content.append((char) b);
+                }
+                if (b == terminator.charAt(matched)) {
+                    if (++matched == terminator.length()) {
+                        return keep ? content.toString() : "";
+                    }
+                } else {
+                    matched = b == terminator.charAt(0) ? 1 : 0;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Reads the attributes of a start tag up to and including its end.
+         *
+         * @param b The first byte after the element name
+         * @return <code>true</code> if the element is empty
+         */
+        private boolean readAttributes(int b, final Map<String, String> attributes) throws IOException {
+            boolean slash = false;
+            while (b >= 0) {
+                if (b == '>') {
+                    return slash;
+                }
+                slash = b == '/';
+                if (slash || isWhitespace(b)) {
+                    b = read();
+                    continue;
+                }
+                final StringBuilder name = new StringBuilder();
+                for (; b >= 0 && b != '=' && !isWhitespace(b); b = read()) {
+                    name.append((char) b);
+                }
+                while (b >= 0 && b != '"' && b != '\'') {
+                    b = read();
+                }
+                final int quote = b;
+                final ByteArrayOutputStream value = new ByteArrayOutputStream();
+                for (b = read(); b >= 0 && b != quote; b = read()) {
+                    value.write(b);
+                }
+                final String attributeValue = new String(value.toByteArray(), charset);
+                if (ID.equals(name.toString()) && (attributeValue.indexOf('&') >= 0 || hasControlCharacter(attributeValue))) {
+                    // would need normalization: never indexed
+                    excludedIds.add(attributeValue);
+                }
+                attributes.put(name.toString(), attributeValue);
+                b = read();
+            }
+            return false;
+        }
+
+        private static boolean hasControlCharacter(final String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) < ' ') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isWhitespace(final int b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchColumnException;
+import org.dbunit.dataset.OrderedTableNameMap;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Produces the same datasets as {@link FlatXmlProducer} from a flat XML document
+ * using a StAX pull parser, for large documents.
+ * <p>
+ * The parser factories are shared by all producers. The position of each attribute
+ * within the columns of a table is resolved once per attribute name and table, and
+ * the column names are interned. With column sensing the columns found in the rows
+ * are collected per table and the rows are buffered as read; the metadata is created
+ * once the dataset ends, instead of on every new column. An attribute not matching
+ * any column of the table is logged once per table instead of once per row.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+@Slf4j
+public class FlatXmlStaxProducer implements IDataSetProducer {
+    private static final IDataSetConsumer EMPTY_CONSUMER = new DefaultConsumer();
+    private static final String DATASET = "dataset";
+    private static final String ID = "id";
+
+    private static final Pattern DOCTYPE_NAME = Pattern.compile("<!DOCTYPE\\s+([^\\s\\[>]+)");
+
+    /**
+     * Factory loading an external DTD to read its entities and attribute defaults.
+     */
+    private static final XMLInputFactory DTD_INPUT_FACTORY = createInputFactory(false);
+
+    /**
+     * Factory ignoring external DTDs, like {@link FlatXmlProducer} without DTD metadata.
+     */
+    private static final XMLInputFactory NO_DTD_INPUT_FACTORY = createInputFactory(true);
+
+    private static final SAXParserFactory SAX_PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    private final InputSource inputSource;
+    private final String datasetId;
+    private final boolean dtdMetadata;
+    private final boolean columnSensing;
+    private final boolean caseSensitiveTableNames;
+
+    /**
+     * The metadata given or read from the DTD of the document, can be <code>null</code>
+     */
+    private IDataSet metaDataSet;
+    private boolean dtdPresent;
+
+    private IDataSetConsumer consumer = EMPTY_CONSUMER;
+
+    /**
+     * The tables of the current dataset, holding {@link TableState}s
+     */
+    private OrderedTableNameMap tables;
+
+    /**
+     * @param xmlSource               The input datasource
+     * @param dtdMetadata             Whether or not DTD metadata is available to parse via a DTD handler
+     * @param columnSensing           Whether or not the column sensing feature should be used (see FAQ)
+     * @param caseSensitiveTableNames Whether or not this dataset should use case sensitive table names
+     * @param datasetId               The id of the dataset to produce, <code>null</code> for all
+     */
+    public FlatXmlStaxProducer(final InputSource xmlSource, final boolean dtdMetadata, final boolean columnSensing, final boolean caseSensitiveTableNames, final String datasetId) {
+        this.inputSource = xmlSource;
+        this.dtdMetadata = dtdMetadata;
+        this.columnSensing = columnSensing;
+        this.caseSensitiveTableNames = caseSensitiveTableNames;
+        this.datasetId = datasetId;
+    }
+
+    /**
+     * @param xmlSource   The input datasource
+     * @param metaDataSet The dataset providing the metadata of the tables
+     * @param datasetId   The id of the dataset to produce, <code>null</code> for all
+     */
+    public FlatXmlStaxProducer(final InputSource xmlSource, final IDataSet metaDataSet, final String datasetId) {
+        this.inputSource = xmlSource;
+        this.metaDataSet = metaDataSet;
+        this.dtdMetadata = false;
+        this.columnSensing = false;
+        this.caseSensitiveTableNames = metaDataSet.isCaseSensitiveTableNames();
+        this.datasetId = datasetId;
+    }
+
+    private static XMLInputFactory createInputFactory(final boolean ignoreExternalDtd) {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        if (ignoreExternalDtd) {
+            factory.setXMLResolver((publicId, systemId, baseUri, namespace) -> new ByteArrayInputStream(new byte[0]));
+        }
+        return factory;
+    }
+
+    /**
+     * @return Whether or not this producer works case sensitively
+     */
+    public boolean isCaseSensitiveTableNames() {
+        return caseSensitiveTableNames;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // IDataSetProducer interface
+
+    public void setConsumer(final IDataSetConsumer consumer) throws DataSetException {
+        this.consumer = consumer;
+    }
+
+    public void produce() throws DataSetException {
+        log.debug("produce() - start");
+
+        InputStream openedStream = null;
+        XMLStreamReader reader = null;
+        try {
+            final XMLInputFactory factory = dtdMetadata ? DTD_INPUT_FACTORY : NO_DTD_INPUT_FACTORY;
+            final String systemId = inputSource.getSystemId();
+            if (inputSource.getCharacterStream() != null) {
+                reader = factory.createXMLStreamReader(systemId, inputSource.getCharacterStream());
+            } else if (inputSource.getByteStream() != null) {
+                reader = factory.createXMLStreamReader(systemId, inputSource.getByteStream());
+            } else {
+                openedStream = new URL(systemId).openStream();
+                reader = factory.createXMLStreamReader(systemId, openedStream);
+            }
+
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        startElement(reader);
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (DATASET.equals(reader.getLocalName())) {
+                            endDataSet();
+                        }
+                        break;
+                    case XMLStreamConstants.DTD:
+                        if (dtdMetadata) {
+                            readDtdMetaData(reader.getText(), systemId);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (final XMLStreamException e) {
+            throw buildException(e);
+        } catch (final IOException e) {
+            throw new DataSetException(e);
+        } finally {
+            close(reader, openedStream);
+        }
+    }
+
+    private static DataSetException buildException(final XMLStreamException e) {
+        final Throwable cause = e.getNestedException() == null ? e : e.getNestedException();
+        if (cause instanceof DataSetException) {
+            return (DataSetException) cause;
+        }
+        final Location location = e.getLocation();
+        final String message = location == null ? cause.getMessage() : "Line " + location.getLineNumber() + ": " + cause.getMessage();
+        return new DataSetException(message, cause);
+    }
+
+    private static void close(final XMLStreamReader reader, final InputStream openedStream) throws DataSetException {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+            if (openedStream != null) {
+                openedStream.close();
+            }
+        } catch (final XMLStreamException | IOException e) {
+            throw new DataSetException(e);
+        }
+    }
+
+    /**
+     * Reads the table metadata from the document type declaration the same way as
+     * {@link FlatXmlProducer}, by passing it to a {@link FlatDtdProducer}.
+     */
+    private void readDtdMetaData(final String doctype, final String systemId) throws DataSetException {
+        final Matcher matcher = DOCTYPE_NAME.matcher(doctype);
+        if (!matcher.find()) {
+            return;
+        }
+        final FlatDtdDataSet dtdDataSet = new FlatDtdDataSet();
+        final FlatDtdProducer dtdProducer = new FlatDtdProducer();
+        dtdProducer.setConsumer(dtdDataSet);
+        try {
+            final XMLReader xmlReader = SAX_PARSER_FACTORY.newSAXParser().getXMLReader();
+            FlatDtdProducer.setDeclHandler(xmlReader, dtdProducer);
+            FlatDtdProducer.setLexicalHandler(xmlReader, dtdProducer);
+            final InputSource dtdSource = new InputSource(new StringReader(doctype + "<" + matcher.group(1) + "/>"));
+            dtdSource.setSystemId(systemId);
+            xmlReader.parse(dtdSource);
+        } catch (final ParserConfigurationException | IOException e) {
+            throw new DataSetException(e);
+        } catch (final SAXException e) {
+            throw XmlProducer.buildException(e);
+        }
+        metaDataSet = dtdDataSet;
+        dtdPresent = true;
+    }
+
+    private void startElement(final XMLStreamReader reader) throws DataSetException {
+        final String name = reader.getLocalName();
+        final int attributeCount = reader.getAttributeCount();
+
+        // Start of dataset
+        if (DATASET.equals(name)) {
+            final boolean matched = datasetId == null || attributeCount == 0 || datasetId.equals(getAttributeValue(reader, ID));
+            if (matched) {
+                consumer.startDataSet();
+            }
+            tables = new OrderedTableNameMap(caseSensitiveTableNames);
+            tables.setDatasetMatched(matched);
+            return;
+        }
+        if (tables == null || !tables.getDatasetMatched()) {
+            return;
+        }
+
+        // New table
+        TableState table = getActiveTable();
+        if (!tables.isLastTable(name)) {
+            if (table != null && !columnSensing) {
+                consumer.endTable();
+            }
+            if (tables.containsTable(name)) {
+                table = (TableState) tables.get(name);
+                tables.setLastTable(name);
+            } else {
+                table = new TableState(createTableMetaData(name, reader));
+                tables.add(table.metaData.getTableName(), table);
+            }
+            if (!columnSensing) {
+                consumer.startTable(table.metaData);
+            }
+        }
+
+        // Row notification
+        if (attributeCount > 0) {
+            Object[] row = new Object[table.columnCount()];
+            for (int i = 0; i < attributeCount; i++) {
+                final String attributeName = reader.getAttributeLocalName(i);
+                int columnIndex = table.getColumnIndex(attributeName);
+                if (columnIndex == TableState.UNKNOWN_COLUMN) {
+                    columnIndex = handleUnknownColumn(table, attributeName);
+                    if (columnIndex >= row.length) {
+                        row = Arrays.copyOf(row, table.columnCount());
+                    }
+                }
+                if (columnIndex >= 0) {
+                    row[columnIndex] = reader.getAttributeValue(i);
+                }
+            }
+            if (columnSensing) {
+                table.rows.add(row);
+            } else {
+                consumer.row(row);
+            }
+        }
+    }
+
+    /**
+     * @return The index of the added column or {@link TableState#IGNORED_COLUMN}
+     */
+    private int handleUnknownColumn(final TableState table, final String attributeName) throws DataSetException {
+        if (dtdPresent) {
+            if (columnSensing) {
+                throw new NoSuchColumnException(table.metaData.getTableName(), attributeName);
+            }
+            return table.ignore(attributeName);
+        }
+        if (columnSensing) {
+            return table.addColumn(attributeName);
+        }
+        log.warn("Extra column {} for table {}. Those columns will be ignored."
+                        + "\n\tPlease add the extra columns to the first row of the table,"
+                        + " or use a DTD to make sure the value of those columns are populated"
+                        + " or specify 'columnSensing=true' for your FlatXmlProducer."
+                        + "\n\tSee FAQ for more details.",
+                attributeName, table.metaData.getTableName());
+        return table.ignore(attributeName);
+    }
+
+    private void endDataSet() throws DataSetException {
+        if (tables == null) {
+            consumer.endDataSet();
+            return;
+        }
+        if (columnSensing) {
+            for (final Object value : tables.orderedValues()) {
+                final TableState table = (TableState) value;
+                consumer.startTable(table.getFinalMetaData());
+                final int columnCount = table.columnCount();
+                for (final Object[] row : table.rows) {
+                    consumer.row(row.length < columnCount ? Arrays.copyOf(row, columnCount) : row);
+                }
+                table.rows.clear();
+                consumer.endTable();
+            }
+        } else if (getActiveTable() != null) {
+            consumer.endTable();
+        }
+        consumer.endDataSet();
+    }
+
+    private TableState getActiveTable() {
+        final String lastTableName = tables.getLastTableName();
+        return lastTableName == null ? null : (TableState) tables.get(lastTableName);
+    }
+
+    private ITableMetaData createTableMetaData(final String tableName, final XMLStreamReader reader) throws DataSetException {
+        if (metaDataSet != null) {
+            return metaDataSet.getTableMetaData(tableName);
+        }
+        final Column[] columns = new Column[reader.getAttributeCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Column(reader.getAttributeLocalName(i).intern(), DataType.UNKNOWN);
+        }
+        return new DefaultTableMetaData(tableName, columns);
+    }
+
+    private static String getAttributeValue(final XMLStreamReader reader, final String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (name.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The columns of a table read so far and the column index of each attribute name.
+     */
+    private static final class TableState {
+        private static final int UNKNOWN_COLUMN = -1;
+        private static final int IGNORED_COLUMN = -2;
+
+        private final ITableMetaData metaData;
+        private final Map<String, Integer> attributeIndexes = new HashMap<>();
+
+        /**
+         * Columns found by column sensing, following the columns of the metadata
+         */
+        private final List<Column> addedColumns = new ArrayList<>();
+        private final Map<String, Integer> addedColumnIndexes = new HashMap<>();
+
+        /**
+         * Rows buffered for column sensing
+         */
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private TableState(final ITableMetaData metaData) {
+            this.metaData = metaData;
+        }
+
+        private int columnCount() throws DataSetException {
+            return metaData.getColumns().length + addedColumns.size();
+        }
+
+        /**
+         * @return The index of the column or {@link #UNKNOWN_COLUMN}
+         */
+        private int getColumnIndex(final String attributeName) throws DataSetException {
+            final Integer index = attributeIndexes.get(attributeName);
+            if (index != null) {
+                return index;
+            }
+            int columnIndex;
+            try {
+                columnIndex = metaData.getColumnIndex(attributeName);
+            } catch (final NoSuchColumnException e) {
+                final Integer addedIndex = addedColumnIndexes.get(attributeName.toUpperCase());
+                if (addedIndex == null) {
+                    return UNKNOWN_COLUMN;
+                }
+                columnIndex = addedIndex;
+            }
+            attributeIndexes.put(attributeName, columnIndex);
+            return columnIndex;
+        }
+
+        private int addColumn(final String attributeName) throws DataSetException {
+            final String columnName = attributeName.intern();
+            final int columnIndex = columnCount();
+            addedColumns.add(new Column(columnName, DataType.UNKNOWN));
+            addedColumnIndexes.put(columnName.toUpperCase(), columnIndex);
+            attributeIndexes.put(attributeName, columnIndex);
+            return columnIndex;
+        }
+
+        private int ignore(final String attributeName) {
+            attributeIndexes.put(attributeName, IGNORED_COLUMN);
+            return IGNORED_COLUMN;
+        }
+
+        private ITableMetaData getFinalMetaData() throws DataSetException {
+            if (addedColumns.isEmpty()) {
+                return metaData;
+            }
+            final Column[] columns = Arrays.copyOf(metaData.getColumns(), columnCount());
+            for (int i = 0; i < addedColumns.size(); i++) {
+                columns[columns.length - addedColumns.size() + i] = addedColumns.get(i);
+            }
+            return new DefaultTableMetaData(metaData.getTableName(), columns);
+        }
+    }
+}
@@ -23,10 +23,15 @@ package org.dbunit.ext.hsqldb;
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.statement.WithNoDataDifferenceStatementBuilder;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
+ * Configures the HSQLDB specific data types and the difference statement builder,
+ * which depends on the HSQLDB version.
+ *
  * @author Klas Axell
  * @author Last changed by: $Author$
  * @version $Revision$ $Date$
@@ -36,5 +41,14 @@ public class HsqldbConnection extends DatabaseConnection {
     public HsqldbConnection(Connection connection, String schema) throws DatabaseUnitException {
         super(connection, schema);
         getConfig().setProperty(DatabaseConfig.PROPERTY_DATATYPE_FACTORY, new HsqldbDataTypeFactory());
+        try {
+            if (connection.getMetaData().getDatabaseMajorVersion() >= 2) {
+                getConfig().setProperty(DatabaseConfig.PROPERTY_DIFFERENCE_STATEMENT_BUILDER, new WithNoDataDifferenceStatementBuilder());
+            } else {
+                getConfig().setProperty(DatabaseConfig.PROPERTY_DIFFERENCE_STATEMENT_BUILDER, new HsqldbDifferenceStatementBuilder());
+            }
+        } catch (SQLException e) {
+            throw new DatabaseUnitException("Exception while reading the HSQLDB version", e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.mssql;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.operation.AbstractBulkLoadOperation;
+import org.dbunit.operation.CompositeOperation;
+import org.dbunit.operation.DatabaseOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Inserts the dataset contents using the bulk copy API (<code>SQLServerBulkCopy</code>)
+ * of the Microsoft JDBC driver. The table rows are streamed to the server as a
+ * <code>ISQLServerBulkRecord</code> without creating intermediate files. Tables with
+ * less rows than the row threshold are inserted with {@link DatabaseOperation#INSERT}.
+ * <p>
+ * Identity values and <code>null</code> values of the dataset are kept, i.e. identity
+ * columns do not need to be handled by {@link InsertIdentityOperation} and columns with
+ * defaults are not filled with their default value. The driver classes are accessed via
+ * reflection to avoid a compile time dependency on the driver.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class MsSqlBulkCopyOperation extends AbstractBulkLoadOperation {
+
+    /**
+     * Logger for this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MsSqlBulkCopyOperation.class);
+
+    private static final String DRIVER_PACKAGE = "com.microsoft.sqlserver.jdbc.";
+
+    public static final DatabaseOperation INSERT = new MsSqlBulkCopyOperation();
+
+    public static final DatabaseOperation CLEAN_INSERT =
+            new CompositeOperation(DatabaseOperation.DELETE_ALL, INSERT);
+
+    /**
+     * Creates an operation using the {@link #DEFAULT_ROW_THRESHOLD}
+     */
+    public MsSqlBulkCopyOperation() {
+        this(DEFAULT_ROW_THRESHOLD);
+    }
+
+    /**
+     * @param rowThreshold The minimum number of rows of a table to use the bulk copy
+     */
+    public MsSqlBulkCopyOperation(int rowThreshold) {
+        super(rowThreshold);
+    }
+
+    protected long bulkLoad(IDatabaseConnection connection, ITable table, ITableMetaData metaData, int[] columnIndexes)
+            throws DatabaseUnitException, SQLException {
+        String tableName = getQualifiedName(connection.getSchema(), metaData.getTableName(), connection);
+        Connection jdbcConnection = connection.getConnection();
+        BulkRecord bulkRecord = new BulkRecord(table, metaData.getColumns(), columnIndexes);
+        readColumnTypes(jdbcConnection, tableName, getColumnList(metaData, connection), bulkRecord);
+
+        ClassLoader classLoader = jdbcConnection.getClass().getClassLoader();
+        try {
+            Class<?> bulkCopyClass = Class.forName(DRIVER_PACKAGE + "SQLServerBulkCopy", true, classLoader);
+            Class<?> optionsClass = Class.forName(DRIVER_PACKAGE + "SQLServerBulkCopyOptions", true, classLoader);
+            Class<?> recordClass = Class.forName(DRIVER_PACKAGE + "ISQLServerBulkRecord", true, classLoader);
+
+            Object options = optionsClass.getConstructor().newInstance();
+            optionsClass.getMethod("setKeepIdentity", boolean.class).invoke(options, true);
+            optionsClass.getMethod("setKeepNulls", boolean.class).invoke(options, true);
+
+            Object bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(jdbcConnection);
+            try {
+                bulkCopyClass.getMethod("setBulkCopyOptions", optionsClass).invoke(bulkCopy, options);
+                bulkCopyClass.getMethod("setDestinationTableName", String.class).invoke(bulkCopy, tableName);
+                Method addColumnMapping = bulkCopyClass.getMethod("addColumnMapping", int.class, String.class);
+                Column[] columns = metaData.getColumns();
+                for (int i = 0; i < columns.length; i++) {
+                    addColumnMapping.invoke(bulkCopy, i + 1, columns[i].getColumnName());
+                }
+
+                Object record = Proxy.newProxyInstance(classLoader, new Class<?>[]{recordClass}, bulkRecord);
+                logger.debug("bulkLoad: copying table '{}'", tableName);
+                getWriteToServerMethod(bulkCopyClass, recordClass).invoke(bulkCopy, record);
+            } finally {
+                bulkCopyClass.getMethod("close").invoke(bulkCopy);
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException e) {
+            throw new DatabaseUnitException("The bulk copy API of the Microsoft JDBC driver is not available", e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UndeclaredThrowableException) {
+                cause = ((UndeclaredThrowableException) cause).getUndeclaredThrowable();
+            }
+            // The driver may wrap the exceptions of the bulk record
+            if (cause.getCause() instanceof UndeclaredThrowableException) {
+                cause = ((UndeclaredThrowableException) cause.getCause()).getUndeclaredThrowable();
+            }
+            if (cause instanceof DataSetException) {
+                throw (DataSetException) cause;
+            }
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new DatabaseUnitException("Exception copying table '" + tableName + "'", cause);
+        }
+        return bulkRecord.getRowCount();
+    }
+
+    /**
+     * Returns the <code>writeToServer</code> method accepting the bulk record. Depending on the
+     * driver version its parameter is <code>ISQLServerBulkRecord</code> or a super interface of
+     * it like <code>ISQLServerBulkData</code>.
+     */
+    static Method getWriteToServerMethod(Class<?> bulkCopyClass, Class<?> recordClass) throws NoSuchMethodException {
+        for (Method method : bulkCopyClass.getMethods()) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            if (method.getName().equals("writeToServer") && parameterTypes.length == 1
+                    && parameterTypes[0].isAssignableFrom(recordClass)) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(bulkCopyClass.getName() + ".writeToServer(" + recordClass.getName() + ")");
+    }
+
+    /**
+     * Reads the JDBC type, precision and scale of the columns from the destination table.
+     */
+    private static void readColumnTypes(Connection connection, String tableName, String columnList, BulkRecord bulkRecord)
+            throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select " + columnList + " from " + tableName + " where 1 = 0")) {
+            ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+            for (int i = 0; i < resultSetMetaData.getColumnCount(); i++) {
+                bulkRecord.types[i] = resultSetMetaData.getColumnType(i + 1);
+                bulkRecord.precisions[i] = resultSetMetaData.getPrecision(i + 1);
+                bulkRecord.scales[i] = resultSetMetaData.getScale(i + 1);
+            }
+        }
+    }
+
+    /**
+     * Implements the methods of <code>ISQLServerBulkRecord</code> reading the rows of
+     * a table. Methods which are not needed by the bulk copy throw an
+     * {@link UnsupportedOperationException}.
+     */
+    static class BulkRecord implements InvocationHandler {
+        private final ITable table;
+        private final Column[] columns;
+        private final int[] columnIndexes;
+        private final int[] types;
+        private final int[] precisions;
+        private final int[] scales;
+
+        private Object[] rowData;
+        private int row;
+
+        BulkRecord(ITable table, Column[] columns, int[] columnIndexes) {
+            this.table = table;
+            this.columns = columns;
+            this.columnIndexes = columnIndexes;
+            this.types = new int[columns.length];
+            this.precisions = new int[columns.length];
+            this.scales = new int[columns.length];
+        }
+
+        int getRowCount() {
+            return row;
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "getColumnOrdinals":
+                    Set<Integer> ordinals = new LinkedHashSet<>();
+                    for (int i = 1; i <= columns.length; i++) {
+                        ordinals.add(i);
+                    }
+                    return ordinals;
+                case "getColumnName":
+                    return columns[(Integer) args[0] - 1].getColumnName();
+                case "getColumnType":
+                    return types[(Integer) args[0] - 1];
+                case "getPrecision":
+                    return precisions[(Integer) args[0] - 1];
+                case "getScale":
+                    return scales[(Integer) args[0] - 1];
+                case "isAutoIncrement":
+                    return Boolean.FALSE;
+                case "next":
+                    return next();
+                case "getRowData":
+                    return rowData;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "BulkRecord[table=" + table.getTableMetaData().getTableName() + ", row=" + row + "]";
+                default:
+                    throw new UnsupportedOperationException("The method '" + name
+                            + "' of the bulk record is not supported");
+            }
+        }
+
+        private Boolean next() throws DataSetException {
+            Object[] values = new Object[columns.length];
+            try {
+                for (int i = 0; i < columns.length; i++) {
+                    Object value = table.getValue(row, columnIndexes[i]);
+                    if (value == ITable.NO_VALUE) {
+                        throw new DataSetException(getNoValueMessage(table, columns[i], row));
+                    }
+                    values[i] = columns[i].getDataType().typeCast(value);
+                }
+            } catch (RowOutOfBoundsException e) {
+                // This exception occurs when records are exhausted
+                rowData = null;
+                return Boolean.FALSE;
+            }
+            rowData = values;
+            row++;
+            return Boolean.TRUE;
+        }
+    }
+}
@@ -61,6 +61,8 @@ public class MsSqlConnection extends DatabaseConnection {
         super(connection, schema);
         getConfig().setProperty(DatabaseConfig.PROPERTY_DATATYPE_FACTORY,
                 new MsSqlDataTypeFactory());
+        getConfig().setProperty(DatabaseConfig.PROPERTY_DIFFERENCE_STATEMENT_BUILDER,
+                new MsSqlDifferenceStatementBuilder());
     }
 
     /**
@@ -73,6 +75,8 @@ public class MsSqlConnection extends DatabaseConnection {
         super(connection);
         getConfig().setProperty(DatabaseConfig.PROPERTY_DATATYPE_FACTORY,
                 new MsSqlDataTypeFactory());
+        getConfig().setProperty(DatabaseConfig.PROPERTY_DIFFERENCE_STATEMENT_BUILDER,
+                new MsSqlDifferenceStatementBuilder());
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -38,5 +38,7 @@ public class MySqlConnection extends DatabaseConnection {
                 new MySqlDataTypeFactory());
         getConfig().setProperty(DatabaseConfig.PROPERTY_METADATA_HANDLER,
                 new MySqlMetadataHandler());
+        getConfig().setProperty(DatabaseConfig.PROPERTY_STREAMING_RESULTSET_CONFIGURER,
+                new MySqlStreamingResultSetConfigurer());
     }
 }
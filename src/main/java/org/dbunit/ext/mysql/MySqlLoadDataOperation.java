@@ -0,0 +1,207 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.mysql;
+
+import org.apache.commons.io.input.ReaderInputStream;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.TypeCastException;
+import org.dbunit.operation.AbstractBulkLoadOperation;
+import org.dbunit.operation.CompositeOperation;
+import org.dbunit.operation.DatabaseOperation;
+import org.dbunit.operation.DelimitedTextReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Inserts the dataset contents using <code>LOAD DATA LOCAL INFILE</code>. Instead of a
+ * file the table rows are streamed to the server in the tab delimited text format by
+ * handing an input stream to the MySQL Connector/J statement
+ * (<code>setLocalInfileInputStream</code>). Binary columns are transferred as hexadecimal
+ * text. Tables with less rows than the row threshold are inserted with
+ * {@link DatabaseOperation#INSERT}.
+ * <p>
+ * Loading local data must be allowed by the server (<code>local_infile</code>) and by the
+ * driver, e.g. by adding <code>allowLoadLocalInfile=true</code> to the JDBC url.
+ * Note that the server only reports conversion problems as warnings.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class MySqlLoadDataOperation extends AbstractBulkLoadOperation {
+
+    /**
+     * Logger for this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MySqlLoadDataOperation.class);
+
+    /**
+     * The statement interfaces of Connector/J 8 and 5
+     */
+    private static final String[] STATEMENT_CLASS_NAMES = {
+            "com.mysql.cj.jdbc.JdbcStatement",
+            "com.mysql.jdbc.Statement"
+    };
+
+    public static final DatabaseOperation INSERT = new MySqlLoadDataOperation();
+
+    public static final DatabaseOperation CLEAN_INSERT =
+            new CompositeOperation(DatabaseOperation.DELETE_ALL, INSERT);
+
+    /**
+     * Creates an operation using the {@link #DEFAULT_ROW_THRESHOLD}
+     */
+    public MySqlLoadDataOperation() {
+        this(DEFAULT_ROW_THRESHOLD);
+    }
+
+    /**
+     * @param rowThreshold The minimum number of rows of a table to use <code>LOAD DATA</code>
+     */
+    public MySqlLoadDataOperation(int rowThreshold) {
+        super(rowThreshold);
+    }
+
+    protected long bulkLoad(IDatabaseConnection connection, ITable table, ITableMetaData metaData, int[] columnIndexes)
+            throws DatabaseUnitException, SQLException {
+        String sql = getLoadDataSql(metaData, connection);
+        logger.debug("bulkLoad: {}", sql);
+
+        Statement statement = connection.getConnection().createStatement();
+        try (DelimitedTextReader reader = new LoadDataTextReader(table, metaData.getColumns(), columnIndexes);
+             InputStream in = ReaderInputStream.builder().setReader(reader).setCharset(StandardCharsets.UTF_8).get()) {
+            setLocalInfileInputStream(statement, in);
+            return statement.executeUpdate(sql);
+        } catch (IOException e) {
+            if (e.getCause() instanceof DataSetException) {
+                throw (DataSetException) e.getCause();
+            }
+            throw new DatabaseUnitException("Exception streaming table '" + metaData.getTableName() + "'", e);
+        } catch (SQLException e) {
+            // The driver wraps exceptions of the input stream
+            if (e.getCause() instanceof IOException && e.getCause().getCause() instanceof DataSetException) {
+                throw (DataSetException) e.getCause().getCause();
+            }
+            throw e;
+        } finally {
+            statement.close();
+        }
+    }
+
+    String getLoadDataSql(ITableMetaData metaData, IDatabaseConnection connection) throws DataSetException {
+        StringBuilder columnList = new StringBuilder();
+        StringBuilder setList = new StringBuilder();
+        Column[] columns = metaData.getColumns();
+        for (int i = 0; i < columns.length; i++) {
+            String columnName = getQualifiedName(null, columns[i].getColumnName(), connection);
+            if (i > 0) {
+                columnList.append(", ");
+            }
+            if (isBinary(columns[i])) {
+                // binary values are sent as hex digits and converted back by the server
+                String variable = "@v" + i;
+                columnList.append(variable);
+                setList.append(setList.length() == 0 ? " SET " : ", ");
+                setList.append(columnName).append(" = UNHEX(").append(variable).append(")");
+            } else {
+                columnList.append(columnName);
+            }
+        }
+
+        return "LOAD DATA LOCAL INFILE 'dbunit.txt' INTO TABLE "
+                + getQualifiedName(connection.getSchema(), metaData.getTableName(), connection)
+                + " CHARACTER SET utf8mb4"
+                + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\'"
+                + " LINES TERMINATED BY '\\n'"
+                + " (" + columnList + ")" + setList;
+    }
+
+    private static boolean isBinary(Column column) {
+        switch (column.getDataType().getSqlType()) {
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Hands the given stream to the Connector/J statement, which uses it as the contents of
+     * the local file of the next <code>LOAD DATA LOCAL INFILE</code> statement. Reflection is
+     * used to avoid a compile time dependency on the driver.
+     */
+    private static void setLocalInfileInputStream(Statement statement, InputStream in) throws SQLException {
+        for (String className : STATEMENT_CLASS_NAMES) {
+            Class<?> statementClass;
+            try {
+                statementClass = Class.forName(className, true, statement.getClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                continue;
+            }
+            if (statement.isWrapperFor(statementClass)) {
+                Object mysqlStatement = statement.unwrap(statementClass);
+                try {
+                    Method method = statementClass.getMethod("setLocalInfileInputStream", InputStream.class);
+                    method.invoke(mysqlStatement, in);
+                    return;
+                } catch (NoSuchMethodException | IllegalAccessException e) {
+                    throw new SQLException("Cannot set the input stream of the MySQL statement", e);
+                } catch (InvocationTargetException e) {
+                    throw new SQLException("Cannot set the input stream of the MySQL statement", e.getCause());
+                }
+            }
+        }
+        throw new SQLException("The statement " + statement.getClass().getName()
+                + " is not a MySQL Connector/J statement");
+    }
+
+    /**
+     * Writes booleans as numbers
+     */
+    static class LoadDataTextReader extends DelimitedTextReader {
+        LoadDataTextReader(ITable table, Column[] columns, int[] columnIndexes) {
+            super(table, columns, columnIndexes);
+        }
+
+        protected String formatValue(Object value, Column column) throws TypeCastException {
+            if (value instanceof Boolean) {
+                return ((Boolean) value).booleanValue() ? "1" : "0";
+            }
+            return super.formatValue(value, column);
+        }
+    }
+}
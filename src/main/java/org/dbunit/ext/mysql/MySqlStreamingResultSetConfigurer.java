@@ -0,0 +1,44 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.mysql;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.DefaultStreamingResultSetConfigurer;
+
+/**
+ * The MySQL driver reads the whole result set into memory unless the fetch size of a
+ * forward-only, read-only statement is <code>Integer.MIN_VALUE</code>, in which case
+ * rows are streamed one by one. No other statement can be executed on the connection
+ * until the streamed result set has been closed.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class MySqlStreamingResultSetConfigurer extends DefaultStreamingResultSetConfigurer {
+
+    public void configureStatement(Statement statement, DatabaseConfig config) throws SQLException {
+        statement.setFetchSize(Integer.MIN_VALUE);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.ext.mysql;
+
+import org.dbunit.database.statement.IUpsertStatementBuilder;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Builds a MySQL <code>INSERT ... ON DUPLICATE KEY UPDATE</code> statement, e.g.
+ * <code>insert into T (ID, NAME) values (?, ?) on duplicate key update NAME = values(NAME)</code>
+ * <p>
+ * MySQL updates the row conflicting on any unique key, not only on the primary key,
+ * so a row may be updated that the row by row refresh would not have matched.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class MySqlUpsertStatementBuilder implements IUpsertStatementBuilder {
+
+    public String buildUpsertSql(String tableName, String[] columnNames, String[] primaryKeyNames) {
+        Set<String> primaryKeys = new HashSet<>(Arrays.asList(primaryKeyNames));
+
+        StringBuilder sqlBuffer = new StringBuilder(128);
+        sqlBuffer.append("insert into ").append(tableName).append(" (");
+        sqlBuffer.append(String.join(", ", columnNames));
+        sqlBuffer.append(") values (");
+        for (int i = 0; i < columnNames.length; i++) {
+            sqlBuffer.append(i > 0 ? ", ?" : "?");
+        }
+        sqlBuffer.append(')');
+
+        String separator = " on duplicate key update ";
+        boolean hasUpdate = false;
+        for (String columnName : columnNames) {
+            if (!primaryKeys.contains(columnName)) {
+                sqlBuffer.append(separator);
+                sqlBuffer.append(columnName).append(" = values(").append(columnName).append(')');
+                separator = ", ";
+                hasUpdate = true;
+            }
+        }
+        // only primary keys, a no-op update keeps the existing row
+        if (!hasUpdate) {
+            sqlBuffer.append(separator).append(primaryKeyNames[0]).append(" = ").append(primaryKeyNames[0]);
+        }
+        return sqlBuffer.toString();
+    }
+}
@@ -44,5 +44,7 @@ public class OracleConnection extends DatabaseConnection {
         super(connection, schema != null ? schema.toUpperCase() : null);
         getConfig().setProperty(DatabaseConfig.PROPERTY_DATATYPE_FACTORY,
                 new OracleDataTypeFactory());
+        getConfig().setProperty(DatabaseConfig.PROPERTY_DIFFERENCE_STATEMENT_BUILDER,
+                new OracleDifferenceStatementBuilder());
     }
 }
@@ -0,0 +1,46 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.ext.oracle;
+
+import org.dbunit.database.statement.MergeStatementBuilder;
+
+/**
+ * Builds an Oracle <code>MERGE</code> statement selecting the parameters from
+ * <code>dual</code>, e.g.
+ * <code>merge into T dbunit_target using (select ? ID, ? NAME from dual) dbunit_source on ...</code>
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class OracleMergeStatementBuilder extends MergeStatementBuilder {
+
+    protected void appendSource(StringBuilder sqlBuffer, String[] columnNames) {
+        sqlBuffer.append("(select ");
+        for (int i = 0; i < columnNames.length; i++) {
+            if (i > 0) {
+                sqlBuffer.append(", ");
+            }
+            sqlBuffer.append("? ").append(columnNames[i]);
+        }
+        sqlBuffer.append(" from dual) ").append(SOURCE_ALIAS);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.postgresql;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.TypeCastException;
+import org.dbunit.operation.AbstractBulkLoadOperation;
+import org.dbunit.operation.CompositeOperation;
+import org.dbunit.operation.DatabaseOperation;
+import org.dbunit.operation.DelimitedTextReader;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Inserts the dataset contents using <code>COPY ... FROM STDIN</code> via the
+ * {@link CopyManager} of the PostgreSQL JDBC driver. The table rows are streamed to the
+ * server in the text format of <code>COPY</code> without creating intermediate files.
+ * Tables with less rows than the row threshold are inserted with
+ * {@link DatabaseOperation#INSERT}.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class PostgresqlCopyOperation extends AbstractBulkLoadOperation {
+
+    /**
+     * Logger for this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PostgresqlCopyOperation.class);
+
+    public static final DatabaseOperation INSERT = new PostgresqlCopyOperation();
+
+    public static final DatabaseOperation CLEAN_INSERT =
+            new CompositeOperation(DatabaseOperation.DELETE_ALL, INSERT);
+
+    /**
+     * Creates an operation using the {@link #DEFAULT_ROW_THRESHOLD}
+     */
+    public PostgresqlCopyOperation() {
+        this(DEFAULT_ROW_THRESHOLD);
+    }
+
+    /**
+     * @param rowThreshold The minimum number of rows of a table to use <code>COPY</code>
+     */
+    public PostgresqlCopyOperation(int rowThreshold) {
+        super(rowThreshold);
+    }
+
+    protected long bulkLoad(IDatabaseConnection connection, ITable table, ITableMetaData metaData, int[] columnIndexes)
+            throws DatabaseUnitException, SQLException {
+        String sql = "COPY " + getQualifiedName(connection.getSchema(), metaData.getTableName(), connection)
+                + " (" + getColumnList(metaData, connection) + ") FROM STDIN";
+        logger.debug("bulkLoad: {}", sql);
+
+        CopyManager copyManager = connection.getConnection().unwrap(PGConnection.class).getCopyAPI();
+        try (DelimitedTextReader reader = new CopyTextReader(table, metaData.getColumns(), columnIndexes)) {
+            return copyManager.copyIn(sql, reader);
+        } catch (IOException e) {
+            if (e.getCause() instanceof DataSetException) {
+                throw (DataSetException) e.getCause();
+            }
+            throw new DatabaseUnitException("Exception streaming table '" + metaData.getTableName() + "'", e);
+        }
+    }
+
+    /**
+     * Writes binary values in the hex format of <code>bytea</code>
+     */
+    static class CopyTextReader extends DelimitedTextReader {
+        CopyTextReader(ITable table, Column[] columns, int[] columnIndexes) {
+            super(table, columns, columnIndexes);
+        }
+
+        protected String formatValue(Object value, Column column) throws TypeCastException {
+            if (value instanceof byte[]) {
+                return "\\x" + toHex((byte[]) value);
+            }
+            return super.formatValue(value, column);
+        }
+    }
+}
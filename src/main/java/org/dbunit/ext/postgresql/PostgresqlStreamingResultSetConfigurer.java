@@ -0,0 +1,39 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.postgresql;
+
+import org.dbunit.database.DefaultStreamingResultSetConfigurer;
+
+/**
+ * The PostgreSQL driver only uses a server-side cursor, fetching
+ * {@link org.dbunit.database.DatabaseConfig#PROPERTY_FETCH_SIZE} rows at a time,
+ * when auto-commit is disabled. Otherwise the whole result set is read into memory.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class PostgresqlStreamingResultSetConfigurer extends DefaultStreamingResultSetConfigurer {
+
+    public boolean requiresTransaction() {
+        return true;
+    }
+}
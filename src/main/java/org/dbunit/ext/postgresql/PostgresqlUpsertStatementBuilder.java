@@ -0,0 +1,69 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.ext.postgresql;
+
+import org.dbunit.database.statement.IUpsertStatementBuilder;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Builds a PostgreSQL <code>INSERT ... ON CONFLICT</code> statement, e.g.
+ * <code>insert into T (ID, NAME) values (?, ?) on conflict (ID) do update set NAME = excluded.NAME</code>
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class PostgresqlUpsertStatementBuilder implements IUpsertStatementBuilder {
+
+    public String buildUpsertSql(String tableName, String[] columnNames, String[] primaryKeyNames) {
+        Set<String> primaryKeys = new HashSet<>(Arrays.asList(primaryKeyNames));
+
+        StringBuilder sqlBuffer = new StringBuilder(128);
+        sqlBuffer.append("insert into ").append(tableName).append(" (");
+        sqlBuffer.append(String.join(", ", columnNames));
+        sqlBuffer.append(") values (");
+        for (int i = 0; i < columnNames.length; i++) {
+            sqlBuffer.append(i > 0 ? ", ?" : "?");
+        }
+        sqlBuffer.append(") on conflict (");
+        sqlBuffer.append(String.join(", ", primaryKeyNames));
+        sqlBuffer.append(')');
+
+        String separator = " do update set ";
+        boolean hasUpdate = false;
+        for (String columnName : columnNames) {
+            if (!primaryKeys.contains(columnName)) {
+                sqlBuffer.append(separator);
+                sqlBuffer.append(columnName).append(" = excluded.").append(columnName);
+                separator = ", ";
+                hasUpdate = true;
+            }
+        }
+        // only primary keys, nothing to update
+        if (!hasUpdate) {
+            sqlBuffer.append(" do nothing");
+        }
+        return sqlBuffer.toString();
+    }
+}
@@ -31,6 +31,7 @@ import org.dbunit.database.IDatabaseConnection;
 import org.dbunit.database.statement.IPreparedBatchStatement;
 import org.dbunit.database.statement.IStatementFactory;
 import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
@@ -62,7 +63,7 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
 
         // Try to fetch first table value
         try {
-            table.getValue(0, columns[0].getColumnName());
+            table.getValue(0, 0);
             return false;
         } catch (RowOutOfBoundsException e) {
             // Not able to access first row thus empty
@@ -96,6 +97,17 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
 
     abstract OperationData getOperationData(ITableMetaData metaData, BitSet ignoreMapping, IDatabaseConnection connection) throws DataSetException;
 
+    /**
+     * Creates the statement executing the specified operation data. The default
+     * implementation uses the configured statement factory.
+     *
+     * @since 2.8.6
+     */
+    IPreparedBatchStatement createPreparedBatchStatement(OperationData operationData, ITableMetaData metaData, BitSet ignoreMapping,
+                                                         IStatementFactory factory, IDatabaseConnection connection) throws DataSetException, SQLException {
+        return factory.createPreparedBatchStatement(operationData.getSql(), connection);
+    }
+
     @Override
     public void execute(IDatabaseConnection connection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
         log.debug("execute(connection={}, dataSet={}) - start", connection, dataSet);
@@ -117,6 +129,7 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
             ITableMetaData metaData = getOperationMetaData(connection, table.getTableMetaData());
             BitSet ignoreMapping = null;
             OperationData operationData = null;
+            int[] columnIndexes = null;
             IPreparedBatchStatement statement = null;
 
             try {
@@ -140,33 +153,11 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
 
                             ignoreMapping = getIgnoreMapping(table, i);
                             operationData = getOperationData(metaData, ignoreMapping, connection);
-                            statement = factory.createPreparedBatchStatement(operationData.getSql(), connection);
+                            columnIndexes = Columns.getColumnIndexes(operationData.getColumns(), table.getTableMetaData());
+                            statement = createPreparedBatchStatement(operationData, metaData, ignoreMapping, factory, connection);
                         }
 
-                        // for each column
-                        Column[] columns = operationData.getColumns();
-                        for (int j = 0; j < columns.length; j++) {
-                            // Bind value only if not in ignore mapping
-                            if (!ignoreMapping.get(j)) {
-                                Column column = columns[j];
-                                String columnName = column.getColumnName();
-                                try {
-                                    DataType dataType = column.getDataType();
-                                    Object value = table.getValue(i, columnName);
-
-                                    if ("".equals(value) && !allowEmptyFields) {
-                                        handleColumnHasNoValue(tableName, columnName);
-                                    }
-
-                                    statement.addValue(value, dataType);
-                                } catch (TypeCastException e) {
-                                    final String msg = "Error casting value for table '" + tableName + "' and column '" + columnName + "'";
-                                    log.error("execute: {}", msg);
-                                    throw new TypeCastException(msg, e);
-                                }
-                            }
-                        }
-                        statement.addBatch();
+                        addRow(statement, operationData, ignoreMapping, columnIndexes, table, i, allowEmptyFields);
                     }
                 } catch (RowOutOfBoundsException e) {
                     // This exception occurs when records are exhausted
@@ -188,6 +179,40 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
         }
     }
 
+    /**
+     * Binds the values of one table row to the statement and adds it to the batch.
+     *
+     * @since 2.8.6
+     */
+    void addRow(IPreparedBatchStatement statement, OperationData operationData, BitSet ignoreMapping, int[] columnIndexes,
+                ITable table, int row, boolean allowEmptyFields) throws DataSetException, SQLException {
+        String tableName = table.getTableMetaData().getTableName();
+        // for each column
+        Column[] columns = operationData.getColumns();
+        for (int j = 0; j < columns.length; j++) {
+            // Bind value only if not in ignore mapping
+            if (!ignoreMapping.get(j)) {
+                Column column = columns[j];
+                String columnName = column.getColumnName();
+                try {
+                    DataType dataType = column.getDataType();
+                    Object value = table.getValue(row, columnIndexes[j]);
+
+                    if ("".equals(value) && !allowEmptyFields) {
+                        handleColumnHasNoValue(tableName, columnName);
+                    }
+
+                    statement.addValue(value, dataType);
+                } catch (TypeCastException e) {
+                    final String msg = "Error casting value for table '" + tableName + "' and column '" + columnName + "'";
+                    log.error("execute: {}", msg);
+                    throw new TypeCastException(msg, e);
+                }
+            }
+        }
+        statement.addBatch();
+    }
+
     protected void handleColumnHasNoValue(String tableName, String columnName) {
         final String tableColumnName = tableName + "." + columnName;
         final String msg = "table.column=" + tableColumnName + " value is empty but must contain a value (to disable this feature check, set DatabaseConfig.FEATURE_ALLOW_EMPTY_FIELDS to true)";
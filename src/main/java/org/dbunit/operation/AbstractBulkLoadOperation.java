@@ -0,0 +1,199 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.operation;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for operations inserting the dataset contents with the native bulk load
+ * mechanism of a database, which is usually much faster than JDBC batches for large tables.
+ * Tables having less rows than the configured threshold are inserted with the regular
+ * {@link DatabaseOperation#INSERT} operation. Tables which cannot tell their row count,
+ * like forward only tables, are always bulk loaded.
+ * <p>
+ * Like {@link InsertOperation} this operation fails if the data already exists. Like
+ * {@link InsertOperation} columns without value ({@link ITable#NO_VALUE}) are left to their
+ * default: columns without value in all rows are not loaded, and tables having columns
+ * without value in some rows only are inserted with {@link DatabaseOperation#INSERT}.
+ * Tables which cannot tell their row count fail on a column without value.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+@Slf4j
+public abstract class AbstractBulkLoadOperation extends AbstractOperation {
+
+    /**
+     * The default minimum number of rows of a table to use the bulk load
+     */
+    public static final int DEFAULT_ROW_THRESHOLD = 1000;
+
+    /**
+     * The minimum number of rows of a table to use the bulk load
+     */
+    @Getter
+    private final int rowThreshold;
+
+    protected AbstractBulkLoadOperation(int rowThreshold) {
+        if (rowThreshold < 0) {
+            throw new IllegalArgumentException("The parameter 'rowThreshold' must not be negative but was " + rowThreshold);
+        }
+        this.rowThreshold = rowThreshold;
+    }
+
+    public void execute(IDatabaseConnection connection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
+        log.debug("execute(connection={}, dataSet={}) - start", connection, dataSet);
+
+        ITableIterator iterator = dataSet.iterator();
+        while (iterator.next()) {
+            ITable table = iterator.getTable();
+            String tableName = table.getTableMetaData().getTableName();
+
+            if (!isBulkLoad(table)) {
+                log.debug("execute: inserting table '{}' with batched statements", tableName);
+                DatabaseOperation.INSERT.execute(connection, new DefaultDataSet(table));
+                continue;
+            }
+
+            ITableMetaData metaData = getOperationMetaData(connection, table.getTableMetaData());
+            int[] columnIndexes = Columns.getColumnIndexes(metaData.getColumns(), table.getTableMetaData());
+            Column[] valueColumns = getValueColumns(table, metaData.getColumns(), columnIndexes);
+            if (valueColumns == null) {
+                log.debug("execute: inserting table '{}' with batched statements as some rows lack values", tableName);
+                DatabaseOperation.INSERT.execute(connection, new DefaultDataSet(table));
+                continue;
+            }
+            if (valueColumns.length < metaData.getColumns().length) {
+                metaData = new DefaultTableMetaData(metaData.getTableName(), valueColumns, metaData.getPrimaryKeys());
+                columnIndexes = Columns.getColumnIndexes(valueColumns, table.getTableMetaData());
+            }
+            try {
+                long rowCount = bulkLoad(connection, table, metaData, columnIndexes);
+                log.debug("execute: bulk loaded {} rows into table '{}'", rowCount, tableName);
+            } catch (SQLException e) {
+                final String msg = "Exception processing table name='" + tableName + "'";
+                throw new DatabaseUnitException(msg, e);
+            }
+        }
+    }
+
+    /**
+     * @param table The table to be inserted
+     * @return <code>true</code> if the given table should be bulk loaded
+     */
+    protected boolean isBulkLoad(ITable table) {
+        try {
+            return table.getRowCount() >= rowThreshold;
+        } catch (UnsupportedOperationException e) {
+            // forward only tables do not know their size
+            return true;
+        }
+    }
+
+    /**
+     * Leaves out the columns without value ({@link ITable#NO_VALUE}) in all rows, so that
+     * the database uses their default.
+     *
+     * @return The given columns having a value in all rows, or <code>null</code> if a column
+     * has no value in some rows only or no column has a value
+     */
+    private static Column[] getValueColumns(ITable table, Column[] columns, int[] columnIndexes) throws DataSetException {
+        int rowCount;
+        try {
+            rowCount = table.getRowCount();
+        } catch (UnsupportedOperationException e) {
+            // forward only tables cannot be read twice
+            return columns;
+        }
+        if (rowCount == 0) {
+            return columns;
+        }
+
+        List<Column> valueColumns = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            int noValueRows = 0;
+            for (int row = 0; row < rowCount; row++) {
+                if (table.getValue(row, columnIndexes[i]) == ITable.NO_VALUE) {
+                    noValueRows++;
+                }
+            }
+            if (noValueRows == 0) {
+                valueColumns.add(columns[i]);
+            } else if (noValueRows < rowCount) {
+                return null;
+            }
+        }
+        return valueColumns.isEmpty() ? null : valueColumns.toArray(new Column[0]);
+    }
+
+    /**
+     * @return The message of the exception raised when a bulk loaded column has no value
+     */
+    protected static String getNoValueMessage(ITable table, Column column, int row) {
+        return "Column '" + column.getColumnName() + "' of table '" + table.getTableMetaData().getTableName()
+                + "' has no value in row " + row + ", which cannot be bulk loaded from a forward only table";
+    }
+
+    /**
+     * Loads all rows of the given table into the database.
+     *
+     * @param connection    The connection to the database
+     * @param table         The table to be loaded
+     * @param metaData      The database metadata of the columns contained in the table
+     * @param columnIndexes The index in the given table of each column in <code>metaData</code>
+     * @return The number of loaded rows
+     */
+    protected abstract long bulkLoad(IDatabaseConnection connection, ITable table, ITableMetaData metaData, int[] columnIndexes)
+            throws DatabaseUnitException, SQLException;
+
+    /**
+     * @return The escaped and comma separated names of the given columns
+     */
+    protected String getColumnList(ITableMetaData metaData, IDatabaseConnection connection) throws DataSetException {
+        StringBuilder buffer = new StringBuilder();
+        Column[] columns = metaData.getColumns();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                buffer.append(", ");
+            }
+            buffer.append(getQualifiedName(null, columns[i].getColumnName(), connection));
+        }
+        return buffer.toString();
+    }
+}
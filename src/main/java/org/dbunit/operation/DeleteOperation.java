@@ -23,10 +23,15 @@ package org.dbunit.operation;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.sql.SQLException;
 import java.util.BitSet;
 
 import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.statement.IPreparedBatchStatement;
+import org.dbunit.database.statement.IStatementFactory;
+import org.dbunit.database.statement.MultiRowStatement;
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
@@ -38,6 +43,10 @@ import org.dbunit.dataset.NoPrimaryKeyException;
  * Deletes only the dataset contents from the database. This operation does not
  * delete the entire table contents but only data that are present in the
  * dataset.
+ * <p>
+ * When the {@link DatabaseConfig#PROPERTY_DELETE_KEYS_PER_STATEMENT} property is
+ * greater than 1, several rows are deleted with a single
+ * <code>delete ... where PK in (?, ?, ...)</code> statement.
  *
  * @author Manuel Laflamme
  * @version $Revision$
@@ -82,4 +91,63 @@ public class DeleteOperation extends AbstractBatchOperation {
         }
         return new OperationData(sqlBuffer.toString(), primaryKeys);
     }
-}
\ No newline at end of file
+
+    @Override
+    IPreparedBatchStatement createPreparedBatchStatement(OperationData operationData, ITableMetaData metaData, BitSet ignoreMapping,
+                                                         IStatementFactory factory, IDatabaseConnection connection) throws DataSetException, SQLException {
+        DatabaseConfig config = connection.getConfig();
+        Integer keysPerStatement = (Integer) config.getProperty(DatabaseConfig.PROPERTY_DELETE_KEYS_PER_STATEMENT);
+        if (keysPerStatement == null || keysPerStatement <= 1) {
+            return super.createPreparedBatchStatement(operationData, metaData, ignoreMapping, factory, connection);
+        }
+
+        Column[] primaryKeys = operationData.getColumns();
+        String[] columnNames = new String[primaryKeys.length];
+        for (int i = 0; i < primaryKeys.length; i++) {
+            // escape column name
+            columnNames[i] = getQualifiedName(null, primaryKeys[i].getColumnName(), connection);
+        }
+
+        StringBuilder sqlBuffer = new StringBuilder(128);
+        sqlBuffer.append("delete from ");
+        sqlBuffer.append(getQualifiedName(connection.getSchema(), metaData.getTableName(), connection));
+        sqlBuffer.append(" where ");
+
+        String rowSql;
+        String rowSeparator;
+        String sqlSuffix;
+        if (columnNames.length == 1) {
+            // where PK in (?, ?, ...)
+            sqlBuffer.append(columnNames[0]).append(" in (");
+            rowSql = "?";
+            rowSeparator = ", ";
+            sqlSuffix = ")";
+        } else if (config.getFeature(DatabaseConfig.FEATURE_ROW_VALUE_CONSTRUCTORS)) {
+            // where (PK1, PK2) in ((?, ?), (?, ?), ...)
+            sqlBuffer.append("(").append(String.join(", ", columnNames)).append(") in (");
+            StringBuilder rowBuffer = new StringBuilder("(");
+            for (int i = 0; i < columnNames.length; i++) {
+                rowBuffer.append(i > 0 ? ", ?" : "?");
+            }
+            rowSql = rowBuffer.append(")").toString();
+            rowSeparator = ", ";
+            sqlSuffix = ")";
+        } else {
+            // where (PK1 = ? and PK2 = ?) or (PK1 = ? and PK2 = ?) ...
+            StringBuilder rowBuffer = new StringBuilder("(");
+            for (int i = 0; i < columnNames.length; i++) {
+                if (i > 0) {
+                    rowBuffer.append(" and ");
+                }
+                rowBuffer.append(columnNames[i]).append(" = ?");
+            }
+            rowSql = rowBuffer.append(")").toString();
+            rowSeparator = " or ";
+            sqlSuffix = "";
+        }
+
+        log.debug("createPreparedBatchStatement: deleting up to {} keys per statement", keysPerStatement);
+        return new MultiRowStatement(sqlBuffer.toString(), rowSql, rowSeparator, sqlSuffix,
+                primaryKeys.length, keysPerStatement, connection.getConnection());
+    }
+}
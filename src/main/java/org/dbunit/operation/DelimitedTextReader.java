@@ -0,0 +1,198 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.operation;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.TypeCastException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+
+/**
+ * Reads the rows of a table encoded in the tab delimited text format understood by the
+ * bulk load commands of several databases, e.g. <code>COPY ... FROM STDIN</code> of
+ * PostgreSQL or <code>LOAD DATA</code> of MySQL. The rows are encoded on demand while the
+ * reader is consumed so that the table is never materialized as a whole.
+ * <p>
+ * Each row is terminated by a newline, the values are separated by tabs and
+ * <code>null</code> is written as <code>\N</code>. Backslashes, tabs, carriage returns
+ * and newlines within values are escaped with a backslash. A value missing from the
+ * table ({@link ITable#NO_VALUE}) cannot be written and fails the read.
+ * <p>
+ * Each value is cast once to the data type of its column. Subclasses can override
+ * {@link #formatValue(Object, Column)} to adjust the textual representation of the cast
+ * values to the target database.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DelimitedTextReader extends Reader {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final ITable table;
+    private final Column[] columns;
+    private final int[] columnIndexes;
+
+    private final StringBuilder buffer = new StringBuilder(256);
+    private int position;
+    private int row;
+    private boolean endOfTable;
+
+    /**
+     * @param table         The table to be read
+     * @param columns       The columns to be written in each row
+     * @param columnIndexes The index in the given table of each column in <code>columns</code>
+     */
+    public DelimitedTextReader(ITable table, Column[] columns, int[] columnIndexes) {
+        this.table = table;
+        this.columns = columns;
+        this.columnIndexes = columnIndexes;
+    }
+
+    /**
+     * @return The number of rows read so far
+     */
+    public int getRowCount() {
+        return row;
+    }
+
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == buffer.length() && !fill()) {
+            return -1;
+        }
+
+        int count = Math.min(len, buffer.length() - position);
+        buffer.getChars(position, position + count, cbuf, off);
+        position += count;
+        return count;
+    }
+
+    public void close() {
+        endOfTable = true;
+    }
+
+    /**
+     * Encodes the next row into the buffer.
+     *
+     * @return <code>false</code> if the end of the table was reached
+     */
+    private boolean fill() throws IOException {
+        if (endOfTable) {
+            return false;
+        }
+        buffer.setLength(0);
+        position = 0;
+
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                Object value = table.getValue(row, columnIndexes[i]);
+                if (value == ITable.NO_VALUE) {
+                    throw new DataSetException(AbstractBulkLoadOperation.getNoValueMessage(table, columns[i], row));
+                }
+                if (value != null) {
+                    value = columns[i].getDataType().typeCast(value);
+                }
+                String text = value == null ? null : formatValue(value, columns[i]);
+                if (text == null) {
+                    buffer.append("\\N");
+                } else {
+                    escape(text);
+                }
+            }
+        } catch (RowOutOfBoundsException e) {
+            // This exception occurs when records are exhausted
+            endOfTable = true;
+            buffer.setLength(0);
+            return false;
+        } catch (DataSetException e) {
+            throw new IOException("Exception reading row " + row + " of table '"
+                    + table.getTableMetaData().getTableName() + "'", e);
+        }
+        buffer.append('\n');
+        row++;
+        return true;
+    }
+
+    private void escape(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                default:
+                    buffer.append(c);
+            }
+        }
+    }
+
+    /**
+     * Returns the text of a value which is not <code>null</code>. The value has already been cast to the data type of the
+     * column and the returned text is escaped by the caller.
+     * <code>byte[]</code> values are written as hexadecimal digits.
+     *
+     * @param value  The value to be formatted, already cast to the data type of the column
+     * @param column The column of the value
+     * @return The unescaped text of the value or <code>null</code> to write a null value
+     */
+    protected String formatValue(Object value, Column column) throws TypeCastException {
+        if (value instanceof byte[]) {
+            return toHex((byte[]) value);
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return value.toString();
+    }
+
+    /**
+     * @return The lower case hexadecimal digits of the given bytes
+     */
+    protected static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+}
@@ -24,12 +24,17 @@ package org.dbunit.operation;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.statement.IPreparedBatchStatement;
+import org.dbunit.database.statement.IStatementFactory;
+import org.dbunit.database.statement.MultiRowInsertStatement;
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.ITableMetaData;
 
+import java.sql.SQLException;
 import java.util.BitSet;
 
 /**
@@ -49,6 +54,35 @@ public class InsertOperation extends AbstractBatchOperation {
     public OperationData getOperationData(ITableMetaData metaData, BitSet ignoreMapping, IDatabaseConnection connection) throws DataSetException {
         log.debug("getOperationData(metaData={}, ignoreMapping={}, connection={}) - start", metaData, ignoreMapping, connection);
 
+        Column[] columns = metaData.getColumns();
+        String sql = getInsertPrefix(metaData, ignoreMapping, connection) + getValuesRow(columns, ignoreMapping);
+        return new OperationData(sql, columns);
+    }
+
+    @Override
+    IPreparedBatchStatement createPreparedBatchStatement(OperationData operationData, ITableMetaData metaData, BitSet ignoreMapping,
+                                                         IStatementFactory factory, IDatabaseConnection connection) throws DataSetException, SQLException {
+        Integer rowsPerStatement = (Integer) connection.getConfig().getProperty(DatabaseConfig.PROPERTY_INSERT_ROWS_PER_STATEMENT);
+        if (rowsPerStatement == null || rowsPerStatement <= 1) {
+            return super.createPreparedBatchStatement(operationData, metaData, ignoreMapping, factory, connection);
+        }
+
+        Column[] columns = metaData.getColumns();
+        int parameterCount = 0;
+        for (int i = 0; i < columns.length; i++) {
+            if (!ignoreMapping.get(i)) {
+                parameterCount++;
+            }
+        }
+        log.debug("createPreparedBatchStatement: inserting up to {} rows per statement", rowsPerStatement);
+        return new MultiRowInsertStatement(getInsertPrefix(metaData, ignoreMapping, connection), getValuesRow(columns, ignoreMapping),
+                parameterCount, rowsPerStatement, connection.getConnection());
+    }
+
+    /**
+     * @return The insert statement up to and including the <code>values</code> keyword
+     */
+    private String getInsertPrefix(ITableMetaData metaData, BitSet ignoreMapping, IDatabaseConnection connection) throws DataSetException {
         Column[] columns = metaData.getColumns();
 
         // insert
@@ -68,9 +102,16 @@ public class InsertOperation extends AbstractBatchOperation {
                 columnSeparator = ", ";
             }
         }
+        sqlBuffer.append(") values ");
+        return sqlBuffer.toString();
+    }
 
-        // values
-        sqlBuffer.append(") values (");
+    /**
+     * @return The parameter placeholders of a single row, e.g. <code>(?, ?)</code>
+     */
+    private String getValuesRow(Column[] columns, BitSet ignoreMapping) {
+        StringBuilder sqlBuffer = new StringBuilder(columns.length * 3 + 2);
+        sqlBuffer.append("(");
         String valueSeparator = "";
         for (int i = 0; i < columns.length; i++) {
             if (!ignoreMapping.get(i)) {
@@ -80,8 +121,7 @@ public class InsertOperation extends AbstractBatchOperation {
             }
         }
         sqlBuffer.append(")");
-
-        return new OperationData(sqlBuffer.toString(), columns);
+        return sqlBuffer.toString();
     }
 
     protected BitSet getIgnoreMapping(ITable table, int row) throws DataSetException {
@@ -92,7 +132,7 @@ public class InsertOperation extends AbstractBatchOperation {
         BitSet ignoreMapping = new BitSet();
         for (int i = 0; i < columns.length; i++) {
             Column column = columns[i];
-            Object value = table.getValue(row, column.getColumnName());
+            Object value = table.getValue(row, i);
             if (value == ITable.NO_VALUE || (value == null && column.isNotNullable() && column.hasDefaultValue())) {
                 ignoreMapping.set(i);
             }
@@ -106,7 +146,7 @@ public class InsertOperation extends AbstractBatchOperation {
 
         for (int i = 0; i < columns.length; i++) {
             boolean bit = ignoreMapping.get(i);
-            Object value = table.getValue(row, columns[i].getColumnName());
+            Object value = table.getValue(row, i);
             if ((bit && value != ITable.NO_VALUE) || (!bit && value == ITable.NO_VALUE)) {
                 return false;
             }
@@ -0,0 +1,284 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.operation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.IDatabaseTester;
+import org.dbunit.database.CyclicTablesDependencyException;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.search.TablesDependencyHelper;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.OrderedTableNameMap;
+import org.dbunit.util.search.SearchException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Decorates an operation and executes it concurrently for the tables of the dataset.
+ * Each table is processed on its own connection obtained from the given
+ * {@link IDatabaseTester}, for example a {@link org.dbunit.DataSourceDatabaseTester}
+ * backed by a connection pool. The foreign key dependencies between the tables of the
+ * dataset are read from the database metadata so that a table is only processed once all
+ * the tables it depends on (its parents) have been processed. Independent tables are
+ * processed at the same time.
+ * <p>
+ * Operations removing data like {@link DatabaseOperation#DELETE_ALL} must process the
+ * children before their parents and therefore have to be created with
+ * <code>reverseOrder</code> set to <code>true</code>. Composite operations mixing both
+ * directions like {@link DatabaseOperation#CLEAN_INSERT} should be split into two
+ * parallel operations.
+ * <p>
+ * The connection source must hand out a new connection on each call. The configuration of
+ * the connection passed to {@link #execute(IDatabaseConnection, IDataSet)} is copied to
+ * the connections of the worker threads. Because each table is committed on its own
+ * connection this operation cannot be wrapped by a {@link TransactionOperation}.
+ *
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+@Slf4j
+public class ParallelOperation extends DatabaseOperation {
+
+    private final DatabaseOperation operation;
+    private final IDatabaseTester connectionSource;
+    private final int threadCount;
+    private final boolean reverseOrder;
+
+    /**
+     * Creates a parallel operation processing the parent tables before their children.
+     *
+     * @param operation        The operation executed for each table
+     * @param connectionSource Supplies a new connection for each table
+     * @param threadCount      The maximum number of tables processed at the same time
+     */
+    public ParallelOperation(DatabaseOperation operation, IDatabaseTester connectionSource, int threadCount) {
+        this(operation, connectionSource, threadCount, false);
+    }
+
+    /**
+     * @param operation        The operation executed for each table
+     * @param connectionSource Supplies a new connection for each table
+     * @param threadCount      The maximum number of tables processed at the same time
+     * @param reverseOrder     If <code>true</code> the child tables are processed before their parents
+     */
+    public ParallelOperation(DatabaseOperation operation, IDatabaseTester connectionSource, int threadCount, boolean reverseOrder) {
+        if (operation == null) {
+            throw new NullPointerException("The parameter 'operation' must not be null");
+        }
+        if (connectionSource == null) {
+            throw new NullPointerException("The parameter 'connectionSource' must not be null");
+        }
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("The parameter 'threadCount' must be greater than zero but was " + threadCount);
+        }
+        this.operation = operation;
+        this.connectionSource = connectionSource;
+        this.threadCount = threadCount;
+        this.reverseOrder = reverseOrder;
+    }
+
+    public void execute(IDatabaseConnection connection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
+        log.debug("execute(connection={}, dataSet={}) - start", connection, dataSet);
+
+        String[] tableNames = dataSet.getTableNames();
+        if (tableNames.length == 0) {
+            return;
+        }
+
+        // tables which must be processed before the key table and the reverse mapping
+        Map<String, Set<String>> prerequisites = new HashMap<>();
+        Map<String, List<String>> successors = new HashMap<>();
+        buildDependencies(connection, tableNames, prerequisites, successors);
+        checkCycles(tableNames, prerequisites, successors);
+
+        LinkedList<String> readyTables = new LinkedList<>();
+        for (String tableName : tableNames) {
+            if (prerequisites.get(tableName).isEmpty()) {
+                readyTables.add(tableName);
+            }
+        }
+
+        DatabaseConfig config = connection.getConfig();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, tableNames.length));
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+        boolean success = false;
+        try {
+            int completed = 0;
+            while (completed < tableNames.length) {
+                while (!readyTables.isEmpty()) {
+                    String tableName = readyTables.removeFirst();
+                    // Read the table on the calling thread since datasets are not thread safe
+                    ITable table = dataSet.getTable(tableName);
+                    log.debug("execute: submitting table '{}'", tableName);
+                    completionService.submit(() -> executeTable(config, tableName, table));
+                }
+
+                String finishedTable = take(completionService);
+                completed++;
+                for (String successor : successors.get(finishedTable)) {
+                    Set<String> remaining = prerequisites.get(successor);
+                    remaining.remove(finishedTable);
+                    if (remaining.isEmpty()) {
+                        readyTables.add(successor);
+                    }
+                }
+            }
+            success = true;
+        } finally {
+            if (success) {
+                executor.shutdown();
+            } else {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private String executeTable(DatabaseConfig config, String tableName, ITable table) throws Exception {
+        IDatabaseConnection workerConnection = connectionSource.getConnection();
+        try {
+            config.copyTo(workerConnection.getConfig());
+            operation.execute(workerConnection, new DefaultDataSet(table));
+        } finally {
+            workerConnection.close();
+        }
+        return tableName;
+    }
+
+    private static String take(CompletionService<String> completionService) throws DatabaseUnitException, SQLException {
+        try {
+            Future<String> future = completionService.take();
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseUnitException("Interrupted while waiting for the table operations", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DatabaseUnitException) {
+                throw (DatabaseUnitException) cause;
+            }
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new DatabaseUnitException("Exception executing the table operation", cause);
+        }
+    }
+
+    private void buildDependencies(IDatabaseConnection connection, String[] tableNames,
+                                   Map<String, Set<String>> prerequisites, Map<String, List<String>> successors) throws DataSetException {
+        boolean caseSensitive = (Boolean) connection.getConfig().getProperty(DatabaseConfig.FEATURE_CASE_SENSITIVE_TABLE_NAMES);
+        OrderedTableNameMap datasetTables = new OrderedTableNameMap(caseSensitive);
+        for (String tableName : tableNames) {
+            datasetTables.add(tableName, tableName);
+            prerequisites.put(tableName, new HashSet<>());
+            successors.put(tableName, new ArrayList<>());
+        }
+
+        try {
+            for (String tableName : tableNames) {
+                // the imported keys of the table lead to its parents
+                Set<?> parents = TablesDependencyHelper.getDirectDependentTables(connection, tableName);
+                for (Object parent : parents) {
+                    // Only the tables of the dataset take part in the scheduling
+                    String parentName = (String) datasetTables.get((String) parent);
+                    if (parentName == null || parentName.equals(tableName)) {
+                        continue;
+                    }
+                    String before = reverseOrder ? tableName : parentName;
+                    String after = reverseOrder ? parentName : tableName;
+                    if (prerequisites.get(after).add(before)) {
+                        successors.get(before).add(after);
+                    }
+                }
+            }
+        } catch (SearchException e) {
+            throw new DataSetException("Exception while searching the dependent tables.", e);
+        }
+    }
+
+    /**
+     * Runs the scheduling without executing anything to make sure that all tables can be
+     * processed before the database is modified.
+     */
+    private static void checkCycles(String[] tableNames, Map<String, Set<String>> prerequisites,
+                                    Map<String, List<String>> successors) throws CyclicTablesDependencyException {
+        Map<String, Integer> pendingCounts = new HashMap<>();
+        LinkedList<String> readyTables = new LinkedList<>();
+        for (String tableName : tableNames) {
+            int count = prerequisites.get(tableName).size();
+            pendingCounts.put(tableName, count);
+            if (count == 0) {
+                readyTables.add(tableName);
+            }
+        }
+
+        int processed = 0;
+        while (!readyTables.isEmpty()) {
+            String tableName = readyTables.removeFirst();
+            processed++;
+            for (String successor : successors.get(tableName)) {
+                int count = pendingCounts.get(successor) - 1;
+                pendingCounts.put(successor, count);
+                if (count == 0) {
+                    readyTables.add(successor);
+                }
+            }
+        }
+
+        if (processed < tableNames.length) {
+            Set<String> cyclicTables = new HashSet<>();
+            for (Map.Entry<String, Integer> entry : pendingCounts.entrySet()) {
+                if (entry.getValue() > 0) {
+                    cyclicTables.add(entry.getKey());
+                }
+            }
+            throw new CyclicTablesDependencyException("Cannot schedule the tables " + cyclicTables
+                    + " because of cyclic foreign key dependencies");
+        }
+    }
+
+    public String toString() {
+        return getClass().getName() + "[operation=" + operation + ", connectionSource=" + connectionSource
+                + ", threadCount=" + threadCount + ", reverseOrder=" + reverseOrder + "]";
+    }
+}
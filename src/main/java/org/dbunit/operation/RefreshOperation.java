@@ -24,10 +24,14 @@ package org.dbunit.operation;
 import lombok.extern.slf4j.Slf4j;
 
 import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.IDatabaseConnection;
 import org.dbunit.database.statement.IPreparedBatchStatement;
+import org.dbunit.database.statement.IStatementFactory;
+import org.dbunit.database.statement.IUpsertStatementBuilder;
 import org.dbunit.database.statement.SimplePreparedStatement;
 import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
@@ -40,13 +44,22 @@ import org.dbunit.dataset.datatype.DataType;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This operation literally refreshes dataset contents into the database. This
  * means that data of existing rows is updated and non-existing row get
  * inserted. Any rows which exist in the database but not in dataset stay
  * unaffected.
+ * <p>
+ * By default each row is checked and then updated or inserted with its own
+ * statements. If an {@link IUpsertStatementBuilder} is configured via
+ * {@link DatabaseConfig#PROPERTY_UPSERT_STATEMENT_BUILDER} the rows are refreshed
+ * with batched <code>MERGE</code> or upsert statements instead.
  *
  * @author Manuel Laflamme
  * @version $Revision$
@@ -78,6 +91,13 @@ public class RefreshOperation extends AbstractOperation {
             }
 
             ITableMetaData metaData = getOperationMetaData(connection, table.getTableMetaData());
+            IUpsertStatementBuilder upsertStatementBuilder = (IUpsertStatementBuilder) connection.getConfig()
+                    .getProperty(DatabaseConfig.PROPERTY_UPSERT_STATEMENT_BUILDER);
+            if (upsertStatementBuilder != null) {
+                executeUpsert(connection, table, metaData, upsertStatementBuilder);
+                continue;
+            }
+
             RowOperation updateRowOperation = createUpdateOperation(connection, metaData);
             RowOperation insertRowOperation = new InsertRowOperation(connection, metaData);
 
@@ -105,6 +125,100 @@ public class RefreshOperation extends AbstractOperation {
 
     }
 
+    /**
+     * Refreshes all rows of the table using batched upsert statements. A new statement
+     * is created whenever the columns without value ({@link ITable#NO_VALUE}) change,
+     * those columns are neither inserted nor updated.
+     */
+    private void executeUpsert(IDatabaseConnection connection, ITable table, ITableMetaData metaData,
+                               IUpsertStatementBuilder upsertStatementBuilder) throws DatabaseUnitException, SQLException {
+        log.debug("executeUpsert(connection={}, table={}, metaData={}) - start", connection, table, metaData);
+
+        String tableName = metaData.getTableName();
+        Column[] primaryKeys = metaData.getPrimaryKeys();
+        // cannot match rows if no primary key
+        if (primaryKeys.length == 0) {
+            throw new NoPrimaryKeyException(tableName);
+        }
+
+        IStatementFactory factory = (IStatementFactory) connection.getConfig().getProperty(DatabaseConfig.PROPERTY_STATEMENT_FACTORY);
+        Column[] columns = metaData.getColumns();
+        int[] columnIndexes = Columns.getColumnIndexes(columns, table.getTableMetaData());
+        Set<String> primaryKeyNames = new HashSet<>();
+        for (Column primaryKey : primaryKeys) {
+            primaryKeyNames.add(primaryKey.getColumnName());
+        }
+
+        BitSet ignoreMapping = null;
+        IPreparedBatchStatement statement = null;
+        try {
+            try {
+                for (int i = 0; ; i++) {
+                    BitSet rowIgnoreMapping = new BitSet();
+                    for (int j = 0; j < columns.length; j++) {
+                        if (table.getValue(i, columnIndexes[j]) == ITable.NO_VALUE
+                                && !primaryKeyNames.contains(columns[j].getColumnName())) {
+                            rowIgnoreMapping.set(j);
+                        }
+                    }
+
+                    // If current row have a different ignore value mapping than
+                    // previous one, we generate a new statement
+                    if (!rowIgnoreMapping.equals(ignoreMapping)) {
+                        if (statement != null) {
+                            statement.executeBatch();
+                            statement.clearBatch();
+                            statement.close();
+                        }
+                        ignoreMapping = rowIgnoreMapping;
+                        String sql = getUpsertSql(connection, metaData, ignoreMapping, upsertStatementBuilder);
+                        statement = factory.createPreparedBatchStatement(sql, connection);
+                    }
+
+                    for (int j = 0; j < columns.length; j++) {
+                        if (!ignoreMapping.get(j)) {
+                            statement.addValue(table.getValue(i, columnIndexes[j]), columns[j].getDataType());
+                        }
+                    }
+                    statement.addBatch();
+                }
+            } catch (RowOutOfBoundsException e) {
+                // This exception occurs when records are exhausted
+                // and we reach the end of the table.  Ignore this error.
+            }
+
+            if (statement != null) {
+                statement.executeBatch();
+                statement.clearBatch();
+            }
+        } catch (SQLException e) {
+            final String msg = "Exception processing table name='" + tableName + "'";
+            throw new DatabaseUnitException(msg, e);
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+    }
+
+    private String getUpsertSql(IDatabaseConnection connection, ITableMetaData metaData, BitSet ignoreMapping,
+                                IUpsertStatementBuilder upsertStatementBuilder) throws DataSetException {
+        Column[] columns = metaData.getColumns();
+        List<String> columnNames = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            if (!ignoreMapping.get(i)) {
+                columnNames.add(getQualifiedName(null, columns[i].getColumnName(), connection));
+            }
+        }
+        Column[] primaryKeys = metaData.getPrimaryKeys();
+        String[] primaryKeyNames = new String[primaryKeys.length];
+        for (int i = 0; i < primaryKeys.length; i++) {
+            primaryKeyNames[i] = getQualifiedName(null, primaryKeys[i].getColumnName(), connection);
+        }
+        String tableName = getQualifiedName(connection.getSchema(), metaData.getTableName(), connection);
+        return upsertStatementBuilder.buildUpsertSql(tableName, columnNames.toArray(new String[0]), primaryKeyNames);
+    }
+
     private RowOperation createUpdateOperation(IDatabaseConnection connection, ITableMetaData metaData) throws DataSetException, SQLException {
         log.debug("createUpdateOperation(connection={}, metaData={}) - start", connection, metaData);
 
@@ -125,6 +239,10 @@ public class RefreshOperation extends AbstractOperation {
         protected IPreparedBatchStatement statement;
         protected OperationData operationData;
         protected BitSet ignoreMapping;
+        /**
+         * Positions of the operation data columns in the processed table, resolved on first use
+         */
+        protected int[] columnIndexes;
 
         /**
          * Execute this operation on the sepcified table row.
@@ -135,10 +253,11 @@ public class RefreshOperation extends AbstractOperation {
             log.debug("execute(table={}, row={}) - start", table, row);
 
             Column[] columns = operationData.getColumns();
+            int[] indexes = getColumnIndexes(table);
             for (int i = 0; i < columns.length; i++) {
                 // Bind value only if not in ignore mapping
                 if (ignoreMapping == null || !ignoreMapping.get(i)) {
-                    Object value = table.getValue(row, columns[i].getColumnName());
+                    Object value = table.getValue(row, indexes[i]);
                     statement.addValue(value, columns[i].getDataType());
                 }
             }
@@ -149,6 +268,16 @@ public class RefreshOperation extends AbstractOperation {
             return result == 1;
         }
 
+        /**
+         * Returns the positions of the operation data columns within the specified table.
+         */
+        protected int[] getColumnIndexes(ITable table) throws DataSetException {
+            if (columnIndexes == null) {
+                columnIndexes = Columns.getColumnIndexes(operationData.getColumns(), table.getTableMetaData());
+            }
+            return columnIndexes;
+        }
+
         /**
          * Cleanup this operation state.
          */
@@ -187,6 +316,7 @@ public class RefreshOperation extends AbstractOperation {
 
                 ignoreMapping = insertOperation.getIgnoreMapping(table, row);
                 operationData = insertOperation.getOperationData(metaData, ignoreMapping, connection);
+                columnIndexes = null;
                 statement = new SimplePreparedStatement(operationData.getSql(), connection.getConnection());
             }
 
@@ -253,8 +383,9 @@ public class RefreshOperation extends AbstractOperation {
          */
         public boolean execute(ITable table, int row) throws DataSetException, SQLException {
             Column[] columns = operationData.getColumns();
+            int[] indexes = getColumnIndexes(table);
             for (int i = 0; i < columns.length; i++) {
-                Object value = table.getValue(row, columns[i].getColumnName());
+                Object value = table.getValue(row, indexes[i]);
                 DataType dataType = columns[i].getDataType();
                 dataType.setSqlValue(value, i + 1, countStatement);
             }
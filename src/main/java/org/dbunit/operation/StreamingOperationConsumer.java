@@ -0,0 +1,244 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.operation;
+
+import java.sql.SQLException;
+import java.util.BitSet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.statement.IPreparedBatchStatement;
+import org.dbunit.database.statement.IStatementFactory;
+import org.dbunit.dataset.AbstractTable;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+
+/**
+ * Consumer that writes the rows of a {@link IDataSetProducer} straight into the
+ * prepared batch statements of a database operation, as the rows arrive.
+ * <p>
+ * Unlike executing the operation on a {@link org.dbunit.dataset.CachedDataSet} or a
+ * {@link org.dbunit.dataset.stream.StreamingDataSet} no row is kept after it has been
+ * bound, so memory use does not depend on the size of the input. Statements are
+ * flushed according to {@link DatabaseConfig#PROPERTY_BATCH_SIZE} (or
+ * {@link DatabaseConfig#PROPERTY_INSERT_ROWS_PER_STATEMENT} for inserts).
+ * <p>
+ * Supported operations are {@link DatabaseOperation#INSERT},
+ * {@link DatabaseOperation#UPDATE} and {@link DatabaseOperation#CLEAN_INSERT}.
+ * With <code>CLEAN_INSERT</code> each table is emptied when the producer starts it,
+ * so the tables are not deleted in reverse dependency order as the non-streaming
+ * operation does. If foreign keys get in the way, run
+ * {@link DatabaseOperation#DELETE_ALL} on the table names first and stream with
+ * <code>INSERT</code>.
+ * <p>
+ * Producers that buffer the whole input, such as a
+ * {@link org.dbunit.dataset.xml.FlatXmlProducer} with column sensing enabled,
+ * still hold their data in memory.
+ * <pre>
+ * producer.setConsumer(new StreamingOperationConsumer(connection, DatabaseOperation.INSERT));
+ * producer.produce();
+ * </pre>
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+@Slf4j
+public class StreamingOperationConsumer implements IDataSetConsumer {
+
+    private final IDatabaseConnection connection;
+    private final AbstractBatchOperation operation;
+    private final boolean deleteTables;
+
+    private RowTable table;
+    private ITableMetaData operationMetaData;
+    private BitSet ignoreMapping;
+    private OperationData operationData;
+    private int[] columnIndexes;
+    private IPreparedBatchStatement statement;
+    private int rowCount;
+    private boolean allowEmptyFields;
+
+    /**
+     * @param connection database connection the rows are written to
+     * @param operation  one of {@link DatabaseOperation#INSERT}, {@link DatabaseOperation#UPDATE}
+     *                   or {@link DatabaseOperation#CLEAN_INSERT}
+     * @throws IllegalArgumentException if the operation cannot be streamed
+     */
+    public StreamingOperationConsumer(IDatabaseConnection connection, DatabaseOperation operation) {
+        this.connection = connection;
+        if (operation == DatabaseOperation.CLEAN_INSERT) {
+            this.operation = (AbstractBatchOperation) DatabaseOperation.INSERT;
+            this.deleteTables = true;
+        } else if (operation instanceof InsertOperation || operation instanceof UpdateOperation) {
+            this.operation = (AbstractBatchOperation) operation;
+            this.deleteTables = false;
+        } else {
+            throw new IllegalArgumentException("Operation cannot be streamed: " + operation);
+        }
+    }
+
+    public void startDataSet() throws DataSetException {
+    }
+
+    public void endDataSet() throws DataSetException {
+        if (table != null) {
+            endTable();
+        }
+    }
+
+    public void startTable(ITableMetaData metaData) throws DataSetException {
+        log.debug("startTable(metaData={}) - start", metaData);
+        if (table != null) {
+            endTable();
+        }
+
+        try {
+            if (deleteTables) {
+                DatabaseOperation.DELETE_ALL.execute(connection, new DefaultDataSet(new DefaultTable(metaData)));
+            }
+            operationMetaData = AbstractOperation.getOperationMetaData(connection, metaData);
+        } catch (DataSetException e) {
+            throw e;
+        } catch (DatabaseUnitException e) {
+            throw new DataSetException(e);
+        } catch (SQLException e) {
+            throw new DataSetException("Exception processing table name='" + metaData.getTableName() + "'", e);
+        }
+        table = new RowTable(metaData);
+        rowCount = 0;
+        allowEmptyFields = (Boolean) connection.getConfig().getProperty(DatabaseConfig.FEATURE_ALLOW_EMPTY_FIELDS);
+    }
+
+    public void endTable() throws DataSetException {
+        if (table == null) {
+            return;
+        }
+        String tableName = table.getTableMetaData().getTableName();
+        log.debug("endTable: {} rows written to table '{}'", rowCount, tableName);
+        try {
+            closeStatement(true);
+        } finally {
+            table = null;
+            operationMetaData = null;
+            ignoreMapping = null;
+            operationData = null;
+            columnIndexes = null;
+        }
+    }
+
+    public void row(Object[] values) throws DataSetException {
+        // Do not process tables without columns
+        if (table.getTableMetaData().getColumns().length == 0) {
+            return;
+        }
+        table.setRow(values);
+
+        try {
+            // If current row have a different ignore value mapping than
+            // previous one, we generate a new statement
+            if (ignoreMapping == null || !operation.equalsIgnoreMapping(ignoreMapping, table, 0)) {
+                closeStatement(true);
+
+                IStatementFactory factory = (IStatementFactory) connection.getConfig().getProperty(DatabaseConfig.PROPERTY_STATEMENT_FACTORY);
+                ignoreMapping = operation.getIgnoreMapping(table, 0);
+                operationData = operation.getOperationData(operationMetaData, ignoreMapping, connection);
+                columnIndexes = Columns.getColumnIndexes(operationData.getColumns(), table.getTableMetaData());
+                statement = operation.createPreparedBatchStatement(operationData, operationMetaData, ignoreMapping, factory, connection);
+            }
+
+            operation.addRow(statement, operationData, ignoreMapping, columnIndexes, table, 0, allowEmptyFields);
+            rowCount++;
+        } catch (SQLException e) {
+            closeStatement(false);
+            throw new DataSetException("Exception processing table name='" + table.getTableMetaData().getTableName() + "'", e);
+        } catch (DataSetException | RuntimeException e) {
+            closeStatement(false);
+            throw e;
+        }
+    }
+
+    private void closeStatement(boolean execute) throws DataSetException {
+        if (statement == null) {
+            return;
+        }
+        IPreparedBatchStatement current = statement;
+        statement = null;
+        try {
+            if (execute) {
+                current.executeBatch();
+                current.clearBatch();
+            }
+        } catch (SQLException e) {
+            throw new DataSetException("Exception processing table name='" + table.getTableMetaData().getTableName() + "'", e);
+        } finally {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.warn("closeStatement: unable to close statement", e);
+            }
+        }
+    }
+
+    /**
+     * Single row view on the values the producer just delivered, so that the
+     * operations can compute ignore mappings and bind values as for any table.
+     */
+    private static class RowTable extends AbstractTable {
+        private final ITableMetaData metaData;
+        private Object[] values;
+
+        RowTable(ITableMetaData metaData) {
+            this.metaData = metaData;
+        }
+
+        void setRow(Object[] values) {
+            this.values = values;
+        }
+
+        public ITableMetaData getTableMetaData() {
+            return metaData;
+        }
+
+        public int getRowCount() {
+            return 1;
+        }
+
+        public Object getValue(int row, String column) throws DataSetException {
+            return getValue(row, getColumnIndex(column));
+        }
+
+        public Object getValue(int row, int column) throws DataSetException {
+            if (row != 0) {
+                throw new RowOutOfBoundsException(row + " > 0");
+            }
+            return values[column];
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Locale;
 
 import org.dbunit.DatabaseUnitRuntimeException;
 import org.dbunit.database.IMetadataHandler;
+import org.dbunit.database.MetadataCache;
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.datatype.DataTypeException;
@@ -297,31 +298,30 @@ public class SQLHelper {
      */
     public static Column createColumn(ResultSet resultSet, IDataTypeFactory dataTypeFactory,
                                       boolean datatypeWarning) throws SQLException, DataTypeException {
-        String tableName = resultSet.getString(3);
-        String columnName = resultSet.getString(4);
-        int sqlType = resultSet.getInt(5);
-        //If Types.DISTINCT like SQL DOMAIN, then get Source Date Type of SQL-DOMAIN
-        if (sqlType == java.sql.Types.DISTINCT) {
-            sqlType = resultSet.getInt("SOURCE_DATA_TYPE");
-        }
+        return createColumn(MetadataCache.ColumnData.read(resultSet), dataTypeFactory, datatypeWarning);
+    }
 
-        String sqlTypeName = resultSet.getString(6);
-        //        int columnSize = resultSet.getInt(7);
-        int nullable = resultSet.getInt(11);
-        String remarks = resultSet.getString(12);
-        String columnDefaultValue = resultSet.getString(13);
-        // This is only available since Java 5 - so we can try it and if it does not work default it
-        String isAutoIncrement = Column.AutoIncrement.NO.getKey();
-        try {
-            isAutoIncrement = resultSet.getString(23);
-        } catch (Exception e) {
-            // Ignore this one here
-            final String msg =
-                    "Could not retrieve the 'isAutoIncrement' property"
-                            + " because not yet running on Java 1.5 -"
-                            + " defaulting to NO. Table={}, Column={}";
-            logger.debug(msg, tableName, columnName, e);
-        }
+    /**
+     * Utility method to create a {@link Column} object from the raw column metadata.
+     *
+     * @param columnData      The column metadata as read from {@link DatabaseMetaData#getColumns(String, String, String, String)}
+     * @param dataTypeFactory The factory used to look up the {@link DataType} for this column
+     * @param datatypeWarning Whether a warning should be printed if the column could not
+     *                        be created because of an unknown datatype.
+     * @return The {@link Column} or <code>null</code> if the column could not be initialized because of an
+     * unknown datatype.
+     * @since 2.8.6
+     */
+    public static Column createColumn(MetadataCache.ColumnData columnData, IDataTypeFactory dataTypeFactory,
+                                      boolean datatypeWarning) throws DataTypeException {
+        String tableName = columnData.getTableName();
+        String columnName = columnData.getColumnName();
+        int sqlType = columnData.getSqlType();
+        String sqlTypeName = columnData.getSqlTypeName();
+        int nullable = columnData.getNullable();
+        String remarks = columnData.getRemarks();
+        String columnDefaultValue = columnData.getDefaultValue();
+        String isAutoIncrement = columnData.getAutoIncrement();
 
         // Convert SQL type to DataType
         DataType dataType = dataTypeFactory.createDataType(sqlType, sqlTypeName, tableName, columnName);
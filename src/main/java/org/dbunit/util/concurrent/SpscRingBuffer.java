@@ -0,0 +1,207 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free bounded ring buffer for exactly one producer thread and exactly one
+ * consumer thread.
+ * <p>
+ * Unlike {@link BoundedBuffer} no monitor is acquired on the fast path: the producer
+ * only writes the tail index and the consumer only writes the head index. A thread
+ * that finds the buffer full (or empty) spins briefly and then parks until the
+ * other side moves its index.
+ * <p>
+ * The results are undefined if more than one thread puts or more than one thread
+ * takes concurrently.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class SpscRingBuffer implements BoundedChannel {
+
+    /**
+     * Number of busy checks before a waiting thread parks.
+     */
+    private static final int SPINS = 64;
+
+    private final Object[] array;
+
+    // index of the next slot to take; written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+    // index of the next slot to put; written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile Thread waitingProducer;
+    private volatile Thread waitingConsumer;
+
+    /**
+     * Create a ring buffer with the given capacity.
+     *
+     * @throws IllegalArgumentException if capacity less or equal to zero
+     */
+    public SpscRingBuffer(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive but was " + capacity);
+        }
+        array = new Object[capacity];
+    }
+
+    /**
+     * Create a ring buffer with the current default capacity
+     */
+    public SpscRingBuffer() {
+        this(DefaultChannelCapacity.get());
+    }
+
+    /**
+     * Return the number of elements in the buffer.
+     * This is only a snapshot value, that may change
+     * immediately after returning.
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return array.length;
+    }
+
+    public void put(Object item) throws InterruptedException {
+        offer(item, -1L, false);
+    }
+
+    public boolean offer(Object item, long msecs) throws InterruptedException {
+        return offer(item, msecs, true);
+    }
+
+    public Object take() throws InterruptedException {
+        return poll(-1L, false);
+    }
+
+    public Object poll(long msecs) throws InterruptedException {
+        return poll(msecs, true);
+    }
+
+    public Object peek() {
+        long h = head.get();
+        if (h == tail.get()) {
+            return null;
+        }
+        return array[index(h)];
+    }
+
+    private boolean offer(Object item, long msecs, boolean timed) throws InterruptedException {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        long t = tail.get();
+        if (t - head.get() == array.length) {
+            long deadline = timed ? System.nanoTime() + msecs * 1000000L : 0L;
+            int spins = SPINS;
+            while (t - head.get() == array.length) {
+                if (timed && (msecs <= 0 || deadline - System.nanoTime() <= 0)) {
+                    return false;
+                }
+                if (spins > 0) {
+                    spins--;
+                    continue;
+                }
+                waitingProducer = Thread.currentThread();
+                // re-check after publishing the waiter so that a concurrent take cannot be missed
+                if (t - head.get() == array.length) {
+                    park(timed, deadline);
+                }
+                waitingProducer = null;
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        array[index(t)] = item;
+        tail.set(t + 1);
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    private Object poll(long msecs, boolean timed) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        long h = head.get();
+        if (h == tail.get()) {
+            long deadline = timed ? System.nanoTime() + msecs * 1000000L : 0L;
+            int spins = SPINS;
+            while (h == tail.get()) {
+                if (timed && (msecs <= 0 || deadline - System.nanoTime() <= 0)) {
+                    return null;
+                }
+                if (spins > 0) {
+                    spins--;
+                    continue;
+                }
+                waitingConsumer = Thread.currentThread();
+                // re-check after publishing the waiter so that a concurrent put cannot be missed
+                if (h == tail.get()) {
+                    park(timed, deadline);
+                }
+                waitingConsumer = null;
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        int i = index(h);
+        Object item = array[i];
+        array[i] = null;
+        head.set(h + 1);
+        Thread producer = waitingProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+        return item;
+    }
+
+    private void park(boolean timed, long deadline) {
+        if (timed) {
+            LockSupport.parkNanos(this, deadline - System.nanoTime());
+        } else {
+            LockSupport.park(this);
+        }
+    }
+
+    private int index(long position) {
+        return (int) (position % array.length);
+    }
+}
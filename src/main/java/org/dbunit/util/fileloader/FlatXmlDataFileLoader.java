@@ -20,17 +20,38 @@
  */
 package org.dbunit.util.fileloader;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.Value;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.dataset.xml.FlatXmlDataSetIndex;
+import org.xml.sax.InputSource;
 
 /**
+ * Loads flat XML data files.
+ * <p>
+ * A dataset of a file holding several <code>&lt;dataset id="..."&gt;</code> elements
+ * is parsed on its own using a {@link FlatXmlDataSetIndex} of the file instead of
+ * parsing the whole file. The indexes of the most recently loaded files are kept
+ * by the loader. Optionally the datasets loaded from files are cached by file,
+ * modification time, dataset id and builder settings, see
+ * {@link #setMaxCachedDataSets(int)}; the replacements are applied on each load.
+ *
  * @author Jeff Jensen jeffjensen AT users.sourceforge.net
  * @author Last changed by: $Author$
  * @version $Revision$ $Date$
@@ -39,8 +60,42 @@ import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
 @NoArgsConstructor
 @Data
 public class FlatXmlDataFileLoader extends AbstractDataFileLoader {
+    /**
+     * Default maximum number of loaded datasets kept by a loader, the cache is
+     * disabled by default.
+     *
+     * @since 2.8.6
+     */
+    public static final int DEFAULT_MAX_CACHED_DATASETS = 0;
+
+    /**
+     * Maximum number of file indexes kept by a loader.
+     */
+    private static final int MAX_INDEXED_FILES = 100;
+
     private FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder();
 
+    private int maxCachedDataSets = DEFAULT_MAX_CACHED_DATASETS;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Map<DataSetKey, IDataSet> dataSetCache = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Map<File, FlatXmlDataSetIndex> indexes = new LinkedHashMap<File, FlatXmlDataSetIndex>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, FlatXmlDataSetIndex> eldest) {
+            return size() > MAX_INDEXED_FILES;
+        }
+    };
+
     /**
      * Create new instance with replacement objects.
      *
@@ -94,7 +149,105 @@ public class FlatXmlDataFileLoader extends AbstractDataFileLoader {
      * {@inheritDoc}
      */
     public IDataSet loadDataSet(URL url, String datasetId) throws DataSetException, IOException {
-        IDataSet ds = builder.build(url, datasetId);
+        File file = toFile(url);
+        if (file == null) {
+            return builder.build(url, datasetId);
+        }
+
+        DataSetKey key = new DataSetKey(file.getAbsolutePath(), file.lastModified(), file.length(), datasetId,
+                builder.isDtdMetadata(), builder.isColumnSensing(), builder.isCaseSensitiveTableNames(),
+                builder.isColumnar(), builder.isStax(), builder.getMetaDataSet());
+        IDataSet ds = dataSetCache.get(key);
+        if (ds != null) {
+            return ds;
+        }
+
+        if (datasetId != null) {
+            InputSource inputSource = getIndex(file).createInputSource(datasetId);
+            if (inputSource != null) {
+                ds = builder.build(inputSource, datasetId);
+            }
+        }
+        if (ds == null) {
+            ds = builder.build(url, datasetId);
+        }
+        if (maxCachedDataSets > 0) {
+            dataSetCache.put(key, ds);
+            evictDataSets();
+        }
         return ds;
     }
+
+    /**
+     * @return The index of the given file, built on first use and again whenever
+     * the file was modified since
+     */
+    private FlatXmlDataSetIndex getIndex(File file) throws IOException {
+        File key = file.getAbsoluteFile();
+        FlatXmlDataSetIndex index = indexes.get(key);
+        if (index == null || !index.isCurrent()) {
+            index = FlatXmlDataSetIndex.build(key);
+            indexes.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Sets the builder used to parse the files and clears the cached datasets.
+     *
+     * @param builder The {@link org.dbunit.dataset.xml.FlatXmlDataSetBuilder} to use.
+     */
+    public void setBuilder(FlatXmlDataSetBuilder builder) {
+        this.builder = builder;
+        dataSetCache.clear();
+    }
+
+    /**
+     * Sets the maximum number of loaded datasets kept by this loader, the least
+     * recently loaded ones are dropped first. The cached datasets are shared by
+     * all loads of the same dataset with the same builder settings and must not be
+     * modified. Defaults to {@value #DEFAULT_MAX_CACHED_DATASETS}, which disables the cache.
+     *
+     * @since 2.8.6
+     */
+    public void setMaxCachedDataSets(int maxCachedDataSets) {
+        if (maxCachedDataSets < 0) {
+            throw new IllegalArgumentException("maxCachedDataSets must not be negative: " + maxCachedDataSets);
+        }
+        this.maxCachedDataSets = maxCachedDataSets;
+        evictDataSets();
+    }
+
+    private void evictDataSets() {
+        Iterator<IDataSet> iterator = dataSetCache.values().iterator();
+        for (int size = dataSetCache.size(); size > maxCachedDataSets; size--) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static File toFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Value
+    private static class DataSetKey {
+        String path;
+        long lastModified;
+        long length;
+        String datasetId;
+        boolean dtdMetadata;
+        boolean columnSensing;
+        boolean caseSensitiveTableNames;
+        boolean columnar;
+        boolean stax;
+        IDataSet metaDataSet;
+    }
 }
\ No newline at end of file
@@ -39,6 +39,7 @@ public class AllTests extends TestSuite {
         suite.addTest(org.dbunit.ext.AllTests.suite());
         suite.addTest(org.dbunit.operation.AllTests.suite());
         suite.addTest(org.dbunit.util.AllTests.suite());
+        suite.addTest(org.dbunit.util.concurrent.AllTests.suite());
         suite.addTest(org.dbunit.util.search.AllTests.suite());
         suite.addTest(new TestSuite(DatabaseUnitExceptionTest.class));
         suite.addTest(new TestSuite(DatabaseProfileTest.class));
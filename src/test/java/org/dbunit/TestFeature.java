@@ -35,6 +35,8 @@ public class TestFeature {
     public static final TestFeature TRUNCATE_TABLE = new TestFeature("TRUNCATE_TABLE");
     public static final TestFeature SDO_GEOMETRY = new TestFeature("SDO_GEOMETRY");
     public static final TestFeature XML_TYPE = new TestFeature("XML_TYPE");
+    public static final TestFeature MULTI_ROW_INSERT = new TestFeature("MULTI_ROW_INSERT");
+    public static final TestFeature ROW_VALUE_CONSTRUCTORS = new TestFeature("ROW_VALUE_CONSTRUCTORS");
 
     private final String name;
 
@@ -35,6 +35,10 @@ public class AllTests extends TestSuite {
         suite.addTest(new TestSuite(DefaultFailureHandlerTest.class));
         suite.addTest(new TestSuite(DbUnitAssertIT.class));
         suite.addTest(new TestSuite(DiffCollectingFailureHandlerTest.class));
+        suite.addTest(new TestSuite(DbUnitAssertUnorderedTest.class));
+        suite.addTest(new TestSuite(DbUnitAssertParallelTest.class));
+        suite.addTest(new TestSuite(DbUnitAssertInDatabaseTest.class));
+        suite.addTest(new TestSuite(DbUnitAssertComparisonPlanTest.class));
         return suite;
     }
 
@@ -0,0 +1,184 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.assertion;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.assertion.comparer.value.ValueComparator;
+import org.dbunit.assertion.comparer.value.ValueComparers;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.AbstractDataType;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DbUnitAssertComparisonPlanTest extends TestCase {
+    private static final int ROW_COUNT = 100;
+
+    private final DbUnitAssert assertion = new DbUnitAssert();
+
+    private final CountingDataType dataType = new CountingDataType();
+
+    private static DefaultTable createTable(DataType dataType) {
+        Column[] columns = {new Column("ID", DataType.INTEGER), new Column("AMOUNT", dataType)};
+        return new DefaultTable(new DefaultTableMetaData("TEST_TABLE", columns));
+    }
+
+    private DefaultTable createExpectedTable() throws Exception {
+        DefaultTable table = createTable(DataType.UNKNOWN);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            table.addRow(new Object[]{String.valueOf(i), "7"});
+        }
+        return table;
+    }
+
+    private DefaultTable createActualTable(int changedRow) throws Exception {
+        DefaultTable table = createTable(dataType);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            table.addRow(new Object[]{i, i == changedRow ? 8 : 7});
+        }
+        return table;
+    }
+
+    public void testExpectedValueCastOnce() throws Exception {
+        assertion.assertEquals(createExpectedTable(), createActualTable(-1));
+
+        assertEquals(1, dataType.stringCasts);
+    }
+
+    public void testActualValueOfOtherClassCastOncePerCell() throws Exception {
+        DefaultTable actualTable = createTable(dataType);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            actualTable.addRow(new Object[]{i, 7L});
+        }
+
+        assertion.assertEquals(createExpectedTable(), actualTable);
+
+        // the expected value once, each actual value once
+        assertEquals(1 + ROW_COUNT, dataType.casts);
+    }
+
+    public void testDifferenceReportsValuesAsRead() throws Exception {
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        try {
+            assertion.assertEquals(createExpectedTable(), createActualTable(42), handler);
+        } catch (Error expected) {
+            // collected differences are reported at the end
+        }
+
+        List<Difference> diffs = handler.getDiffList();
+        assertEquals(1, diffs.size());
+        Difference diff = diffs.get(0);
+        assertEquals(42, diff.getRowIndex());
+        assertEquals("AMOUNT", diff.getColumnName());
+        assertEquals("7", diff.getExpectedValue());
+        assertEquals(8, diff.getActualValue());
+        assertEquals("", diff.getFailMessage());
+    }
+
+    public void testOtherValueComparerGetsValuesAsRead() throws Exception {
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        Error failure = null;
+        try {
+            assertion.assertWithValueComparer(createExpectedTable(), createActualTable(42), handler, ValueComparers.isActualGreaterThanExpected, null);
+        } catch (Error e) {
+            failure = e;
+        }
+
+        assertNotNull(failure);
+        // the ID column is not greater either, the changed amount is
+        assertEquals(2 * ROW_COUNT - 1, handler.getDiffList().size());
+        assertTrue(dataType.stringCasts >= ROW_COUNT);
+    }
+
+    public void testOverriddenCellComparisonCalled() throws Exception {
+        CellCountingAssert cellCountingAssert = new CellCountingAssert();
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        try {
+            cellCountingAssert.assertEquals(createExpectedTable(), createActualTable(42), handler);
+        } catch (Error expected) {
+            // collected differences are reported at the end
+        }
+
+        assertEquals(2 * ROW_COUNT, cellCountingAssert.cells);
+        assertEquals(1, handler.getDiffList().size());
+        assertEquals(42, handler.getDiffList().get(0).getRowIndex());
+    }
+
+    /**
+     * An assertion counting the cells compared through the per-cell hook.
+     */
+    private static class CellCountingAssert extends DbUnitAssert {
+        private int cells;
+
+        @Override
+        protected void compareData(ITable expectedTable, ITable actualTable, ComparisonColumn[] comparisonCols, FailureHandler failureHandler, ValueComparator defaultValueComparator, Map<String, ValueComparator> columnValueComparers, int rowNum, int columnNum) throws DatabaseUnitException {
+            cells++;
+            super.compareData(expectedTable, actualTable, comparisonCols, failureHandler, defaultValueComparator, columnValueComparers, rowNum, columnNum);
+        }
+    }
+
+    /**
+     * An integer data type counting its casts and the casts of {@link String} values.
+     */
+    private static class CountingDataType extends AbstractDataType {
+        private int casts;
+        private int stringCasts;
+
+        CountingDataType() {
+            super("INTEGER", Types.INTEGER, Integer.class, true);
+        }
+
+        @Override
+        public Object typeCast(Object value) throws TypeCastException {
+            casts++;
+            if (value instanceof String) {
+                stringCasts++;
+            }
+            return DataType.INTEGER.typeCast(value);
+        }
+
+        @Override
+        public Object getSqlValue(int column, ResultSet resultSet) throws SQLException, TypeCastException {
+            return DataType.INTEGER.getSqlValue(column, resultSet);
+        }
+
+        @Override
+        public void setSqlValue(Object value, int column, PreparedStatement statement) throws SQLException, TypeCastException {
+            DataType.INTEGER.setSqlValue(value, column, statement);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.assertion;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dbunit.H2Environment;
+import org.dbunit.HypersonicEnvironment;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.ext.hsqldb.HsqldbConnection;
+import org.dbunit.util.DdlExecutor;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DbUnitAssertInDatabaseTest extends TestCase {
+    private static final String TABLE_NAME = "PUSH_DOWN_TABLE";
+
+    private final DbUnitAssert assertion = new DbUnitAssert();
+    private Connection jdbcConnection;
+
+    protected void tearDown() throws Exception {
+        if (jdbcConnection != null) {
+            DdlExecutor.executeSql(jdbcConnection, "SHUTDOWN", false);
+            jdbcConnection.close();
+        }
+        super.tearDown();
+    }
+
+    private IDatabaseConnection createHsqldbConnection() throws Exception {
+        jdbcConnection = HypersonicEnvironment.createJdbcConnection("mem:pushdown");
+        createTable();
+        return new HsqldbConnection(jdbcConnection, null);
+    }
+
+    private IDatabaseConnection createH2Connection() throws Exception {
+        jdbcConnection = H2Environment.createJdbcConnection("pushdown");
+        createTable();
+        return new DatabaseConnection(jdbcConnection);
+    }
+
+    private void createTable() throws Exception {
+        DdlExecutor.executeSql(jdbcConnection, "CREATE TABLE " + TABLE_NAME
+                + " (ID INTEGER PRIMARY KEY, NAME VARCHAR(32), AMOUNT DECIMAL(10,2))", false);
+        DdlExecutor.executeSql(jdbcConnection, "INSERT INTO " + TABLE_NAME + " VALUES (1, 'one', 1.50)", false);
+        DdlExecutor.executeSql(jdbcConnection, "INSERT INTO " + TABLE_NAME + " VALUES (2, 'two', NULL)", false);
+        DdlExecutor.executeSql(jdbcConnection, "INSERT INTO " + TABLE_NAME + " VALUES (3, 'three', 3.00)", false);
+    }
+
+    private static DefaultTable createExpectedTable() throws Exception {
+        Column[] columns = {new Column("AMOUNT", DataType.UNKNOWN), new Column("ID", DataType.UNKNOWN), new Column("NAME", DataType.UNKNOWN)};
+        DefaultTable table = new DefaultTable(TABLE_NAME, columns);
+        table.addRow(new Object[]{"3.00", "3", "three"});
+        table.addRow(new Object[]{"1.50", "1", "one"});
+        table.addRow(new Object[]{null, "2", "two"});
+        return table;
+    }
+
+    public void testEqualsHsqldb() throws Exception {
+        assertion.assertEqualsInDatabase(createExpectedTable(), createHsqldbConnection(), TABLE_NAME, null);
+        assertScratchTableDropped();
+    }
+
+    public void testEqualsH2() throws Exception {
+        assertion.assertEqualsInDatabase(createExpectedTable(), createH2Connection(), TABLE_NAME, null);
+        assertScratchTableDropped();
+    }
+
+    public void testEqualsWithEscapePattern() throws Exception {
+        IDatabaseConnection connection = createH2Connection();
+        connection.getConfig().setProperty(DatabaseConfig.PROPERTY_ESCAPE_PATTERN, "\"?\"");
+        assertion.assertEqualsInDatabase(createExpectedTable(), connection, TABLE_NAME, null);
+        assertScratchTableDropped();
+    }
+
+    public void testDifferencesHsqldb() throws Exception {
+        assertDifferences(createHsqldbConnection());
+    }
+
+    public void testDifferencesH2() throws Exception {
+        assertDifferences(createH2Connection());
+    }
+
+    private void assertDifferences(IDatabaseConnection connection) throws Exception {
+        DefaultTable expected = createExpectedTable();
+        expected.setValue(0, "NAME", "drei");
+        expected.addRow(new Object[]{"4.00", "4", "four"});
+
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        Error failure = null;
+        try {
+            assertion.assertEqualsInDatabase(expected, connection, TABLE_NAME, handler);
+        } catch (Error e) {
+            failure = e;
+        }
+        assertNotNull("Should have failed", failure);
+        assertScratchTableDropped();
+
+        List<Difference> diffs = handler.getDiffList();
+        assertEquals(3, diffs.size());
+        int missing = 0;
+        for (Difference diff : diffs) {
+            assertEquals("AMOUNT,ID,NAME", diff.getColumnName());
+            if ("missing row".equals(diff.getFailMessage())) {
+                missing++;
+                assertNull(diff.getActualValue());
+            } else {
+                assertEquals("unexpected row", diff.getFailMessage());
+                assertEquals("[3.00, 3, three]", diff.getActualValue());
+            }
+        }
+        assertEquals(2, missing);
+    }
+
+    public void testDuplicateRowsCounted() throws Exception {
+        IDatabaseConnection connection = createH2Connection();
+        DefaultTable expected = createExpectedTable();
+        expected.addRow(new Object[]{"3.00", "3", "three"});
+
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        try {
+            assertion.assertEqualsInDatabase(expected, connection, TABLE_NAME, handler);
+        } catch (Error e) {
+            // collected differences are reported at the end
+        }
+
+        List<Difference> diffs = handler.getDiffList();
+        assertEquals(2, diffs.size());
+        assertEquals("missing row", diffs.get(0).getFailMessage());
+        assertEquals("[3.00, 3, three] x2", diffs.get(0).getExpectedValue());
+        assertEquals("unexpected row", diffs.get(1).getFailMessage());
+        assertEquals("[3.00, 3, three]", diffs.get(1).getActualValue());
+    }
+
+    public void testDecimalValuesCompared() throws Exception {
+        DefaultTable expected = createExpectedTable();
+        expected.setValue(1, "AMOUNT", new BigDecimal("1.51"));
+
+        Error failure = null;
+        try {
+            assertion.assertEqualsInDatabase(expected, createHsqldbConnection(), TABLE_NAME, null);
+        } catch (Error e) {
+            failure = e;
+        }
+        assertNotNull("Should have failed", failure);
+        assertTrue(failure.getMessage(), failure.getMessage().startsWith("missing row"));
+    }
+
+    public void testScratchTableNamesDistinct() throws Exception {
+        String name = DbUnitAssert.createScratchTableName();
+        assertTrue(name, name.startsWith(DbUnitAssert.DEFAULT_SCRATCH_TABLE_PREFIX));
+        assertTrue(name, name.length() <= 24);
+        assertEquals(name.toUpperCase(), name);
+        assertFalse(name.equals(DbUnitAssert.createScratchTableName()));
+    }
+
+    private void assertScratchTableDropped() throws Exception {
+        try (ResultSet tables = jdbcConnection.getMetaData().getTables(null, null, DbUnitAssert.DEFAULT_SCRATCH_TABLE_PREFIX + "%", null)) {
+            assertFalse("scratch table still exists", tables.next());
+        }
+    }
+}
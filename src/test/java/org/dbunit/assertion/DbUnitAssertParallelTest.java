@@ -0,0 +1,175 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.assertion;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import junit.framework.TestCase;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.datatype.DataType;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DbUnitAssertParallelTest extends TestCase {
+    private static final String[] TABLE_NAMES = {"TABLE_C", "TABLE_A", "TABLE_B"};
+    private static final int ROW_COUNT = 20;
+
+    private final DbUnitAssert assertion = new DbUnitAssert();
+    private ForkJoinPool pool;
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        pool = new ForkJoinPool(4);
+        assertion.setRowsPerTask(3);
+    }
+
+    protected void tearDown() throws Exception {
+        pool.shutdownNow();
+        super.tearDown();
+    }
+
+    private static DefaultTable createTable(String tableName, int rowCount) throws Exception {
+        Column[] columns = {new Column("ID", DataType.INTEGER), new Column("NAME", DataType.VARCHAR)};
+        DefaultTable table = new DefaultTable(tableName, columns);
+        for (int i = 0; i < rowCount; i++) {
+            table.addRow(new Object[]{i, tableName + i});
+        }
+        return table;
+    }
+
+    private static IDataSet createDataSet(DefaultTable... tables) throws Exception {
+        return new DefaultDataSet(tables);
+    }
+
+    private static IDataSet createDataSet() throws Exception {
+        DefaultDataSet dataSet = new DefaultDataSet();
+        for (String tableName : TABLE_NAMES) {
+            dataSet.addTable(createTable(tableName, ROW_COUNT));
+        }
+        return dataSet;
+    }
+
+    public void testEqualDataSets() throws Exception {
+        assertion.assertEquals(createDataSet(), createDataSet(), null, pool);
+    }
+
+    public void testDifferencesCollectedInOrder() throws Exception {
+        DefaultTable tableA = createTable("TABLE_A", ROW_COUNT);
+        DefaultTable tableB = createTable("TABLE_B", ROW_COUNT);
+        DefaultTable tableC = createTable("TABLE_C", ROW_COUNT);
+        tableC.setValue(1, "NAME", "wrong");
+        tableB.setValue(17, "NAME", "wrong");
+        tableA.setValue(19, "NAME", "wrong");
+        tableA.setValue(4, "NAME", "wrong");
+        tableA.setValue(4, "ID", 99);
+
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        Error failure = null;
+        try {
+            assertion.assertEquals(createDataSet(), createDataSet(tableA, tableB, tableC), handler, pool);
+        } catch (Error expected) {
+            failure = expected;
+        }
+        assertNotNull("Should have failed", failure);
+
+        List<Difference> diffs = handler.getDiffList();
+        assertEquals(5, diffs.size());
+        assertDifference(diffs.get(0), "TABLE_A", 4, "ID");
+        assertDifference(diffs.get(1), "TABLE_A", 4, "NAME");
+        assertDifference(diffs.get(2), "TABLE_A", 19, "NAME");
+        assertDifference(diffs.get(3), "TABLE_B", 17, "NAME");
+        assertDifference(diffs.get(4), "TABLE_C", 1, "NAME");
+    }
+
+    public void testDefaultHandlerFailsOnFirstDifference() throws Exception {
+        DefaultTable tableA = createTable("TABLE_A", ROW_COUNT);
+        DefaultTable tableB = createTable("TABLE_B", ROW_COUNT);
+        tableA.setValue(15, "NAME", "first");
+        tableB.setValue(0, "NAME", "second");
+
+        Error failure = null;
+        try {
+            assertion.assertEquals(createDataSet(), createDataSet(tableA, tableB, createTable("TABLE_C", ROW_COUNT)), null, pool);
+        } catch (Error expected) {
+            failure = expected;
+        }
+        assertNotNull("Should have failed", failure);
+        assertTrue(failure.getMessage(), failure.getMessage().contains("first"));
+    }
+
+    public void testRowCountFailureAfterEarlierDifferences() throws Exception {
+        DefaultTable tableA = createTable("TABLE_A", ROW_COUNT);
+        tableA.setValue(2, "NAME", "wrong");
+        DefaultTable tableB = createTable("TABLE_B", ROW_COUNT - 1);
+
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        Error failure = null;
+        try {
+            assertion.assertEquals(createDataSet(), createDataSet(tableA, tableB, createTable("TABLE_C", ROW_COUNT)), handler, pool);
+        } catch (Error expected) {
+            failure = expected;
+        }
+        assertNotNull("Should have failed", failure);
+        assertTrue(failure.getMessage(), failure.getMessage().startsWith("row count (table=TABLE_B)"));
+        assertEquals(1, handler.getDiffList().size());
+        assertDifference(handler.getDiffList().get(0), "TABLE_A", 2, "NAME");
+    }
+
+    public void testMaxDifferencesPerTable() throws Exception {
+        DefaultTable tableA = createTable("TABLE_A", ROW_COUNT);
+        DefaultTable tableB = createTable("TABLE_B", ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            tableA.setValue(i, "NAME", "wrong");
+            tableB.setValue(i, "NAME", "wrong");
+        }
+
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        handler.setMaxDifferencesPerTable(4);
+        Error failure = null;
+        try {
+            assertion.assertEquals(createDataSet(), createDataSet(tableA, tableB, createTable("TABLE_C", ROW_COUNT)), handler, pool);
+        } catch (Error expected) {
+            failure = expected;
+        }
+        assertNotNull("Should have failed", failure);
+
+        List<Difference> diffs = handler.getDiffList();
+        assertEquals(8, diffs.size());
+        for (int i = 0; i < 4; i++) {
+            assertDifference(diffs.get(i), "TABLE_A", i, "NAME");
+            assertDifference(diffs.get(i + 4), "TABLE_B", i, "NAME");
+        }
+    }
+
+    private static void assertDifference(Difference diff, String tableName, int row, String columnName) {
+        assertEquals("table", tableName, diff.getExpectedTable().getTableMetaData().getTableName());
+        assertEquals("row", row, diff.getRowIndex());
+        assertEquals("column", columnName, diff.getColumnName());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.assertion;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DbUnitAssertUnorderedTest extends TestCase {
+    private final DbUnitAssert assertion = new DbUnitAssert();
+
+    private static DefaultTable createTable(DataType dataType, boolean withPrimaryKey) {
+        Column[] columns = {new Column("ID", dataType), new Column("NAME", DataType.UNKNOWN)};
+        Column[] primaryKeys = withPrimaryKey ? new Column[]{columns[0]} : new Column[0];
+        return new DefaultTable(new DefaultTableMetaData("TEST_TABLE", columns, primaryKeys));
+    }
+
+    private static DefaultTable createExpectedTable(boolean withPrimaryKey) throws Exception {
+        DefaultTable table = createTable(DataType.UNKNOWN, withPrimaryKey);
+        table.addRow(new Object[]{"1", "one"});
+        table.addRow(new Object[]{"2", "two"});
+        table.addRow(new Object[]{"3", "three"});
+        return table;
+    }
+
+    public void testShuffledRowsEqual() throws Exception {
+        DefaultTable actual = createTable(DataType.INTEGER, true);
+        actual.addRow(new Object[]{3, "three"});
+        actual.addRow(new Object[]{1, "one"});
+        actual.addRow(new Object[]{2, "two"});
+
+        assertion.assertEqualsUnordered(createExpectedTable(false), actual);
+    }
+
+    public void testChangedRow() throws Exception {
+        DefaultTable actual = createTable(DataType.INTEGER, true);
+        actual.addRow(new Object[]{2, "two"});
+        actual.addRow(new Object[]{3, "drei"});
+        actual.addRow(new Object[]{1, "one"});
+
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        try {
+            assertion.assertEqualsUnordered(createExpectedTable(true), actual, handler);
+        } catch (Error expected) {
+            // collected differences are reported at the end
+        }
+
+        List<Difference> diffs = handler.getDiffList();
+        assertEquals(1, diffs.size());
+        Difference diff = diffs.get(0);
+        assertEquals(2, diff.getRowIndex());
+        assertEquals("NAME", diff.getColumnName());
+        assertEquals("three", diff.getExpectedValue());
+        assertEquals("drei", diff.getActualValue());
+    }
+
+    public void testMissingAndUnexpectedRows() throws Exception {
+        DefaultTable actual = createTable(DataType.INTEGER, true);
+        actual.addRow(new Object[]{4, "four"});
+        actual.addRow(new Object[]{1, "one"});
+        actual.addRow(new Object[]{3, "three"});
+        actual.addRow(new Object[]{5, "five"});
+
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        try {
+            assertion.assertEqualsUnordered(createExpectedTable(true), actual, handler);
+        } catch (Error expected) {
+            // collected differences are reported at the end
+        }
+
+        List<Difference> diffs = handler.getDiffList();
+        assertEquals(3, diffs.size());
+        assertEquals("missing row", diffs.get(0).getFailMessage());
+        assertEquals(1, diffs.get(0).getRowIndex());
+        assertEquals("ID", diffs.get(0).getColumnName());
+        assertEquals("[2]", diffs.get(0).getExpectedValue());
+        assertNull(diffs.get(0).getActualValue());
+        assertEquals("unexpected row", diffs.get(1).getFailMessage());
+        assertEquals(0, diffs.get(1).getRowIndex());
+        assertEquals("[4]", diffs.get(1).getActualValue());
+        assertNull(diffs.get(1).getExpectedValue());
+        assertEquals(3, diffs.get(2).getRowIndex());
+    }
+
+    public void testMissingRowFailsWithDefaultHandler() throws Exception {
+        DefaultTable actual = createTable(DataType.INTEGER, true);
+        actual.addRow(new Object[]{1, "one"});
+        actual.addRow(new Object[]{3, "three"});
+
+        Error failure = null;
+        try {
+            assertion.assertEqualsUnordered(createExpectedTable(true), actual);
+        } catch (Error expected) {
+            failure = expected;
+        }
+        assertNotNull("Should have failed", failure);
+        assertTrue(failure.getMessage(), failure.getMessage().startsWith("missing row"));
+    }
+
+    public void testWithoutPrimaryKeyDuplicateRowsMatchedOnce() throws Exception {
+        DefaultTable expected = createTable(DataType.UNKNOWN, false);
+        expected.addRow(new Object[]{"1", "one"});
+        expected.addRow(new Object[]{"1", "one"});
+        expected.addRow(new Object[]{"2", "two"});
+
+        DefaultTable actual = createTable(DataType.INTEGER, false);
+        actual.addRow(new Object[]{2, "two"});
+        actual.addRow(new Object[]{1, "one"});
+        actual.addRow(new Object[]{1, "one"});
+        assertion.assertEqualsUnordered(expected, actual);
+
+        actual.setValue(2, "NAME", "uno");
+        DiffCollectingFailureHandler handler = new DiffCollectingFailureHandler();
+        try {
+            assertion.assertEqualsUnordered(expected, actual, handler);
+        } catch (Error e) {
+            // collected differences are reported at the end
+        }
+
+        List<Difference> diffs = handler.getDiffList();
+        assertEquals(2, diffs.size());
+        assertEquals("ID,NAME", diffs.get(0).getColumnName());
+        assertEquals(1, diffs.get(0).getRowIndex());
+        assertEquals("[1, one]", diffs.get(0).getExpectedValue());
+        assertEquals(2, diffs.get(1).getRowIndex());
+        assertEquals("[1, uno]", diffs.get(1).getActualValue());
+    }
+
+    public void testDecimalKeysIgnoreScale() throws Exception {
+        DefaultTable expected = createTable(DataType.DECIMAL, true);
+        expected.addRow(new Object[]{new BigDecimal("1.0"), "one"});
+        expected.addRow(new Object[]{new BigDecimal("2.50"), "two"});
+
+        DefaultTable actual = createTable(DataType.DECIMAL, true);
+        actual.addRow(new Object[]{new BigDecimal("2.5"), "two"});
+        actual.addRow(new Object[]{new BigDecimal("1.000"), "one"});
+
+        assertion.assertEqualsUnordered(expected, actual);
+    }
+}
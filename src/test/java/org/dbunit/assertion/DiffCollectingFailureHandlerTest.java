@@ -24,7 +24,10 @@ import java.util.List;
 
 import junit.framework.TestCase;
 
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
 import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.xml.FlatXmlDataSet;
 import org.dbunit.testutil.TestUtils;
 
@@ -65,4 +68,77 @@ public class DiffCollectingFailureHandlerTest extends TestCase {
         assertEquals("wrong value", diff.getActualValue());
     }
 
+    private static DefaultTable createTable(String prefix) throws Exception {
+        Column[] columns = {new Column("ID", DataType.INTEGER), new Column("NAME", DataType.VARCHAR), new Column("TEXT", DataType.VARCHAR)};
+        DefaultTable table = new DefaultTable("TEST_TABLE", columns);
+        for (int i = 0; i < 10; i++) {
+            table.addRow(new Object[]{i, prefix + i, prefix + i});
+        }
+        return table;
+    }
+
+    private static Error assertFails(DbUnitAssert assertion, DefaultTable expected, DefaultTable actual, FailureHandler handler) throws Exception {
+        try {
+            assertion.assertEquals(expected, actual, handler);
+        } catch (Error e) {
+            return e;
+        }
+        fail("Should have failed");
+        return null;
+    }
+
+    public void testMaxDifferencesPerTable() throws Exception {
+        DiffCollectingFailureHandler myHandler = new DiffCollectingFailureHandler();
+        myHandler.setMaxDifferencesPerTable(3);
+
+        Error failure = assertFails(assertion, createTable("a"), createTable("b"), myHandler);
+
+        List<Difference> diffList = myHandler.getDiffList();
+        assertEquals(3, diffList.size());
+        assertEquals(0, diffList.get(0).getRowIndex());
+        assertEquals("NAME", diffList.get(0).getColumnName());
+        assertEquals(1, diffList.get(2).getRowIndex());
+        assertEquals("NAME", diffList.get(2).getColumnName());
+        // the second difference of row 1 is counted, the remaining rows are not compared
+        assertEquals(1, myHandler.getOmittedDifferenceCount());
+        assertTrue(failure.getMessage(), failure.getMessage().endsWith("at least 1 more differences were omitted\n"));
+    }
+
+    public void testMaxDifferencesFailsFast() throws Exception {
+        DiffCollectingFailureHandler myHandler = new DiffCollectingFailureHandler();
+        myHandler.setMaxDifferences(2);
+
+        Error failure = assertFails(assertion, createTable("a"), createTable("b"), myHandler);
+
+        assertEquals(2, myHandler.getDiffList().size());
+        assertTrue(failure.getMessage(), failure.getMessage().startsWith("2 different places"));
+    }
+
+    public void testCompactDifferences() throws Exception {
+        DiffCollectingFailureHandler fullHandler = new DiffCollectingFailureHandler();
+        Error expectedFailure = assertFails(assertion, createTable("a"), createTable("b"), fullHandler);
+
+        DiffCollectingFailureHandler myHandler = new DiffCollectingFailureHandler();
+        myHandler.setCompact(true);
+        Error failure = assertFails(assertion, createTable("a"), createTable("b"), myHandler);
+
+        assertEquals(expectedFailure.getMessage(), failure.getMessage());
+        assertEquals(20, myHandler.getDiffList().size());
+        CompactDifference diff = (CompactDifference) myHandler.getDiffList().get(1);
+        assertNull(diff.getExpectedTable());
+        assertNull(diff.getActualTable());
+        assertEquals("TEST_TABLE", diff.getTableName());
+        assertEquals("TEXT", diff.getColumnName());
+        assertEquals("a0", diff.getExpectedValue());
+        assertEquals("b0", diff.getActualValue());
+        assertEquals("value (table=TEST_TABLE, row=0, col=TEXT)", diff.getMessage());
+    }
+
+    public void testInvalidLimit() throws Exception {
+        try {
+            new DiffCollectingFailureHandler().setMaxDifferences(0);
+            fail("Should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
 }
@@ -36,9 +36,12 @@ public class AllTests extends TestSuite {
         suite.addTest(new TestSuite(DatabaseConfigTest.class));
         suite.addTest(new TestSuite(DatabaseConnectionIT.class));
         suite.addTest(new TestSuite(DatabaseDataSetIT.class));
+        suite.addTest(new TestSuite(DatabaseExportProducerIT.class));
         suite.addTest(new TestSuite(DatabaseSequenceFilterTest.class));
         suite.addTest(new TestSuite(DatabaseTableIteratorTest.class));
         suite.addTest(new TestSuite(DatabaseTableMetaDataIT.class));
+        suite.addTest(new TestSuite(MetadataCacheTest.class));
+        suite.addTest(new TestSuite(ParallelDatabaseExportProducerTest.class));
         suite.addTest(new TestSuite(ForwardOnlyResultSetTableIT.class));
         suite.addTest(new TestSuite(QueryDataSetIT.class));
         suite.addTest(new TestSuite(PrimaryKeyFilteredTableWrapperTest.class));
@@ -21,6 +21,14 @@
 
 package org.dbunit.database;
 
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
 import org.dbunit.DatabaseEnvironment;
 import org.dbunit.dataset.AbstractDataSetTest;
 import org.dbunit.dataset.Column;
@@ -209,6 +217,120 @@ public class DatabaseDataSetIT extends AbstractDataSetTest {
         }
     }
 
+    public void testGetTableMetaDataWithMetadataCache() throws Exception {
+        File file = File.createTempFile("databaseDataSetIT", ".txt");
+        file.delete();
+        try {
+            String tableName = convertString("PK_TABLE");
+            ITableMetaData expected = _connection.createDataSet().getTableMetaData(tableName);
+
+            for (int i = 0; i < 2; i++) {
+                // first pass fills the cache file, the second one reads it
+                IDatabaseConnection connection = new DatabaseConnection(
+                        _connection.getConnection(), _connection.getSchema());
+                MetadataCache metadataCache = new MetadataCache(file, "1");
+                connection.getConfig().setProperty(DatabaseConfig.PROPERTY_METADATA_CACHE, metadataCache);
+
+                IDataSet dataSet = connection.createDataSet();
+                assertEquals("table names", Arrays.asList(getExpectedNames()), Arrays.asList(dataSet.getTableNames()));
+                ITableMetaData metaData = dataSet.getTableMetaData(tableName);
+                assertEquals("columns", Arrays.asList(expected.getColumns()), Arrays.asList(metaData.getColumns()));
+                assertEquals("primary keys", Arrays.asList(expected.getPrimaryKeys()), Arrays.asList(metaData.getPrimaryKeys()));
+                assertEquals("data type", expected.getColumns()[0].getDataType(), metaData.getColumns()[0].getDataType());
+
+                metadataCache.flush();
+                assertTrue("cache file written", file.exists());
+                assertNotNull("columns cached", metadataCache.getColumns(
+                        connection.getConnection().getMetaData().getURL(), _connection.getSchema(), false, tableName));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    public void testPrefetchMetadata() throws Exception {
+        IDataSet expectedDataSet = new DatabaseDataSet(new DatabaseConnection(
+                _connection.getConnection(), _connection.getSchema()), false);
+
+        DatabaseDataSet dataSet = new DatabaseDataSet(new DatabaseConnection(
+                _connection.getConnection(), _connection.getSchema()), false);
+        dataSet.prefetchMetadata();
+
+        String[] tableNames = dataSet.getTableNames();
+        assertEquals("table names", Arrays.asList(expectedDataSet.getTableNames()), Arrays.asList(tableNames));
+        for (String tableName : tableNames) {
+            ITableMetaData expected = expectedDataSet.getTableMetaData(tableName);
+            ITableMetaData actual = dataSet.getTableMetaData(tableName);
+            assertEquals("columns of " + tableName,
+                    Arrays.asList(expected.getColumns()), Arrays.asList(actual.getColumns()));
+            assertEquals("primary keys of " + tableName,
+                    Arrays.asList(expected.getPrimaryKeys()), Arrays.asList(actual.getPrimaryKeys()));
+        }
+    }
+
+    public void testPrefetchMetadataSkipsRowsNotMatchedByMetadataHandler() throws Exception {
+        final String rejectedTable = convertString("PK_TABLE");
+        IMetadataHandler metadataHandler = new DefaultMetadataHandler() {
+            public boolean matches(ResultSet resultSet, String schema, String table, boolean caseSensitive)
+                    throws SQLException {
+                return !rejectedTable.equals(resultSet.getString(3))
+                        && super.matches(resultSet, schema, table, caseSensitive);
+            }
+        };
+
+        DatabaseConnection connection = new DatabaseConnection(_connection.getConnection(), _connection.getSchema());
+        connection.getConfig().setProperty(DatabaseConfig.PROPERTY_METADATA_HANDLER, metadataHandler);
+        DatabaseDataSet dataSet = new DatabaseDataSet(connection, false);
+        dataSet.prefetchMetadata();
+
+        // the per-table lookup does not find any columns either
+        assertEquals("columns of " + rejectedTable, 0, dataSet.getTableMetaData(rejectedTable).getColumns().length);
+        String otherTable = convertString("TEST_TABLE");
+        assertTrue("columns of " + otherTable, dataSet.getTableMetaData(otherTable).getColumns().length > 0);
+    }
+
+    public void testPrefetchMetadataLooksUpPrimaryKeysMissingFromSchemaWideLookup() throws Exception {
+        final String missingTable = convertString("PK_TABLE");
+        IMetadataHandler metadataHandler = new DefaultMetadataHandler() {
+            public ResultSet getAllPrimaryKeys(DatabaseMetaData databaseMetaData, String schemaName)
+                    throws SQLException {
+                return skipRowsOfTable(super.getAllPrimaryKeys(databaseMetaData, schemaName), missingTable);
+            }
+        };
+
+        DatabaseConnection connection = new DatabaseConnection(_connection.getConnection(), _connection.getSchema());
+        connection.getConfig().setProperty(DatabaseConfig.PROPERTY_METADATA_HANDLER, metadataHandler);
+        DatabaseDataSet dataSet = new DatabaseDataSet(connection, false);
+        dataSet.prefetchMetadata();
+
+        ITableMetaData expected = _connection.createDataSet().getTableMetaData(missingTable);
+        assertEquals("primary keys of " + missingTable, Arrays.asList(expected.getPrimaryKeys()),
+                Arrays.asList(dataSet.getTableMetaData(missingTable).getPrimaryKeys()));
+        assertEquals("primary key count", 3, expected.getPrimaryKeys().length);
+    }
+
+    /**
+     * @return A result set skipping the rows of the given table
+     */
+    private static ResultSet skipRowsOfTable(final ResultSet resultSet, final String tableName) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("next")) {
+                        while (resultSet.next()) {
+                            if (!tableName.equals(resultSet.getString(3))) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    }
+                    try {
+                        return method.invoke(resultSet, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
     public void testGetPrimaryKeysWithColumnFilters() throws Exception {
 
         // TODO (felipeal): I don't know if PK_TABLE is a standard JDBC name or if
@@ -0,0 +1,220 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.dbunit.AbstractDatabaseIT;
+import org.dbunit.Assertion;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.dataset.xml.FlatXmlWriter;
+import org.dbunit.ext.mysql.MySqlStreamingResultSetConfigurer;
+import org.dbunit.ext.postgresql.PostgresqlStreamingResultSetConfigurer;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class DatabaseExportProducerIT extends AbstractDatabaseIT {
+
+    public DatabaseExportProducerIT(String s) {
+        super(s);
+    }
+
+    public void testExportTables() throws Exception {
+        DatabaseExportProducer producer = new DatabaseExportProducer(connection);
+        producer.addTable("PK_TABLE");
+        producer.addTable("TEST_TABLE");
+        IDataSet exported = new CachedDataSet(producer);
+
+        IDataSet expected = connection.createDataSet();
+        assertEquals(Arrays.asList("PK_TABLE", "TEST_TABLE"), Arrays.asList(exported.getTableNames()));
+        Assertion.assertEquals(expected.getTable("PK_TABLE"), exported.getTable("PK_TABLE"));
+        Assertion.assertEquals(expected.getTable("TEST_TABLE"), exported.getTable("TEST_TABLE"));
+    }
+
+    public void testExportQuery() throws Exception {
+        String query = "select PK0, NORMAL0 from PK_TABLE where PK0 > 0";
+        DatabaseExportProducer producer = new DatabaseExportProducer(connection);
+        producer.addTable("RESULT", query);
+        IDataSet exported = new CachedDataSet(producer);
+
+        Assertion.assertEquals(connection.createQueryTable("RESULT", query), exported.getTable("RESULT"));
+    }
+
+    /**
+     * Exports a query through a connection that behaves like MySQL Connector/J with the
+     * {@link MySqlStreamingResultSetConfigurer}, rejecting any other use of the connection
+     * while a streamed result set is open.
+     */
+    public void testExportQueryWithStreamingConfigurer() throws Exception {
+        String query = "select PK0, NORMAL0 from PK_TABLE where PK0 > 0";
+        StreamingConnectionHandler handler = new StreamingConnectionHandler(connection.getConnection());
+        DatabaseConnection streamingConnection = new DatabaseConnection(handler.connection, connection.getSchema());
+        streamingConnection.getConfig().setProperty(DatabaseConfig.PROPERTY_STREAMING_RESULTSET_CONFIGURER,
+                new MySqlStreamingResultSetConfigurer());
+
+        DatabaseExportProducer producer = new DatabaseExportProducer(streamingConnection);
+        producer.addTable("RESULT", query);
+        IDataSet exported = new CachedDataSet(producer);
+
+        assertTrue("result set streamed", handler.streamed);
+        Assertion.assertEquals(connection.createQueryTable("RESULT", query), exported.getTable("RESULT"));
+    }
+
+    public void testExportAllTables() throws Exception {
+        IDataSet exported = new CachedDataSet(new DatabaseExportProducer(connection));
+
+        assertEquals(Arrays.asList(connection.createDataSet().getTableNames()), Arrays.asList(exported.getTableNames()));
+    }
+
+    public void testExportWithTransaction() throws Exception {
+        connection.getConfig().setProperty(DatabaseConfig.PROPERTY_STREAMING_RESULTSET_CONFIGURER,
+                new PostgresqlStreamingResultSetConfigurer());
+        assertTrue("auto-commit before", connection.getConnection().getAutoCommit());
+
+        DatabaseExportProducer producer = new DatabaseExportProducer(connection);
+        producer.addTable("PK_TABLE");
+        IDataSet exported = new CachedDataSet(producer);
+
+        assertTrue("auto-commit after", connection.getConnection().getAutoCommit());
+        Assertion.assertEquals(connection.createDataSet().getTable("PK_TABLE"), exported.getTable("PK_TABLE"));
+    }
+
+    public void testExportToFlatXml() throws Exception {
+        StringWriter out = new StringWriter();
+        DatabaseExportProducer producer = new DatabaseExportProducer(connection);
+        producer.addTable("PK_TABLE");
+        producer.setConsumer(new FlatXmlWriter(out, false, false, new String[0]));
+        producer.produce();
+
+        IDataSet written = new FlatXmlDataSetBuilder().build(new StringReader(out.toString()), null);
+        assertEquals(connection.createDataSet().getTable("PK_TABLE").getRowCount(), written.getTable("PK_TABLE").getRowCount());
+    }
+
+    /**
+     * Wraps a JDBC connection, streaming the results of statements with a fetch size of
+     * <code>Integer.MIN_VALUE</code> and failing on any other use of the connection until
+     * the streamed result set has been closed.
+     */
+    private static class StreamingConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final Connection connection;
+        private ResultSet openResultSet;
+        private boolean streamed;
+
+        StreamingConnectionHandler(Connection target) {
+            this.target = target;
+            this.connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class[]{Connection.class}, this);
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            assertNotStreaming();
+            Object result = delegate(target, method, args);
+            if (result instanceof DatabaseMetaData) {
+                return wrap(DatabaseMetaData.class, result, (metaData, m, a) -> {
+                    assertNotStreaming();
+                    return m.getName().equals("getConnection") ? connection : delegate(metaData, m, a);
+                });
+            }
+            if (result instanceof Statement) {
+                return wrapStatement((Statement) result);
+            }
+            return result;
+        }
+
+        private Object wrapStatement(Statement statement) {
+            boolean[] streaming = new boolean[1];
+            Statement[] statementProxy = new Statement[1];
+            statementProxy[0] = (Statement) wrap(Statement.class, statement, (target, m, a) -> {
+                switch (m.getName()) {
+                    case "setFetchSize":
+                        if ((Integer) a[0] == Integer.MIN_VALUE) {
+                            streaming[0] = true;
+                            return null;
+                        }
+                        break;
+                    case "getConnection":
+                        return connection;
+                    case "executeQuery":
+                        assertNotStreaming();
+                        ResultSet resultSet = (ResultSet) delegate(target, m, a);
+                        if (!streaming[0]) {
+                            return resultSet;
+                        }
+                        streamed = true;
+                        openResultSet = (ResultSet) wrap(ResultSet.class, resultSet, (rs, rm, ra) -> {
+                            if (rm.getName().equals("close")) {
+                                openResultSet = null;
+                            } else if (rm.getName().equals("getStatement")) {
+                                return statementProxy[0];
+                            }
+                            return delegate(rs, rm, ra);
+                        });
+                        return openResultSet;
+                    default:
+                        break;
+                }
+                return delegate(target, m, a);
+            });
+            return statementProxy[0];
+        }
+
+        private void assertNotStreaming() throws SQLException {
+            if (openResultSet != null) {
+                throw new SQLException("Streaming result set is still active."
+                        + " No statements may be issued when any streaming result sets are open");
+            }
+        }
+
+        private static Object wrap(Class<?> type, Object target, TargetHandler handler) {
+            return Proxy.newProxyInstance(StreamingConnectionHandler.class.getClassLoader(), new Class[]{type},
+                    (proxy, method, args) -> handler.invoke(target, method, args));
+        }
+
+        private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface TargetHandler {
+            Object invoke(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
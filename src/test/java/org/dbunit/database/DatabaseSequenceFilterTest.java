@@ -20,7 +20,11 @@
  */
 package org.dbunit.database;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.util.Arrays;
 
 import org.dbunit.H2Environment;
@@ -86,6 +90,48 @@ public class DatabaseSequenceFilterTest extends TestCase {
                 Arrays.asList(actualFiltered));
     }
 
+    /**
+     * The schema-wide lookup of the imported keys only returns the keys of table B,
+     * the keys of the other tables must be read per table.
+     */
+    public void testGetTableNamesWithPartialSchemaWideImportedKeys() throws Exception {
+        final String[] expectedFiltered =
+                {"D", "A", "F", "C", "G", "E", "H", "B",};
+
+        DdlExecutor.executeDdlFile(
+                TestUtils.getFile("sql/hypersonic_fk.sql"), _jdbcConnection, false);
+        final DatabaseMetaData metaData = _jdbcConnection.getMetaData();
+        final DatabaseMetaData partialMetaData = (DatabaseMetaData) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{DatabaseMetaData.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getImportedKeys") && args[2] == null) {
+                        return metaData.getImportedKeys(null, (String) args[1], "B");
+                    }
+                    return invoke(metaData, method, args);
+                });
+        final Connection partialConnection = (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> method.getName().equals("getMetaData")
+                        ? partialMetaData : invoke(_jdbcConnection, method, args));
+        final IDatabaseConnection connection =
+                new DatabaseConnection(partialConnection);
+
+        final ITableFilter filter = new DatabaseSequenceFilter(connection);
+        final IDataSet filteredDataSet =
+                new FilteredDataSet(filter, connection.createDataSet());
+        assertEquals("filtered", Arrays.asList(expectedFiltered),
+                Arrays.asList(filteredDataSet.getTableNames()));
+    }
+
+    private static Object invoke(final Object target, final Method method,
+            final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
     public void testGetTableNamesCyclic() throws Exception {
         final String[] expectedNoFilter = {"A", "B", "C", "D", "E",};
 
@@ -115,6 +161,25 @@ public class DatabaseSequenceFilterTest extends TestCase {
                 gotCyclicTablesDependencyException);
     }
 
+    public void testGetTableNamesCyclicGrouped() throws Exception {
+        // B is referenced by C, the other tables form a cycle
+        final String[] expectedFiltered = {"B", "A", "C", "D", "E",};
+
+        DdlExecutor.executeDdlFile(
+                TestUtils.getFile("sql/hypersonic_cyclic.sql"),
+                _jdbcConnection, false);
+        final IDatabaseConnection connection =
+                new DatabaseConnection(_jdbcConnection);
+
+        final IDataSet databaseDataset = connection.createDataSet();
+        final ITableFilter filter = new DatabaseSequenceFilter(connection,
+                databaseDataset.getTableNames(), true);
+        final IDataSet filteredDataSet =
+                new FilteredDataSet(filter, databaseDataset);
+        assertEquals("filtered", Arrays.asList(expectedFiltered),
+                Arrays.asList(filteredDataSet.getTableNames()));
+    }
+
     public void testCaseSensitiveTableNames() throws Exception {
         final String[] expectedNoFilter =
                 {"MixedCaseTable", "UPPER_CASE_TABLE"};
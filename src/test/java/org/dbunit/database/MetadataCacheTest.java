@@ -0,0 +1,179 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2008, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class MetadataCacheTest extends TestCase {
+    private static final String URL = "jdbc:test:db";
+
+    private File file;
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        file = File.createTempFile("metadataCacheTest", ".txt");
+        file.delete();
+    }
+
+    protected void tearDown() throws Exception {
+        file.delete();
+        super.tearDown();
+    }
+
+    public void testFlushAndReload() throws Exception {
+        MetadataCache cache = new MetadataCache(file, "v1");
+        fillCache(cache);
+        cache.flush();
+        assertTrue("file written", file.exists());
+
+        MetadataCache reloaded = new MetadataCache(file, "v1");
+        List<String[]> tables = reloaded.getTables(URL, "SCHEMA", false, new String[]{"TABLE"});
+        assertEquals(1, tables.size());
+        assertEquals("SCHEMA", tables.get(0)[0]);
+        assertEquals("T1", tables.get(0)[1]);
+        assertNull("other table types", reloaded.getTables(URL, "SCHEMA", false, new String[]{"VIEW"}));
+
+        MetadataCache.ColumnData[] columns = reloaded.getColumns(URL, "SCHEMA", false, "T1");
+        assertEquals(1, columns.length);
+        assertEquals("C1", columns[0].getColumnName());
+        assertEquals(Types.VARCHAR, columns[0].getSqlType());
+        assertEquals("VARCHAR", columns[0].getSqlTypeName());
+
+        String[] keys = reloaded.getPrimaryKeys(URL, "SCHEMA", false, "T1");
+        assertEquals(1, keys.length);
+        assertEquals("C1", keys[0]);
+        assertNull("other url", reloaded.getPrimaryKeys("jdbc:test:other", "SCHEMA", false, "T1"));
+    }
+
+    public void testFingerprintMismatch() throws Exception {
+        MetadataCache cache = new MetadataCache(file, "v1");
+        fillCache(cache);
+        cache.flush();
+
+        MetadataCache changed = new MetadataCache(file, "v2");
+        assertNull(changed.getColumns(URL, "SCHEMA", false, "T1"));
+        assertNull(changed.getTables(URL, "SCHEMA", false, new String[]{"TABLE"}));
+    }
+
+    public void testFlushWithoutChanges() throws Exception {
+        new MetadataCache(file, "v1").flush();
+        assertFalse("nothing to write", file.exists());
+    }
+
+    public void testInvalidate() throws Exception {
+        MetadataCache cache = new MetadataCache(file, null);
+        fillCache(cache);
+        cache.flush();
+
+        cache.invalidate();
+        assertFalse("file deleted", file.exists());
+        assertNull(cache.getColumns(URL, "SCHEMA", false, "T1"));
+    }
+
+    public void testInvalidateTable() throws Exception {
+        MetadataCache cache = new MetadataCache(file, null);
+        fillCache(cache);
+        cache.putPrimaryKeys(URL, "SCHEMA", false, "T2", new String[]{"C2"});
+
+        cache.invalidate("t1");
+        assertNull(cache.getColumns(URL, "SCHEMA", false, "T1"));
+        assertNull(cache.getPrimaryKeys(URL, "SCHEMA", false, "T1"));
+        assertNull(cache.getTables(URL, "SCHEMA", false, new String[]{"TABLE"}));
+        assertNotNull(cache.getPrimaryKeys(URL, "SCHEMA", false, "T2"));
+    }
+
+    public void testCaseSensitiveTableNamesInKey() throws Exception {
+        MetadataCache cache = new MetadataCache(file, "v1");
+        fillCache(cache);
+
+        assertNull(cache.getColumns(URL, "SCHEMA", true, "T1"));
+        assertNull(cache.getPrimaryKeys(URL, "SCHEMA", true, "T1"));
+        assertNull(cache.getTables(URL, "SCHEMA", true, new String[]{"TABLE"}));
+    }
+
+    public void testFlushAndReloadEscapedValues() throws Exception {
+        MetadataCache cache = new MetadataCache(file, "v1\tnext");
+        cache.putTables(URL, null, true, new String[]{"TABLE"},
+                Collections.singletonList(new String[]{null, "T\\1"}));
+        cache.putColumns(URL, null, true, "T\\1", new MetadataCache.ColumnData[]{
+                new MetadataCache.ColumnData("T\\1", "C\t1", Types.VARCHAR, "VARCHAR", 1, "line\r\nbreak", "\\N", "NO"),
+                new MetadataCache.ColumnData("T\\1", "C2", Types.INTEGER, "INTEGER", 0, null, null, "YES")});
+        cache.putPrimaryKeys(URL, null, true, "T\\1", new String[0]);
+        cache.flush();
+
+        MetadataCache reloaded = new MetadataCache(file, "v1\tnext");
+        List<String[]> tables = reloaded.getTables(URL, null, true, new String[]{"TABLE"});
+        assertEquals(1, tables.size());
+        assertNull(tables.get(0)[0]);
+        assertEquals("T\\1", tables.get(0)[1]);
+
+        MetadataCache.ColumnData[] columns = reloaded.getColumns(URL, null, true, "T\\1");
+        assertEquals(2, columns.length);
+        assertEquals("C\t1", columns[0].getColumnName());
+        assertEquals("line\r\nbreak", columns[0].getRemarks());
+        assertEquals("\\N", columns[0].getDefaultValue());
+        assertEquals(1, columns[0].getNullable());
+        assertNull(columns[1].getRemarks());
+        assertNull(columns[1].getDefaultValue());
+        assertEquals(Types.INTEGER, columns[1].getSqlType());
+        assertEquals("YES", columns[1].getAutoIncrement());
+
+        assertEquals(0, reloaded.getPrimaryKeys(URL, null, true, "T\\1").length);
+    }
+
+    public void testSerializedFileIgnored() throws Exception {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+            out.writeInt(1);
+            out.writeObject("v1");
+            out.writeObject(new HashMap<String, Object>());
+        }
+        MetadataCache cache = new MetadataCache(file, "v1");
+        assertNull(cache.getColumns(URL, "SCHEMA", false, "T1"));
+    }
+
+    public void testCorruptFileIgnored() throws Exception {
+        FileUtils.writeStringToFile(file, "garbage", "UTF-8");
+        MetadataCache cache = new MetadataCache(file, "v1");
+        assertNull(cache.getColumns(URL, "SCHEMA", false, "T1"));
+    }
+
+    private void fillCache(MetadataCache cache) {
+        cache.putTables(URL, "SCHEMA", false, new String[]{"TABLE"},
+                Collections.singletonList(new String[]{"SCHEMA", "T1"}));
+        cache.putColumns(URL, "SCHEMA", false, "T1", new MetadataCache.ColumnData[]{
+                new MetadataCache.ColumnData("T1", "C1", Types.VARCHAR, "VARCHAR", 0, null, null, "NO")});
+        cache.putPrimaryKeys(URL, "SCHEMA", false, "T1", new String[]{"C1"});
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.Arrays;
+
+import org.dbunit.Assertion;
+import org.dbunit.HypersonicEnvironment;
+import org.dbunit.IDatabaseTester;
+import org.dbunit.JdbcDatabaseTester;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.operation.DatabaseOperation;
+import org.dbunit.testutil.TestUtils;
+import org.dbunit.util.DdlExecutor;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class ParallelDatabaseExportProducerTest extends TestCase {
+    private static final String DATABASE_NAME = "mem:parallelexport";
+
+    private Connection jdbcConnection;
+    private IDatabaseConnection connection;
+    private IDatabaseTester connectionSource;
+
+    public ParallelDatabaseExportProducerTest(String s) {
+        super(s);
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        jdbcConnection = HypersonicEnvironment.createJdbcConnection(DATABASE_NAME);
+        connection = new DatabaseConnection(jdbcConnection);
+        connectionSource = new JdbcDatabaseTester("org.hsqldb.jdbcDriver", "jdbc:hsqldb:" + DATABASE_NAME, "sa", "");
+        DdlExecutor.executeDdlFile(TestUtils.getFile("sql/hypersonic_dataset.sql"), jdbcConnection, false);
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        HypersonicEnvironment.shutdown(jdbcConnection);
+        jdbcConnection.close();
+    }
+
+    public void testExportInRequestedOrder() throws Exception {
+        String[] tableNames = {"H", "B", "D", "A", "G", "C", "F", "E"};
+        ParallelDatabaseExportProducer producer = new ParallelDatabaseExportProducer(connection, connectionSource, 3);
+        for (int i = 0; i < tableNames.length; i++) {
+            producer.addTable(tableNames[i]);
+        }
+        IDataSet exported = new CachedDataSet(producer);
+
+        assertEquals(Arrays.asList(tableNames), Arrays.asList(exported.getTableNames()));
+        IDataSet expected = connection.createDataSet();
+        for (int i = 0; i < tableNames.length; i++) {
+            Assertion.assertEquals(expected.getTable(tableNames[i]), exported.getTable(tableNames[i]));
+        }
+    }
+
+    public void testExportAllTablesAndQuery() throws Exception {
+        ParallelDatabaseExportProducer producer = new ParallelDatabaseExportProducer(connection, connectionSource, 2);
+        IDataSet exported = new CachedDataSet(producer);
+        assertEquals(Arrays.asList(connection.createDataSet().getTableNames()), Arrays.asList(exported.getTableNames()));
+
+        String query = "select * from B where PKB = 'B1'";
+        producer = new ParallelDatabaseExportProducer(connection, connectionSource, 2);
+        producer.addTable("B1", query);
+        exported = new CachedDataSet(producer);
+        Assertion.assertEquals(connection.createQueryTable("B1", query), exported.getTable("B1"));
+    }
+
+    public void testSpoolFilesDeletedOnFailure() throws Exception {
+        File spoolDirectory = new File("target/parallelExport");
+        spoolDirectory.mkdirs();
+        File[] oldFiles = spoolDirectory.listFiles();
+        for (int i = 0; i < oldFiles.length; i++) {
+            oldFiles[i].delete();
+        }
+        ParallelDatabaseExportProducer producer = new ParallelDatabaseExportProducer(connection, connectionSource, 2);
+        producer.setSpoolDirectory(spoolDirectory);
+        producer.addTable("A");
+        producer.addTable("UNKNOWN_TABLE");
+        producer.addTable("B");
+        try {
+            new CachedDataSet(producer);
+            fail("Should not be able to export an unknown table");
+        } catch (DataSetException expected) {
+        }
+        // the workers may still be finishing the last table
+        for (int i = 0; i < 50 && spoolDirectory.list().length > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, spoolDirectory.list().length);
+    }
+
+    public void testInvalidThreadCount() throws Exception {
+        try {
+            new ParallelDatabaseExportProducer(connection, connectionSource, 0);
+            fail("Should not be able to create a producer without threads");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
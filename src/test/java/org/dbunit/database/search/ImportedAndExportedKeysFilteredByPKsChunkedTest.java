@@ -0,0 +1,37 @@
+package org.dbunit.database.search;
+
+import java.sql.SQLException;
+import java.util.Set;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.FilteredDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.util.CollectionsHelper;
+import org.dbunit.util.search.DepthFirstSearch;
+import org.dbunit.util.search.SearchException;
+
+/**
+ * Runs the imported/exported keys scenarios with a lookup chunk size that splits
+ * the key sets into full chunks plus a shorter remainder.
+ *
+ * @since 2.8.6
+ */
+public class ImportedAndExportedKeysFilteredByPKsChunkedTest extends ImportedAndExportedKeysFilteredByPKsTest {
+
+    private static final int KEYS_PER_STATEMENT = 3;
+
+    public ImportedAndExportedKeysFilteredByPKsChunkedTest(String testName) {
+        super(testName);
+    }
+
+    protected IDataSet getDataset() throws SQLException, SearchException, DataSetException {
+        IDatabaseConnection connection = getConnection();
+        ImportedAndExportedKeysSearchCallbackFilteredByPKs callback =
+                new ImportedAndExportedKeysSearchCallbackFilteredByPKs(connection, getInput(), KEYS_PER_STATEMENT);
+        Set tables = new DepthFirstSearch().search(getInput().getTableNames(), callback);
+        IDataSet dataSet = connection.createDataSet(CollectionsHelper.setToStrings(tables));
+        return new FilteredDataSet(callback.getFilter(), dataSet);
+    }
+
+}
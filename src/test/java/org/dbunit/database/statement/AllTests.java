@@ -32,6 +32,10 @@ public class AllTests extends TestSuite {
     public static Test suite() {
         TestSuite suite = new TestSuite();
         suite.addTest(new TestSuite(BatchStatementDecoratorTest.class));
+        suite.addTest(new TestSuite(MultiRowInsertStatementTest.class));
+        suite.addTest(new TestSuite(MultiRowStatementTest.class));
+        suite.addTest(new TestSuite(MergeStatementBuilderTest.class));
+        suite.addTest(new TestSuite(DefaultDifferenceStatementBuilderTest.class));
 
         return suite;
     }
@@ -0,0 +1,42 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database.statement;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class DefaultDifferenceStatementBuilderTest extends TestCase {
+    public void testBuildCreateScratchTableSql() throws Exception {
+        assertEquals("create table S as select * from T where 1=0",
+                new DefaultDifferenceStatementBuilder().buildCreateScratchTableSql("S", "T"));
+        assertEquals("create table S as (select * from T) with no data",
+                new WithNoDataDifferenceStatementBuilder().buildCreateScratchTableSql("S", "T"));
+    }
+
+    public void testBuildDifferenceSql() throws Exception {
+        String sql = new DefaultDifferenceStatementBuilder().buildDifferenceSql("S", "T", new String[]{"ID", "NAME"});
+        assertEquals("select ID, NAME, count(*) from S group by ID, NAME"
+                + " except select ID, NAME, count(*) from T group by ID, NAME", sql);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database.statement;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class MergeStatementBuilderTest extends TestCase {
+    public void testBuildUpsertSql() throws Exception {
+        String sql = new MergeStatementBuilder().buildUpsertSql("S.T", new String[]{"ID", "NAME", "AGE"}, new String[]{"ID"});
+        assertEquals("merge into S.T dbunit_target using (values (?, ?, ?)) as dbunit_source (ID, NAME, AGE)"
+                + " on (dbunit_target.ID = dbunit_source.ID)"
+                + " when matched then update set NAME = dbunit_source.NAME, AGE = dbunit_source.AGE"
+                + " when not matched then insert (ID, NAME, AGE)"
+                + " values (dbunit_source.ID, dbunit_source.NAME, dbunit_source.AGE)", sql);
+    }
+
+    public void testBuildUpsertSqlOnlyPrimaryKeys() throws Exception {
+        String sql = new MergeStatementBuilder().buildUpsertSql("T", new String[]{"A", "B"}, new String[]{"A", "B"});
+        assertEquals("merge into T dbunit_target using (values (?, ?)) as dbunit_source (A, B)"
+                + " on (dbunit_target.A = dbunit_source.A and dbunit_target.B = dbunit_source.B)"
+                + " when not matched then insert (A, B) values (dbunit_source.A, dbunit_source.B)", sql);
+    }
+}
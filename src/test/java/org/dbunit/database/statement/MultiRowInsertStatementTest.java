@@ -0,0 +1,95 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2008, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database.statement;
+
+import org.dbunit.H2Environment;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.operation.DatabaseOperation;
+import org.dbunit.util.DdlExecutor;
+
+import junit.framework.TestCase;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class MultiRowInsertStatementTest extends TestCase {
+    public void testGetSql() throws Exception {
+        MultiRowInsertStatement statement = new MultiRowInsertStatement("insert into T (A, B) values ", "(?, ?)", 2, 3, null);
+        assertEquals("insert into T (A, B) values (?, ?)", statement.getSql(1));
+        assertEquals("insert into T (A, B) values (?, ?), (?, ?), (?, ?)", statement.getSql(3));
+    }
+
+    public void testInvalidRowsPerStatement() throws Exception {
+        try {
+            new MultiRowInsertStatement("insert into T (A) values ", "(?)", 1, 0, null);
+            fail("Should not be able to create a statement without rows");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testTooManyValues() throws Exception {
+        MultiRowInsertStatement statement = new MultiRowInsertStatement("insert into T (A) values ", "(?)", 1, 2, null);
+        statement.addValue("a", DataType.VARCHAR);
+        try {
+            statement.addValue("b", DataType.VARCHAR);
+            fail("Should not be able to add more values than columns to a row");
+        } catch (SQLException expected) {
+        }
+    }
+
+    /**
+     * Runs the generated multi-row statements against an in-memory H2 database, which
+     * supports multi-row <code>VALUES</code> lists unlike the default hsqldb 1.8 profile.
+     */
+    public void testInsertIntoDatabase() throws Exception {
+        Connection jdbcConnection = H2Environment.createJdbcConnection("multiRowInsert");
+        try {
+            DdlExecutor.executeSql(jdbcConnection, "create table MULTI_ROW (ID integer primary key, NAME varchar(20))", false);
+            IDatabaseConnection connection = new DatabaseConnection(jdbcConnection);
+            connection.getConfig().setProperty(DatabaseConfig.PROPERTY_INSERT_ROWS_PER_STATEMENT, 2);
+
+            DefaultTable table = new DefaultTable("MULTI_ROW", new Column[] {
+                    new Column("ID", DataType.INTEGER), new Column("NAME", DataType.VARCHAR)});
+            for (int i = 0; i < 5; i++) {
+                table.addRow(new Object[] {Integer.valueOf(i), i == 3 ? null : "name" + i});
+            }
+            DatabaseOperation.INSERT.execute(connection, new DefaultDataSet(table));
+
+            ITable actual = connection.createQueryTable("MULTI_ROW", "select ID, NAME from MULTI_ROW order by ID");
+            assertEquals(5, actual.getRowCount());
+            assertEquals("name4", actual.getValue(4, "NAME"));
+            assertNull(actual.getValue(3, "NAME"));
+        } finally {
+            H2Environment.shutdown(jdbcConnection);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2008, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.database.statement;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class MultiRowStatementTest extends TestCase {
+    public void testGetSqlInList() throws Exception {
+        MultiRowStatement statement = new MultiRowStatement("delete from T where A in (", "?", ", ", ")", 1, 3, null);
+        assertEquals("delete from T where A in (?)", statement.getSql(1));
+        assertEquals("delete from T where A in (?, ?, ?)", statement.getSql(3));
+    }
+
+    public void testGetSqlRowValueInList() throws Exception {
+        MultiRowStatement statement = new MultiRowStatement("delete from T where (A, B) in (", "(?, ?)", ", ", ")", 2, 2, null);
+        assertEquals("delete from T where (A, B) in ((?, ?), (?, ?))", statement.getSql(2));
+    }
+
+    public void testGetSqlOrList() throws Exception {
+        MultiRowStatement statement = new MultiRowStatement("delete from T where ", "(A = ? and B = ?)", " or ", "", 2, 2, null);
+        assertEquals("delete from T where (A = ? and B = ?)", statement.getSql(1));
+        assertEquals("delete from T where (A = ? and B = ?) or (A = ? and B = ?)", statement.getSql(2));
+    }
+}
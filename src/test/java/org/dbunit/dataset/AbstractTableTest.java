@@ -103,6 +103,17 @@ public abstract class AbstractTableTest extends TestCase {
         }
     }
 
+    public void testGetValueByColumnIndex() throws Exception {
+        ITable table = createTable();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            for (int j = 0; j < COLUMN_COUNT; j++) {
+                String expected = "row " + i + " col " + j;
+                Object value = table.getValue(i, j);
+                assertEquals("value", expected, value);
+            }
+        }
+    }
+
     public abstract void testGetMissingValue() throws Exception;
 
     public void testGetValueRowBounds() throws Exception {
@@ -31,6 +31,7 @@ import junit.framework.TestSuite;
 public class AllTests extends TestSuite {
     public static Test suite() {
         TestSuite suite = new TestSuite();
+        suite.addTest(org.dbunit.dataset.binary.AllTests.suite());
         suite.addTest(org.dbunit.dataset.common.handlers.AllTests.suite());
         suite.addTest(org.dbunit.dataset.datatype.AllTests.suite());
         suite.addTest(org.dbunit.dataset.excel.AllTests.suite());
@@ -0,0 +1,170 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+
+package org.dbunit.dataset;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.dbunit.dataset.datatype.DataType;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class ColumnarTableTest extends AbstractTableTest {
+    public ColumnarTableTest(String s) {
+        super(s);
+    }
+
+    protected ITable createTable() throws Exception {
+        ColumnarTable table = new ColumnarTable(createTableMetaData(COLUMN_COUNT));
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Object[] rowValues = new Object[COLUMN_COUNT];
+            for (int j = 0; j < rowValues.length; j++) {
+                rowValues[j] = "row " + i + " col " + j;
+            }
+            table.addRow(rowValues);
+        }
+        return table;
+    }
+
+    protected ITableMetaData createTableMetaData(int columnCount) throws Exception {
+        Column[] columns = new Column[columnCount];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Column("COLUMN" + i, DataType.UNKNOWN);
+        }
+
+        return new DefaultTableMetaData("myTable", columns);
+    }
+
+    public void testGetMissingValue() throws Exception {
+        String columnName = "COLUMN0";
+        Object expected = ITable.NO_VALUE;
+
+        ColumnarTable table = new ColumnarTable(createTableMetaData(COLUMN_COUNT));
+        table.addRow(new Object[]{ITable.NO_VALUE, ITable.NO_VALUE, ITable.NO_VALUE,
+                ITable.NO_VALUE});
+        assertEquals("no value", expected, table.getValue(0, columnName));
+    }
+
+    public void testTypedColumns() throws Exception {
+        byte[] bytes = new byte[]{1, 2, 3};
+        Object[][] rows = new Object[][]{
+                {Integer.valueOf(1), Long.valueOf(10L), Double.valueOf(1.5), Boolean.TRUE,
+                        new BigDecimal("12.340"), "a", bytes},
+                {null, null, null, null, null, null, null},
+                {Integer.valueOf(-3), Long.valueOf(Long.MAX_VALUE), Double.valueOf(-0.25), Boolean.FALSE,
+                        new BigDecimal("-7"), "a", new byte[0]},
+                {ITable.NO_VALUE, ITable.NO_VALUE, ITable.NO_VALUE, ITable.NO_VALUE,
+                        ITable.NO_VALUE, ITable.NO_VALUE, ITable.NO_VALUE},
+        };
+        ColumnarTable table = new ColumnarTable(createTableMetaData(rows[0].length));
+        for (int i = 0; i < rows.length; i++) {
+            table.addRow(rows[i]);
+        }
+
+        assertEquals(rows.length, table.getRowCount());
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < rows[i].length; j++) {
+                Object expected = rows[i][j];
+                Object actual = table.getValue(i, j);
+                if (expected instanceof byte[]) {
+                    assertTrue("row " + i + " col " + j,
+                            Arrays.equals((byte[]) expected, (byte[]) actual));
+                } else {
+                    assertEquals("row " + i + " col " + j, expected, actual);
+                }
+            }
+        }
+    }
+
+    public void testMixedTypesFallBackToObjects() throws Exception {
+        BigDecimal huge = new BigDecimal(BigInteger.ONE.shiftLeft(80), 2);
+        Object[] values = new Object[]{Integer.valueOf(1), "2", null, Long.valueOf(3L), huge};
+        ColumnarTable table = new ColumnarTable(createTableMetaData(1));
+        for (int i = 0; i < values.length; i++) {
+            table.addRow(new Object[]{values[i]});
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("row " + i, values[i], table.getValue(i, "COLUMN0"));
+        }
+    }
+
+    public void testManyRows() throws Exception {
+        int rowCount = 10000;
+        ColumnarTable table = new ColumnarTable(createTableMetaData(2));
+        for (int i = 0; i < rowCount; i++) {
+            table.addRow(new Object[]{Integer.valueOf(i), "value" + (i % 7)});
+        }
+
+        assertEquals(rowCount, table.getRowCount());
+        for (int i = 0; i < rowCount; i++) {
+            assertEquals(Integer.valueOf(i), table.getValue(i, 0));
+            assertEquals("value" + (i % 7), table.getValue(i, 1));
+        }
+    }
+
+    public void testSetValue() throws Exception {
+        ColumnarTable table = new ColumnarTable(createTableMetaData(1));
+        table.addRow(new Object[]{Integer.valueOf(1)});
+        table.addRow();
+
+        assertEquals(Integer.valueOf(1), table.setValue(0, "COLUMN0", Integer.valueOf(2)));
+        assertNull(table.setValue(1, "COLUMN0", "text"));
+        assertEquals(Integer.valueOf(2), table.getValue(0, "COLUMN0"));
+        assertEquals("text", table.getValue(1, "COLUMN0"));
+    }
+
+    public void testOverwriteBinaryValues() throws Exception {
+        ColumnarTable table = new ColumnarTable(createTableMetaData(1));
+        table.addRow(new Object[]{new byte[]{1, 2, 3}});
+        table.addRow(new Object[]{new byte[]{4}});
+
+        table.setValue(0, "COLUMN0", new byte[]{5, 6});
+        table.setValue(1, "COLUMN0", new byte[]{7, 8, 9});
+        table.setValue(0, "COLUMN0", new byte[]{10, 11, 12});
+
+        assertTrue(Arrays.equals(new byte[]{10, 11, 12}, (byte[]) table.getValue(0, 0)));
+        assertTrue(Arrays.equals(new byte[]{7, 8, 9}, (byte[]) table.getValue(1, 0)));
+    }
+
+    public void testAddShortRow() throws Exception {
+        ColumnarTable table = new ColumnarTable(createTableMetaData(2));
+        try {
+            table.addRow(new Object[]{"only one"});
+            fail("Should not accept a row with fewer values than columns");
+        } catch (DataSetException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().indexOf("myTable") >= 0);
+        }
+    }
+
+    public void testAddTableRows() throws Exception {
+        ITable source = createTable();
+        ColumnarTable table = new ColumnarTable(source);
+        table.addTableRows(source);
+
+        assertEquals(ROW_COUNT * 2, table.getRowCount());
+        assertEquals("row 1 col 2", table.getValue(ROW_COUNT + 1, "COLUMN2"));
+    }
+}
@@ -87,6 +87,37 @@ public class ColumnsTest extends TestCase {
         }
     }
 
+    public void testGetColumnIndexes() throws Exception {
+        Column[] columns = new Column[]{
+                new Column("c0", DataType.UNKNOWN),
+                new Column("C1", DataType.UNKNOWN),
+                new Column("c2", DataType.UNKNOWN),
+        };
+        ITableMetaData metaData = new DefaultTableMetaData("TableABC", columns);
+        Column[] lookupColumns = new Column[]{
+                new Column("C2", DataType.UNKNOWN),
+                new Column("c0", DataType.UNKNOWN),
+                new Column("c1", DataType.UNKNOWN),
+        };
+        int[] indexes = Columns.getColumnIndexes(lookupColumns, metaData);
+        assertEquals(3, indexes.length);
+        assertEquals(2, indexes[0]);
+        assertEquals(0, indexes[1]);
+        assertEquals(1, indexes[2]);
+    }
+
+    public void testGetColumnIndexesColumnNotFound() throws Exception {
+        Column[] columns = new Column[]{
+                new Column("c0", DataType.UNKNOWN),
+        };
+        ITableMetaData metaData = new DefaultTableMetaData("TableABC", columns);
+        try {
+            Columns.getColumnIndexes(new Column[]{new Column("A1", DataType.UNKNOWN)}, metaData);
+            fail("Should not be able to resolve a column that does not exist");
+        } catch (NoSuchColumnException expected) {
+        }
+    }
+
     public void testGetColumnDiff_NoDifference() throws Exception {
         Column[] expectedColumns = new Column[]{
                 new Column("c0", DataType.UNKNOWN),
@@ -0,0 +1,152 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+import org.dbunit.dataset.AbstractDataSetTest;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.xml.FlatXmlDataSetTest;
+import org.dbunit.dataset.xml.FlatXmlProducer;
+import org.xml.sax.InputSource;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class BinaryDataSetTest extends AbstractDataSetTest {
+    public BinaryDataSetTest(String s) {
+        super(s);
+    }
+
+    protected IDataSet createDataSet() throws Exception {
+        return new BinaryDataSet(convert(FlatXmlDataSetTest.DATASET_FILE));
+    }
+
+    protected IDataSet createDuplicateDataSet() throws Exception {
+        return new BinaryDataSet(convert(FlatXmlDataSetTest.DUPLICATE_DATASET_FILE));
+    }
+
+    protected IDataSet createMultipleCaseDuplicateDataSet() throws Exception {
+        return new BinaryDataSet(convert(FlatXmlDataSetTest.DUPLICATE_DATASET_MULTIPLE_CASE_FILE));
+    }
+
+    public void testTypedValuesRoundTrip() throws Exception {
+        Object[] values = new Object[] {
+                null, "text é中", Integer.valueOf(42), Long.valueOf(Long.MAX_VALUE),
+                Short.valueOf((short) 7), Byte.valueOf((byte) -3), Double.valueOf(1.5), Float.valueOf(2.25f),
+                Boolean.TRUE, new BigDecimal("-12345.6789"), new BigInteger("123456789012345678901234567890"),
+                new byte[] {1, 2, 3}, Date.valueOf("2020-02-29"), Time.valueOf("13:14:15"),
+                Timestamp.valueOf("2021-03-04 05:06:07.123456789"), new java.util.Date(1234567890L),
+                ITable.NO_VALUE};
+        Column[] columns = new Column[values.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Column("C" + i, DataType.UNKNOWN);
+        }
+        DefaultTable table = new DefaultTable("TYPED", columns);
+        table.addRow(values);
+        table.addRow(new Object[values.length]);
+
+        File file = createTempFile();
+        try (OutputStream out = new FileOutputStream(file)) {
+            BinaryDataSet.write(new DefaultDataSet(table), out);
+        }
+        ITable actual = new BinaryDataSet(file).getTable("TYPED");
+
+        assertEquals("row count", 2, actual.getRowCount());
+        for (int i = 0; i < values.length; i++) {
+            Object value = actual.getValue(0, "C" + i);
+            if (values[i] instanceof byte[]) {
+                assertTrue("C" + i, Arrays.equals((byte[]) values[i], (byte[]) value));
+            } else {
+                assertEquals("C" + i, values[i], value);
+                assertEquals("C" + i, values[i] == null ? null : values[i].getClass(), value == null ? null : value.getClass());
+            }
+            assertNull("C" + i, actual.getValue(1, "C" + i));
+        }
+    }
+
+    public void testValueByColumnIndex() throws Exception {
+        ITable expected = createDataSet().getTable("TEST_TABLE");
+        ITable actual = new BinaryDataSet(convert(FlatXmlDataSetTest.DATASET_FILE)).getTable("TEST_TABLE");
+
+        Column[] columns = actual.getTableMetaData().getColumns();
+        for (int row = 0; row < actual.getRowCount(); row++) {
+            for (int column = 0; column < columns.length; column++) {
+                assertEquals(columns[column].getColumnName(), expected.getValue(row, columns[column].getColumnName()), actual.getValue(row, column));
+            }
+        }
+        try {
+            actual.getValue(actual.getRowCount(), 0);
+            fail("Should not be able to read a row after the last one");
+        } catch (RowOutOfBoundsException expectedException) {
+        }
+    }
+
+    public void testPrimaryKeysRoundTrip() throws Exception {
+        ITable expected = createDataSet().getTable("TEST_TABLE");
+        ITable actual = new BinaryDataSet(convert(FlatXmlDataSetTest.DATASET_FILE)).getTable("TEST_TABLE");
+
+        assertEquals("primary keys", Arrays.asList(expected.getTableMetaData().getPrimaryKeys()),
+                Arrays.asList(actual.getTableMetaData().getPrimaryKeys()));
+    }
+
+    public void testNotBinaryDataSetFile() throws Exception {
+        try {
+            new BinaryDataSet(FlatXmlDataSetTest.DATASET_FILE);
+            fail("Should not be able to read a flat XML file");
+        } catch (DataSetException expected) {
+        }
+    }
+
+    private static File convert(File flatXmlFile) throws Exception {
+        File file = createTempFile();
+        try (OutputStream out = new FileOutputStream(file)) {
+            FlatXmlProducer producer = new FlatXmlProducer(new InputSource(flatXmlFile.toURI().toString()), null);
+            producer.setConsumer(new BinaryDataSetWriter(out));
+            producer.produce();
+        }
+        return file;
+    }
+
+    private static File createTempFile() throws IOException {
+        File file = File.createTempFile("binaryDataSetTest", ".dbub");
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -37,6 +37,7 @@ public class AllTests extends TestSuite {
     public static Test suite() {
         TestSuite suite = new TestSuite();
         suite.addTest(new TestSuite(CsvParserTest.class));
+        suite.addTest(new TestSuite(CsvTokenizerTest.class));
         suite.addTest(new TestSuite(CsvProducerTest.class));
         suite.addTest(new TestSuite(CsvDataSetWriterTest.class));
         suite.addTest(new TestSuite(CsvDataSetTest.class));
@@ -0,0 +1,126 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.csv;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dbunit.dataset.common.handlers.IllegalInputCharacterException;
+import org.dbunit.testutil.TestUtils;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class CsvTokenizerTest extends TestCase {
+
+    public void testSameFieldsAsPipelineParser() throws Exception {
+        BufferedReader reader = new BufferedReader(new FileReader(TestUtils.getFile("csv/sample.csv")));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#") || line.trim().length() == 0)
+                    continue;
+                assertEquals(line, new CsvParserImpl().parse(line), Arrays.asList(tokenize(line)[0]));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    public void testRecordsEndAtLineBreaks() throws Exception {
+        Object[][] records = tokenize("a,b\r\nc,d\re,f\n g , h");
+        assertEquals(4, records.length);
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(records[0]));
+        assertEquals(Arrays.asList("c", "d"), Arrays.asList(records[1]));
+        assertEquals(Arrays.asList("e", "f"), Arrays.asList(records[2]));
+        assertEquals(Arrays.asList("g ", "h"), Arrays.asList(records[3]));
+    }
+
+    public void testEmptyFields() throws Exception {
+        Object[][] records = tokenize(",\n\n");
+        assertEquals(2, records.length);
+        assertEquals(Arrays.asList("", ""), Arrays.asList(records[0]));
+        assertEquals(Arrays.asList(""), Arrays.asList(records[1]));
+    }
+
+    public void testQuotedFieldsKeepLineBreaks() throws Exception {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("\"AA\r\nAAA\",\"B,\\\"B\"\nx,y"));
+        assertEquals(Arrays.asList("AA\nAAA", "B,\"B"), Arrays.asList(tokenizer.nextRecord()));
+        assertEquals(2, tokenizer.getLineNumber());
+        assertEquals(Arrays.asList("x", "y"), Arrays.asList(tokenizer.nextRecord()));
+        assertEquals(3, tokenizer.getLineNumber());
+        assertNull(tokenizer.nextRecord());
+    }
+
+    public void testFieldsLongerThanTheBuffers() throws Exception {
+        char[] chars = new char[20000];
+        Arrays.fill(chars, 'x');
+        String value = new String(chars);
+        Object[][] records = tokenize(value + ",\"" + value + "\"");
+        assertEquals(Arrays.asList(value, value), Arrays.asList(records[0]));
+    }
+
+    public void testUnterminatedQuote() throws Exception {
+        try {
+            tokenize("a,\"b\nc");
+            fail("Should not accept an unterminated quote");
+        } catch (CsvParserException expected) {
+        }
+    }
+
+    public void testIllegalEscape() throws Exception {
+        try {
+            tokenize("a\\b");
+            fail("Should not accept an escaped 'b'");
+        } catch (IllegalInputCharacterException expected) {
+        }
+    }
+
+    public void testUnexpectedNumberOfColumns() throws Exception {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,b\nc"));
+        tokenizer.nextRecord(2);
+        try {
+            tokenizer.nextRecord(2);
+            fail("Should not accept a record with one column");
+        } catch (CsvParserException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().startsWith("Expected 2 columns on line 2, got 1"));
+        }
+    }
+
+    private static Object[][] tokenize(String csv) throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv));
+        List records = new ArrayList();
+        Object[] record;
+        while ((record = tokenizer.nextRecord()) != null) {
+            records.add(record);
+        }
+        return (Object[][]) records.toArray(new Object[records.size()][]);
+    }
+}
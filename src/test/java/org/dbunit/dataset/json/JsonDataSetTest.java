@@ -0,0 +1,111 @@
+package org.dbunit.dataset.json;
+
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+import org.dbunit.Assertion;
+import org.dbunit.dataset.AbstractDataSetTest;
+import org.dbunit.dataset.DataSetUtils;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.testutil.TestUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class JsonDataSetTest extends AbstractDataSetTest
+{
+    public JsonDataSetTest(String s)
+    {
+        super(s);
+    }
+
+    @Override
+    protected IDataSet createDataSet() throws Exception
+    {
+        return new JsonDataSet(TestUtils.getFile("json/dataSetTest.json"));
+    }
+
+    @Override
+    protected IDataSet createDuplicateDataSet() throws Exception
+    {
+        return new JsonDataSet(TestUtils.getFile("json/jsonDataSetDuplicateTest.json"));
+    }
+
+    protected IDataSet createMultipleCaseDuplicateDataSet() throws Exception
+    {
+        throw new UnsupportedOperationException("Json is always case-sensitive");
+    }
+
+    @Override
+    public void testCreateMultipleCaseDuplicateDataSet() throws Exception
+    {
+        // Not applicable, Json is always case-sensitive
+    }
+
+    @Override
+    public void testGetCaseInsensitiveTable() throws Exception
+    {
+        // Not applicable, Json is always case-sensitive
+    }
+
+    @Override
+    public void testGetCaseInsensitiveTableMetaData() throws Exception
+    {
+        // Not applicable, Json is always case-sensitive
+    }
+
+    public void testWrite() throws Exception
+    {
+        IDataSet expectedDataSet = createDataSet();
+        File tempFile = File.createTempFile("dataSetTest", ".json");
+        try
+        {
+            OutputStream out = new FileOutputStream(tempFile);
+            try
+            {
+                JsonDataSet.write(expectedDataSet, out, false, new String[] {});
+            } finally
+            {
+                out.close();
+            }
+
+            IDataSet actualDataSet = new JsonDataSet(tempFile);
+            ITable[] expected = DataSetUtils.getTables(expectedDataSet);
+            ITable[] actual = DataSetUtils.getTables(actualDataSet);
+            assertEquals("table count", expected.length, actual.length);
+            for (int i = 0; i < expected.length; i++)
+            {
+                assertEquals("table name", expected[i].getTableMetaData().getTableName(),
+                        actual[i].getTableMetaData().getTableName());
+                Assertion.assertEquals(expected[i], actual[i]);
+            }
+        } finally
+        {
+            tempFile.delete();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.dbunit.dataset.json;
+
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+import junit.framework.TestCase;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.MockDataSetConsumer;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class JsonProducerTest extends TestCase
+{
+    private static final String JSON =
+        "{\"T\": [{\"A\": \"a0\", \"B\": 1}, {\"B\": 2.5, \"C\": [true, null], \"D\": {\"x\": \"y\"}}],"
+            + " \"EMPTY\": [], \"NONE\": null}";
+
+    public void testColumnSensing() throws Exception
+    {
+        ITable table = new CachedDataSet(new JsonProducer(new StringReader(JSON), true), true).getTable("T");
+
+        assertEquals("columns", Arrays.asList("A", "B", "C", "D"),
+            Arrays.asList(Columns.getColumnNames(table.getTableMetaData().getColumns())));
+        assertEquals("row count", 2, table.getRowCount());
+        assertEquals("a0", table.getValue(0, "A"));
+        assertEquals(Double.valueOf(1), table.getValue(0, "B"));
+        assertNull(table.getValue(0, "C"));
+        assertNull(table.getValue(1, "A"));
+        assertEquals(Double.valueOf(2.5), table.getValue(1, "B"));
+        assertEquals(Arrays.asList(Boolean.TRUE, null), table.getValue(1, "C"));
+        assertEquals(Collections.singletonMap("x", "y"), table.getValue(1, "D"));
+    }
+
+    public void testColumnsOfFirstRowWithoutColumnSensing() throws Exception
+    {
+        Column[] columns = new Column[] {
+            new Column("A", DataType.UNKNOWN),
+            new Column("B", DataType.UNKNOWN)
+        };
+        MockDataSetConsumer consumer = new MockDataSetConsumer();
+        consumer.addExpectedStartDataSet();
+        consumer.addExpectedStartTable("T", columns);
+        consumer.addExpectedRow("T", new Object[] {"a0", Double.valueOf(1)});
+        consumer.addExpectedRow("T", new Object[] {null, Double.valueOf(2.5)});
+        consumer.addExpectedEndTable("T");
+        consumer.addExpectedEmptyTable("EMPTY", new Column[0]);
+        consumer.addExpectedEmptyTable("NONE", new Column[0]);
+        consumer.addExpectedEndDataSet();
+
+        JsonProducer producer = new JsonProducer(new StringReader(JSON), false);
+        producer.setConsumer(consumer);
+        producer.produce();
+
+        consumer.verify();
+    }
+
+    public void testEmptyTables() throws Exception
+    {
+        CachedDataSet dataSet = new CachedDataSet(new JsonProducer(new StringReader(JSON), true), true);
+
+        assertEquals(0, dataSet.getTable("EMPTY").getRowCount());
+        assertEquals(0, dataSet.getTable("EMPTY").getTableMetaData().getColumns().length);
+        assertEquals(0, dataSet.getTable("NONE").getRowCount());
+    }
+
+    public void testMalformedJson() throws Exception
+    {
+        try
+        {
+            new CachedDataSet(new JsonProducer(new StringReader("{\"T\": [\"not a row\"]}"), true), true);
+            fail("Should not accept a string as row");
+        } catch (DataSetException expected)
+        {
+        }
+        try
+        {
+            new CachedDataSet(new JsonProducer(new StringReader("{\"T\": [{\"A\": 1}"), true), true);
+            fail("Should not accept truncated JSON");
+        } catch (DataSetException expected)
+        {
+        }
+    }
+}
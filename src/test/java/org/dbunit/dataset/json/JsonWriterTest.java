@@ -0,0 +1,122 @@
+package org.dbunit.dataset.json;
+
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+import com.google.gson.GsonBuilder;
+import junit.framework.TestCase;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class JsonWriterTest extends TestCase
+{
+    public JsonWriterTest(String name)
+    {
+        super(name);
+    }
+
+    public void testWrite() throws Exception
+    {
+        String expectedOutput =
+            "{\n" +
+            "  \"TABLE1\": [\n" +
+            "    {\n" +
+            "      \"COL0\": \"t1c0r0\",\n" +
+            "      \"COL1\": \"t1c1r0\"\n" +
+            "    },\n" +
+            "    {\n" +
+            "      \"COL0\": \"t1c0r1\",\n" +
+            "      \"COL1\": \"t1c1r1\"\n" +
+            "    }\n" +
+            "  ],\n" +
+            "  \"TABLE2\": [\n" +
+            "    {\n" +
+            "      \"COL0\": \"t2c0r0\",\n" +
+            "      \"COL1\": \"t2c1r0\"\n" +
+            "    }\n" +
+            "  ]\n" +
+            "}";
+
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(stringWriter, false, new String[] {}).write(
+            org.dbunit.dataset.yaml.YmlWriterTest.getDefaultDataSet());
+
+        assertEquals("output", expectedOutput, stringWriter.toString());
+    }
+
+    public void testSameOutputAsGsonTree() throws Exception
+    {
+        Column[] columns = new Column[] {
+            new Column("NAME", DataType.UNKNOWN),
+            new Column("COUNT", DataType.UNKNOWN),
+            new Column("AMOUNT", DataType.UNKNOWN),
+            new Column("FLAG", DataType.UNKNOWN),
+            new Column("SECRET", DataType.UNKNOWN)
+        };
+        DefaultTable table = new DefaultTable("MIXED", columns);
+        table.addRow(new Object[] {"<a & 'b'>", Integer.valueOf(3), new BigDecimal("1.50"), Boolean.TRUE, "s"});
+        table.addRow(new Object[] {null, Long.valueOf(4), null, Boolean.FALSE, null});
+        DefaultTable empty = new DefaultTable("EMPTY", columns);
+
+        Map<String, List<Map<String, Object>>> tree = new LinkedHashMap<>();
+        Map<String, Object> row0 = new LinkedHashMap<>();
+        row0.put("AMOUNT", new BigDecimal("1.50"));
+        row0.put("COUNT", Integer.valueOf(3));
+        row0.put("FLAG", Boolean.TRUE);
+        row0.put("NAME", "<a & 'b'>");
+        row0.put("SECRET", "***");
+        Map<String, Object> row1 = new LinkedHashMap<>();
+        row1.put("COUNT", Long.valueOf(4));
+        row1.put("FLAG", Boolean.FALSE);
+        tree.put("MIXED", Arrays.asList(row0, row1));
+        tree.put("EMPTY", Collections.<Map<String, Object>>emptyList());
+
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(stringWriter, true, new String[] {"SECRET", "***"}).write(new DefaultDataSet(table, empty));
+
+        assertEquals("output", new GsonBuilder().setPrettyPrinting().create().toJson(tree), stringWriter.toString());
+        assertEquals("columns must not be sorted in place", "NAME", table.getTableMetaData().getColumns()[0].getColumnName());
+    }
+
+    public void testWriteFlow() throws Exception
+    {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(stringWriter, false, new String[] {});
+        jsonWriter.setUseFlowStyle(true);
+        jsonWriter.write(org.dbunit.dataset.yaml.YmlWriterTest.getEmptyTableDataSet());
+
+        assertEquals("output", "{\"TEST_TABLE\":[{\"COL0\":\"value\"}],\"EMPTY_TABLE\":[]}", stringWriter.toString());
+    }
+}
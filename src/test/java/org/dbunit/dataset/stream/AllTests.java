@@ -33,6 +33,7 @@ public class AllTests extends TestSuite {
         TestSuite suite = new TestSuite();
         suite.addTest(new TestSuite(BufferedConsumerTest.class));
         suite.addTest(new TestSuite(StreamingDataSetTest.class));
+        suite.addTest(new TestSuite(StreamingDataSetBatchedTest.class));
         suite.addTest(new TestSuite(StreamingTableTest.class));
         return suite;
     }
@@ -0,0 +1,58 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.stream;
+
+import java.io.FileReader;
+import java.util.concurrent.Executor;
+
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.xml.FlatXmlDataSetTest;
+import org.dbunit.dataset.xml.FlatXmlProducer;
+import org.xml.sax.InputSource;
+
+/**
+ * Runs the streaming dataset tests with a tiny hand-off buffer and batch size and
+ * with the producer started through a caller-supplied executor.
+ *
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class StreamingDataSetBatchedTest extends StreamingDataSetTest {
+
+    private static final Executor DAEMON_EXECUTOR = new Executor() {
+        public void execute(Runnable command) {
+            Thread thread = new Thread(command, "StreamingDataSetBatchedTest");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    };
+
+    public StreamingDataSetBatchedTest(String s) {
+        super(s);
+    }
+
+    protected IDataSet createDataSet() throws Exception {
+        IDataSetProducer source = new FlatXmlProducer(
+                new InputSource(new FileReader(FlatXmlDataSetTest.DATASET_FILE)), null);
+        return new StreamingDataSet(source, 2, 2, DAEMON_EXECUTOR);
+    }
+}
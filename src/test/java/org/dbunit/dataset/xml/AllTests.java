@@ -35,7 +35,9 @@ public class AllTests extends TestSuite {
         suite.addTest(new TestSuite(FlatDtdProducerTest.class));
         suite.addTest(new TestSuite(FlatDtdWriterTest.class));
         suite.addTest(new TestSuite(FlatXmlDataSetTest.class));
+        suite.addTest(new TestSuite(FlatXmlDataSetIndexTest.class));
         suite.addTest(new TestSuite(FlatXmlProducerTest.class));
+        suite.addTest(new TestSuite(FlatXmlStaxProducerTest.class));
         suite.addTest(new TestSuite(FlatXmlTableTest.class));
         suite.addTest(new TestSuite(FlatXmlTableWriteTest.class));
         suite.addTest(new TestSuite(FlatXmlWriterTest.class));
@@ -0,0 +1,103 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.xml;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import junit.framework.TestCase;
+
+import org.dbunit.Assertion;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.testutil.TestUtils;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class FlatXmlDataSetIndexTest extends TestCase {
+    private static final String FILE_NAME = "xml/flatXmlMultiDataSetTest.xml";
+
+    private final File file = TestUtils.getFile(FILE_NAME);
+
+    public void testDataSetIds() throws Exception {
+        FlatXmlDataSetIndex index = FlatXmlDataSetIndex.build(file);
+
+        assertEquals(new HashSet<>(Arrays.asList("first", "second", "empty")), index.getDataSetIds());
+        assertNull(index.createInputSource("duplicate"));
+        assertNull(index.createInputSource("commented"));
+    }
+
+    public void testDataSetParsedAloneEqualsWholeFile() throws Exception {
+        FlatXmlDataSetIndex index = FlatXmlDataSetIndex.build(file);
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder();
+
+        for (String datasetId : new String[]{"first", "second", "empty"}) {
+            IDataSet expected = builder.build(file, datasetId);
+            IDataSet actual = builder.build(index.createInputSource(datasetId), datasetId);
+
+            assertEquals(datasetId, Arrays.asList(expected.getTableNames()), Arrays.asList(actual.getTableNames()));
+            Assertion.assertEquals(expected, actual);
+        }
+        assertEquals("a > b", builder.build(index.createInputSource("first"), "first").getTable("TEST_TABLE").getValue(1, "COLUMN1"));
+        assertEquals("ünïcode", builder.build(index.createInputSource("second"), "second").getTable("SECOND_TABLE").getValue(0, "COLUMN1"));
+    }
+
+    public void testDataSetWithoutAttributesIsNotIndexed() throws Exception {
+        File tempFile = writeTempFile("<datasets><dataset id=\"a\"><T C=\"1\"/></dataset><dataset><T C=\"2\"/></dataset></datasets>");
+
+        assertTrue(FlatXmlDataSetIndex.build(tempFile).getDataSetIds().isEmpty());
+    }
+
+    public void testUnsupportedEncodingIsNotIndexed() throws Exception {
+        File tempFile = writeTempFile("<?xml version=\"1.0\" encoding=\"UTF-16\"?><dataset id=\"a\"/>");
+
+        assertTrue(FlatXmlDataSetIndex.build(tempFile).getDataSetIds().isEmpty());
+    }
+
+    public void testIndexOutdatedAfterModification() throws Exception {
+        File tempFile = writeTempFile("<datasets><dataset id=\"a\"><T C=\"1\"/></dataset></datasets>");
+        FlatXmlDataSetIndex index = FlatXmlDataSetIndex.build(tempFile);
+        assertTrue(index.isCurrent());
+
+        try (Writer writer = new FileWriter(tempFile)) {
+            writer.write("<datasets><dataset id=\"b\"><T C=\"2\"/></dataset></datasets>");
+        }
+        tempFile.setLastModified(tempFile.lastModified() + 2000);
+
+        assertFalse(index.isCurrent());
+        assertNull(index.createInputSource("a"));
+        assertEquals(new HashSet<>(Arrays.asList("b")), FlatXmlDataSetIndex.build(tempFile).getDataSetIds());
+    }
+
+    private static File writeTempFile(String content) throws Exception {
+        File tempFile = File.createTempFile("flatXmlIndex", ".xml");
+        tempFile.deleteOnExit();
+        try (Writer writer = new FileWriter(tempFile)) {
+            writer.write(content);
+        }
+        return tempFile;
+    }
+}
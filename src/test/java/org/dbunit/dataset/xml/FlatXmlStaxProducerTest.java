@@ -0,0 +1,130 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.dataset.xml;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.stream.AbstractProducerTest;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.dbunit.testutil.TestUtils;
+import org.xml.sax.InputSource;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class FlatXmlStaxProducerTest extends AbstractProducerTest {
+    private static final File DATASET_FILE = TestUtils.getFile("xml/flatXmlProducerTest.xml");
+
+    private static final String SENSING_CONTENT =
+            "<dataset>" +
+                    "<MISSING_VALUES_SENSING COLUMN0='row 0 col 0' COLUMN3='row 0 col 3'/>" +
+                    "<MISSING_VALUES         COLUMN0='row 1 col 0' COLUMN2='row 1 col 2'/>" +
+                    "<MISSING_VALUES_SENSING COLUMN0='row 1 col 0' COLUMN1='row 1 col 1'/>" +
+                    "<MISSING_VALUES_SENSING column0='row 2 col 0' COLUMN1='row 2 col 1'/>" +
+                    "<EMPTY_TABLE/>" +
+                    "</dataset>";
+
+    public FlatXmlStaxProducerTest(String s) {
+        super(s);
+    }
+
+    protected IDataSetProducer createProducer() throws Exception {
+        String uri = DATASET_FILE.getAbsoluteFile().toURI().toString();
+        return new FlatXmlStaxProducer(new InputSource(uri), true, false, false, null);
+    }
+
+    public void testSameAsSaxWithDtd() throws Exception {
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder();
+        assertSameDataSet(builder.build(DATASET_FILE, null), builder.setStax(true).build(DATASET_FILE, null));
+    }
+
+    public void testSameAsSaxIgnoringDtd() throws Exception {
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder().setDtdMetadata(false);
+        assertSameDataSet(builder.build(DATASET_FILE, null), builder.setStax(true).build(DATASET_FILE, null));
+    }
+
+    public void testSameAsSaxWithoutColumnSensing() throws Exception {
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder().setDtdMetadata(false);
+        assertSameDataSet(builder.build(new StringReader(SENSING_CONTENT), null),
+                builder.setStax(true).build(new StringReader(SENSING_CONTENT), null));
+    }
+
+    public void testSameAsSaxWithColumnSensing() throws Exception {
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder().setDtdMetadata(false).setColumnSensing(true);
+        IDataSet dataSet = builder.setStax(true).build(new StringReader(SENSING_CONTENT), null);
+        assertSameDataSet(builder.setStax(false).build(new StringReader(SENSING_CONTENT), null), dataSet);
+
+        ITable table = dataSet.getTable("MISSING_VALUES_SENSING");
+        assertEquals(3, table.getTableMetaData().getColumns().length);
+        assertEquals("row 2 col 0", table.getValue(2, "COLUMN0"));
+        assertNull(table.getValue(0, "COLUMN1"));
+    }
+
+    public void testSameAsSaxWithDataSetId() throws Exception {
+        File file = TestUtils.getFile("xml/flatXmlMultiDataSetTest.xml");
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder();
+        for (String datasetId : new String[]{"first", "second", "empty", "duplicate", "missing"}) {
+            assertSameDataSet(builder.setStax(false).build(file, datasetId), builder.setStax(true).build(file, datasetId));
+        }
+    }
+
+    public void testSameAsSaxWithMetaDataSet() throws Exception {
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder().setMetaDataSet(new FlatXmlDataSetBuilder().build(DATASET_FILE, null));
+        String content = "<dataset><TEST_TABLE COLUMN1='value' EXTRA='ignored'/></dataset>";
+        assertSameDataSet(builder.build(new StringReader(content), null), builder.setStax(true).build(new StringReader(content), null));
+    }
+
+    public void testProduceNotWellFormedXml() throws Exception {
+        String content = "<?xml version=\"1.0\"?><dataset><ELEMENT/>";
+        IDataSetProducer producer = new FlatXmlStaxProducer(new InputSource(new StringReader(content)), false, false, false, null);
+        try {
+            producer.produce();
+            fail("Should not be here!");
+        } catch (DataSetException e) {
+            // expected
+        }
+    }
+
+    private static void assertSameDataSet(IDataSet expected, IDataSet actual) throws Exception {
+        assertEquals(Arrays.asList(expected.getTableNames()), Arrays.asList(actual.getTableNames()));
+        for (String tableName : expected.getTableNames()) {
+            ITable expectedTable = expected.getTable(tableName);
+            ITable actualTable = actual.getTable(tableName);
+            Column[] columns = expectedTable.getTableMetaData().getColumns();
+            assertEquals(tableName, Arrays.asList(Columns.getColumnNames(columns)), Arrays.asList(Columns.getColumnNames(actualTable.getTableMetaData().getColumns())));
+            assertEquals(tableName, expectedTable.getRowCount(), actualTable.getRowCount());
+            for (int row = 0; row < expectedTable.getRowCount(); row++) {
+                for (Column column : columns) {
+                    assertEquals(tableName + "." + column.getColumnName(), expectedTable.getValue(row, column.getColumnName()), actualTable.getValue(row, column.getColumnName()));
+                }
+            }
+        }
+    }
+}
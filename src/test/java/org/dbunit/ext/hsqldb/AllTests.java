@@ -29,6 +29,7 @@ import junit.framework.TestSuite;
 public class AllTests extends TestSuite {
     public static Test suite() {
         TestSuite suite = new TestSuite();
+        suite.addTest(new TestSuite(HsqldbConnectionTest.class));
         suite.addTest(new TestSuite(HsqldbDataTypeFactoryTest.class));
         return suite;
     }
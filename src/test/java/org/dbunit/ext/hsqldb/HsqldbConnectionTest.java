@@ -0,0 +1,88 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.hsqldb;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+
+import junit.framework.TestCase;
+
+import org.dbunit.HypersonicEnvironment;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.statement.WithNoDataDifferenceStatementBuilder;
+import org.dbunit.util.DdlExecutor;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class HsqldbConnectionTest extends TestCase {
+    private Connection jdbcConnection;
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        jdbcConnection = HypersonicEnvironment.createJdbcConnection("mem:hsqldbconnection");
+    }
+
+    protected void tearDown() throws Exception {
+        DdlExecutor.executeSql(jdbcConnection, "SHUTDOWN", false);
+        jdbcConnection.close();
+        super.tearDown();
+    }
+
+    public void testDifferenceStatementBuilderOfVersion1() throws Exception {
+        HsqldbConnection connection = new HsqldbConnection(jdbcConnection, null);
+
+        assertEquals(HsqldbDifferenceStatementBuilder.class,
+                connection.getConfig().getProperty(DatabaseConfig.PROPERTY_DIFFERENCE_STATEMENT_BUILDER).getClass());
+    }
+
+    public void testDifferenceStatementBuilderOfVersion2() throws Exception {
+        HsqldbConnection connection = new HsqldbConnection(withMajorVersion(jdbcConnection, 2), null);
+
+        assertEquals(WithNoDataDifferenceStatementBuilder.class,
+                connection.getConfig().getProperty(DatabaseConfig.PROPERTY_DIFFERENCE_STATEMENT_BUILDER).getClass());
+    }
+
+    /**
+     * @return A connection whose metadata reports the given database major version
+     */
+    private static Connection withMajorVersion(final Connection connection, final int majorVersion) throws Exception {
+        final DatabaseMetaData metaData = connection.getMetaData();
+        final DatabaseMetaData versionedMetaData = (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(), new Class<?>[]{DatabaseMetaData.class},
+                (proxy, method, args) -> method.getName().equals("getDatabaseMajorVersion") ? majorVersion : delegate(metaData, method, args));
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> method.getName().equals("getMetaData") ? versionedMetaData : delegate(connection, method, args));
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -33,6 +33,7 @@ public class AllTests extends TestSuite {
         TestSuite suite = new TestSuite();
 
         suite.addTest(new TestSuite(InsertIdentityOperationIT.class));
+        suite.addTest(new TestSuite(MsSqlBulkCopyOperationTest.class));
         suite.addTest(new TestSuite(MsSqlDataTypeFactoryTest.class));
         suite.addTest(new TestSuite(UniqueIdentifierTypeTest.class));
 
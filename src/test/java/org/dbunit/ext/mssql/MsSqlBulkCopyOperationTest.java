@@ -0,0 +1,138 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.mssql;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class MsSqlBulkCopyOperationTest extends TestCase {
+    private static final Column[] COLUMNS = new Column[]{
+            new Column("ID", DataType.INTEGER),
+            new Column("NAME", DataType.VARCHAR),
+            new Column("AMOUNT", DataType.DECIMAL),
+    };
+
+    /**
+     * The subset of the methods of <code>ISQLServerBulkRecord</code> used by the tests
+     */
+    public interface BulkRecordMethods extends BulkData {
+        Set<Integer> getColumnOrdinals();
+
+        String getColumnName(int column);
+
+        boolean next();
+
+        Object[] getRowData();
+
+        String getColumnEncryptionKey(int column);
+    }
+
+    public void testReadRows() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        table.addRow(new Object[]{"1", "tab\there", "12.50"});
+        table.addRow(new Object[]{2, null, null});
+
+        MsSqlBulkCopyOperation.BulkRecord bulkRecord = new MsSqlBulkCopyOperation.BulkRecord(table, COLUMNS, new int[]{0, 1, 2});
+        BulkRecordMethods record = newRecord(bulkRecord);
+
+        assertEquals("[1, 2, 3]", record.getColumnOrdinals().toString());
+        assertEquals("NAME", record.getColumnName(2));
+        assertTrue(record.next());
+        assertEquals(Arrays.asList(1, "tab\there", new BigDecimal("12.50")), Arrays.asList(record.getRowData()));
+        assertTrue(record.next());
+        assertEquals(Arrays.asList(2, null, null), Arrays.asList(record.getRowData()));
+        assertFalse(record.next());
+        assertNull(record.getRowData());
+        assertEquals(2, bulkRecord.getRowCount());
+    }
+
+    public void testReadNoValueFails() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        table.addRow(new Object[]{1, ITable.NO_VALUE, null});
+
+        BulkRecordMethods record = newRecord(new MsSqlBulkCopyOperation.BulkRecord(table, COLUMNS, new int[]{0, 1, 2}));
+        try {
+            record.next();
+            fail("Should not be able to read a column without value");
+        } catch (UndeclaredThrowableException expected) {
+            assertTrue(expected.getCause() instanceof DataSetException);
+        }
+    }
+
+    /**
+     * Newer drivers declare the parameter of <code>writeToServer</code> as a super interface
+     * of the bulk record
+     */
+    public void testWriteToServerMethodOfSuperInterface() throws Exception {
+        Method method = MsSqlBulkCopyOperation.getWriteToServerMethod(BulkCopy.class, BulkRecordMethods.class);
+        assertEquals(BulkData.class, method.getParameterTypes()[0]);
+
+        try {
+            MsSqlBulkCopyOperation.getWriteToServerMethod(BulkCopy.class, Runnable.class);
+            fail("Should not find a method for an unrelated record class");
+        } catch (NoSuchMethodException expected) {
+        }
+    }
+
+    public interface BulkData {
+    }
+
+    public static class BulkCopy {
+        public void writeToServer(ResultSet resultSet) {
+        }
+
+        public void writeToServer(BulkData bulkData) {
+        }
+    }
+
+    public void testUnsupportedMethod() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        BulkRecordMethods record = newRecord(new MsSqlBulkCopyOperation.BulkRecord(table, COLUMNS, new int[]{0, 1, 2}));
+        try {
+            record.getColumnEncryptionKey(1);
+            fail("Should not be able to invoke an unsupported method");
+        } catch (UnsupportedOperationException expected) {
+            assertTrue(expected.getMessage().contains("getColumnEncryptionKey"));
+        }
+    }
+
+    private static BulkRecordMethods newRecord(MsSqlBulkCopyOperation.BulkRecord bulkRecord) {
+        return (BulkRecordMethods) Proxy.newProxyInstance(BulkRecordMethods.class.getClassLoader(),
+                new Class<?>[]{BulkRecordMethods.class}, bulkRecord);
+    }
+}
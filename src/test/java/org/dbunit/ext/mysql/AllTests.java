@@ -32,6 +32,8 @@ public class AllTests extends TestSuite {
     public static Test suite() {
         TestSuite suite = new TestSuite();
         suite.addTest(new TestSuite(MySqlDataTypeFactoryTest.class));
+        suite.addTest(new TestSuite(MySqlLoadDataOperationTest.class));
+        suite.addTest(new TestSuite(MySqlUpsertStatementBuilderTest.class));
         return suite;
     }
 }
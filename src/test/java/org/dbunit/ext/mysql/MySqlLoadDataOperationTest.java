@@ -0,0 +1,82 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.mysql;
+
+import java.io.Reader;
+import java.io.StringWriter;
+
+import org.dbunit.database.MockDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.operation.DelimitedTextReader;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class MySqlLoadDataOperationTest extends TestCase {
+
+    public void testGetLoadDataSql() throws Exception {
+        Column[] columns = new Column[]{
+                new Column("ID", DataType.INTEGER),
+                new Column("PICTURE", DataType.VARBINARY),
+                new Column("NAME", DataType.VARCHAR),
+        };
+        MockDatabaseConnection connection = new MockDatabaseConnection();
+        connection.setupSchema("SCHEMA");
+
+        String sql = new MySqlLoadDataOperation().getLoadDataSql(new DefaultTableMetaData("TEST", columns), connection);
+        assertEquals("LOAD DATA LOCAL INFILE 'dbunit.txt' INTO TABLE SCHEMA.TEST CHARACTER SET utf8mb4"
+                + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'"
+                + " (ID, @v1, NAME) SET PICTURE = UNHEX(@v1)", sql);
+    }
+
+    public void testReadLoadDataText() throws Exception {
+        Column[] columns = new Column[]{
+                new Column("ID", DataType.INTEGER),
+                new Column("ACTIVE", DataType.BOOLEAN),
+                new Column("PICTURE", DataType.VARBINARY),
+                new Column("NAME", DataType.VARCHAR),
+        };
+        DefaultTable table = new DefaultTable("TEST", columns);
+        table.addRow(new Object[]{"1", "true", new byte[]{0x0f, (byte) 0xf0}, "a\\b"});
+        table.addRow(new Object[]{2, Boolean.FALSE, null, "tab\there\r\n"});
+
+        DelimitedTextReader reader = new MySqlLoadDataOperation.LoadDataTextReader(table, columns, new int[]{0, 1, 2, 3});
+        assertEquals("1\t1\t0ff0\ta\\\\b\n"
+                + "2\t0\t\\N\ttab\\there\\r\\n\n", readFully(reader));
+        assertEquals(2, reader.getRowCount());
+    }
+
+    private static String readFully(Reader reader) throws Exception {
+        StringWriter writer = new StringWriter();
+        char[] buffer = new char[64];
+        int count;
+        while ((count = reader.read(buffer)) != -1) {
+            writer.write(buffer, 0, count);
+        }
+        return writer.toString();
+    }
+}
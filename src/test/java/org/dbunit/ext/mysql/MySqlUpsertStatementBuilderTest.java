@@ -0,0 +1,40 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.mysql;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class MySqlUpsertStatementBuilderTest extends TestCase {
+    public void testBuildUpsertSql() throws Exception {
+        String sql = new MySqlUpsertStatementBuilder().buildUpsertSql("T", new String[]{"ID", "NAME", "AGE"}, new String[]{"ID"});
+        assertEquals("insert into T (ID, NAME, AGE) values (?, ?, ?)"
+                + " on duplicate key update NAME = values(NAME), AGE = values(AGE)", sql);
+    }
+
+    public void testBuildUpsertSqlOnlyPrimaryKeys() throws Exception {
+        String sql = new MySqlUpsertStatementBuilder().buildUpsertSql("T", new String[]{"A", "B"}, new String[]{"A", "B"});
+        assertEquals("insert into T (A, B) values (?, ?) on duplicate key update A = A", sql);
+    }
+}
@@ -33,6 +33,8 @@ public class AllTests extends TestSuite {
         TestSuite suite = new TestSuite();
         suite.addTest(new TestSuite(OracleDataTypeFactoryTest.class));
         suite.addTest(new TestSuite(Oracle10DataTypeFactoryTest.class));
+        suite.addTest(new TestSuite(OracleMergeStatementBuilderTest.class));
+        suite.addTest(new TestSuite(OracleDifferenceStatementBuilderTest.class));
         return suite;
     }
 }
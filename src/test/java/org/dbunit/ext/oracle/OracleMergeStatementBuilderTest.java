@@ -0,0 +1,37 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.oracle;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class OracleMergeStatementBuilderTest extends TestCase {
+    public void testBuildUpsertSql() throws Exception {
+        String sql = new OracleMergeStatementBuilder().buildUpsertSql("T", new String[]{"ID", "NAME"}, new String[]{"ID"});
+        assertEquals("merge into T dbunit_target using (select ? ID, ? NAME from dual) dbunit_source"
+                + " on (dbunit_target.ID = dbunit_source.ID)"
+                + " when matched then update set NAME = dbunit_source.NAME"
+                + " when not matched then insert (ID, NAME) values (dbunit_source.ID, dbunit_source.NAME)", sql);
+    }
+}
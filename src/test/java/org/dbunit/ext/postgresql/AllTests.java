@@ -32,6 +32,8 @@ public class AllTests extends TestSuite {
     public static Test suite() {
         TestSuite suite = new TestSuite();
         suite.addTest(new TestSuite(PostgresqlDataTypeFactoryTest.class));
+        suite.addTest(new TestSuite(PostgresqlCopyOperationTest.class));
+        suite.addTest(new TestSuite(PostgresqlUpsertStatementBuilderTest.class));
         suite.addTest(new TestSuite(SQLHelperDomainPostgreSQLIT.class));
         return suite;
     }
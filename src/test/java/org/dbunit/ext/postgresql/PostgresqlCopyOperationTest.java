@@ -0,0 +1,67 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.ext.postgresql;
+
+import java.io.Reader;
+import java.io.StringWriter;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.operation.DelimitedTextReader;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class PostgresqlCopyOperationTest extends TestCase {
+    private static final Column[] COLUMNS = new Column[]{
+            new Column("ID", DataType.INTEGER),
+            new Column("NAME", DataType.VARCHAR),
+            new Column("DATA", DataType.BINARY),
+            new Column("AMOUNT", DataType.DECIMAL),
+    };
+
+    public void testReadCopyText() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        table.addRow(new Object[]{"1", "a\tb\\c", new byte[]{0x01, (byte) 0xab}, "1E+3"});
+        table.addRow(new Object[]{2, "line\r\nbreak", null, null});
+        table.addRow(new Object[]{3, "", new byte[0], "0.50"});
+
+        DelimitedTextReader reader = new PostgresqlCopyOperation.CopyTextReader(table, COLUMNS, new int[]{0, 1, 2, 3});
+        assertEquals("1\ta\\tb\\\\c\t\\\\x01ab\t1000\n"
+                + "2\tline\\r\\nbreak\t\\N\t\\N\n"
+                + "3\t\t\\\\x\t0.50\n", readFully(reader));
+        assertEquals(3, reader.getRowCount());
+    }
+
+    private static String readFully(Reader reader) throws Exception {
+        StringWriter writer = new StringWriter();
+        char[] buffer = new char[64];
+        int count;
+        while ((count = reader.read(buffer)) != -1) {
+            writer.write(buffer, 0, count);
+        }
+        return writer.toString();
+    }
+}
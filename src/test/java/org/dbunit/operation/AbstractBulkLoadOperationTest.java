@@ -0,0 +1,113 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.operation;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.HypersonicEnvironment;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.util.DdlExecutor;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class AbstractBulkLoadOperationTest extends TestCase {
+    private static final Column[] COLUMNS = new Column[]{
+            new Column("ID", DataType.INTEGER),
+            new Column("NAME", DataType.VARCHAR),
+    };
+
+    private Connection jdbcConnection;
+    private IDatabaseConnection connection;
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        jdbcConnection = HypersonicEnvironment.createJdbcConnection("mem:bulkload");
+        DdlExecutor.executeSql(jdbcConnection, "CREATE TABLE TEST (ID INTEGER PRIMARY KEY, NAME VARCHAR(20) DEFAULT 'default')", false);
+        connection = new DatabaseConnection(jdbcConnection);
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        HypersonicEnvironment.shutdown(jdbcConnection);
+        jdbcConnection.close();
+    }
+
+    public void testColumnWithoutValueInAllRowsNotLoaded() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        table.addRow(new Object[]{1, ITable.NO_VALUE});
+        table.addRow(new Object[]{2, ITable.NO_VALUE});
+
+        RecordingBulkLoadOperation operation = new RecordingBulkLoadOperation();
+        operation.execute(connection, new DefaultDataSet(table));
+
+        assertEquals("[ID]", operation.loadedColumns.toString());
+    }
+
+    public void testColumnWithoutValueInSomeRowsInserted() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        table.addRow(new Object[]{1, "one"});
+        table.addRow(new Object[]{2, ITable.NO_VALUE});
+
+        RecordingBulkLoadOperation operation = new RecordingBulkLoadOperation();
+        operation.execute(connection, new DefaultDataSet(table));
+
+        assertNull("not bulk loaded", operation.loadedColumns);
+        ITable actual = connection.createQueryTable("TEST", "SELECT * FROM TEST ORDER BY ID");
+        assertEquals("one", actual.getValue(0, "NAME"));
+        assertEquals("default", actual.getValue(1, "NAME"));
+    }
+
+    /**
+     * Records the columns it would bulk load
+     */
+    private static class RecordingBulkLoadOperation extends AbstractBulkLoadOperation {
+        private List<String> loadedColumns;
+
+        RecordingBulkLoadOperation() {
+            super(0);
+        }
+
+        protected long bulkLoad(IDatabaseConnection connection, ITable table, ITableMetaData metaData, int[] columnIndexes)
+                throws DatabaseUnitException, SQLException {
+            loadedColumns = new ArrayList<>();
+            for (String columnName : Columns.getColumnNames(metaData.getColumns())) {
+                loadedColumns.add(columnName);
+            }
+            return table.getRowCount();
+        }
+    }
+}
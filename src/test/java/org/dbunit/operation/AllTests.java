@@ -40,6 +40,7 @@ public class AllTests extends TestSuite {
         suite.addTest(new TestSuite(DeleteOperationIT.class));
         suite.addTest(new TestSuite(InsertOperationIT.class));
         suite.addTest(new TestSuite(RefreshOperationIT.class));
+        suite.addTest(new TestSuite(StreamingOperationConsumerIT.class));
         suite.addTest(new TestSuite(TransactionOperationIT.class));
         suite.addTest(new TestSuite(TruncateTableOperationIT.class));
         suite.addTest(new TestSuite(UpdateOperationIT.class));
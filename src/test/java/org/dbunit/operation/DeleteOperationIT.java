@@ -22,6 +22,8 @@
 package org.dbunit.operation;
 
 import org.dbunit.AbstractDatabaseIT;
+import org.dbunit.DatabaseEnvironment;
+import org.dbunit.TestFeature;
 import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.MockDatabaseConnection;
 import org.dbunit.database.statement.MockBatchStatement;
@@ -202,6 +204,42 @@ public class DeleteOperationIT extends AbstractDatabaseIT {
         testExecute(new LowerCaseDataSet(dataSet));
     }
 
+    public void testExecuteKeysPerStatement() throws Exception {
+        connection.getConfig().setProperty(DatabaseConfig.PROPERTY_DELETE_KEYS_PER_STATEMENT, 2);
+        deleteMultipleKeys();
+    }
+
+    public void testExecuteKeysPerStatementWithRowValueConstructors() throws Exception {
+        // execute this test only if the target database supports (A, B) in ((?, ?)) lists
+        DatabaseEnvironment environment = DatabaseEnvironment.getInstance();
+        if (environment.support(TestFeature.ROW_VALUE_CONSTRUCTORS)) {
+            connection.getConfig().setProperty(DatabaseConfig.PROPERTY_DELETE_KEYS_PER_STATEMENT, 3);
+            connection.getConfig().setProperty(DatabaseConfig.FEATURE_ROW_VALUE_CONSTRUCTORS, Boolean.TRUE);
+            deleteMultipleKeys();
+        }
+    }
+
+    private void deleteMultipleKeys() throws Exception {
+        String tableName = "PK_TABLE";
+        String columnName = "PK0";
+
+        ITableMetaData metaData = connection.createDataSet().getTableMetaData(tableName);
+        DefaultTable table = new DefaultTable(metaData);
+        table.addRow(new Object[]{"0", "0", "0", null, null});
+        table.addRow(new Object[]{"2", "2", "2", null, null});
+        // not existing
+        table.addRow(new Object[]{"3", "3", "3", null, null});
+
+        ITable tableBefore = createOrderedTable(tableName, columnName);
+        assertEquals("row count before", 3, tableBefore.getRowCount());
+
+        DatabaseOperation.DELETE.execute(connection, new DefaultDataSet(table));
+
+        ITable tableAfter = createOrderedTable(tableName, columnName);
+        assertEquals("row count after", 1, tableAfter.getRowCount());
+        assertEquals("after", "1", tableAfter.getValue(0, columnName).toString());
+    }
+
     private void testExecute(IDataSet dataSet) throws Exception {
         String tableName = "PK_TABLE";
         String columnName = "PK0";
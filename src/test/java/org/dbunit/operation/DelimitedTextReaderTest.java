@@ -0,0 +1,99 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.operation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class DelimitedTextReaderTest extends TestCase {
+    private static final Column[] COLUMNS = new Column[]{
+            new Column("ID", DataType.INTEGER),
+            new Column("NAME", DataType.VARCHAR),
+            new Column("DATA", DataType.BINARY),
+    };
+
+    public void testRead() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        table.addRow(new Object[]{"1", "plain", new byte[]{0x01, (byte) 0xab}});
+        table.addRow(new Object[]{2, "tab\there\\\r\n", null});
+        table.addRow(new Object[]{3, null, new byte[0]});
+
+        DelimitedTextReader reader = new DelimitedTextReader(table, COLUMNS, new int[]{0, 1, 2});
+        assertEquals("1\tplain\t01ab\n"
+                + "2\ttab\\there\\\\\\r\\n\t\\N\n"
+                + "3\t\\N\t\n", readFully(reader));
+        assertEquals(3, reader.getRowCount());
+        assertEquals(-1, reader.read());
+    }
+
+    public void testReadNoValueFails() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        table.addRow(new Object[]{1, ITable.NO_VALUE, null});
+
+        DelimitedTextReader reader = new DelimitedTextReader(table, COLUMNS, new int[]{0, 1, 2});
+        try {
+            readFully(reader);
+            fail("Should not be able to read a column without value");
+        } catch (IOException expected) {
+            assertTrue(expected.getCause().getMessage(), expected.getCause().getMessage().contains("'NAME'"));
+        }
+    }
+
+    public void testReadColumnSubsetInOtherOrder() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        table.addRow(new Object[]{1, "a", null});
+        table.addRow(new Object[]{2, "b", null});
+
+        Column[] columns = new Column[]{COLUMNS[1], COLUMNS[0]};
+        DelimitedTextReader reader = new DelimitedTextReader(table, columns, new int[]{1, 0});
+        assertEquals("a\t1\nb\t2\n", readFully(reader));
+    }
+
+    public void testReadEmptyTable() throws Exception {
+        DefaultTable table = new DefaultTable("TEST", COLUMNS);
+        DelimitedTextReader reader = new DelimitedTextReader(table, COLUMNS, new int[]{0, 1, 2});
+        assertEquals("", readFully(reader));
+        assertEquals(0, reader.getRowCount());
+    }
+
+    private static String readFully(Reader reader) throws Exception {
+        StringWriter writer = new StringWriter();
+        // use a small buffer to read rows in several chunks
+        char[] buffer = new char[3];
+        int count;
+        while ((count = reader.read(buffer)) != -1) {
+            writer.write(buffer, 0, count);
+        }
+        return writer.toString();
+    }
+}
@@ -642,6 +642,60 @@ public class InsertOperationIT extends AbstractDatabaseIT {
         testExecute(new ForwardOnlyDataSet(dataSet));
     }
 
+    public void testExecuteMultiRowInsert() throws Exception {
+        // execute this test only if the target database support multi-row VALUES lists
+        DatabaseEnvironment environment = DatabaseEnvironment.getInstance();
+        if (environment.support(TestFeature.MULTI_ROW_INSERT)) {
+            Reader in = TestUtils.getFileReader("xml/insertOperationTest.xml");
+            IDataSet dataSet = new XmlDataSet(in, null);
+
+            connection.getConfig().setProperty(DatabaseConfig.PROPERTY_INSERT_ROWS_PER_STATEMENT, 2);
+            testExecute(dataSet);
+        }
+    }
+
+    public void testExecuteMultiRowInsertForwardOnly() throws Exception {
+        // execute this test only if the target database support multi-row VALUES lists
+        DatabaseEnvironment environment = DatabaseEnvironment.getInstance();
+        if (environment.support(TestFeature.MULTI_ROW_INSERT)) {
+            Reader in = TestUtils.getFileReader("xml/insertOperationTest.xml");
+            IDataSet dataSet = new XmlDataSet(in, null);
+
+            connection.getConfig().setProperty(DatabaseConfig.PROPERTY_INSERT_ROWS_PER_STATEMENT, 3);
+            testExecute(new ForwardOnlyDataSet(dataSet));
+        }
+    }
+
+    /**
+     * Runs the multi-row insert statement on every profile, including the ones
+     * without multi-row <code>VALUES</code> support, by inserting a single row per
+     * table so that only the single-row remainder statement is executed.
+     */
+    public void testExecuteMultiRowInsertSingleRowRemainder() throws Exception {
+        Reader in = TestUtils.getFileReader("xml/insertOperationTest.xml");
+        IDataSet xmlDataSet = new XmlDataSet(in, null);
+        DefaultDataSet dataSet = new DefaultDataSet();
+        ITable[] tables = DataSetUtils.getTables(xmlDataSet);
+        for (int i = 0; i < tables.length; i++) {
+            dataSet.addTable(tables[i].getRowCount() > 0
+                    ? firstRowOnly(tables[i]) : new DefaultTable(tables[i].getTableMetaData()));
+        }
+
+        connection.getConfig().setProperty(DatabaseConfig.PROPERTY_INSERT_ROWS_PER_STATEMENT, 2);
+        testExecute(dataSet);
+    }
+
+    private static DefaultTable firstRowOnly(ITable table) throws Exception {
+        Column[] columns = table.getTableMetaData().getColumns();
+        Object[] values = new Object[columns.length];
+        for (int j = 0; j < columns.length; j++) {
+            values[j] = table.getValue(0, columns[j].getColumnName());
+        }
+        DefaultTable result = new DefaultTable(table.getTableMetaData());
+        result.addRow(values);
+        return result;
+    }
+
     private void testExecute(IDataSet dataSet) throws Exception, SQLException {
         ITable[] tablesBefore = DataSetUtils.getTables(connection.createDataSet());
         DatabaseOperation.INSERT.execute(connection, dataSet);
@@ -0,0 +1,129 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2004, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.operation;
+
+import java.sql.Connection;
+
+import org.dbunit.HypersonicEnvironment;
+import org.dbunit.IDatabaseTester;
+import org.dbunit.JdbcDatabaseTester;
+import org.dbunit.database.CyclicTablesDependencyException;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.testutil.TestUtils;
+import org.dbunit.util.DdlExecutor;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ * @since 2.8.6
+ */
+public class ParallelOperationTest extends TestCase {
+    private static final String DATABASE_NAME = "mem:parallel";
+
+    private Connection jdbcConnection;
+    private IDatabaseConnection connection;
+    private IDatabaseTester connectionSource;
+
+    public ParallelOperationTest(String s) {
+        super(s);
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        jdbcConnection = HypersonicEnvironment.createJdbcConnection(DATABASE_NAME);
+        connection = new DatabaseConnection(jdbcConnection);
+        connectionSource = new JdbcDatabaseTester("org.hsqldb.jdbcDriver", "jdbc:hsqldb:" + DATABASE_NAME, "sa", "");
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        HypersonicEnvironment.shutdown(jdbcConnection);
+        jdbcConnection.close();
+    }
+
+    public void testInsertAndDeleteRespectingForeignKeys() throws Exception {
+        DdlExecutor.executeDdlFile(TestUtils.getFile("sql/hypersonic_fk.sql"), jdbcConnection, false);
+        // The tables are listed in alphabetical order which violates the foreign keys
+        IDataSet dataSet = createDataSet();
+
+        new ParallelOperation(DatabaseOperation.INSERT, connectionSource, 4).execute(connection, dataSet);
+
+        String[] tableNames = dataSet.getTableNames();
+        for (int i = 0; i < tableNames.length; i++) {
+            assertEquals(tableNames[i], 2, connection.getRowCount(tableNames[i]));
+        }
+
+        new ParallelOperation(DatabaseOperation.DELETE_ALL, connectionSource, 4, true).execute(connection, dataSet);
+
+        for (int i = 0; i < tableNames.length; i++) {
+            assertEquals(tableNames[i], 0, connection.getRowCount(tableNames[i]));
+        }
+    }
+
+    public void testCyclicDependencies() throws Exception {
+        DdlExecutor.executeDdlFile(TestUtils.getFile("sql/hypersonic_cyclic.sql"), jdbcConnection, false);
+        IDataSet dataSet = connection.createDataSet();
+
+        try {
+            new ParallelOperation(DatabaseOperation.INSERT, connectionSource, 2).execute(connection, dataSet);
+            fail("Should not be able to schedule tables with cyclic dependencies");
+        } catch (CyclicTablesDependencyException expected) {
+        }
+    }
+
+    public void testInvalidThreadCount() throws Exception {
+        try {
+            new ParallelOperation(DatabaseOperation.INSERT, connectionSource, 0);
+            fail("Should not be able to create an operation without threads");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * @return A dataset with two rows per table where all keys are 1 or 2
+     */
+    private IDataSet createDataSet() throws Exception {
+        IDataSet databaseDataSet = connection.createDataSet();
+        String[] tableNames = databaseDataSet.getTableNames();
+        DefaultDataSet dataSet = new DefaultDataSet();
+        for (int i = 0; i < tableNames.length; i++) {
+            ITableMetaData metaData = databaseDataSet.getTableMetaData(tableNames[i]);
+            Column[] columns = metaData.getColumns();
+            DefaultTable table = new DefaultTable(metaData);
+            for (int row = 1; row <= 2; row++) {
+                Object[] values = new Object[columns.length];
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = String.valueOf(row);
+                }
+                table.addRow(values);
+            }
+            dataSet.addTable(table);
+        }
+        return dataSet;
+    }
+}
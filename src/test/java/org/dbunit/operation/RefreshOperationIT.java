@@ -22,10 +22,18 @@
 package org.dbunit.operation;
 
 import java.io.Reader;
+import java.sql.Connection;
 
 import org.dbunit.AbstractDatabaseIT;
 import org.dbunit.Assertion;
+import org.dbunit.DatabaseEnvironment;
+import org.dbunit.DatabaseProfile;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
 import org.dbunit.database.MockDatabaseConnection;
+import org.dbunit.database.statement.IUpsertStatementBuilder;
+import org.dbunit.database.statement.MergeStatementBuilder;
 import org.dbunit.database.statement.MockBatchStatement;
 import org.dbunit.database.statement.MockStatementFactory;
 import org.dbunit.dataset.Column;
@@ -40,6 +48,17 @@ import org.dbunit.dataset.NoPrimaryKeyException;
 import org.dbunit.dataset.NoSuchColumnException;
 import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.ext.h2.H2Connection;
+import org.dbunit.ext.h2.H2MergeStatementBuilder;
+import org.dbunit.ext.hsqldb.HsqldbConnection;
+import org.dbunit.ext.mssql.MsSqlConnection;
+import org.dbunit.ext.mssql.MsSqlMergeStatementBuilder;
+import org.dbunit.ext.mysql.MySqlConnection;
+import org.dbunit.ext.mysql.MySqlUpsertStatementBuilder;
+import org.dbunit.ext.oracle.OracleConnection;
+import org.dbunit.ext.oracle.OracleMergeStatementBuilder;
+import org.dbunit.ext.postgresql.PostgresqlConnection;
+import org.dbunit.ext.postgresql.PostgresqlUpsertStatementBuilder;
 import org.dbunit.testutil.TestUtils;
 
 /**
@@ -73,7 +92,76 @@ public class RefreshOperationIT extends AbstractDatabaseIT {
         testExecute(new ForwardOnlyDataSet(dataSet));
     }
 
+    /**
+     * Refreshes through the connection of the database dialect with the upsert statement
+     * builder of the dialect, if the database supports one.
+     */
+    public void testExecuteWithUpsertStatementBuilder() throws Exception {
+        Reader reader = TestUtils.getFileReader("xml/refreshOperationTest.xml");
+        IDataSet dataSet = new FlatXmlDataSetBuilder().build(reader, null);
+
+        IDatabaseConnection dialectConnection = createDialectConnection();
+        assertNull("upsert is opt-in", dialectConnection.getConfig().getProperty(DatabaseConfig.PROPERTY_UPSERT_STATEMENT_BUILDER));
+        dialectConnection.getConfig().setProperty(DatabaseConfig.PROPERTY_UPSERT_STATEMENT_BUILDER, createUpsertStatementBuilder());
+        testExecute(dialectConnection, dataSet);
+    }
+
+    private IDatabaseConnection createDialectConnection() throws Exception {
+        Connection jdbcConnection = connection.getConnection();
+        String schema = DatabaseEnvironment.getInstance().getProfile().getSchema();
+        switch (getActiveProfile()) {
+            case "hsqldb":
+                return new HsqldbConnection(jdbcConnection, schema);
+            case "h2":
+                return new H2Connection(jdbcConnection, schema);
+            case "mysql":
+                return new MySqlConnection(jdbcConnection, schema);
+            case "postgresql":
+                return new PostgresqlConnection(jdbcConnection, schema);
+            case "oracle":
+            case "oracle10":
+                return new OracleConnection(jdbcConnection, schema);
+            case "mssql":
+                return new MsSqlConnection(jdbcConnection, schema);
+            default:
+                return new DatabaseConnection(jdbcConnection, schema);
+        }
+    }
+
+    /**
+     * @return The upsert statement builder of the active profile, <code>null</code> for
+     * HSQLDB 1.8 which has no <code>MERGE</code> statement
+     */
+    private IUpsertStatementBuilder createUpsertStatementBuilder() throws Exception {
+        switch (getActiveProfile()) {
+            case "hsqldb":
+                return connection.getConnection().getMetaData().getDatabaseMajorVersion() >= 2 ? new MergeStatementBuilder() : null;
+            case "h2":
+                return new H2MergeStatementBuilder();
+            case "mysql":
+                return new MySqlUpsertStatementBuilder();
+            case "postgresql":
+                return new PostgresqlUpsertStatementBuilder();
+            case "oracle":
+            case "oracle10":
+                return new OracleMergeStatementBuilder();
+            case "mssql":
+                return new MsSqlMergeStatementBuilder();
+            default:
+                return null;
+        }
+    }
+
+    private static String getActiveProfile() throws Exception {
+        DatabaseProfile profile = DatabaseEnvironment.getInstance().getProfile();
+        return profile.getActiveProfile() == null ? "hsqldb" : profile.getActiveProfile();
+    }
+
     private void testExecute(IDataSet dataSet) throws Exception {
+        testExecute(connection, dataSet);
+    }
+
+    private void testExecute(IDatabaseConnection refreshConnection, IDataSet dataSet) throws Exception {
         String[] tableNames = {"PK_TABLE", "ONLY_PK_TABLE"};
         int[] tableRowCount = {3, 1};
         String primaryKey = "PK0";
@@ -85,7 +173,7 @@ public class RefreshOperationIT extends AbstractDatabaseIT {
             assertEquals("row count before", tableRowCount[i], tableBefore.getRowCount());
         }
 
-        DatabaseOperation.REFRESH.execute(connection, dataSet);
+        DatabaseOperation.REFRESH.execute(refreshConnection, dataSet);
 
         // verify table after
         IDataSet expectedDataSet = new FlatXmlDataSetBuilder().build(
@@ -98,6 +186,53 @@ public class RefreshOperationIT extends AbstractDatabaseIT {
         }
     }
 
+    public void testMockExecuteUpsert() throws Exception {
+        String schemaName = "schema";
+        String tableName = "table";
+        String[] expected = {
+                "merge into schema.table (c1, c2, c3) key (c1) values ('toto', 1234, 'false')",
+                "merge into schema.table (c1, c2, c3) key (c1) values ('qwerty', 123.45, 'true')",
+                "merge into schema.table (c1, c3) key (c1) values ('azerty', 'true')",
+        };
+
+        // setup table
+        Column[] columns = new Column[]{
+                new Column("c1", DataType.VARCHAR),
+                new Column("c2", DataType.NUMERIC),
+                new Column("c3", DataType.BOOLEAN),
+        };
+        DefaultTable table = new DefaultTable(new DefaultTableMetaData(tableName, columns, new Column[]{columns[0]}));
+        table.addRow(new Object[]{"toto", "1234", Boolean.FALSE});
+        table.addRow(new Object[]{"qwerty", new Double("123.45"), "true"});
+        table.addRow(new Object[]{"azerty", ITable.NO_VALUE, "true"});
+        IDataSet dataSet = new DefaultDataSet(table);
+
+        // setup mock objects
+        MockBatchStatement statement = new MockBatchStatement();
+        statement.addExpectedBatchStrings(expected);
+        statement.setExpectedExecuteBatchCalls(2);
+        statement.setExpectedClearBatchCalls(2);
+        statement.setExpectedCloseCalls(2);
+
+        MockStatementFactory factory = new MockStatementFactory();
+        factory.setExpectedCreatePreparedStatementCalls(2);
+        factory.setupStatement(statement);
+
+        MockDatabaseConnection connection = new MockDatabaseConnection();
+        connection.setupDataSet(dataSet);
+        connection.setupSchema(schemaName);
+        connection.setupStatementFactory(factory);
+        connection.setExpectedCloseCalls(0);
+        connection.getConfig().setProperty(DatabaseConfig.PROPERTY_UPSERT_STATEMENT_BUILDER, new H2MergeStatementBuilder());
+
+        // execute operation
+        new RefreshOperation().execute(connection, dataSet);
+
+        statement.verify();
+        factory.verify();
+        connection.verify();
+    }
+
     public void testExecuteAndNoPrimaryKeys() throws Exception {
         String tableName = "TEST_TABLE";
 
@@ -0,0 +1,108 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.operation;
+
+import java.io.Reader;
+
+import org.dbunit.AbstractDatabaseIT;
+import org.dbunit.Assertion;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.SortedTable;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.dbunit.dataset.xml.XmlDataSet;
+import org.dbunit.dataset.xml.XmlProducer;
+import org.dbunit.testutil.TestUtils;
+import org.xml.sax.InputSource;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class StreamingOperationConsumerIT extends AbstractDatabaseIT {
+
+    public StreamingOperationConsumerIT(String s) {
+        super(s);
+    }
+
+    public void testInsert() throws Exception {
+        stream("xml/insertOperationTest.xml", DatabaseOperation.INSERT);
+
+        assertEmptyTablesLoaded("xml/insertOperationTest.xml");
+    }
+
+    public void testCleanInsert() throws Exception {
+        stream("xml/insertOperationTest.xml", DatabaseOperation.CLEAN_INSERT);
+        stream("xml/insertOperationTest.xml", DatabaseOperation.CLEAN_INSERT);
+
+        assertEmptyTablesLoaded("xml/insertOperationTest.xml");
+    }
+
+    public void testUpdate() throws Exception {
+        String[] columnNames = {"PK0", "PK1", "PK2", "NORMAL0", "NORMAL1"};
+        ITable tableBefore = createOrderedTable("PK_TABLE", columnNames[0]);
+        assertEquals("row count before", 3, tableBefore.getRowCount());
+
+        stream("xml/updateOperationTest.xml", DatabaseOperation.UPDATE);
+
+        ITable tableAfter = createOrderedTable("PK_TABLE", columnNames[0]);
+        assertEquals("row count after", 3, tableAfter.getRowCount());
+        assertEquals("NORMAL0", "toto", tableAfter.getValue(1, "NORMAL0").toString());
+        assertEquals("NORMAL1", "qwerty", tableAfter.getValue(1, "NORMAL1").toString());
+        for (int j = 0; j < columnNames.length; j++) {
+            assertEquals(columnNames[j], tableBefore.getValue(0, columnNames[j]), tableAfter.getValue(0, columnNames[j]));
+            assertEquals(columnNames[j], tableBefore.getValue(2, columnNames[j]), tableAfter.getValue(2, columnNames[j]));
+        }
+    }
+
+    public void testUnsupportedOperation() throws Exception {
+        try {
+            new StreamingOperationConsumer(connection, DatabaseOperation.DELETE);
+            fail("Should not be able to stream a delete");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private void stream(String fileName, DatabaseOperation operation) throws Exception {
+        Reader in = TestUtils.getFileReader(fileName);
+        try {
+            IDataSetProducer producer = new XmlProducer(new InputSource(in), null);
+            producer.setConsumer(new StreamingOperationConsumer(connection, operation));
+            producer.produce();
+        } finally {
+            in.close();
+        }
+    }
+
+    private void assertEmptyTablesLoaded(String fileName) throws Exception {
+        IDataSet expected = new XmlDataSet(TestUtils.getFileReader(fileName), null);
+        String[] tableNames = expected.getTableNames();
+        for (int i = 0; i < tableNames.length; i++) {
+            String name = tableNames[i];
+            if (name.startsWith("EMPTY")) {
+                ITable expectedTable = expected.getTable(name);
+                SortedTable actualTable = new SortedTable(connection.createDataSet().getTable(name));
+                Assertion.assertEquals(new SortedTable(expectedTable, expectedTable.getTableMetaData()), actualTable);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *
+ * The DbUnit Database Testing Framework
+ * Copyright (C)2002-2026, DbUnit.org
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package org.dbunit.util.concurrent;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Last changed by: $Author$
+ * @version $Revision$ $Date$
+ * @since 2.8.6
+ */
+public class SpscRingBufferTest extends TestCase {
+
+    public SpscRingBufferTest(String testName) {
+        super(testName);
+    }
+
+    public void testFifoWrapAround() throws Exception {
+        SpscRingBuffer buffer = new SpscRingBuffer(3);
+        assertEquals(3, buffer.capacity());
+        for (int i = 0; i < 10; i++) {
+            buffer.put("a" + i);
+            buffer.put("b" + i);
+            assertEquals(2, buffer.size());
+            assertEquals("a" + i, buffer.peek());
+            assertEquals("a" + i, buffer.take());
+            assertEquals("b" + i, buffer.take());
+            assertNull(buffer.peek());
+        }
+    }
+
+    public void testOfferAndPollTimeOut() throws Exception {
+        SpscRingBuffer buffer = new SpscRingBuffer(1);
+        assertNull(buffer.poll(0));
+        assertNull(buffer.poll(5));
+        assertTrue(buffer.offer("x", 0));
+        assertFalse(buffer.offer("y", 0));
+        assertFalse(buffer.offer("y", 5));
+        assertEquals("x", buffer.poll(0));
+    }
+
+    public void testInvalidArguments() throws Exception {
+        try {
+            new SpscRingBuffer(0);
+            fail("Should not be able to create an empty buffer");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new SpscRingBuffer(1).put(null);
+            fail("Should not be able to put null");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testInterruptedTake() throws Exception {
+        SpscRingBuffer buffer = new SpscRingBuffer(1);
+        Thread.currentThread().interrupt();
+        try {
+            buffer.take();
+            fail("Should have been interrupted");
+        } catch (InterruptedException expected) {
+        }
+    }
+
+    public void testProducerConsumer() throws Exception {
+        final int count = 200000;
+        final SpscRingBuffer buffer = new SpscRingBuffer(8);
+        final Exception[] failure = new Exception[1];
+        Thread producer = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        buffer.put(Integer.valueOf(i));
+                    }
+                } catch (InterruptedException e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        producer.start();
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.valueOf(i), buffer.take());
+        }
+        producer.join();
+        assertNull(failure[0]);
+        assertEquals(0, buffer.size());
+    }
+}
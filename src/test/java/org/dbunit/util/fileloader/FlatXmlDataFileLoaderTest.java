@@ -21,6 +21,8 @@
 
 package org.dbunit.util.fileloader;
 
+import java.net.URL;
+
 import junit.framework.TestCase;
 
 import org.dbunit.dataset.DataSetException;
@@ -51,4 +53,40 @@ public class FlatXmlDataFileLoaderTest extends TestCase {
         assertTrue("No tables found in dataset.", ds.getTableNames().length > 0);
         // DataSet loading tests verify data accuracy
     }
+
+    /**
+     * Test can load a single dataset of a file holding several.
+     */
+    public void testLoadDataSetById() throws DataSetException {
+        IDataSet ds = loader.load("/xml/flatXmlMultiDataSetTest.xml", "second");
+        assertEquals(2, ds.getTableNames().length);
+        assertEquals("second 0", ds.getTable("TEST_TABLE").getValue(0, "COLUMN0"));
+    }
+
+    /**
+     * Test loaded datasets are only cached if enabled.
+     */
+    public void testLoadedDataSetCached() throws Exception {
+        URL url = getClass().getResource("/xml/flatXmlMultiDataSetTest.xml");
+        assertNotSame(loader.loadDataSet(url, "first"), loader.loadDataSet(url, "first"));
+
+        loader.setMaxCachedDataSets(10);
+        assertSame(loader.loadDataSet(url, "first"), loader.loadDataSet(url, "first"));
+        assertNotSame(loader.loadDataSet(url, "first"), loader.loadDataSet(url, "second"));
+
+        loader.setMaxCachedDataSets(0);
+        assertNotSame(loader.loadDataSet(url, "first"), loader.loadDataSet(url, "first"));
+    }
+
+    /**
+     * Test a change of the builder settings is not hidden by the cache.
+     */
+    public void testCachedDataSetKeyedByBuilderSettings() throws Exception {
+        URL url = getClass().getResource("/xml/flatXmlMultiDataSetTest.xml");
+        loader.setMaxCachedDataSets(10);
+        IDataSet ds = loader.loadDataSet(url, "first");
+
+        loader.getBuilder().setColumnSensing(!loader.getBuilder().isColumnSensing());
+        assertNotSame(ds, loader.loadDataSet(url, "first"));
+    }
 }